@@ -0,0 +1,44 @@
+package com.hospital.sistema.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * No modo de sessão por token, restaura o usuário logado a partir do cookie
+ * assinado em cada requisição, sem consultar sessão nem banco.
+ */
+@Component
+@ConditionalOnProperty(name = "hospital.sessao.modo", havingValue = "token")
+public class FiltroTokenSessao extends OncePerRequestFilter {
+
+    private final TokenSessao tokenSessao;
+    private final SessaoUsuario sessaoUsuario;
+
+    public FiltroTokenSessao(TokenSessao tokenSessao, SessaoUsuario sessaoUsuario) {
+        this.tokenSessao = tokenSessao;
+        this.sessaoUsuario = sessaoUsuario;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (TokenSessao.NOME_COOKIE.equals(cookie.getName())) {
+                    tokenSessao.preencher(cookie.getValue(), sessaoUsuario);
+                    break;
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,118 @@
+package com.hospital.sistema.config;
+
+import com.hospital.sistema.enums.TipoUsuario;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aplica {@link RequerUsuario} antes de o handler ser invocado, portanto antes
+ * da conversão de parâmetros e da leitura do corpo JSON.
+ * <p>
+ * As regras de todos os handlers são resolvidas uma vez na inicialização; cada
+ * requisição faz apenas uma busca na tabela e um teste em {@link EnumSet}.
+ * Páginas sem permissão são redirecionadas para a tela de login; as demais
+ * rotas respondem 401.
+ */
+@Component
+public class InterceptorAutorizacao implements HandlerInterceptor {
+
+    private final SessaoUsuario sessaoUsuario;
+    private final Map<Method, RegraAcesso> regras = new ConcurrentHashMap<>();
+
+    public InterceptorAutorizacao(SessaoUsuario sessaoUsuario) {
+        this.sessaoUsuario = sessaoUsuario;
+    }
+
+    @EventListener
+    public void carregarRegras(ContextRefreshedEvent evento) {
+        evento.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class).values()
+                .forEach(mapeamento -> mapeamento.getHandlerMethods().values()
+                        .forEach(handler -> regras.putIfAbsent(handler.getMethod(), RegraAcesso.de(handler))));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        RegraAcesso regra = regras.get(handlerMethod.getMethod());
+        if (regra == null) {
+            // Handler registrado depois da inicialização
+            regra = regras.computeIfAbsent(handlerMethod.getMethod(), m -> RegraAcesso.de(handlerMethod));
+        }
+
+        if (regra.permite(sessaoUsuario)) {
+            return true;
+        }
+
+        if (regra.pagina) {
+            response.sendRedirect(request.getContextPath() + "/");
+        } else {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        }
+        return false;
+    }
+
+    /**
+     * Regra de acesso pré-calculada de um handler.
+     */
+    private static final class RegraAcesso {
+
+        private static final RegraAcesso LIVRE = new RegraAcesso(false, EnumSet.noneOf(TipoUsuario.class), false);
+
+        private final boolean exigeLogin;
+        private final Set<TipoUsuario> tipos;
+        private final boolean pagina;
+
+        private RegraAcesso(boolean exigeLogin, Set<TipoUsuario> tipos, boolean pagina) {
+            this.exigeLogin = exigeLogin;
+            this.tipos = tipos;
+            this.pagina = pagina;
+        }
+
+        static RegraAcesso de(HandlerMethod handler) {
+            RequerUsuario anotacao = handler.getMethodAnnotation(RequerUsuario.class);
+            if (anotacao == null) {
+                anotacao = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), RequerUsuario.class);
+            }
+            if (anotacao == null) {
+                return LIVRE;
+            }
+
+            EnumSet<TipoUsuario> tipos = EnumSet.noneOf(TipoUsuario.class);
+            tipos.addAll(Arrays.asList(anotacao.value()));
+
+            // Views retornadas como nome redirecionam; respostas de API recebem 401
+            boolean pagina = handler.getMethod().getReturnType() == String.class
+                    && !handler.hasMethodAnnotation(ResponseBody.class)
+                    && !AnnotatedElementUtils.hasAnnotation(handler.getBeanType(), ResponseBody.class);
+
+            return new RegraAcesso(true, tipos, pagina);
+        }
+
+        boolean permite(SessaoUsuario sessao) {
+            if (!exigeLogin) {
+                return true;
+            }
+            return sessao.isLogado() && (tipos.isEmpty() || tipos.contains(sessao.getTipo()));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hospital.sistema.config;
+
+import com.hospital.sistema.enums.TipoUsuario;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restringe um endpoint a usuários logados dos tipos informados. Sem tipos,
+ * basta estar logado. Na classe vale para todos os métodos do controller;
+ * no método substitui a regra da classe.
+ * <p>
+ * Verificado por {@link InterceptorAutorizacao} antes da leitura dos parâmetros
+ * e do corpo da requisição.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequerUsuario {
+
+    TipoUsuario[] value() default {};
+}
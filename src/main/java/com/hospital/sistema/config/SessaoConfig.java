@@ -0,0 +1,33 @@
+package com.hospital.sistema.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.web.context.annotation.SessionScope;
+
+/**
+ * Define onde ficam os dados do usuário logado, conforme {@code hospital.sessao.modo}:
+ * <ul>
+ *     <li>{@code servidor} (padrão): na sessão HTTP do servidor;</li>
+ *     <li>{@code token}: em um token assinado enviado pelo cliente a cada requisição,
+ *     sem estado no servidor. Ver {@link TokenSessao}.</li>
+ * </ul>
+ */
+@Configuration
+public class SessaoConfig {
+
+    @Bean
+    @SessionScope
+    @ConditionalOnProperty(name = "hospital.sessao.modo", havingValue = "servidor", matchIfMissing = true)
+    public SessaoUsuario sessaoUsuario() {
+        return new SessaoUsuario();
+    }
+
+    @Bean
+    @RequestScope
+    @ConditionalOnProperty(name = "hospital.sessao.modo", havingValue = "token")
+    public SessaoUsuario sessaoUsuarioPorRequisicao() {
+        return new SessaoUsuario();
+    }
+}
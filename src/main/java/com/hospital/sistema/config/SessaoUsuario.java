@@ -1,21 +1,21 @@
 package com.hospital.sistema.config;
 
+import com.hospital.sistema.enums.TipoUsuario;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
-import org.springframework.stereotype.Component;
-import org.springframework.web.context.annotation.SessionScope;
 
 /**
  * Gerencia a sessão do usuário logado.
  * Armazena informações como nome, ID e tipo do usuário.
+ * <p>
+ * O escopo depende do modo de sessão configurado em {@link SessaoConfig}.
  */
-@Component
-@SessionScope
 public class SessaoUsuario {
 
     private String nomeUsuario;
     private Long idUsuario;
     private String tipoUsuario;
+    private TipoUsuario tipo;
 
     public String getNomeUsuario() {
         return nomeUsuario;
@@ -39,6 +39,14 @@ public class SessaoUsuario {
 
     public void setTipoUsuario(String tipoUsuario) {
         this.tipoUsuario = tipoUsuario;
+        this.tipo = converterTipo(tipoUsuario);
+    }
+
+    /**
+     * Tipo do usuário logado, resolvido uma única vez no login.
+     */
+    public TipoUsuario getTipo() {
+        return tipo;
     }
 
     /**
@@ -62,10 +70,20 @@ public class SessaoUsuario {
         this.nomeUsuario = null;
         this.idUsuario = null;
         this.tipoUsuario = null;
+        this.tipo = null;
 
         HttpSession session = request.getSession(false);
         if (session != null) {
             session.invalidate();
         }
     }
+
+    private static TipoUsuario converterTipo(String tipoUsuario) {
+        for (TipoUsuario tipo : TipoUsuario.values()) {
+            if (tipo.getTipo().equals(tipoUsuario)) {
+                return tipo;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,171 @@
+package com.hospital.sistema.config;
+
+import com.hospital.sistema.enums.TipoUsuario;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Emite e verifica tokens de sessão assinados com HMAC-SHA256.
+ * <p>
+ * Formato: {@code <chave>.<dados>.<assinatura>}, em que {@code dados} contém
+ * ID, tipo e nome do usuário e o instante de expiração. O identificador da
+ * chave permite rotacioná-las: novos tokens são assinados com a chave ativa e
+ * tokens assinados com as demais chaves configuradas continuam válidos até
+ * expirarem ou até a chave ser removida.
+ * <p>
+ * Chaves configuradas como {@code id:segredoBase64}, separadas por vírgula, em
+ * {@code hospital.sessao.token.chaves}.
+ */
+@Component
+@ConditionalOnProperty(name = "hospital.sessao.modo", havingValue = "token")
+public class TokenSessao {
+
+    public static final String NOME_COOKIE = "HOSPITAL_SESSAO";
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final int TAMANHO_MINIMO_CHAVE = 32;
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private final Map<String, ThreadLocal<Mac>> chaves = new HashMap<>();
+    private final String chaveAtiva;
+    private final long validadeMs;
+    private final boolean cookieSeguro;
+    private final Clock relogio;
+
+    @Autowired
+    public TokenSessao(@Value("${hospital.sessao.token.chaves:}") String chaves,
+                       @Value("${hospital.sessao.token.chave-ativa:}") String chaveAtiva,
+                       @Value("${hospital.sessao.token.validade-ms:28800000}") long validadeMs,
+                       @Value("${hospital.sessao.token.cookie-seguro:true}") boolean cookieSeguro) {
+        this(chaves, chaveAtiva, validadeMs, cookieSeguro, Clock.systemUTC());
+    }
+
+    TokenSessao(String chaves, String chaveAtiva, long validadeMs, boolean cookieSeguro, Clock relogio) {
+        for (String definicao : chaves.split(",")) {
+            if (!definicao.isBlank()) {
+                registrarChave(definicao.trim());
+            }
+        }
+        if (!this.chaves.containsKey(chaveAtiva)) {
+            throw new IllegalStateException("A chave ativa do token de sessão não está entre as chaves configuradas");
+        }
+        this.chaveAtiva = chaveAtiva;
+        this.validadeMs = validadeMs;
+        this.cookieSeguro = cookieSeguro;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Emite um token para o usuário logado, assinado com a chave ativa.
+     */
+    public String emitir(SessaoUsuario sessao) {
+        long expiraEm = (relogio.millis() + validadeMs) / 1000;
+        String dados = sessao.getIdUsuario() + "|" + sessao.getTipoUsuario() + "|" + expiraEm + "|"
+                + sessao.getNomeUsuario();
+        String conteudo = chaveAtiva + "." + CODIFICADOR.encodeToString(dados.getBytes(StandardCharsets.UTF_8));
+        return conteudo + "." + CODIFICADOR.encodeToString(assinar(chaves.get(chaveAtiva), conteudo));
+    }
+
+    /**
+     * Verifica assinatura e expiração do token e, se válido, preenche a sessão.
+     *
+     * @return {@code false} se o token for inválido, expirado ou de chave desconhecida
+     */
+    public boolean preencher(String token, SessaoUsuario sessao) {
+        if (token == null) {
+            return false;
+        }
+
+        int fimChave = token.indexOf('.');
+        int fimDados = token.lastIndexOf('.');
+        if (fimChave <= 0 || fimDados <= fimChave) {
+            return false;
+        }
+
+        ThreadLocal<Mac> chave = chaves.get(token.substring(0, fimChave));
+        if (chave == null) {
+            return false;
+        }
+
+        try {
+            byte[] assinatura = DECODIFICADOR.decode(token.substring(fimDados + 1));
+            if (!MessageDigest.isEqual(assinar(chave, token.substring(0, fimDados)), assinatura)) {
+                return false;
+            }
+
+            String dados = new String(DECODIFICADOR.decode(token.substring(fimChave + 1, fimDados)),
+                    StandardCharsets.UTF_8);
+            String[] campos = dados.split("\\|", 4);
+            if (campos.length != 4 || Long.parseLong(campos[2]) * 1000 <= relogio.millis()) {
+                return false;
+            }
+
+            sessao.setIdUsuario(Long.valueOf(campos[0]));
+            sessao.setTipoUsuario(TipoUsuario.valueOf(campos[1]).getTipo());
+            sessao.setNomeUsuario(campos[3]);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public ResponseCookie criarCookie(SessaoUsuario sessao) {
+        return cookie(emitir(sessao), Duration.ofMillis(validadeMs));
+    }
+
+    public ResponseCookie criarCookieExpirado() {
+        return cookie("", Duration.ZERO);
+    }
+
+    private ResponseCookie cookie(String valor, Duration duracao) {
+        return ResponseCookie.from(NOME_COOKIE, valor)
+                .httpOnly(true)
+                .secure(cookieSeguro)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(duracao)
+                .build();
+    }
+
+    private void registrarChave(String definicao) {
+        int separador = definicao.indexOf(':');
+        if (separador <= 0 || definicao.substring(0, separador).contains(".")) {
+            throw new IllegalStateException("Chave de token de sessão inválida; use id:segredoBase64");
+        }
+
+        byte[] segredo = Base64.getDecoder().decode(definicao.substring(separador + 1));
+        if (segredo.length < TAMANHO_MINIMO_CHAVE) {
+            throw new IllegalStateException("A chave do token de sessão deve ter pelo menos 32 bytes");
+        }
+
+        SecretKeySpec especificacao = new SecretKeySpec(segredo, ALGORITMO);
+        chaves.put(definicao.substring(0, separador), ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITMO);
+                mac.init(especificacao);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 indisponível", e);
+            }
+        }));
+    }
+
+    private static byte[] assinar(ThreadLocal<Mac> chave, String conteudo) {
+        return chave.get().doFinal(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
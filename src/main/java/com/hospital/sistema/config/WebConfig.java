@@ -0,0 +1,23 @@
+package com.hospital.sistema.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra o controle de acesso das rotas.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final InterceptorAutorizacao interceptorAutorizacao;
+
+    public WebConfig(InterceptorAutorizacao interceptorAutorizacao) {
+        this.interceptorAutorizacao = interceptorAutorizacao;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptorAutorizacao);
+    }
+}
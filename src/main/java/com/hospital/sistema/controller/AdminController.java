@@ -1,9 +1,9 @@
 package com.hospital.sistema.controller;
 
+import com.hospital.sistema.config.RequerUsuario;
 import com.hospital.sistema.config.SessaoUsuario;
 import com.hospital.sistema.enums.TipoUsuario;
 import com.hospital.sistema.service.AdminService;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
 @Controller
+@RequerUsuario(TipoUsuario.ADMIN)
 @RequestMapping("/admin")
 public class AdminController {
 
@@ -25,10 +26,6 @@ public class AdminController {
 
     @GetMapping
     public String exibirPainelAdmin(Model model) {
-        if (!isAdminLogado()) {
-            return "redirect:/";
-        }
-
         model.addAttribute("title", "Painel Administrativo");
         model.addAttribute("usuario", sessaoUsuario.getNomeUsuario());
         return "admin/home";
@@ -36,10 +33,6 @@ public class AdminController {
 
     @GetMapping("/configuracoes")
     public String exibirConfiguracoes(Model model) {
-        if (!isAdminLogado()) {
-            return "redirect:/";
-        }
-
         model.addAttribute("title", "Configurações");
         return "admin/configuracoes";
     }
@@ -47,10 +40,6 @@ public class AdminController {
     @PostMapping("/atualizar-credenciais")
     @ResponseBody
     public ResponseEntity<?> atualizarCredenciais(@RequestBody Map<String, String> dados) {
-        if (!isAdminLogado()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
         String login = dados.get("login");
         String senha = dados.get("senha");
 
@@ -58,8 +47,4 @@ public class AdminController {
                 .map(admin -> ResponseEntity.ok(Map.of("mensagem", "Credenciais atualizadas com sucesso")))
                 .orElse(ResponseEntity.badRequest().body(Map.of("erro", "Erro ao atualizar credenciais")));
     }
-
-    private boolean isAdminLogado() {
-        return sessaoUsuario.isLogado() && sessaoUsuario.isTipoUsuario(TipoUsuario.ADMIN.getTipo());
-    }
 }
@@ -0,0 +1,60 @@
+package com.hospital.sistema.controller;
+
+import com.hospital.sistema.config.RequerUsuario;
+import com.hospital.sistema.dto.DisponibilidadeMedicoDTO;
+import com.hospital.sistema.service.DisponibilidadeService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Horários livres dos médicos, consultáveis por qualquer usuário logado.
+ */
+@Controller
+@RequerUsuario
+@RequestMapping("/medicos")
+public class DisponibilidadeController {
+
+    private final DisponibilidadeService disponibilidadeService;
+
+    public DisponibilidadeController(DisponibilidadeService disponibilidadeService) {
+        this.disponibilidadeService = disponibilidadeService;
+    }
+
+    /**
+     * Horários livres do médico para consultas com a duração informada, em minutos.
+     * Sem datas, considera as próximas quatro semanas a partir de hoje.
+     */
+    @GetMapping("/{id}/disponibilidade")
+    @ResponseBody
+    public ResponseEntity<DisponibilidadeMedicoDTO> buscarDisponibilidade(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(defaultValue = "30") int duracao) {
+
+        LocalDate inicio = de != null ? de : LocalDate.now();
+        LocalDate fim = ate != null ? ate : inicio.plusWeeks(4).minusDays(1);
+        return ResponseEntity.ok(disponibilidadeService.buscarPorMedico(id, inicio, fim, duracao));
+    }
+
+    /**
+     * Horários livres de todos os médicos da especialidade, no mesmo formato.
+     */
+    @GetMapping(value = "/disponibilidade", params = "especialidadeId")
+    @ResponseBody
+    public ResponseEntity<List<DisponibilidadeMedicoDTO>> buscarDisponibilidadePorEspecialidade(
+            @RequestParam Long especialidadeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(defaultValue = "30") int duracao) {
+
+        LocalDate inicio = de != null ? de : LocalDate.now();
+        LocalDate fim = ate != null ? ate : inicio.plusWeeks(4).minusDays(1);
+        return ResponseEntity.ok(disponibilidadeService.buscarPorEspecialidade(especialidadeId, inicio, fim, duracao));
+    }
+}
@@ -1,12 +1,18 @@
 package com.hospital.sistema.controller;
 
 import com.hospital.sistema.config.SessaoUsuario;
+import com.hospital.sistema.config.TokenSessao;
 import com.hospital.sistema.dto.LoginRequest;
 import com.hospital.sistema.dto.LoginResponse;
 import com.hospital.sistema.exception.CredenciaisInvalidasException;
 import com.hospital.sistema.service.AutenticacaoService;
+import com.hospital.sistema.util.LimitadorTentativasLogin;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,10 +29,17 @@ public class LoginController {
 
     private final AutenticacaoService autenticacaoService;
     private final SessaoUsuario sessaoUsuario;
+    private final LimitadorTentativasLogin limitadorTentativasLogin;
+    private final ObjectProvider<TokenSessao> tokenSessao;
 
-    public LoginController(AutenticacaoService autenticacaoService, SessaoUsuario sessaoUsuario) {
+    public LoginController(AutenticacaoService autenticacaoService,
+                           SessaoUsuario sessaoUsuario,
+                           LimitadorTentativasLogin limitadorTentativasLogin,
+                           ObjectProvider<TokenSessao> tokenSessao) {
         this.autenticacaoService = autenticacaoService;
         this.sessaoUsuario = sessaoUsuario;
+        this.limitadorTentativasLogin = limitadorTentativasLogin;
+        this.tokenSessao = tokenSessao;
     }
 
     @GetMapping
@@ -35,14 +48,24 @@ public class LoginController {
     }
 
     @GetMapping("/logout")
-    public String logout(RedirectAttributes redirectAttributes, HttpServletRequest request) {
+    public String logout(RedirectAttributes redirectAttributes, HttpServletRequest request,
+                         HttpServletResponse response) {
         sessaoUsuario.limparSessao(request);
+        tokenSessao.ifAvailable(token ->
+                response.addHeader(HttpHeaders.SET_COOKIE, token.criarCookieExpirado().toString()));
         redirectAttributes.addFlashAttribute("message", "Logout realizado com sucesso.");
         return "redirect:/";
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        long esperaMs = limitadorTentativasLogin.registrarTentativa(loginRequest.getUsername(), request.getRemoteAddr());
+        if (esperaMs > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((esperaMs + 999) / 1000))
+                    .body(Map.of("erro", "Muitas tentativas de login. Tente novamente mais tarde"));
+        }
+
         try {
             String tipoUsuario = autenticacaoService.autenticar(
                     loginRequest.getUsername(),
@@ -55,6 +78,14 @@ public class LoginController {
                     sessaoUsuario.getNomeUsuario()
             );
 
+            // No modo sem estado, o usuário logado vai para o cliente em um cookie assinado
+            TokenSessao token = tokenSessao.getIfAvailable();
+            if (token != null) {
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, token.criarCookie(sessaoUsuario).toString())
+                        .body(response);
+            }
+
             return ResponseEntity.ok(response);
 
         } catch (CredenciaisInvalidasException e) {
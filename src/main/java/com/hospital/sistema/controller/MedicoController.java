@@ -1,46 +1,65 @@
 package com.hospital.sistema.controller;
 
+import com.hospital.sistema.config.RequerUsuario;
 import com.hospital.sistema.config.SessaoUsuario;
+import com.hospital.sistema.dto.FilaVersionadaDTO;
 import com.hospital.sistema.dto.MedicoResponse;
 import com.hospital.sistema.dto.PacienteFilaDTO;
 import com.hospital.sistema.entity.Medico;
 import com.hospital.sistema.enums.TipoUsuario;
+import com.hospital.sistema.service.ConsultaService;
+import com.hospital.sistema.service.DisponibilidadeService;
 import com.hospital.sistema.service.MedicoService;
+import com.hospital.sistema.util.AguardadorAlteracoesFila;
+import com.hospital.sistema.util.DifusorEventosFila;
 import com.hospital.sistema.util.FilaAtendimentoMedico;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Controller
+@RequerUsuario(TipoUsuario.MEDICO)
 @RequestMapping("/medico")
 public class MedicoController {
 
     private final MedicoService medicoService;
+    private final ConsultaService consultaService;
     private final SessaoUsuario sessaoUsuario;
     private final FilaAtendimentoMedico filaAtendimentoMedico;
+    private final DifusorEventosFila difusorEventosFila;
+    private final AguardadorAlteracoesFila aguardadorAlteracoesFila;
+    private final DisponibilidadeService disponibilidadeService;
 
     public MedicoController(MedicoService medicoService,
+                           ConsultaService consultaService,
                            SessaoUsuario sessaoUsuario,
-                           FilaAtendimentoMedico filaAtendimentoMedico) {
+                           FilaAtendimentoMedico filaAtendimentoMedico,
+                           DifusorEventosFila difusorEventosFila,
+                           AguardadorAlteracoesFila aguardadorAlteracoesFila,
+                           DisponibilidadeService disponibilidadeService) {
         this.medicoService = medicoService;
+        this.consultaService = consultaService;
         this.sessaoUsuario = sessaoUsuario;
         this.filaAtendimentoMedico = filaAtendimentoMedico;
+        this.difusorEventosFila = difusorEventosFila;
+        this.aguardadorAlteracoesFila = aguardadorAlteracoesFila;
+        this.disponibilidadeService = disponibilidadeService;
     }
 
     @GetMapping
     public String exibirPainelMedico(Model model) {
-        if (!isMedicoLogado()) {
-            return "redirect:/";
-        }
-
         model.addAttribute("title", "Painel Médico");
         model.addAttribute("usuario", sessaoUsuario.getNomeUsuario());
         return "medico/home";
@@ -48,30 +67,63 @@ public class MedicoController {
 
     @GetMapping("/fila")
     @ResponseBody
-    public ResponseEntity<List<PacienteFilaDTO>> listarFilaAtendimento() {
-        if (!isMedicoLogado()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    public ResponseEntity<List<PacienteFilaDTO>> listarFilaAtendimento(WebRequest request) {
+        Long medicoId = sessaoUsuario.getIdUsuario();
+        // Fila inalterada: responde 304 sem copiar nem serializar a lista
+        if (request.checkNotModified(String.valueOf(filaAtendimentoMedico.versao(medicoId)))) {
+            return null;
         }
 
-        List<PacienteFilaDTO> fila = filaAtendimentoMedico.listarPorMedico(sessaoUsuario.getIdUsuario());
+        List<PacienteFilaDTO> fila = filaAtendimentoMedico.listarPorMedico(medicoId);
         return ResponseEntity.ok(fila);
     }
 
+    @GetMapping(value = "/fila", params = "sinceVersion")
+    @ResponseBody
+    public DeferredResult<ResponseEntity<FilaVersionadaDTO<PacienteFilaDTO>>> aguardarFilaAtendimento(
+            @RequestParam("sinceVersion") long versaoCliente,
+            @RequestParam(value = "waitMs", defaultValue = "0") long esperaMs) {
+
+        return aguardadorAlteracoesFila.aguardarFilaMedico(sessaoUsuario.getIdUsuario(), versaoCliente, esperaMs);
+    }
+
+    /**
+     * Chama o próximo paciente da fila do médico logado.
+     * Retorna 204 quando não há pacientes aguardando.
+     */
+    @PostMapping("/fila/proximo")
+    @ResponseBody
+    public ResponseEntity<PacienteFilaDTO> chamarProximoPaciente() {
+        return consultaService.chamarProximoPaciente(sessaoUsuario.getIdUsuario())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping(value = "/fila/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> assinarFilaAtendimento() {
+        return ResponseEntity.ok(difusorEventosFila.assinarFilaMedico(sessaoUsuario.getIdUsuario()));
+    }
+
+    @RequerUsuario
     @GetMapping("/buscar")
     @ResponseBody
     public ResponseEntity<List<MedicoResponse>> buscarMedicos(
             @RequestParam String term,
             @RequestParam(required = false) Long especialidadeId) {
 
-        if (!sessaoUsuario.isLogado()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
         List<MedicoResponse> medicos = medicoService.buscarPorNomeEEspecialidade(term, especialidadeId);
         return ResponseEntity.ok(medicos);
     }
 
-    private boolean isMedicoLogado() {
-        return sessaoUsuario.isLogado() && sessaoUsuario.isTipoUsuario(TipoUsuario.MEDICO.getTipo());
+    /**
+     * IDs dos médicos da especialidade em horário de atendimento agora.
+     */
+    @RequerUsuario
+    @GetMapping("/disponiveis")
+    @ResponseBody
+    public ResponseEntity<List<Long>> listarMedicosEmAtendimento(@RequestParam Long especialidadeId) {
+        return ResponseEntity.ok(disponibilidadeService.buscarMedicosEmAtendimento(especialidadeId,
+                LocalDateTime.now()));
     }
 }
@@ -1,84 +1,119 @@
 package com.hospital.sistema.controller;
 
-import com.hospital.sistema.config.SessaoUsuario;
+import com.hospital.sistema.config.RequerUsuario;
+import com.hospital.sistema.dto.ImportacaoPacientesResponse;
 import com.hospital.sistema.dto.PacienteRequest;
 import com.hospital.sistema.dto.PacienteResponse;
+import com.hospital.sistema.dto.PaginaCursor;
 import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.enums.FormatoArquivo;
 import com.hospital.sistema.enums.TipoUsuario;
+import com.hospital.sistema.service.ExportacaoPacientesService;
+import com.hospital.sistema.service.ImportacaoPacientesService;
 import com.hospital.sistema.service.PacienteService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpStatus;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
 @Controller
+@RequerUsuario(TipoUsuario.ADMIN)
 @RequestMapping("/admin/pacientes")
 public class PacienteController {
 
     private final PacienteService pacienteService;
-    private final SessaoUsuario sessaoUsuario;
+    private final ImportacaoPacientesService importacaoPacientesService;
+    private final ExportacaoPacientesService exportacaoPacientesService;
 
-    public PacienteController(PacienteService pacienteService, SessaoUsuario sessaoUsuario) {
+    public PacienteController(PacienteService pacienteService,
+                              ImportacaoPacientesService importacaoPacientesService,
+                              ExportacaoPacientesService exportacaoPacientesService) {
         this.pacienteService = pacienteService;
-        this.sessaoUsuario = sessaoUsuario;
+        this.importacaoPacientesService = importacaoPacientesService;
+        this.exportacaoPacientesService = exportacaoPacientesService;
     }
 
     @GetMapping
     public String listarPacientes(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "60") int size,
             @RequestParam(defaultValue = "nome") String sort,
+            @RequestParam(defaultValue = "false") boolean total,
             Model model) {
 
-        if (!isUsuarioAutorizado(TipoUsuario.ADMIN)) {
-            return "redirect:/";
-        }
+        PaginaCursor<Paciente> pagina = pacienteService.listar(cursor, size, sort, total);
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sort));
-        Page<Paciente> pacientesPage = pacienteService.listarTodos(pageable);
-
-        adicionarAtributosPaginacao(model, pacientesPage, page, size, sort);
+        adicionarAtributosPaginacao(model, pagina, size, sort);
         return "admin/pacientes/pacientes";
     }
 
+    @RequerUsuario({TipoUsuario.ADMIN, TipoUsuario.RECEPCIONISTA})
     @PostMapping
     public ResponseEntity<?> salvarPaciente(@Valid @RequestBody PacienteRequest request) {
-        if (!isUsuarioAutorizadoParaGerenciarPaciente()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
         Paciente paciente = pacienteService.salvar(request);
         return ResponseEntity.ok(paciente);
     }
 
+    /**
+     * Importa pacientes de um CSV (com cabeçalho) ou NDJSON enviado no corpo da
+     * requisição, sem carregar o arquivo inteiro em memória.
+     */
+    @PostMapping(value = "/importar", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportacaoPacientesResponse> importarPacientes(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String tipoConteudo,
+            InputStream corpo) throws IOException {
+
+        FormatoArquivo formato = FormatoArquivo.deTipoConteudo(tipoConteudo);
+        return ResponseEntity.ok(importacaoPacientesService.importar(corpo, formato));
+    }
+
+    @GetMapping("/importacoes/{id}/erros")
+    public ResponseEntity<Resource> baixarRelatorioErros(@PathVariable String id) {
+        FileSystemResource relatorio = new FileSystemResource(importacaoPacientesService.buscarRelatorio(id));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + relatorio.getFilename() + "\"")
+                .body(relatorio);
+    }
+
+    /**
+     * Exporta todos os pacientes em CSV ou NDJSON, escrevendo a resposta à
+     * medida que os pacientes são lidos do banco.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportarPacientes(
+            @RequestParam(defaultValue = "CSV") FormatoArquivo formato) {
+
+        StreamingResponseBody corpo = saida -> exportacaoPacientesService.exportar(saida, formato);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getTipoConteudo() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"pacientes." + formato.getExtensao() + "\"")
+                .body(corpo);
+    }
+
+    @RequerUsuario
     @GetMapping("/{id}/editar")
     @ResponseBody
     public ResponseEntity<?> buscarPacienteParaEdicao(@PathVariable Long id) {
-        if (!sessaoUsuario.isLogado()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
         Paciente paciente = pacienteService.buscarPorId(id);
         return ResponseEntity.ok(paciente);
     }
 
+    @RequerUsuario
     @GetMapping(value = "/buscar", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public ResponseEntity<List<PacienteResponse>> buscarPacientesPorNome(@RequestParam String term) {
-        if (!sessaoUsuario.isLogado()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
         List<PacienteResponse> pacientes = pacienteService.buscarPorNome(term);
         return ResponseEntity.ok(pacientes);
     }
@@ -88,43 +123,24 @@ public class PacienteController {
             @PathVariable Long id,
             @Valid @RequestBody PacienteRequest request) {
 
-        if (!isUsuarioAutorizado(TipoUsuario.ADMIN)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("erro", "Acesso não autorizado"));
-        }
-
         Paciente paciente = pacienteService.atualizar(id, request);
         return ResponseEntity.ok(paciente);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> excluirPaciente(@PathVariable Long id) {
-        if (!isUsuarioAutorizado(TipoUsuario.ADMIN)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
         pacienteService.deletar(id);
         return ResponseEntity.ok(Map.of("mensagem", "Paciente excluído com sucesso"));
     }
 
-    private boolean isUsuarioAutorizado(TipoUsuario tipo) {
-        return sessaoUsuario.isLogado() && sessaoUsuario.isTipoUsuario(tipo.getTipo());
-    }
-
-    private boolean isUsuarioAutorizadoParaGerenciarPaciente() {
-        return sessaoUsuario.isLogado() &&
-                (sessaoUsuario.isTipoUsuario(TipoUsuario.ADMIN.getTipo()) ||
-                 sessaoUsuario.isTipoUsuario(TipoUsuario.RECEPCIONISTA.getTipo()));
-    }
-
-    private void adicionarAtributosPaginacao(Model model, Page<Paciente> page, int pageNum, int size, String sort) {
-        model.addAttribute("pacientes", page.getContent());
-        model.addAttribute("currentPage", pageNum);
-        model.addAttribute("totalPages", page.getTotalPages());
+    private void adicionarAtributosPaginacao(Model model, PaginaCursor<Paciente> pagina, int size, String sort) {
+        model.addAttribute("pacientes", pagina.getItens());
+        model.addAttribute("proximoCursor", pagina.getProximoCursor());
+        model.addAttribute("cursorAnterior", pagina.getCursorAnterior());
         model.addAttribute("pageSize", size);
-        model.addAttribute("totalItems", page.getTotalElements());
-        model.addAttribute("first", page.isFirst());
-        model.addAttribute("last", page.isLast());
+        model.addAttribute("totalItems", pagina.getTotal());
+        model.addAttribute("first", pagina.isPrimeira());
+        model.addAttribute("last", pagina.isUltima());
         model.addAttribute("sort", sort);
     }
 }
@@ -1,5 +1,6 @@
 package com.hospital.sistema.controller;
 
+import com.hospital.sistema.config.RequerUsuario;
 import com.hospital.sistema.config.SessaoUsuario;
 import com.hospital.sistema.enums.TipoUsuario;
 import com.hospital.sistema.service.ConsultaService;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 @Controller
+@RequerUsuario(TipoUsuario.RECEPCIONISTA)
 @RequestMapping("/recepcao")
 public class RecepcionistaController {
 
@@ -22,17 +24,9 @@ public class RecepcionistaController {
 
     @GetMapping
     public String exibirPainelRecepcao(Model model) {
-        if (!isRecepcionistaLogado()) {
-            return "redirect:/";
-        }
-
         model.addAttribute("title", "Painel da Recepção");
         model.addAttribute("usuario", sessaoUsuario.getNomeUsuario());
         model.addAttribute("consultasHoje", consultaService.buscarConsultasDeHoje());
         return "recepcionista/home";
     }
-
-    private boolean isRecepcionistaLogado() {
-        return sessaoUsuario.isLogado() && sessaoUsuario.isTipoUsuario(TipoUsuario.RECEPCIONISTA.getTipo());
-    }
 }
@@ -1,39 +1,50 @@
 package com.hospital.sistema.controller;
 
+import com.hospital.sistema.config.RequerUsuario;
 import com.hospital.sistema.config.SessaoUsuario;
+import com.hospital.sistema.dto.FilaVersionadaDTO;
+import com.hospital.sistema.dto.PacienteTriagemResponse;
 import com.hospital.sistema.dto.TriagemRequest;
-import com.hospital.sistema.entity.Paciente;
 import com.hospital.sistema.entity.Triagem;
 import com.hospital.sistema.enums.TipoUsuario;
 import com.hospital.sistema.service.TriagemService;
+import com.hospital.sistema.util.AguardadorAlteracoesFila;
+import com.hospital.sistema.util.DifusorEventosFila;
 import jakarta.validation.Valid;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
 
 @Controller
+@RequerUsuario(TipoUsuario.ENFERMEIRO)
 @RequestMapping("/enfermeiro/triagem")
 public class TriagemController {
 
     private final TriagemService triagemService;
     private final SessaoUsuario sessaoUsuario;
+    private final DifusorEventosFila difusorEventosFila;
+    private final AguardadorAlteracoesFila aguardadorAlteracoesFila;
 
-    public TriagemController(TriagemService triagemService, SessaoUsuario sessaoUsuario) {
+    public TriagemController(TriagemService triagemService,
+                             SessaoUsuario sessaoUsuario,
+                             DifusorEventosFila difusorEventosFila,
+                             AguardadorAlteracoesFila aguardadorAlteracoesFila) {
         this.triagemService = triagemService;
         this.sessaoUsuario = sessaoUsuario;
+        this.difusorEventosFila = difusorEventosFila;
+        this.aguardadorAlteracoesFila = aguardadorAlteracoesFila;
     }
 
     @GetMapping
     public String exibirPainelTriagem(Model model) {
-        if (!isEnfermeiroLogado()) {
-            return "redirect:/";
-        }
-
         model.addAttribute("title", "Painel de Triagem");
         model.addAttribute("usuario", sessaoUsuario.getNomeUsuario());
         return "enfermeiro/triagem";
@@ -41,30 +52,54 @@ public class TriagemController {
 
     @GetMapping("/fila")
     @ResponseBody
-    public ResponseEntity<List<Paciente>> listarFilaTriagem() {
-        if (!isEnfermeiroLogado()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    public ResponseEntity<List<PacienteTriagemResponse>> listarFilaTriagem(WebRequest request) {
+        // Fila inalterada: responde 304 sem copiar nem serializar a lista
+        if (request.checkNotModified(String.valueOf(triagemService.versaoFilaTriagem()))) {
+            return null;
         }
 
-        List<Paciente> fila = triagemService.listarFilaTriagem();
+        List<PacienteTriagemResponse> fila = triagemService.listarFilaTriagem();
         return ResponseEntity.ok(fila);
     }
 
+    @GetMapping(value = "/fila", params = "sinceVersion")
+    @ResponseBody
+    public DeferredResult<ResponseEntity<FilaVersionadaDTO<PacienteTriagemResponse>>> aguardarFilaTriagem(
+            @RequestParam("sinceVersion") long versaoCliente,
+            @RequestParam(value = "waitMs", defaultValue = "0") long esperaMs) {
+
+        return aguardadorAlteracoesFila.aguardarFilaTriagem(versaoCliente, esperaMs);
+    }
+
+    @GetMapping(value = "/fila/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> assinarFilaTriagem() {
+        return ResponseEntity.ok(difusorEventosFila.assinarFilaTriagem());
+    }
+
+    @PostMapping("/fila/proximo")
+    @ResponseBody
+    public ResponseEntity<PacienteTriagemResponse> reservarProximoPaciente() {
+        return triagemService.reservarProximoPaciente(sessaoUsuario.getIdUsuario())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/fila/{pacienteId}/liberar")
+    @ResponseBody
+    public ResponseEntity<Void> liberarReserva(@PathVariable Long pacienteId) {
+        return triagemService.liberarReserva(pacienteId, sessaoUsuario.getIdUsuario())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @PostMapping("/realizar")
     @ResponseBody
     public ResponseEntity<?> realizarTriagem(@Valid @RequestBody TriagemRequest request) {
-        if (!isEnfermeiroLogado()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
         Triagem triagem = triagemService.realizar(request, sessaoUsuario.getIdUsuario());
         return ResponseEntity.ok(Map.of(
                 "mensagem", "Triagem realizada com sucesso",
                 "triagemId", triagem.getId()
         ));
     }
-
-    private boolean isEnfermeiroLogado() {
-        return sessaoUsuario.isLogado() && sessaoUsuario.isTipoUsuario(TipoUsuario.ENFERMEIRO.getTipo());
-    }
 }
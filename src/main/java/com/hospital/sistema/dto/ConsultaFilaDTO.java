@@ -0,0 +1,74 @@
+package com.hospital.sistema.dto;
+
+import com.hospital.sistema.enums.NivelUrgencia;
+import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.enums.TipoDocumento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de uma consulta aberta usada para reconstruir as filas de triagem
+ * e de atendimento médico a partir do banco de dados.
+ */
+public class ConsultaFilaDTO {
+
+    private final Long consultaId;
+    private final StatusConsulta status;
+    private final LocalDateTime dataHoraEntradaFila;
+    private final Long pacienteId;
+    private final String pacienteNome;
+    private final TipoDocumento tipoDocumento;
+    private final String numeroDocumento;
+    private final Long medicoId;
+    private final NivelUrgencia nivelUrgencia;
+
+    public ConsultaFilaDTO(Long consultaId, StatusConsulta status, LocalDateTime dataHoraEntradaFila,
+                           Long pacienteId, String pacienteNome, TipoDocumento tipoDocumento,
+                           String numeroDocumento, Long medicoId, NivelUrgencia nivelUrgencia) {
+        this.consultaId = consultaId;
+        this.status = status;
+        this.dataHoraEntradaFila = dataHoraEntradaFila;
+        this.pacienteId = pacienteId;
+        this.pacienteNome = pacienteNome;
+        this.tipoDocumento = tipoDocumento;
+        this.numeroDocumento = numeroDocumento;
+        this.medicoId = medicoId;
+        this.nivelUrgencia = nivelUrgencia;
+    }
+
+    public Long getConsultaId() {
+        return consultaId;
+    }
+
+    public StatusConsulta getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getDataHoraEntradaFila() {
+        return dataHoraEntradaFila;
+    }
+
+    public Long getPacienteId() {
+        return pacienteId;
+    }
+
+    public String getPacienteNome() {
+        return pacienteNome;
+    }
+
+    public TipoDocumento getTipoDocumento() {
+        return tipoDocumento;
+    }
+
+    public String getNumeroDocumento() {
+        return numeroDocumento;
+    }
+
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    public NivelUrgencia getNivelUrgencia() {
+        return nivelUrgencia;
+    }
+}
@@ -1,5 +1,7 @@
 package com.hospital.sistema.dto;
 
+import com.hospital.sistema.enums.StatusConsulta;
+
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -18,6 +20,22 @@ public class ConsultaResponse {
     public ConsultaResponse() {
     }
 
+    /**
+     * Construtor usado pela projeção JPQL que monta a resposta direto da consulta ao banco.
+     */
+    public ConsultaResponse(Long id, String paciente, String medico, String especialidade, String tipoConsulta,
+                            LocalDate data, LocalTime horaInicio, LocalTime horaFim, StatusConsulta status) {
+        this.id = id;
+        this.paciente = paciente;
+        this.medico = medico;
+        this.especialidade = especialidade;
+        this.tipoConsulta = tipoConsulta;
+        this.data = data;
+        this.horaInicio = horaInicio;
+        this.horaFim = horaFim;
+        this.status = status != null ? status.getDescricao() : null;
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
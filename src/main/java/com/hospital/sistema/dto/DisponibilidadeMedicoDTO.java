@@ -0,0 +1,25 @@
+package com.hospital.sistema.dto;
+
+import java.util.List;
+
+/**
+ * Horários livres de um médico em um período.
+ */
+public class DisponibilidadeMedicoDTO {
+
+    private final Long medicoId;
+    private final List<HorarioLivreDTO> horarios;
+
+    public DisponibilidadeMedicoDTO(Long medicoId, List<HorarioLivreDTO> horarios) {
+        this.medicoId = medicoId;
+        this.horarios = horarios;
+    }
+
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    public List<HorarioLivreDTO> getHorarios() {
+        return horarios;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hospital.sistema.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada imutável da fila de triagem.
+ * Guarda apenas o necessário para exibir e chamar o paciente, sem manter
+ * entidades gerenciadas nem coleções lazy vivas após o fim da transação.
+ */
+public final class EntradaFilaTriagem {
+
+    private final long pacienteId;
+    private final String nome;
+    private final Long consultaId;
+    private final LocalDateTime dataHoraEntrada;
+    private final String numeroDocumento;
+
+    public EntradaFilaTriagem(long pacienteId, String nome, Long consultaId,
+                              LocalDateTime dataHoraEntrada, String numeroDocumento) {
+        this.pacienteId = pacienteId;
+        this.nome = nome;
+        this.consultaId = consultaId;
+        this.dataHoraEntrada = dataHoraEntrada;
+        this.numeroDocumento = numeroDocumento;
+    }
+
+    public long getPacienteId() {
+        return pacienteId;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Long getConsultaId() {
+        return consultaId;
+    }
+
+    public LocalDateTime getDataHoraEntrada() {
+        return dataHoraEntrada;
+    }
+
+    public String getNumeroDocumento() {
+        return numeroDocumento;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hospital.sistema.dto;
+
+import com.hospital.sistema.enums.TipoEventoFila;
+
+/**
+ * DTO que descreve uma alteração incremental em uma fila.
+ * A prioridade e a sequência de chegada permitem ao cliente posicionar o
+ * paciente sem receber a fila completa; a versão identifica a fila resultante.
+ */
+public class EventoFilaDTO {
+
+    private final long versao;
+    private final TipoEventoFila tipo;
+    private final Long medicoId;
+    private final Long pacienteId;
+    private final Integer prioridade;
+    private final long sequencia;
+    private final Object paciente;
+
+    public EventoFilaDTO(long versao, TipoEventoFila tipo, Long medicoId, Long pacienteId,
+                         Integer prioridade, long sequencia, Object paciente) {
+        this.versao = versao;
+        this.tipo = tipo;
+        this.medicoId = medicoId;
+        this.pacienteId = pacienteId;
+        this.prioridade = prioridade;
+        this.sequencia = sequencia;
+        this.paciente = paciente;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public TipoEventoFila getTipo() {
+        return tipo;
+    }
+
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    public Long getPacienteId() {
+        return pacienteId;
+    }
+
+    public Integer getPrioridade() {
+        return prioridade;
+    }
+
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public Object getPaciente() {
+        return paciente;
+    }
+}
@@ -0,0 +1,47 @@
+package com.hospital.sistema.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da consulta versionada de uma fila.
+ * Quando {@code completa} é verdadeiro traz a fila inteira em {@code pacientes};
+ * caso contrário traz apenas as {@code alteracoes} posteriores à versão do cliente.
+ */
+public class FilaVersionadaDTO<T> {
+
+    private final long versao;
+    private final boolean completa;
+    private final List<T> pacientes;
+    private final List<EventoFilaDTO> alteracoes;
+
+    private FilaVersionadaDTO(long versao, boolean completa, List<T> pacientes, List<EventoFilaDTO> alteracoes) {
+        this.versao = versao;
+        this.completa = completa;
+        this.pacientes = pacientes;
+        this.alteracoes = alteracoes;
+    }
+
+    public static <T> FilaVersionadaDTO<T> completa(long versao, List<T> pacientes) {
+        return new FilaVersionadaDTO<>(versao, true, pacientes, null);
+    }
+
+    public static <T> FilaVersionadaDTO<T> alteracoes(long versao, List<EventoFilaDTO> alteracoes) {
+        return new FilaVersionadaDTO<>(versao, false, null, alteracoes);
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public boolean isCompleta() {
+        return completa;
+    }
+
+    public List<T> getPacientes() {
+        return pacientes;
+    }
+
+    public List<EventoFilaDTO> getAlteracoes() {
+        return alteracoes;
+    }
+}
@@ -0,0 +1,32 @@
+package com.hospital.sistema.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Horário livre na agenda de um médico, com a duração pedida.
+ */
+public class HorarioLivreDTO {
+
+    private final LocalDate data;
+    private final LocalTime horaInicio;
+    private final LocalTime horaFim;
+
+    public HorarioLivreDTO(LocalDate data, LocalTime horaInicio, LocalTime horaFim) {
+        this.data = data;
+        this.horaInicio = horaInicio;
+        this.horaFim = horaFim;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public LocalTime getHoraInicio() {
+        return horaInicio;
+    }
+
+    public LocalTime getHoraFim() {
+        return horaFim;
+    }
+}
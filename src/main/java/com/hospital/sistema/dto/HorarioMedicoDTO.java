@@ -0,0 +1,44 @@
+package com.hospital.sistema.dto;
+
+import java.time.LocalTime;
+
+/**
+ * Projeção de uma janela de atendimento semanal de um médico.
+ */
+public class HorarioMedicoDTO {
+
+    private final Long medicoId;
+    private final Long especialidadeId;
+    private final String diaSemana;
+    private final LocalTime horaInicio;
+    private final LocalTime horaFim;
+
+    public HorarioMedicoDTO(Long medicoId, Long especialidadeId, String diaSemana,
+                            LocalTime horaInicio, LocalTime horaFim) {
+        this.medicoId = medicoId;
+        this.especialidadeId = especialidadeId;
+        this.diaSemana = diaSemana;
+        this.horaInicio = horaInicio;
+        this.horaFim = horaFim;
+    }
+
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    public Long getEspecialidadeId() {
+        return especialidadeId;
+    }
+
+    public String getDiaSemana() {
+        return diaSemana;
+    }
+
+    public LocalTime getHoraInicio() {
+        return horaInicio;
+    }
+
+    public LocalTime getHoraFim() {
+        return horaFim;
+    }
+}
@@ -0,0 +1,36 @@
+package com.hospital.sistema.dto;
+
+/**
+ * Resumo de uma importação de pacientes. Quando há linhas rejeitadas, o
+ * relatório de erros fica disponível pelo ID da importação.
+ */
+public class ImportacaoPacientesResponse {
+
+    private final String importacaoId;
+    private final long linhas;
+    private final long importados;
+    private final long rejeitados;
+
+    public ImportacaoPacientesResponse(String importacaoId, long linhas, long importados, long rejeitados) {
+        this.importacaoId = importacaoId;
+        this.linhas = linhas;
+        this.importados = importados;
+        this.rejeitados = rejeitados;
+    }
+
+    public String getImportacaoId() {
+        return importacaoId;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public long getImportados() {
+        return importados;
+    }
+
+    public long getRejeitados() {
+        return rejeitados;
+    }
+}
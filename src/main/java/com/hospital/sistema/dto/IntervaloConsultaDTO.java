@@ -0,0 +1,52 @@
+package com.hospital.sistema.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projeção do horário ocupado por uma consulta, usada na verificação de
+ * conflitos do agendamento e no cálculo dos horários livres.
+ */
+public class IntervaloConsultaDTO {
+
+    private final Long consultaId;
+    private final Long medicoId;
+    private final Long pacienteId;
+    private final LocalDate data;
+    private final LocalTime horaInicio;
+    private final LocalTime horaFim;
+
+    public IntervaloConsultaDTO(Long consultaId, Long medicoId, Long pacienteId, LocalDate data,
+                                LocalTime horaInicio, LocalTime horaFim) {
+        this.consultaId = consultaId;
+        this.medicoId = medicoId;
+        this.pacienteId = pacienteId;
+        this.data = data;
+        this.horaInicio = horaInicio;
+        this.horaFim = horaFim;
+    }
+
+    public Long getConsultaId() {
+        return consultaId;
+    }
+
+    public Long getMedicoId() {
+        return medicoId;
+    }
+
+    public Long getPacienteId() {
+        return pacienteId;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public LocalTime getHoraInicio() {
+        return horaInicio;
+    }
+
+    public LocalTime getHoraFim() {
+        return horaFim;
+    }
+}
@@ -10,6 +10,7 @@ public class PacienteFilaDTO {
     private Long medicoId;
     private Long consultaId;
     private String nivelUrgencia;
+    private boolean escalado;
 
     public PacienteFilaDTO() {
     }
@@ -61,4 +62,15 @@ public class PacienteFilaDTO {
     public void setNivelUrgencia(String nivelUrgencia) {
         this.nivelUrgencia = nivelUrgencia;
     }
+
+    /**
+     * Indica que o paciente excedeu o tempo máximo de espera do seu nível de urgência.
+     */
+    public boolean isEscalado() {
+        return escalado;
+    }
+
+    public void setEscalado(boolean escalado) {
+        this.escalado = escalado;
+    }
 }
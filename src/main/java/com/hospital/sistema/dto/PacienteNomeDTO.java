@@ -0,0 +1,23 @@
+package com.hospital.sistema.dto;
+
+/**
+ * Projeção mínima de um paciente usada para carregar o índice de busca por nome.
+ */
+public class PacienteNomeDTO {
+
+    private final Long id;
+    private final String nome;
+
+    public PacienteNomeDTO(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
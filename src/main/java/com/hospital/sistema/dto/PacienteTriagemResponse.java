@@ -0,0 +1,66 @@
+package com.hospital.sistema.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta de um paciente na fila de triagem.
+ */
+public class PacienteTriagemResponse {
+
+    private Long id;
+    private String nome;
+    private Long consultaId;
+    private LocalDateTime dataHoraEntrada;
+    private String documento;
+
+    public PacienteTriagemResponse() {
+    }
+
+    public PacienteTriagemResponse(EntradaFilaTriagem entrada) {
+        this.id = entrada.getPacienteId();
+        this.nome = entrada.getNome();
+        this.consultaId = entrada.getConsultaId();
+        this.dataHoraEntrada = entrada.getDataHoraEntrada();
+        this.documento = entrada.getNumeroDocumento();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public Long getConsultaId() {
+        return consultaId;
+    }
+
+    public void setConsultaId(Long consultaId) {
+        this.consultaId = consultaId;
+    }
+
+    public LocalDateTime getDataHoraEntrada() {
+        return dataHoraEntrada;
+    }
+
+    public void setDataHoraEntrada(LocalDateTime dataHoraEntrada) {
+        this.dataHoraEntrada = dataHoraEntrada;
+    }
+
+    public String getDocumento() {
+        return documento;
+    }
+
+    public void setDocumento(String documento) {
+        this.documento = documento;
+    }
+}
@@ -0,0 +1,49 @@
+package com.hospital.sistema.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset).
+ * <p>
+ * Os cursores são opacos para o cliente e apontam para a página seguinte ou a
+ * anterior; ficam nulos quando não há página naquele sentido. O total só é
+ * calculado quando pedido explicitamente.
+ */
+public class PaginaCursor<T> {
+
+    private final List<T> itens;
+    private final String proximoCursor;
+    private final String cursorAnterior;
+    private final Long total;
+
+    public PaginaCursor(List<T> itens, String proximoCursor, String cursorAnterior, Long total) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.cursorAnterior = cursorAnterior;
+        this.total = total;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public String getCursorAnterior() {
+        return cursorAnterior;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public boolean isPrimeira() {
+        return cursorAnterior == null;
+    }
+
+    public boolean isUltima() {
+        return proximoCursor == null;
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,7 +16,8 @@ import java.util.List;
 public class Consulta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consultas_seq")
+    @SequenceGenerator(name = "consultas_seq", sequenceName = "consultas_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "A data é obrigatória")
@@ -63,6 +65,12 @@ public class Consulta {
     @Column(nullable = false)
     private StatusConsulta status;
 
+    /**
+     * Momento em que a consulta entrou na fila atual (triagem ou atendimento).
+     * Usado para reconstruir a ordem de chegada das filas na inicialização.
+     */
+    private LocalDateTime dataHoraEntradaFila;
+
     public Consulta() {
     }
 
@@ -154,4 +162,12 @@ public class Consulta {
     public void setStatus(StatusConsulta status) {
         this.status = status;
     }
+
+    public LocalDateTime getDataHoraEntradaFila() {
+        return dataHoraEntradaFila;
+    }
+
+    public void setDataHoraEntradaFila(LocalDateTime dataHoraEntradaFila) {
+        this.dataHoraEntradaFila = dataHoraEntradaFila;
+    }
 }
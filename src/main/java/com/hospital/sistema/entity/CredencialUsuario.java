@@ -0,0 +1,116 @@
+package com.hospital.sistema.entity;
+
+import com.hospital.sistema.enums.TipoUsuario;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Credenciais de todos os tipos de usuário, lidas de uma visão sobre as
+ * tabelas de admins, médicos, enfermeiros e recepcionistas.
+ * <p>
+ * A visão é calculada a partir das próprias tabelas, portanto reflete
+ * imediatamente cadastros e alterações de usuários. O filtro por login é
+ * aplicado a cada ramo da união e usa o índice único de login de cada tabela,
+ * resolvendo o login em uma única consulta. A prioridade preserva a ordem de
+ * verificação quando o mesmo login existe em mais de uma tabela.
+ */
+@Entity
+@Immutable
+@Subselect("SELECT CAST('ADMIN' AS VARCHAR(20)) AS tipo, 0 AS prioridade, a.id AS usuario_id, " +
+           "a.nome AS nome, a.login AS login, a.senha AS senha FROM admins a " +
+           "UNION ALL " +
+           "SELECT CAST('MEDICO' AS VARCHAR(20)), 1, m.id, m.nome, m.login, m.senha FROM medicos m " +
+           "UNION ALL " +
+           "SELECT CAST('ENFERMEIRO' AS VARCHAR(20)), 2, e.id, e.nome, e.login, e.senha FROM enfermeiros e " +
+           "UNION ALL " +
+           "SELECT CAST('RECEPCIONISTA' AS VARCHAR(20)), 3, r.id, r.nome, r.login, r.senha FROM recepcionistas r")
+@Synchronize({"admins", "medicos", "enfermeiros", "recepcionistas"})
+@IdClass(CredencialUsuario.Chave.class)
+public class CredencialUsuario {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TipoUsuario tipo;
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    private int prioridade;
+
+    private String nome;
+
+    private String login;
+
+    private String senha;
+
+    protected CredencialUsuario() {
+    }
+
+    public CredencialUsuario(TipoUsuario tipo, Long usuarioId, String nome, String login, String senha) {
+        this.tipo = tipo;
+        this.usuarioId = usuarioId;
+        this.prioridade = tipo.ordinal();
+        this.nome = nome;
+        this.login = login;
+        this.senha = senha;
+    }
+
+    public TipoUsuario getTipo() {
+        return tipo;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public int getPrioridade() {
+        return prioridade;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getSenha() {
+        return senha;
+    }
+
+    /**
+     * Chave da credencial: o ID só é único dentro de cada tipo de usuário.
+     */
+    public static class Chave implements Serializable {
+
+        private TipoUsuario tipo;
+        private Long usuarioId;
+
+        public Chave() {
+        }
+
+        public Chave(TipoUsuario tipo, Long usuarioId) {
+            this.tipo = tipo;
+            this.usuarioId = usuarioId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chave chave)) return false;
+            return tipo == chave.tipo && Objects.equals(usuarioId, chave.usuarioId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tipo, usuarioId);
+        }
+    }
+}
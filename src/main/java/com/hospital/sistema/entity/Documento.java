@@ -11,7 +11,8 @@ import jakarta.validation.constraints.Size;
 public class Documento {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documentos_seq")
+    @SequenceGenerator(name = "documentos_seq", sequenceName = "documentos_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "O tipo de documento é obrigatório")
@@ -8,7 +8,8 @@ import jakarta.validation.constraints.Size;
 public class Endereco {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enderecos_seq")
+    @SequenceGenerator(name = "enderecos_seq", sequenceName = "enderecos_seq", allocationSize = 50)
     private Long id;
 
     @Size(max = 255, message = "A descrição deve ter no máximo 255 caracteres")
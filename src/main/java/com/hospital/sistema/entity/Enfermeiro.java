@@ -7,11 +7,12 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "enfermeiros")
+@Table(name = "enfermeiros", indexes = @Index(name = "idx_enfermeiros_nome_id", columnList = "nome, id"))
 public class Enfermeiro {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enfermeiros_seq")
+    @SequenceGenerator(name = "enfermeiros_seq", sequenceName = "enfermeiros_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome é obrigatório")
@@ -9,7 +9,8 @@ import jakarta.validation.constraints.Size;
 public class Especialidade {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "especialidades_seq")
+    @SequenceGenerator(name = "especialidades_seq", sequenceName = "especialidades_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome da especialidade é obrigatório")
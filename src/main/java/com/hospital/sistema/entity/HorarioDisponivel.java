@@ -10,7 +10,8 @@ import java.time.LocalTime;
 public class HorarioDisponivel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "horarios_disponiveis_seq")
+    @SequenceGenerator(name = "horarios_disponiveis_seq", sequenceName = "horarios_disponiveis_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O dia da semana é obrigatório")
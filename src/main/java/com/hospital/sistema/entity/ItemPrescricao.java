@@ -9,7 +9,8 @@ import jakarta.validation.constraints.Size;
 public class ItemPrescricao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "itens_prescricao_seq")
+    @SequenceGenerator(name = "itens_prescricao_seq", sequenceName = "itens_prescricao_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome do medicamento é obrigatório")
@@ -10,11 +10,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "medicos")
+@Table(name = "medicos", indexes = @Index(name = "idx_medicos_nome_id", columnList = "nome, id"))
 public class Medico {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medicos_seq")
+    @SequenceGenerator(name = "medicos_seq", sequenceName = "medicos_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome é obrigatório")
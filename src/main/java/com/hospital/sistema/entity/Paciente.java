@@ -6,17 +6,23 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "pacientes")
+@Table(name = "pacientes", indexes = {
+        @Index(name = "idx_pacientes_nome_id", columnList = "nome, id"),
+        @Index(name = "idx_pacientes_data_hora_alteracao", columnList = "data_hora_alteracao")
+})
 public class Paciente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pacientes_seq")
+    @SequenceGenerator(name = "pacientes_seq", sequenceName = "pacientes_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome é obrigatório")
@@ -53,6 +59,11 @@ public class Paciente {
     @Column(length = 500)
     private String historicoMedico;
 
+    /** Última gravação do cadastro, usada na recarga incremental do índice de nomes. */
+    @UpdateTimestamp
+    @Column(name = "data_hora_alteracao")
+    private LocalDateTime dataHoraAlteracao;
+
     @OneToMany(mappedBy = "paciente", fetch = FetchType.LAZY)
     private List<Consulta> consultas = new ArrayList<>();
 
@@ -143,6 +154,10 @@ public class Paciente {
         this.historicoMedico = historicoMedico;
     }
 
+    public LocalDateTime getDataHoraAlteracao() {
+        return dataHoraAlteracao;
+    }
+
     public List<Consulta> getConsultas() {
         return consultas;
     }
@@ -7,11 +7,12 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "recepcionistas")
+@Table(name = "recepcionistas", indexes = @Index(name = "idx_recepcionistas_nome_id", columnList = "nome, id"))
 public class Recepcionista {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recepcionistas_seq")
+    @SequenceGenerator(name = "recepcionistas_seq", sequenceName = "recepcionistas_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome é obrigatório")
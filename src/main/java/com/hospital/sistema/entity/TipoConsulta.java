@@ -9,7 +9,8 @@ import jakarta.validation.constraints.Size;
 public class TipoConsulta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tipos_consulta_seq")
+    @SequenceGenerator(name = "tipos_consulta_seq", sequenceName = "tipos_consulta_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome do tipo de consulta é obrigatório")
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 public class Triagem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "triagens_seq")
+    @SequenceGenerator(name = "triagens_seq", sequenceName = "triagens_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "A data e hora são obrigatórias")
@@ -0,0 +1,40 @@
+package com.hospital.sistema.enums;
+
+import com.hospital.sistema.exception.ValidacaoException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum FormatoArquivo {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String tipoConteudo;
+
+    FormatoArquivo(String tipoConteudo) {
+        this.tipoConteudo = tipoConteudo;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String getExtensao() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Identifica o formato pelo cabeçalho Content-Type, ignorando parâmetros como o charset.
+     */
+    public static FormatoArquivo deTipoConteudo(String tipoConteudo) {
+        if (tipoConteudo != null) {
+            MediaType tipo = MediaType.parseMediaType(tipoConteudo);
+            for (FormatoArquivo formato : values()) {
+                if (tipo.isCompatibleWith(MediaType.parseMediaType(formato.tipoConteudo))) {
+                    return formato;
+                }
+            }
+        }
+        throw new ValidacaoException("Formato de arquivo não suportado: " + tipoConteudo);
+    }
+}
@@ -1,18 +1,26 @@
 package com.hospital.sistema.enums;
 
+import java.time.Duration;
+
+/**
+ * Níveis de urgência do Protocolo de Manchester, com o tempo máximo de
+ * espera por atendimento médico de cada nível.
+ */
 public enum NivelUrgencia {
-    EMERGENCIA("Emergência", 1),
-    MUITO_URGENTE("Muito Urgente", 2),
-    URGENTE("Urgente", 3),
-    POUCO_URGENTE("Pouco Urgente", 4),
-    NAO_URGENTE("Não Urgente", 5);
+    EMERGENCIA("Emergência", 1, 0),
+    MUITO_URGENTE("Muito Urgente", 2, 10),
+    URGENTE("Urgente", 3, 60),
+    POUCO_URGENTE("Pouco Urgente", 4, 120),
+    NAO_URGENTE("Não Urgente", 5, 240);
 
     private final String descricao;
     private final int prioridade;
+    private final Duration tempoMaximoEspera;
 
-    NivelUrgencia(String descricao, int prioridade) {
+    NivelUrgencia(String descricao, int prioridade, int tempoMaximoEsperaMinutos) {
         this.descricao = descricao;
         this.prioridade = prioridade;
+        this.tempoMaximoEspera = Duration.ofMinutes(tempoMaximoEsperaMinutos);
     }
 
     public String getDescricao() {
@@ -22,4 +30,8 @@ public enum NivelUrgencia {
     public int getPrioridade() {
         return prioridade;
     }
+
+    public Duration getTempoMaximoEspera() {
+        return tempoMaximoEspera;
+    }
 }
@@ -0,0 +1,20 @@
+package com.hospital.sistema.enums;
+
+public enum TipoEventoFila {
+    ADICIONADO("Paciente adicionado à fila"),
+    REMOVIDO("Paciente removido da fila"),
+    REORDENADO("Paciente reposicionado na fila"),
+    ESCALADO("Tempo máximo de espera excedido"),
+    RESERVADO("Paciente reservado por um enfermeiro"),
+    LIBERADO("Reserva do paciente liberada");
+
+    private final String descricao;
+
+    TipoEventoFila(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
@@ -0,0 +1,18 @@
+package com.hospital.sistema.exception;
+
+/**
+ * Exceção lançada quando o horário pedido sobrepõe outra consulta do médico ou do paciente.
+ */
+public class ConflitoAgendamentoException extends RuntimeException {
+
+    private final Long consultaConflitanteId;
+
+    public ConflitoAgendamentoException(String mensagem, Long consultaConflitanteId) {
+        super(mensagem);
+        this.consultaConflitanteId = consultaConflitanteId;
+    }
+
+    public Long getConsultaConflitanteId() {
+        return consultaConflitanteId;
+    }
+}
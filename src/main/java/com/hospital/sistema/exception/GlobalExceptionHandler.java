@@ -51,11 +51,28 @@ public class GlobalExceptionHandler {
         return criarRespostaErro(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    @ExceptionHandler(PacienteReservadoException.class)
+    public ResponseEntity<Map<String, Object>> handlePacienteReservado(PacienteReservadoException ex) {
+        return criarRespostaErro(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(ConflitoAgendamentoException.class)
+    public ResponseEntity<Map<String, Object>> handleConflitoAgendamento(ConflitoAgendamentoException ex) {
+        ResponseEntity<Map<String, Object>> resposta = criarRespostaErro(HttpStatus.CONFLICT, ex.getMessage());
+        resposta.getBody().put("consultaConflitanteId", ex.getConsultaConflitanteId());
+        return resposta;
+    }
+
     @ExceptionHandler(AcessoNegadoException.class)
     public ResponseEntity<Map<String, Object>> handleAcessoNegado(AcessoNegadoException ex) {
         return criarRespostaErro(HttpStatus.FORBIDDEN, ex.getMessage());
     }
 
+    @ExceptionHandler(ServicoSobrecarregadoException.class)
+    public ResponseEntity<Map<String, Object>> handleServicoSobrecarregado(ServicoSobrecarregadoException ex) {
+        return criarRespostaErro(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenerico(Exception ex) {
         return criarRespostaErro(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor");
@@ -0,0 +1,11 @@
+package com.hospital.sistema.exception;
+
+/**
+ * Exceção lançada quando o paciente está reservado para triagem por outro enfermeiro.
+ */
+public class PacienteReservadoException extends RuntimeException {
+
+    public PacienteReservadoException(Long pacienteId) {
+        super("O paciente " + pacienteId + " está em triagem com outro enfermeiro");
+    }
+}
@@ -0,0 +1,11 @@
+package com.hospital.sistema.exception;
+
+/**
+ * Exceção lançada quando o servidor recusa a operação por excesso de carga.
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    public ServicoSobrecarregadoException() {
+        super("Servidor sobrecarregado. Tente novamente em instantes");
+    }
+}
@@ -2,7 +2,11 @@ package com.hospital.sistema.repository;
 
 import com.hospital.sistema.entity.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -10,4 +14,12 @@ import java.util.Optional;
 public interface AdminRepository extends JpaRepository<Admin, Long> {
 
     Optional<Admin> findByLogin(String login);
+
+    /**
+     * Regrava o hash da senha, usado para atualizar hashes legados no login.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Admin a SET a.senha = :senha WHERE a.id = :id")
+    int atualizarSenha(@Param("id") Long id, @Param("senha") String senha);
 }
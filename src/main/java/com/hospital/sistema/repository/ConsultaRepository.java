@@ -1,13 +1,21 @@
 package com.hospital.sistema.repository;
 
+import com.hospital.sistema.dto.ConsultaFilaDTO;
+import com.hospital.sistema.dto.ConsultaResponse;
+import com.hospital.sistema.dto.IntervaloConsultaDTO;
 import com.hospital.sistema.entity.Consulta;
 import com.hospital.sistema.enums.StatusConsulta;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,10 +31,103 @@ public interface ConsultaRepository extends JpaRepository<Consulta, Long> {
     @Query("SELECT c FROM Consulta c WHERE c.data = :data AND c.status = :status")
     List<Consulta> buscarPorDataEStatus(@Param("data") LocalDate data, @Param("status") StatusConsulta status);
 
+    /**
+     * Consultas da data no status informado já no formato de resposta, em um
+     * único SELECT com as junções de paciente, médico, especialidade e tipo,
+     * sem carregar as entidades. Ordenadas por horário.
+     */
+    @Query("SELECT new com.hospital.sistema.dto.ConsultaResponse(" +
+           "c.id, p.nome, m.nome, e.nome, t.nome, c.data, c.horaInicio, c.horaFim, c.status) " +
+           "FROM Consulta c LEFT JOIN c.paciente p LEFT JOIN c.medico m LEFT JOIN m.especialidade e " +
+           "LEFT JOIN c.tipoConsulta t " +
+           "WHERE c.data = :data AND c.status = :status " +
+           "ORDER BY c.horaInicio, c.id")
+    List<ConsultaResponse> buscarResumoPorDataEStatus(@Param("data") LocalDate data,
+                                                      @Param("status") StatusConsulta status);
+
     @Query("SELECT c FROM Consulta c WHERE c.medico.id = :medicoId AND c.data = :data AND c.status = :status")
     List<Consulta> buscarPorMedicoDataEStatus(
             @Param("medicoId") Long medicoId,
             @Param("data") LocalDate data,
             @Param("status") StatusConsulta status
     );
+
+    /**
+     * Consultas do médico ou do paciente na data que se sobrepõem ao intervalo
+     * {@code [inicio, fim)}, ignorando as consultas nos status que liberam o
+     * horário e os registros sem duração. Intervalos apenas adjacentes não se
+     * sobrepõem.
+     */
+    @Query("SELECT new com.hospital.sistema.dto.IntervaloConsultaDTO(" +
+           "c.id, c.medico.id, c.paciente.id, c.data, c.horaInicio, c.horaFim) " +
+           "FROM Consulta c WHERE c.data = :data " +
+           "AND (c.medico.id = :medicoId OR c.paciente.id = :pacienteId) " +
+           "AND c.horaInicio < :fim AND c.horaFim > :inicio AND c.horaInicio < c.horaFim " +
+           "AND c.status NOT IN :statusLivres " +
+           "ORDER BY c.horaInicio, c.id")
+    List<IntervaloConsultaDTO> buscarSobreposicoes(@Param("medicoId") Long medicoId,
+                                                   @Param("pacienteId") Long pacienteId,
+                                                   @Param("data") LocalDate data,
+                                                   @Param("inicio") LocalTime inicio,
+                                                   @Param("fim") LocalTime fim,
+                                                   @Param("statusLivres") Collection<StatusConsulta> statusLivres);
+
+    /**
+     * Horários ocupados pelos médicos no período, ignorando as consultas nos
+     * status que liberam o horário.
+     */
+    @Query("SELECT new com.hospital.sistema.dto.IntervaloConsultaDTO(" +
+           "c.id, c.medico.id, c.paciente.id, c.data, c.horaInicio, c.horaFim) " +
+           "FROM Consulta c WHERE c.medico.id IN :medicoIds AND c.data BETWEEN :de AND :ate " +
+           "AND c.status NOT IN :statusLivres")
+    List<IntervaloConsultaDTO> buscarIntervalosOcupadosPorMedicos(@Param("medicoIds") Collection<Long> medicoIds,
+                                                                  @Param("de") LocalDate de,
+                                                                  @Param("ate") LocalDate ate,
+                                                                  @Param("statusLivres") Collection<StatusConsulta> statusLivres);
+
+    /**
+     * Busca, em uma única consulta, as consultas abertas nos status informados
+     * junto com a urgência da triagem mais recente, em ordem de entrada na fila.
+     */
+    @Query("SELECT new com.hospital.sistema.dto.ConsultaFilaDTO(" +
+           "c.id, c.status, c.dataHoraEntradaFila, p.id, p.nome, d.tipo, d.numero, m.id, t.nivelUrgencia) " +
+           "FROM Consulta c JOIN c.paciente p LEFT JOIN p.documento d LEFT JOIN c.medico m " +
+           "LEFT JOIN Triagem t ON t.consulta = c " +
+           "WHERE c.status IN :status " +
+           "AND (t.id IS NULL OR t.id = (SELECT MAX(t2.id) FROM Triagem t2 WHERE t2.consulta = c)) " +
+           "ORDER BY c.dataHoraEntradaFila, c.id")
+    List<ConsultaFilaDTO> buscarConsultasEmFila(@Param("status") Collection<StatusConsulta> status);
+
+    /**
+     * Altera o status apenas se a consulta ainda estiver no status esperado.
+     * Retorna a quantidade de consultas alteradas (0 ou 1).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Consulta c SET c.status = :novoStatus WHERE c.id = :id AND c.status = :statusAtual")
+    int atualizarStatus(@Param("id") Long id,
+                        @Param("statusAtual") StatusConsulta statusAtual,
+                        @Param("novoStatus") StatusConsulta novoStatus);
+
+    /**
+     * Encaminha a consulta para a triagem apenas se ela ainda estiver agendada.
+     * Retorna a quantidade de consultas alteradas (0 ou 1).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Consulta c SET c.status = com.hospital.sistema.enums.StatusConsulta.EM_TRIAGEM, " +
+           "c.dataHoraEntradaFila = :dataHoraEntrada " +
+           "WHERE c.id = :id AND c.status = com.hospital.sistema.enums.StatusConsulta.AGENDADA")
+    int encaminharParaTriagem(@Param("id") Long id, @Param("dataHoraEntrada") LocalDateTime dataHoraEntrada);
+
+    /**
+     * Inicia o atendimento por outro médico, transferindo a consulta para ele,
+     * apenas se a consulta ainda estiver aguardando atendimento.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Consulta c SET c.status = com.hospital.sistema.enums.StatusConsulta.EM_ATENDIMENTO, " +
+           "c.medico = (SELECT m FROM Medico m WHERE m.id = :medicoId) " +
+           "WHERE c.id = :id AND c.status = com.hospital.sistema.enums.StatusConsulta.AGUARDANDO_ATENDIMENTO")
+    int assumirAtendimento(@Param("id") Long id, @Param("medicoId") Long medicoId);
 }
@@ -0,0 +1,17 @@
+package com.hospital.sistema.repository;
+
+import com.hospital.sistema.entity.CredencialUsuario;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Consulta somente leitura sobre as credenciais de todos os tipos de usuário.
+ */
+public interface CredencialUsuarioRepository extends Repository<CredencialUsuario, CredencialUsuario.Chave> {
+
+    /**
+     * Busca as credenciais do login em uma única consulta, na ordem de verificação.
+     */
+    List<CredencialUsuario> findByLoginOrderByPrioridade(String login);
+}
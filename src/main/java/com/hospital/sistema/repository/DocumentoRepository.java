@@ -2,8 +2,12 @@ package com.hospital.sistema.repository;
 
 import com.hospital.sistema.entity.Documento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,10 @@ public interface DocumentoRepository extends JpaRepository<Documento, Long> {
     Optional<Documento> findByNumero(String numero);
 
     boolean existsByNumero(String numero);
+
+    /**
+     * Retorna, entre os números informados, os que já estão cadastrados.
+     */
+    @Query("SELECT d.numero FROM Documento d WHERE d.numero IN :numeros")
+    List<String> buscarNumerosCadastrados(@Param("numeros") Collection<String> numeros);
 }
@@ -1,24 +1,74 @@
 package com.hospital.sistema.repository;
 
+import com.hospital.sistema.dto.HorarioMedicoDTO;
 import com.hospital.sistema.entity.Medico;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MedicoRepository extends JpaRepository<Medico, Long> {
 
-    Page<Medico> findAll(Pageable pageable);
+    /**
+     * Lê uma página a partir da posição do cursor, sem OFFSET nem contagem.
+     */
+    Window<Medico> findAllBy(ScrollPosition posicao, Sort ordenacao, Limit limite);
 
     Optional<Medico> findByLogin(String login);
 
     @Query("SELECT m FROM Medico m WHERE LOWER(m.nome) LIKE LOWER(CONCAT('%', :nome, '%')) " +
            "AND (:especialidadeId IS NULL OR m.especialidade.id = :especialidadeId)")
     List<Medico> buscarPorNomeEEspecialidade(@Param("nome") String nome, @Param("especialidadeId") Long especialidadeId);
+
+    /**
+     * IDs dos demais médicos da mesma especialidade do médico informado.
+     */
+    @Query("SELECT m.id FROM Medico m WHERE m.especialidade = " +
+           "(SELECT m2.especialidade FROM Medico m2 WHERE m2.id = :medicoId) AND m.id <> :medicoId")
+    List<Long> buscarIdsColegasDeEspecialidade(@Param("medicoId") Long medicoId);
+
+    @Query("SELECT m.id FROM Medico m WHERE m.especialidade.id = :especialidadeId ORDER BY m.id")
+    List<Long> buscarIdsPorEspecialidade(@Param("especialidadeId") Long especialidadeId);
+
+    /**
+     * Janelas de atendimento semanais dos médicos informados.
+     */
+    @Query("SELECT new com.hospital.sistema.dto.HorarioMedicoDTO(" +
+           "m.id, m.especialidade.id, h.diaSemana, h.horaInicio, h.horaFim) " +
+           "FROM Medico m JOIN m.horariosDisponiveis h WHERE m.id IN :ids")
+    List<HorarioMedicoDTO> buscarHorariosPorMedicos(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Janelas de atendimento semanais de todos os médicos.
+     */
+    @Query("SELECT new com.hospital.sistema.dto.HorarioMedicoDTO(" +
+           "m.id, m.especialidade.id, h.diaSemana, h.horaInicio, h.horaFim) " +
+           "FROM Medico m JOIN m.horariosDisponiveis h")
+    List<HorarioMedicoDTO> buscarTodosHorarios();
+
+    /**
+     * Bloqueia a linha do médico até o fim da transação, serializando os
+     * agendamentos dele entre todas as instâncias da aplicação.
+     */
+    @Query(value = "SELECT id FROM medicos WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> bloquearPorId(@Param("id") Long id);
+
+    /**
+     * Regrava o hash da senha, usado para atualizar hashes legados no login.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Medico m SET m.senha = :senha WHERE m.id = :id")
+    int atualizarSenha(@Param("id") Long id, @Param("senha") String senha);
 }
@@ -1,22 +1,75 @@
 package com.hospital.sistema.repository;
 
+import com.hospital.sistema.dto.PacienteNomeDTO;
 import com.hospital.sistema.entity.Paciente;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PacienteRepository extends JpaRepository<Paciente, Long> {
 
-    Page<Paciente> findAll(Pageable pageable);
+    /**
+     * Lê uma página a partir da posição do cursor, sem OFFSET nem contagem.
+     */
+    Window<Paciente> findAllBy(ScrollPosition posicao, Sort ordenacao, Limit limite);
 
-    @Query("SELECT p FROM Paciente p WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
-    List<Paciente> buscarPorNome(@Param("nome") String nome);
+    /**
+     * Carrega os pacientes encontrados pelo índice de nomes, já com o documento.
+     */
+    @Query("SELECT p FROM Paciente p LEFT JOIN FETCH p.documento WHERE p.id IN :ids")
+    List<Paciente> buscarPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lê ID e nome dos pacientes em lotes ordenados por ID, a partir do último ID lido.
+     */
+    @Query("SELECT new com.hospital.sistema.dto.PacienteNomeDTO(p.id, p.nome) FROM Paciente p " +
+           "WHERE p.id > :ultimoId ORDER BY p.id")
+    List<PacienteNomeDTO> buscarNomesAPartirDe(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * Lê ID e nome dos pacientes gravados a partir do instante informado, em lotes
+     * ordenados por ID, a partir do último ID lido.
+     */
+    @Query("SELECT new com.hospital.sistema.dto.PacienteNomeDTO(p.id, p.nome) FROM Paciente p " +
+           "WHERE p.dataHoraAlteracao >= :desde AND p.id > :ultimoId ORDER BY p.id")
+    List<PacienteNomeDTO> buscarNomesAlteradosDesde(@Param("desde") LocalDateTime desde,
+                                                    @Param("ultimoId") Long ultimoId,
+                                                    Pageable pageable);
+
+    /**
+     * Percorre todos os pacientes em ordem de ID, com documento e endereço, lendo
+     * do banco em blocos por um cursor. O stream precisa de uma transação aberta
+     * enquanto é consumido e deve ser fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Paciente p LEFT JOIN FETCH p.documento LEFT JOIN FETCH p.endereco ORDER BY p.id")
+    Stream<Paciente> transmitirTodos();
+
+    /**
+     * Bloqueia a linha do paciente até o fim da transação, serializando os
+     * agendamentos dele entre todas as instâncias da aplicação.
+     */
+    @Query(value = "SELECT id FROM pacientes WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> bloquearPorId(@Param("id") Long id);
 
     @Query("SELECT p FROM Paciente p WHERE p.documento.numero = :numero")
     Paciente buscarPorDocumento(@Param("numero") String numero);
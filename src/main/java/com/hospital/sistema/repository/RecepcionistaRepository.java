@@ -1,17 +1,34 @@
 package com.hospital.sistema.repository;
 
 import com.hospital.sistema.entity.Recepcionista;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface RecepcionistaRepository extends JpaRepository<Recepcionista, Long> {
 
-    Page<Recepcionista> findAll(Pageable pageable);
+    /**
+     * Lê uma página a partir da posição do cursor, sem OFFSET nem contagem.
+     */
+    Window<Recepcionista> findAllBy(ScrollPosition posicao, Sort ordenacao, Limit limite);
 
     Optional<Recepcionista> findByLogin(String login);
+
+    /**
+     * Regrava o hash da senha, usado para atualizar hashes legados no login.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Recepcionista r SET r.senha = :senha WHERE r.id = :id")
+    int atualizarSenha(@Param("id") Long id, @Param("senha") String senha);
 }
@@ -3,7 +3,7 @@ package com.hospital.sistema.service;
 import com.hospital.sistema.entity.Admin;
 import com.hospital.sistema.exception.RecursoNaoEncontradoException;
 import com.hospital.sistema.repository.AdminRepository;
-import com.hospital.sistema.util.SenhaUtils;
+import com.hospital.sistema.util.CodificadorSenha;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,9 +13,11 @@ import java.util.Optional;
 public class AdminService {
 
     private final AdminRepository adminRepository;
+    private final CodificadorSenha codificadorSenha;
 
-    public AdminService(AdminRepository adminRepository) {
+    public AdminService(AdminRepository adminRepository, CodificadorSenha codificadorSenha) {
         this.adminRepository = adminRepository;
+        this.codificadorSenha = codificadorSenha;
     }
 
     public Admin buscarPorId(Long id) {
@@ -27,7 +29,7 @@ public class AdminService {
     public Optional<Admin> atualizarCredenciais(Long id, String novoLogin, String novaSenha) {
         return adminRepository.findById(id).map(admin -> {
             admin.setLogin(novoLogin);
-            admin.setSenha(SenhaUtils.criptografar(novaSenha));
+            admin.setSenha(codificadorSenha.codificar(novaSenha));
             return adminRepository.save(admin);
         });
     }
@@ -1,11 +1,11 @@
 package com.hospital.sistema.service;
 
 import com.hospital.sistema.config.SessaoUsuario;
-import com.hospital.sistema.entity.*;
-import com.hospital.sistema.enums.TipoUsuario;
+import com.hospital.sistema.entity.CredencialUsuario;
 import com.hospital.sistema.exception.CredenciaisInvalidasException;
 import com.hospital.sistema.repository.*;
-import com.hospital.sistema.util.SenhaUtils;
+import com.hospital.sistema.util.CodificadorSenha;
+import com.hospital.sistema.util.CodificadorSenha.FormatoSenha;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -17,17 +17,23 @@ import java.util.Optional;
 public class AutenticacaoService {
 
     private final SessaoUsuario sessaoUsuario;
+    private final CredencialUsuarioRepository credencialUsuarioRepository;
+    private final CodificadorSenha codificadorSenha;
     private final AdminRepository adminRepository;
     private final MedicoRepository medicoRepository;
     private final EnfermeiroRepository enfermeiroRepository;
     private final RecepcionistaRepository recepcionistaRepository;
 
     public AutenticacaoService(SessaoUsuario sessaoUsuario,
+                               CredencialUsuarioRepository credencialUsuarioRepository,
+                               CodificadorSenha codificadorSenha,
                                AdminRepository adminRepository,
                                MedicoRepository medicoRepository,
                                EnfermeiroRepository enfermeiroRepository,
                                RecepcionistaRepository recepcionistaRepository) {
         this.sessaoUsuario = sessaoUsuario;
+        this.credencialUsuarioRepository = credencialUsuarioRepository;
+        this.codificadorSenha = codificadorSenha;
         this.adminRepository = adminRepository;
         this.medicoRepository = medicoRepository;
         this.enfermeiroRepository = enfermeiroRepository;
@@ -36,72 +42,38 @@ public class AutenticacaoService {
 
     /**
      * Autentica o usuário e retorna o tipo de usuário se bem-sucedido.
+     * O login é resolvido em uma única consulta sobre todos os tipos de usuário.
+     * Senhas em formato legado são regravadas com o algoritmo atual, apenas
+     * depois de a senha real conferir com o formato em que estavam.
      */
     public String autenticar(String login, String senha) {
-        // Tenta autenticar como cada tipo de usuário
-        if (autenticarAdmin(login, senha)) {
-            return TipoUsuario.ADMIN.getTipo();
-        }
-
-        if (autenticarMedico(login, senha)) {
-            return TipoUsuario.MEDICO.getTipo();
-        }
-
-        if (autenticarEnfermeiro(login, senha)) {
-            return TipoUsuario.ENFERMEIRO.getTipo();
-        }
-
-        if (autenticarRecepcionista(login, senha)) {
-            return TipoUsuario.RECEPCIONISTA.getTipo();
+        // Verifica na ordem admin, médico, enfermeiro e recepcionista
+        for (CredencialUsuario credencial : credencialUsuarioRepository.findByLoginOrderByPrioridade(login)) {
+            Optional<FormatoSenha> formato = codificadorSenha.verificarFormato(senha, credencial.getSenha());
+            if (formato.isPresent()) {
+                atualizarHashSeNecessario(credencial, senha, formato.get());
+                String tipo = credencial.getTipo().getTipo();
+                configurarSessao(credencial.getNome(), credencial.getUsuarioId(), tipo);
+                return tipo;
+            }
         }
 
         throw new CredenciaisInvalidasException();
     }
 
-    private boolean autenticarAdmin(String login, String senha) {
-        Optional<Admin> admin = adminRepository.findByLogin(login);
-
-        if (admin.isPresent() && verificarSenha(senha, admin.get().getSenha())) {
-            configurarSessao(admin.get().getNome(), admin.get().getId(), TipoUsuario.ADMIN.getTipo());
-            return true;
+    private void atualizarHashSeNecessario(CredencialUsuario credencial, String senha, FormatoSenha formato) {
+        if (formato == FormatoSenha.PBKDF2 && !codificadorSenha.precisaAtualizar(credencial.getSenha())) {
+            return;
         }
-        return false;
-    }
 
-    private boolean autenticarMedico(String login, String senha) {
-        Optional<Medico> medico = medicoRepository.findByLogin(login);
-
-        if (medico.isPresent() && verificarSenha(senha, medico.get().getSenha())) {
-            configurarSessao(medico.get().getNome(), medico.get().getId(), TipoUsuario.MEDICO.getTipo());
-            return true;
+        String novoHash = codificadorSenha.codificar(senha);
+        Long id = credencial.getUsuarioId();
+        switch (credencial.getTipo()) {
+            case ADMIN -> adminRepository.atualizarSenha(id, novoHash);
+            case MEDICO -> medicoRepository.atualizarSenha(id, novoHash);
+            case ENFERMEIRO -> enfermeiroRepository.atualizarSenha(id, novoHash);
+            case RECEPCIONISTA -> recepcionistaRepository.atualizarSenha(id, novoHash);
         }
-        return false;
-    }
-
-    private boolean autenticarEnfermeiro(String login, String senha) {
-        Optional<Enfermeiro> enfermeiro = enfermeiroRepository.findByLogin(login);
-
-        if (enfermeiro.isPresent() && verificarSenha(senha, enfermeiro.get().getSenha())) {
-            configurarSessao(enfermeiro.get().getNome(), enfermeiro.get().getId(), TipoUsuario.ENFERMEIRO.getTipo());
-            return true;
-        }
-        return false;
-    }
-
-    private boolean autenticarRecepcionista(String login, String senha) {
-        Optional<Recepcionista> recepcionista = recepcionistaRepository.findByLogin(login);
-
-        if (recepcionista.isPresent() && verificarSenha(senha, recepcionista.get().getSenha())) {
-            configurarSessao(recepcionista.get().getNome(), recepcionista.get().getId(), TipoUsuario.RECEPCIONISTA.getTipo());
-            return true;
-        }
-        return false;
-    }
-
-    private boolean verificarSenha(String senhaDigitada, String senhaCadastrada) {
-        // Verifica senha criptografada ou em texto plano (para compatibilidade)
-        return SenhaUtils.verificar(senhaDigitada, senhaCadastrada)
-                || senhaDigitada.equals(senhaCadastrada);
     }
 
     private void configurarSessao(String nome, Long id, String tipo) {
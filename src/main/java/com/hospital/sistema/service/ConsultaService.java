@@ -2,49 +2,75 @@ package com.hospital.sistema.service;
 
 import com.hospital.sistema.dto.ConsultaRequest;
 import com.hospital.sistema.dto.ConsultaResponse;
+import com.hospital.sistema.dto.EntradaFilaTriagem;
+import com.hospital.sistema.dto.IntervaloConsultaDTO;
+import com.hospital.sistema.dto.PacienteFilaDTO;
 import com.hospital.sistema.entity.Consulta;
 import com.hospital.sistema.entity.Medico;
 import com.hospital.sistema.entity.Paciente;
 import com.hospital.sistema.entity.TipoConsulta;
 import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.exception.ConflitoAgendamentoException;
 import com.hospital.sistema.exception.RecursoNaoEncontradoException;
+import com.hospital.sistema.exception.ValidacaoException;
 import com.hospital.sistema.repository.ConsultaRepository;
 import com.hospital.sistema.repository.TipoConsultaRepository;
+import com.hospital.sistema.util.AposCommit;
+import com.hospital.sistema.util.CacheAgendaHoje;
+import com.hospital.sistema.util.FilaAtendimentoMedico;
 import com.hospital.sistema.util.FilaTriagem;
+import com.hospital.sistema.util.GradeHorarios;
+import com.hospital.sistema.util.RouboTrabalhoFila;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Arrays;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class ConsultaService {
 
-    private static final List<String> DIAS_SEMANA = Arrays.asList(
-            "SUNDAY", "MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY"
-    );
+    /**
+     * Status em que a consulta não ocupa mais o horário.
+     */
+    static final Set<StatusConsulta> STATUS_HORARIO_LIVRE =
+            EnumSet.of(StatusConsulta.CANCELADA, StatusConsulta.NAO_COMPARECEU);
 
     private final ConsultaRepository consultaRepository;
     private final PacienteService pacienteService;
     private final MedicoService medicoService;
     private final TipoConsultaRepository tipoConsultaRepository;
     private final FilaTriagem filaTriagem;
+    private final FilaAtendimentoMedico filaAtendimentoMedico;
+    private final RouboTrabalhoFila rouboTrabalhoFila;
+    private final DisponibilidadeService disponibilidadeService;
+    private final CacheAgendaHoje cacheAgendaHoje;
 
     public ConsultaService(ConsultaRepository consultaRepository,
                           PacienteService pacienteService,
                           MedicoService medicoService,
                           TipoConsultaRepository tipoConsultaRepository,
-                          FilaTriagem filaTriagem) {
+                          FilaTriagem filaTriagem,
+                          FilaAtendimentoMedico filaAtendimentoMedico,
+                          RouboTrabalhoFila rouboTrabalhoFila,
+                          DisponibilidadeService disponibilidadeService,
+                          CacheAgendaHoje cacheAgendaHoje) {
         this.consultaRepository = consultaRepository;
         this.pacienteService = pacienteService;
         this.medicoService = medicoService;
         this.tipoConsultaRepository = tipoConsultaRepository;
         this.filaTriagem = filaTriagem;
+        this.filaAtendimentoMedico = filaAtendimentoMedico;
+        this.rouboTrabalhoFila = rouboTrabalhoFila;
+        this.disponibilidadeService = disponibilidadeService;
+        this.cacheAgendaHoje = cacheAgendaHoje;
     }
 
     public Consulta buscarPorId(Long id) {
@@ -53,57 +79,160 @@ public class ConsultaService {
     }
 
     public List<ConsultaResponse> buscarConsultasDeHoje() {
-        LocalDate hoje = LocalDate.now();
-        List<Consulta> consultas = consultaRepository.buscarPorDataEStatus(hoje, StatusConsulta.AGENDADA);
-        return consultas.stream()
-                .map(this::converterParaResponse)
-                .collect(Collectors.toList());
+        return cacheAgendaHoje.consultas();
+    }
+
+    /**
+     * Descarta a agenda de hoje em memória, para refletir alterações feitas em outras instâncias.
+     */
+    public void invalidarAgendaDeHoje() {
+        cacheAgendaHoje.invalidar();
     }
 
     public List<Consulta> buscarHistoricoPaciente(Long pacienteId) {
         return consultaRepository.findByPacienteIdOrderByDataDesc(pacienteId);
     }
 
+    /**
+     * Agenda uma consulta na próxima ocorrência do dia da semana pedido.
+     * <p>
+     * As linhas do médico e do paciente são bloqueadas no banco, nessa ordem, até
+     * o fim da transação; assim dois agendamentos simultâneos para o mesmo médico
+     * ou paciente, mesmo em instâncias diferentes da aplicação, são verificados um
+     * após o outro. Sob o bloqueio, os horários já ocupados no dia são indexados
+     * e o horário pedido é recusado se sobrepuser algum deles.
+     *
+     * @throws ConflitoAgendamentoException se o médico ou o paciente já tiver
+     *                                      consulta sobreposta nesse horário
+     */
     @Transactional
-    public Optional<Consulta> agendar(ConsultaRequest request) {
-        try {
-            Medico medico = medicoService.buscarPorId(request.getMedicoId());
-            Paciente paciente = pacienteService.buscarPorId(request.getPacienteId());
-            TipoConsulta tipoConsulta = buscarTipoConsulta(request.getTipoConsultaId());
+    public Consulta agendar(ConsultaRequest request) {
+        LocalDate data = calcularProximaData(request.getDiaSemana());
+        LocalTime horaInicio = parsearHora(request.getHoraInicio());
+        LocalTime horaFim = parsearHora(request.getHoraFim());
+        if (!horaInicio.isBefore(horaFim)) {
+            throw new ValidacaoException("A hora de fim deve ser posterior à hora de início");
+        }
 
-            Consulta consulta = criarConsulta(request, medico, paciente, tipoConsulta);
-            return Optional.of(consultaRepository.save(consulta));
+        medicoService.bloquearAgenda(request.getMedicoId());
+        pacienteService.bloquearAgenda(request.getPacienteId());
+        verificarConflitos(request.getMedicoId(), request.getPacienteId(), data, horaInicio, horaFim);
 
-        } catch (Exception e) {
-            return Optional.empty();
+        Medico medico = medicoService.buscarPorId(request.getMedicoId());
+        Paciente paciente = pacienteService.buscarPorId(request.getPacienteId());
+        TipoConsulta tipoConsulta = buscarTipoConsulta(request.getTipoConsultaId());
+
+        Consulta consulta = criarConsulta(medico, paciente, tipoConsulta, data, horaInicio, horaFim);
+        Consulta salva = consultaRepository.save(consulta);
+        disponibilidadeService.invalidarAposCommit(medico.getId());
+        cacheAgendaHoje.atualizarAposCommit(salva);
+        return salva;
+    }
+
+    /**
+     * Cancela uma consulta que ainda não começou, liberando o horário.
+     */
+    @Transactional
+    public void cancelar(Long consultaId) {
+        Consulta consulta = buscarPorId(consultaId);
+        if (consultaRepository.atualizarStatus(consultaId, StatusConsulta.AGENDADA, StatusConsulta.CANCELADA) == 0) {
+            throw new ValidacaoException("Apenas consultas agendadas podem ser canceladas");
+        }
+        cacheAgendaHoje.removerAposCommit(consultaId);
+        if (consulta.getMedico() != null) {
+            disponibilidadeService.invalidarAposCommit(consulta.getMedico().getId());
         }
     }
 
+    private void verificarConflitos(Long medicoId, Long pacienteId, LocalDate data,
+                                    LocalTime horaInicio, LocalTime horaFim) {
+        // A sobreposição é filtrada no banco, sob o bloqueio das linhas do médico e do paciente
+        List<IntervaloConsultaDTO> sobreposicoes = consultaRepository.buscarSobreposicoes(
+                medicoId, pacienteId, data, horaInicio, horaFim, STATUS_HORARIO_LIVRE);
+        if (sobreposicoes.isEmpty()) {
+            return;
+        }
+
+        IntervaloConsultaDTO conflito = sobreposicoes.stream()
+                .filter(intervalo -> medicoId.equals(intervalo.getMedicoId()))
+                .findFirst()
+                .orElse(null);
+        String dono = "O médico";
+        if (conflito == null) {
+            conflito = sobreposicoes.get(0);
+            dono = "O paciente";
+        }
+        throw new ConflitoAgendamentoException(dono + " já tem consulta das " + conflito.getHoraInicio()
+                + " às " + conflito.getHoraFim() + " em " + data, conflito.getConsultaId());
+    }
+
     @Transactional
     public Consulta salvar(Consulta consulta) {
-        return consultaRepository.save(consulta);
+        Consulta salva = consultaRepository.save(consulta);
+        cacheAgendaHoje.atualizarAposCommit(salva);
+        return salva;
     }
 
     /**
      * Encaminha o paciente de uma consulta para a triagem.
+     * O status EM_TRIAGEM é persistido para que a fila possa ser reconstruída após reinício;
+     * o paciente entra na fila em memória só depois da confirmação da transação.
+     * Apenas consultas agendadas podem ser encaminhadas.
      */
+    @Transactional
     public boolean encaminharParaTriagem(Long consultaId) {
         Optional<Consulta> consultaOpt = consultaRepository.findById(consultaId);
 
         if (consultaOpt.isPresent()) {
-            Paciente paciente = consultaOpt.get().getPaciente();
+            Consulta consulta = consultaOpt.get();
+            Paciente paciente = consulta.getPaciente();
             if (paciente != null) {
-                filaTriagem.adicionar(paciente);
+                LocalDateTime dataHoraEntrada = LocalDateTime.now();
+                if (consultaRepository.encaminharParaTriagem(consultaId, dataHoraEntrada) == 0) {
+                    throw new ValidacaoException("Apenas consultas agendadas podem ser encaminhadas para a triagem");
+                }
+                cacheAgendaHoje.removerAposCommit(consultaId);
+
+                EntradaFilaTriagem entrada = criarEntradaFilaTriagem(consulta, paciente, dataHoraEntrada);
+                AposCommit.executar(() -> filaTriagem.adicionar(entrada));
                 return true;
             }
         }
         return false;
     }
 
+    private EntradaFilaTriagem criarEntradaFilaTriagem(Consulta consulta, Paciente paciente,
+                                                       LocalDateTime dataHoraEntrada) {
+        String numeroDocumento = paciente.getDocumento() != null ? paciente.getDocumento().getNumero() : null;
+        return new EntradaFilaTriagem(paciente.getId(), paciente.getNome(), consulta.getId(),
+                dataHoraEntrada, numeroDocumento);
+    }
+
     public void removerPacienteDaFilaTriagem(Long pacienteId) {
         filaTriagem.remover(pacienteId);
     }
 
+    /**
+     * Chama o próximo paciente da fila do médico e inicia o atendimento.
+     * A consulta só passa para EM_ATENDIMENTO se ainda estiver aguardando; entradas
+     * cuja consulta mudou de status nesse meio tempo são descartadas.
+     * Com a fila vazia, o médico pode assumir um paciente de um colega da mesma
+     * especialidade, se o roubo de trabalho estiver habilitado.
+     */
+    public Optional<PacienteFilaDTO> chamarProximoPaciente(Long medicoId) {
+        Optional<PacienteFilaDTO> proximo = filaAtendimentoMedico.chamarProximo(medicoId,
+                paciente -> consultaRepository.atualizarStatus(
+                        paciente.getConsultaId(),
+                        StatusConsulta.AGUARDANDO_ATENDIMENTO,
+                        StatusConsulta.EM_ATENDIMENTO) == 1);
+        if (proximo.isPresent()) {
+            return proximo;
+        }
+
+        return rouboTrabalhoFila.roubarPara(medicoId,
+                paciente -> consultaRepository.assumirAtendimento(paciente.getConsultaId(), medicoId) == 1);
+    }
+
     public Optional<Consulta> buscarConsultaAgendadaPorPaciente(Long pacienteId) {
         List<Consulta> consultas = consultaRepository.buscarPorPacienteEStatus(pacienteId, StatusConsulta.AGENDADA);
 
@@ -113,55 +242,54 @@ public class ConsultaService {
         return Optional.of(consultas.get(consultas.size() - 1));
     }
 
+    public Optional<Consulta> buscarConsultaEmTriagemPorPaciente(Long pacienteId) {
+        List<Consulta> consultas = consultaRepository.buscarPorPacienteEStatus(pacienteId, StatusConsulta.EM_TRIAGEM);
+
+        if (consultas.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(consultas.get(consultas.size() - 1));
+    }
+
     private TipoConsulta buscarTipoConsulta(Long id) {
         return tipoConsultaRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Tipo de Consulta", id));
     }
 
-    private Consulta criarConsulta(ConsultaRequest request, Medico medico, Paciente paciente, TipoConsulta tipoConsulta) {
+    private Consulta criarConsulta(Medico medico, Paciente paciente, TipoConsulta tipoConsulta,
+                                   LocalDate data, LocalTime horaInicio, LocalTime horaFim) {
         Consulta consulta = new Consulta();
 
         consulta.setMedico(medico);
         consulta.setPaciente(paciente);
         consulta.setTipoConsulta(tipoConsulta);
-        consulta.setData(calcularProximaData(request.getDiaSemana()));
-        consulta.setHoraInicio(LocalTime.parse(request.getHoraInicio()));
-        consulta.setHoraFim(LocalTime.parse(request.getHoraFim()));
+        consulta.setData(data);
+        consulta.setHoraInicio(horaInicio);
+        consulta.setHoraFim(horaFim);
         consulta.setStatus(StatusConsulta.AGENDADA);
 
         return consulta;
     }
 
+    private LocalTime parsearHora(String hora) {
+        if (hora == null) {
+            throw new ValidacaoException("Os horários de início e fim são obrigatórios");
+        }
+        try {
+            return LocalTime.parse(hora);
+        } catch (DateTimeParseException e) {
+            throw new ValidacaoException("Horário inválido: " + hora);
+        }
+    }
+
     /**
      * Calcula a próxima data com base no dia da semana informado.
      */
     private LocalDate calcularProximaData(String diaSemana) {
-        int indiceDiaSemana = DIAS_SEMANA.indexOf(diaSemana.toUpperCase());
-
-        if (indiceDiaSemana == -1) {
-            throw new IllegalArgumentException("Dia da semana inválido: " + diaSemana);
+        try {
+            return LocalDate.now().with(TemporalAdjusters.nextOrSame(GradeHorarios.diaSemana(diaSemana)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidacaoException("Dia da semana inválido: " + diaSemana);
         }
-
-        LocalDate hoje = LocalDate.now();
-        int indiceHoje = hoje.getDayOfWeek().getValue() % 7;
-        int diasParaAdicionar = (indiceDiaSemana - indiceHoje + 7) % 7;
-
-        return hoje.plusDays(diasParaAdicionar);
-    }
-
-    private ConsultaResponse converterParaResponse(Consulta consulta) {
-        ConsultaResponse response = new ConsultaResponse();
-
-        response.setId(consulta.getId());
-        response.setPaciente(consulta.getPaciente().getNome());
-        response.setMedico(consulta.getMedico().getNome());
-        response.setEspecialidade(consulta.getMedico().getEspecialidade().getNome());
-        response.setTipoConsulta(consulta.getTipoConsulta().getNome());
-        response.setData(consulta.getData());
-        response.setHoraInicio(consulta.getHoraInicio());
-        response.setHoraFim(consulta.getHoraFim());
-        response.setStatus(consulta.getStatus().getDescricao());
-
-        return response;
     }
 }
@@ -0,0 +1,245 @@
+package com.hospital.sistema.service;
+
+import com.hospital.sistema.dto.DisponibilidadeMedicoDTO;
+import com.hospital.sistema.dto.HorarioLivreDTO;
+import com.hospital.sistema.dto.IntervaloConsultaDTO;
+import com.hospital.sistema.exception.RecursoNaoEncontradoException;
+import com.hospital.sistema.exception.ValidacaoException;
+import com.hospital.sistema.repository.ConsultaRepository;
+import com.hospital.sistema.repository.MedicoRepository;
+import com.hospital.sistema.util.AposCommit;
+import com.hospital.sistema.util.CacheDisponibilidadeSemanal;
+import com.hospital.sistema.util.GradeHorarios;
+import com.hospital.sistema.util.MapaDisponibilidadeSemanal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cálculo dos horários livres dos médicos.
+ * <p>
+ * A agenda de cada médico é montada como um mapa de bits por dia, em intervalos
+ * de 5 minutos: cada dia parte do mapa semanal do médico e as consultas que
+ * ocupam horário desmarcam os intervalos. As agendas são montadas de uma vez
+ * para todo o horizonte, a partir de hoje, e ficam em cache por médico; a
+ * consulta de um período percorre só os bits já calculados.
+ * <p>
+ * O cache do médico é descartado quando uma consulta dele é agendada ou
+ * cancelada nesta instância, quando o mapa semanal dele muda, na virada do dia e
+ * após a validade configurada, que limita o tempo em que agendamentos feitos em
+ * outras instâncias ficam invisíveis. Um horário desatualizado não gera consulta
+ * duplicada: o agendamento verifica os conflitos no banco.
+ */
+@Service
+public class DisponibilidadeService {
+
+    private final MedicoRepository medicoRepository;
+    private final ConsultaRepository consultaRepository;
+    private final CacheDisponibilidadeSemanal cacheDisponibilidadeSemanal;
+    private final int horizonteDias;
+    private final long validadeMs;
+
+    private final Map<Long, AgendaLivre> agendas = new ConcurrentHashMap<>();
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    public DisponibilidadeService(MedicoRepository medicoRepository,
+                                  ConsultaRepository consultaRepository,
+                                  CacheDisponibilidadeSemanal cacheDisponibilidadeSemanal,
+                                  @Value("${hospital.disponibilidade.horizonte-dias:60}") int horizonteDias,
+                                  @Value("${hospital.disponibilidade.cache.validade-ms:60000}") long validadeMs) {
+        this.medicoRepository = medicoRepository;
+        this.consultaRepository = consultaRepository;
+        this.cacheDisponibilidadeSemanal = cacheDisponibilidadeSemanal;
+        this.horizonteDias = horizonteDias;
+        this.validadeMs = validadeMs;
+    }
+
+    /**
+     * Horários livres do médico no período, com a duração pedida em minutos.
+     * Datas anteriores a hoje e horários de hoje que já passaram são ignorados.
+     */
+    public DisponibilidadeMedicoDTO buscarPorMedico(Long medicoId, LocalDate de, LocalDate ate, int duracaoMinutos) {
+        if (!medicoRepository.existsById(medicoId)) {
+            throw new RecursoNaoEncontradoException("Médico", medicoId);
+        }
+        return buscar(List.of(medicoId), de, ate, duracaoMinutos).get(0);
+    }
+
+    /**
+     * Horários livres de todos os médicos da especialidade no período.
+     */
+    public List<DisponibilidadeMedicoDTO> buscarPorEspecialidade(Long especialidadeId, LocalDate de, LocalDate ate,
+                                                                 int duracaoMinutos) {
+        return buscar(medicoRepository.buscarIdsPorEspecialidade(especialidadeId), de, ate, duracaoMinutos);
+    }
+
+    /**
+     * Médicos da especialidade em horário de atendimento no momento, pelo mapa
+     * semanal, sem consultar o banco.
+     */
+    public List<Long> buscarMedicosEmAtendimento(Long especialidadeId, LocalDateTime momento) {
+        return cacheDisponibilidadeSemanal.medicosDisponiveis(especialidadeId, momento);
+    }
+
+    /**
+     * Descarta a agenda em cache do médico.
+     */
+    public void invalidar(Long medicoId) {
+        invalidacoes.incrementAndGet();
+        agendas.remove(medicoId);
+    }
+
+    /**
+     * Descarta a agenda em cache do médico quando a transação em andamento for
+     * confirmada, ou imediatamente se não houver transação.
+     */
+    public void invalidarAposCommit(Long medicoId) {
+        AposCommit.executar(() -> invalidar(medicoId));
+    }
+
+    private List<DisponibilidadeMedicoDTO> buscar(List<Long> medicoIds, LocalDate de, LocalDate ate,
+                                                  int duracaoMinutos) {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDate hoje = agora.toLocalDate();
+        validarPeriodo(hoje, de, ate, duracaoMinutos);
+
+        Map<Long, AgendaLivre> agendasMedicos = obterAgendas(medicoIds, hoje);
+        int intervalosPorHorario = GradeHorarios.intervalosParaMinutos(duracaoMinutos);
+        LocalDate primeiraData = de.isBefore(hoje) ? hoje : de;
+
+        List<DisponibilidadeMedicoDTO> disponibilidades = new ArrayList<>(medicoIds.size());
+        for (Long medicoId : medicoIds) {
+            AgendaLivre agenda = agendasMedicos.get(medicoId);
+            List<HorarioLivreDTO> horarios = new ArrayList<>();
+            for (LocalDate data = primeiraData; !data.isAfter(ate); data = data.plusDays(1)) {
+                int primeiroIntervalo = data.equals(hoje) ? GradeHorarios.intervaloAPartirDe(agora.toLocalTime()) : 0;
+                adicionarHorarios(horarios, data, agenda.dia(data), primeiroIntervalo, intervalosPorHorario);
+            }
+            disponibilidades.add(new DisponibilidadeMedicoDTO(medicoId, horarios));
+        }
+        return disponibilidades;
+    }
+
+    private void validarPeriodo(LocalDate hoje, LocalDate de, LocalDate ate, int duracaoMinutos) {
+        if (duracaoMinutos <= 0 || duracaoMinutos > 24 * 60) {
+            throw new ValidacaoException("A duração deve estar entre 1 e 1440 minutos");
+        }
+        if (ate.isBefore(de)) {
+            throw new ValidacaoException("A data final deve ser igual ou posterior à inicial");
+        }
+        LocalDate limite = hoje.plusDays(horizonteDias - 1L);
+        if (ate.isAfter(limite)) {
+            throw new ValidacaoException("A disponibilidade só é calculada até " + limite);
+        }
+    }
+
+    /**
+     * Divide cada sequência de intervalos livres em horários consecutivos da duração pedida.
+     */
+    private static void adicionarHorarios(List<HorarioLivreDTO> horarios, LocalDate data, BitSet livres,
+                                          int primeiroIntervalo, int intervalosPorHorario) {
+        int inicio = livres.nextSetBit(primeiroIntervalo);
+        while (inicio >= 0) {
+            int fim = livres.nextClearBit(inicio);
+            for (int i = inicio; i + intervalosPorHorario <= fim; i += intervalosPorHorario) {
+                horarios.add(new HorarioLivreDTO(data, GradeHorarios.horarioDe(i),
+                        GradeHorarios.horarioDe(i + intervalosPorHorario)));
+            }
+            inicio = livres.nextSetBit(fim);
+        }
+    }
+
+    private Map<Long, AgendaLivre> obterAgendas(List<Long> medicoIds, LocalDate hoje) {
+        long agoraMs = System.currentTimeMillis();
+        Map<Long, AgendaLivre> resultado = new HashMap<>();
+        List<Long> ausentes = new ArrayList<>();
+        for (Long medicoId : medicoIds) {
+            AgendaLivre agenda = agendas.get(medicoId);
+            if (agenda != null && agenda.valida(hoje, agoraMs, validadeMs,
+                    cacheDisponibilidadeSemanal.mapa(medicoId))) {
+                resultado.put(medicoId, agenda);
+            } else {
+                ausentes.add(medicoId);
+            }
+        }
+        if (ausentes.isEmpty()) {
+            return resultado;
+        }
+
+        long geracao = invalidacoes.get();
+        Map<Long, AgendaLivre> montadas = montarAgendas(ausentes, hoje, agoraMs);
+        montadas.forEach((medicoId, agenda) -> {
+            agendas.put(medicoId, agenda);
+            // Uma invalidação durante a leitura pode ter visto o cache antigo
+            if (invalidacoes.get() != geracao) {
+                agendas.remove(medicoId, agenda);
+            }
+        });
+        resultado.putAll(montadas);
+        return resultado;
+    }
+
+    private Map<Long, AgendaLivre> montarAgendas(List<Long> medicoIds, LocalDate hoje, long agoraMs) {
+        Map<Long, AgendaLivre> agendasMontadas = new HashMap<>();
+        for (Long medicoId : medicoIds) {
+            MapaDisponibilidadeSemanal semana = cacheDisponibilidadeSemanal.mapa(medicoId);
+            Map<DayOfWeek, BitSet> diasSemana = new EnumMap<>(DayOfWeek.class);
+            BitSet[] dias = new BitSet[horizonteDias];
+            for (int i = 0; i < horizonteDias; i++) {
+                BitSet janelas = diasSemana.computeIfAbsent(hoje.plusDays(i).getDayOfWeek(), semana::dia);
+                dias[i] = (BitSet) janelas.clone();
+            }
+            agendasMontadas.put(medicoId, new AgendaLivre(hoje, semana, dias, agoraMs));
+        }
+
+        LocalDate ultimoDia = hoje.plusDays(horizonteDias - 1L);
+        for (IntervaloConsultaDTO ocupado : consultaRepository.buscarIntervalosOcupadosPorMedicos(
+                medicoIds, hoje, ultimoDia, ConsultaService.STATUS_HORARIO_LIVRE)) {
+            AgendaLivre agenda = agendasMontadas.get(ocupado.getMedicoId());
+            if (agenda != null) {
+                GradeHorarios.desmarcarOcupado(agenda.dia(ocupado.getData()),
+                        ocupado.getHoraInicio(), ocupado.getHoraFim());
+            }
+        }
+        return agendasMontadas;
+    }
+
+    /**
+     * Intervalos livres de um médico em cada dia do horizonte, a partir de {@code inicio}.
+     * Os mapas de bits não são alterados depois de publicados no cache.
+     */
+    private static class AgendaLivre {
+
+        private final LocalDate inicio;
+        private final MapaDisponibilidadeSemanal semana;
+        private final BitSet[] dias;
+        private final long montadaEmMs;
+
+        AgendaLivre(LocalDate inicio, MapaDisponibilidadeSemanal semana, BitSet[] dias, long montadaEmMs) {
+            this.inicio = inicio;
+            this.semana = semana;
+            this.dias = dias;
+            this.montadaEmMs = montadaEmMs;
+        }
+
+        BitSet dia(LocalDate data) {
+            return dias[(int) ChronoUnit.DAYS.between(inicio, data)];
+        }
+
+        boolean valida(LocalDate hoje, long agoraMs, long validadeMs, MapaDisponibilidadeSemanal semanaAtual) {
+            return inicio.equals(hoje) && agoraMs - montadaEmMs < validadeMs && semana == semanaAtual;
+        }
+    }
+}
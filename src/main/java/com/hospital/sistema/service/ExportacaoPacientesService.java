@@ -0,0 +1,153 @@
+package com.hospital.sistema.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.sistema.entity.Documento;
+import com.hospital.sistema.entity.Endereco;
+import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.enums.FormatoArquivo;
+import com.hospital.sistema.repository.PacienteRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de todos os pacientes em CSV ou NDJSON.
+ * <p>
+ * Os pacientes são lidos por um cursor do banco e escritos um a um na saída,
+ * que é descarregada a cada bloco. O contexto de persistência é limpo no mesmo
+ * ritmo, de modo que a memória usada não depende da quantidade de pacientes e o
+ * cliente começa a receber dados logo após o cabeçalho.
+ * <p>
+ * As colunas seguem os campos do cadastro, mais o ID, no mesmo formato aceito
+ * pela importação.
+ */
+@Service
+public class ExportacaoPacientesService {
+
+    static final String[] COLUNAS = {"id", "nome", "tipoDocumento", "numeroDocumento", "telefone", "endereco",
+            "email", "sexo", "dataNascimento", "tipoSanguineo", "historicoMedico"};
+
+    private static final int TAMANHO_BLOCO = 500;
+
+    private final PacienteRepository pacienteRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public ExportacaoPacientesService(PacienteRepository pacienteRepository,
+                                      EntityManager entityManager,
+                                      ObjectMapper objectMapper) {
+        this.pacienteRepository = pacienteRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escreve todos os pacientes na saída, sem fechá-la.
+     *
+     * @return quantidade de pacientes exportados
+     */
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida, FormatoArquivo formato) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        JsonGenerator json = null;
+        if (formato == FormatoArquivo.NDJSON) {
+            json = objectMapper.getFactory().createGenerator(escritor)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+        } else {
+            escreverLinhaCsv(escritor, COLUNAS);
+        }
+        escritor.flush();
+
+        long exportados = 0;
+        try (Stream<Paciente> pacientes = pacienteRepository.transmitirTodos()) {
+            Iterator<Paciente> iterador = pacientes.iterator();
+            while (iterador.hasNext()) {
+                Paciente paciente = iterador.next();
+                String[] valores = valores(paciente);
+                if (json != null) {
+                    escreverLinhaJson(json, paciente.getId(), valores);
+                } else {
+                    escreverLinhaCsv(escritor, valores);
+                }
+
+                if (++exportados % TAMANHO_BLOCO == 0) {
+                    // Os pacientes já escritos não são mais usados
+                    entityManager.clear();
+                    if (json != null) {
+                        json.flush();
+                    }
+                    escritor.flush();
+                }
+            }
+        }
+
+        if (json != null) {
+            json.flush();
+        }
+        escritor.flush();
+        return exportados;
+    }
+
+    private static String[] valores(Paciente paciente) {
+        Documento documento = paciente.getDocumento();
+        Endereco endereco = paciente.getEndereco();
+        return new String[]{
+                String.valueOf(paciente.getId()),
+                paciente.getNome(),
+                documento != null ? documento.getTipo().name() : null,
+                documento != null ? documento.getNumero() : null,
+                paciente.getTelefone(),
+                endereco != null ? endereco.getDescricao() : null,
+                paciente.getEmail(),
+                paciente.getSexo() != null ? paciente.getSexo().name() : null,
+                paciente.getDataNascimento() != null ? paciente.getDataNascimento().toString() : null,
+                paciente.getTipoSanguineo() != null ? paciente.getTipoSanguineo().name() : null,
+                paciente.getHistoricoMedico()
+        };
+    }
+
+    private static void escreverLinhaJson(JsonGenerator json, Long id, String[] valores) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField(COLUNAS[0], id);
+        for (int i = 1; i < COLUNAS.length; i++) {
+            json.writeStringField(COLUNAS[i], valores[i]);
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    /**
+     * Escreve uma linha de CSV separada por vírgulas, com aspas apenas nos
+     * campos que contêm vírgula, aspas ou quebra de linha.
+     */
+    private static void escreverLinhaCsv(Writer escritor, String[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            String valor = valores[i];
+            if (valor == null) {
+                continue;
+            }
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                escritor.write(valor);
+            } else {
+                escritor.write('"');
+                escritor.write(valor.replace("\"", "\"\""));
+                escritor.write('"');
+            }
+        }
+        escritor.write('\n');
+    }
+}
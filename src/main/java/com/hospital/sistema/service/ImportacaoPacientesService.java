@@ -0,0 +1,538 @@
+package com.hospital.sistema.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.sistema.dto.ImportacaoPacientesResponse;
+import com.hospital.sistema.dto.PacienteRequest;
+import com.hospital.sistema.entity.Documento;
+import com.hospital.sistema.entity.Endereco;
+import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.enums.FormatoArquivo;
+import com.hospital.sistema.exception.RecursoNaoEncontradoException;
+import com.hospital.sistema.exception.ValidacaoException;
+import com.hospital.sistema.repository.DocumentoRepository;
+import com.hospital.sistema.util.IndiceNomesPacientes;
+import com.hospital.sistema.util.SequenciasIds;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Importação em massa de pacientes a partir de CSV ou NDJSON.
+ * <p>
+ * O arquivo é lido em lotes de {@code lote} registros, de modo que a memória usada
+ * não depende do tamanho do arquivo. Em cada lote, as linhas são convertidas e
+ * validadas em paralelo com as mesmas regras do cadastro individual; a
+ * unicidade dos documentos é conferida com uma única consulta; e endereços,
+ * documentos e pacientes são gravados em lotes JDBC, numa transação por lote,
+ * com IDs reservados em blocos das sequências das entidades.
+ * <p>
+ * As linhas rejeitadas são registradas, com o motivo, num relatório CSV no
+ * diretório configurado. O relatório só é mantido quando há rejeições.
+ */
+@Service
+public class ImportacaoPacientesService {
+
+    private static final String CABECALHO_RELATORIO = "linha;erro";
+    private static final String PREFIXO_RELATORIO = "importacao-pacientes-";
+
+    private static final String SQL_ENDERECO = "INSERT INTO enderecos (id, descricao) VALUES (?, ?)";
+    private static final String SQL_DOCUMENTO = "INSERT INTO documentos (id, tipo, numero) VALUES (?, ?, ?)";
+    private static final String SQL_PACIENTE = "INSERT INTO pacientes "
+            + "(id, nome, documento_id, telefone, endereco_id, email, sexo, data_nascimento, "
+            + "tipo_sanguineo, historico_medico, data_hora_alteracao) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Tamanho a partir do qual um registro de CSV com aspas abertas deixa de juntar linhas. */
+    private static final int TAMANHO_MAXIMO_REGISTRO = 64 * 1024;
+
+    /**
+     * Colunas aceitas no cabeçalho do CSV, com os nomes dos campos de {@link PacienteRequest}.
+     * A coluna {@code id}, presente nos arquivos exportados, é ignorada.
+     */
+    private static final Map<String, BiConsumer<PacienteRequest, String>> COLUNAS_CSV = Map.ofEntries(
+            Map.entry("id", (request, valor) -> { }),
+            Map.entry("nome", PacienteRequest::setNome),
+            Map.entry("tipoDocumento", PacienteRequest::setTipoDocumento),
+            Map.entry("numeroDocumento", PacienteRequest::setNumeroDocumento),
+            Map.entry("telefone", PacienteRequest::setTelefone),
+            Map.entry("endereco", PacienteRequest::setEndereco),
+            Map.entry("email", PacienteRequest::setEmail),
+            Map.entry("sexo", PacienteRequest::setSexo),
+            Map.entry("dataNascimento", PacienteRequest::setDataNascimento),
+            Map.entry("tipoSanguineo", PacienteRequest::setTipoSanguineo),
+            Map.entry("historicoMedico", PacienteRequest::setHistoricoMedico));
+
+    private final PacienteService pacienteService;
+    private final DocumentoRepository documentoRepository;
+    private final IndiceNomesPacientes indiceNomesPacientes;
+    private final SequenciasIds sequenciasIds;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Path diretorioRelatorios;
+    private final int tamanhoLote;
+    private final int quantidadeThreads;
+    private final ExecutorService executor;
+
+    public ImportacaoPacientesService(PacienteService pacienteService,
+                                      DocumentoRepository documentoRepository,
+                                      IndiceNomesPacientes indiceNomesPacientes,
+                                      SequenciasIds sequenciasIds,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      Validator validator,
+                                      ObjectMapper objectMapper,
+                                      @Value("${hospital.pacientes.importacao.diretorio:${java.io.tmpdir}/hospital-importacoes}") String diretorioRelatorios,
+                                      @Value("${hospital.pacientes.importacao.lote:1000}") int tamanhoLote,
+                                      @Value("${hospital.pacientes.importacao.threads:0}") int threads) {
+        this.pacienteService = pacienteService;
+        this.documentoRepository = documentoRepository;
+        this.indiceNomesPacientes = indiceNomesPacientes;
+        this.sequenciasIds = sequenciasIds;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.diretorioRelatorios = Paths.get(diretorioRelatorios);
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+
+        this.quantidadeThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(quantidadeThreads, tarefa -> {
+            Thread thread = new Thread(tarefa, "importacao-pacientes-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Importa os pacientes do arquivo. Os lotes já gravados permanecem mesmo que
+     * um lote seguinte falhe.
+     */
+    public ImportacaoPacientesResponse importar(InputStream entrada, FormatoArquivo formato) throws IOException {
+        String importacaoId = UUID.randomUUID().toString();
+        Files.createDirectories(diretorioRelatorios);
+        Path relatorio = caminhoRelatorio(importacaoId);
+
+        long linhas = 0;
+        long importados = 0;
+        boolean manterRelatorio = false;
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+             BufferedWriter erros = Files.newBufferedWriter(relatorio, StandardCharsets.UTF_8)) {
+            erros.write(CABECALHO_RELATORIO);
+            erros.newLine();
+
+            long numeroLinha = 0;
+            ConversorLinha conversor = null;
+            if (formato == FormatoArquivo.NDJSON) {
+                conversor = linha -> objectMapper.readValue(linha, PacienteRequest.class);
+            }
+
+            List<LinhaArquivo> lote = new ArrayList<>(tamanhoLote);
+            String conteudo;
+            while ((conteudo = leitor.readLine()) != null) {
+                numeroLinha++;
+                long inicioRegistro = numeroLinha;
+                if (formato != FormatoArquivo.NDJSON) {
+                    // Campo entre aspas com quebra de linha: o registro continua nas linhas seguintes
+                    int aspas = contarAspas(conteudo);
+                    if (aspas % 2 != 0) {
+                        StringBuilder registro = new StringBuilder(conteudo);
+                        String continuacao;
+                        while (aspas % 2 != 0 && registro.length() < TAMANHO_MAXIMO_REGISTRO
+                                && (continuacao = leitor.readLine()) != null) {
+                            numeroLinha++;
+                            registro.append('\n').append(continuacao);
+                            aspas += contarAspas(continuacao);
+                        }
+                        conteudo = registro.toString();
+                    }
+                }
+                if (conteudo.isBlank()) {
+                    continue;
+                }
+                if (conversor == null) {
+                    conversor = new ConversorCsv(conteudo);
+                    continue;
+                }
+
+                lote.add(new LinhaArquivo(inicioRegistro, conteudo));
+                if (lote.size() == tamanhoLote) {
+                    importados += processarLote(lote, conversor, erros);
+                    linhas += lote.size();
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                importados += processarLote(lote, conversor, erros);
+                linhas += lote.size();
+            }
+            manterRelatorio = importados < linhas;
+        } finally {
+            if (!manterRelatorio) {
+                Files.deleteIfExists(relatorio);
+            }
+        }
+        return new ImportacaoPacientesResponse(importacaoId, linhas, importados, linhas - importados);
+    }
+
+    /**
+     * Localiza o relatório de erros de uma importação.
+     */
+    public Path buscarRelatorio(String importacaoId) {
+        try {
+            UUID.fromString(importacaoId);
+        } catch (IllegalArgumentException e) {
+            throw new ValidacaoException("Importação inválida: " + importacaoId);
+        }
+
+        Path relatorio = caminhoRelatorio(importacaoId);
+        if (!Files.isRegularFile(relatorio)) {
+            throw new RecursoNaoEncontradoException("Relatório de erros não encontrado para a importação " + importacaoId);
+        }
+        return relatorio;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Valida, confere a unicidade e grava um lote.
+     *
+     * @return quantidade de pacientes gravados
+     */
+    private int processarLote(List<LinhaArquivo> lote, ConversorLinha conversor, BufferedWriter erros) throws IOException {
+        validarEmParalelo(lote, conversor);
+
+        List<LinhaArquivo> validas = descartarDocumentosRepetidos(lote);
+        if (!validas.isEmpty()) {
+            try {
+                gravar(validas);
+                validas.forEach(linha ->
+                        indiceNomesPacientes.indexar(linha.paciente.getId(), linha.paciente.getNome()));
+            } catch (DataAccessException e) {
+                String motivo = "Falha ao gravar o lote: " + e.getMostSpecificCause().getMessage();
+                validas.forEach(linha -> linha.rejeitar(motivo));
+                validas.clear();
+            }
+        }
+
+        for (LinhaArquivo linha : lote) {
+            if (linha.erro != null) {
+                erros.write(linha.numero + ";" + escaparCsv(linha.erro));
+                erros.newLine();
+            }
+        }
+        return validas.size();
+    }
+
+    private void validarEmParalelo(List<LinhaArquivo> lote, ConversorLinha conversor) {
+        int partes = Math.min(quantidadeThreads, lote.size());
+        List<Callable<Void>> tarefas = new ArrayList<>(partes);
+        for (int parte = 0; parte < partes; parte++) {
+            List<LinhaArquivo> trecho = lote.subList(parte * lote.size() / partes, (parte + 1) * lote.size() / partes);
+            tarefas.add(() -> {
+                trecho.forEach(linha -> validar(linha, conversor));
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> resultado : executor.invokeAll(tarefas)) {
+                resultado.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro ao validar o lote", e.getCause());
+        }
+    }
+
+    private void validar(LinhaArquivo linha, ConversorLinha conversor) {
+        try {
+            PacienteRequest request = conversor.converter(linha.conteudo);
+            String violacoes = violacoes(request);
+            if (violacoes != null) {
+                linha.rejeitar(violacoes);
+                return;
+            }
+
+            Paciente paciente = pacienteService.montarNovoPaciente(request);
+            violacoes = violacoes(paciente, paciente.getDocumento(), paciente.getEndereco());
+            if (violacoes != null) {
+                linha.rejeitar(violacoes);
+                return;
+            }
+            linha.paciente = paciente;
+        } catch (ValidacaoException e) {
+            linha.rejeitar(e.getMessage());
+        } catch (JsonProcessingException e) {
+            linha.rejeitar("JSON inválido: " + e.getOriginalMessage());
+        } catch (DateTimeParseException e) {
+            linha.rejeitar("Data de nascimento inválida: " + e.getParsedString());
+        } catch (RuntimeException | IOException e) {
+            linha.rejeitar("Valor inválido: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Aplica as anotações de validação, já que a gravação por JDBC não passa pelo Hibernate.
+     */
+    private String violacoes(Object... objetos) {
+        StringJoiner mensagens = new StringJoiner("; ");
+        for (Object objeto : objetos) {
+            if (objeto != null) {
+                for (ConstraintViolation<Object> violacao : validator.validate(objeto)) {
+                    mensagens.add(violacao.getMessage());
+                }
+            }
+        }
+        return mensagens.length() > 0 ? mensagens.toString() : null;
+    }
+
+    /**
+     * Rejeita documentos repetidos no próprio lote e os já cadastrados, estes com
+     * uma única consulta.
+     *
+     * @return linhas válidas restantes
+     */
+    private List<LinhaArquivo> descartarDocumentosRepetidos(List<LinhaArquivo> lote) {
+        Set<String> numeros = new HashSet<>();
+        List<LinhaArquivo> validas = new ArrayList<>(lote.size());
+        for (LinhaArquivo linha : lote) {
+            if (linha.paciente == null) {
+                continue;
+            }
+            String numero = linha.paciente.getDocumento().getNumero();
+            if (numeros.add(numero)) {
+                validas.add(linha);
+            } else {
+                linha.rejeitar("O documento " + numero + " está repetido no arquivo");
+            }
+        }
+        if (validas.isEmpty()) {
+            return validas;
+        }
+
+        Set<String> cadastrados = new HashSet<>(documentoRepository.buscarNumerosCadastrados(numeros));
+        if (!cadastrados.isEmpty()) {
+            validas.removeIf(linha -> {
+                String numero = linha.paciente.getDocumento().getNumero();
+                if (cadastrados.contains(numero)) {
+                    linha.rejeitar("O documento " + numero + " já está cadastrado no sistema");
+                    return true;
+                }
+                return false;
+            });
+        }
+        return validas;
+    }
+
+    private void gravar(List<LinhaArquivo> linhas) {
+        List<Paciente> pacientes = new ArrayList<>(linhas.size());
+        linhas.forEach(linha -> pacientes.add(linha.paciente));
+
+        long[] enderecos = sequenciasIds.reservar(Endereco.class, pacientes.size());
+        long[] documentos = sequenciasIds.reservar(Documento.class, pacientes.size());
+        long[] ids = sequenciasIds.reservar(Paciente.class, pacientes.size());
+        for (int i = 0; i < pacientes.size(); i++) {
+            pacientes.get(i).getEndereco().setId(enderecos[i]);
+            pacientes.get(i).getDocumento().setId(documentos[i]);
+            pacientes.get(i).setId(ids[i]);
+        }
+
+        LocalDateTime gravacao = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            inserirEmLote(SQL_ENDERECO, pacientes, (ps, paciente) -> {
+                ps.setLong(1, paciente.getEndereco().getId());
+                ps.setString(2, paciente.getEndereco().getDescricao());
+            });
+            inserirEmLote(SQL_DOCUMENTO, pacientes, (ps, paciente) -> {
+                ps.setLong(1, paciente.getDocumento().getId());
+                ps.setString(2, paciente.getDocumento().getTipo().name());
+                ps.setString(3, paciente.getDocumento().getNumero());
+            });
+            inserirEmLote(SQL_PACIENTE, pacientes, (ps, paciente) -> {
+                ps.setLong(1, paciente.getId());
+                ps.setString(2, paciente.getNome());
+                ps.setLong(3, paciente.getDocumento().getId());
+                ps.setString(4, paciente.getTelefone());
+                ps.setLong(5, paciente.getEndereco().getId());
+                ps.setString(6, paciente.getEmail());
+                ps.setString(7, paciente.getSexo() != null ? paciente.getSexo().name() : null);
+                ps.setObject(8, paciente.getDataNascimento());
+                ps.setString(9, paciente.getTipoSanguineo() != null ? paciente.getTipoSanguineo().name() : null);
+                ps.setString(10, paciente.getHistoricoMedico());
+                ps.setObject(11, gravacao);
+            });
+        });
+    }
+
+    private void inserirEmLote(String sql, List<Paciente> pacientes,
+                               ParameterizedPreparedStatementSetter<Paciente> parametros) {
+        jdbcTemplate.batchUpdate(sql, pacientes, pacientes.size(), parametros);
+    }
+
+    private Path caminhoRelatorio(String importacaoId) {
+        return diretorioRelatorios.resolve(PREFIXO_RELATORIO + importacaoId + ".csv");
+    }
+
+    private static int contarAspas(String linha) {
+        int aspas = 0;
+        for (int i = 0; i < linha.length(); i++) {
+            if (linha.charAt(i) == '"') {
+                aspas++;
+            }
+        }
+        return aspas;
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor.indexOf(';') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"").replace('\n', ' ') + '"';
+    }
+
+    /**
+     * Converte o conteúdo de uma linha do arquivo em um cadastro de paciente.
+     */
+    @FunctionalInterface
+    private interface ConversorLinha {
+
+        PacienteRequest converter(String linha) throws IOException;
+    }
+
+    /**
+     * Converte linhas de CSV pelas colunas do cabeçalho. O separador é vírgula ou,
+     * se o cabeçalho tiver ponto e vírgula, ponto e vírgula. Campos entre aspas
+     * podem conter o separador e quebras de linha; nesse caso a importação junta
+     * as linhas do registro antes da conversão.
+     */
+    private static final class ConversorCsv implements ConversorLinha {
+
+        private final char separador;
+        private final List<BiConsumer<PacienteRequest, String>> colunas = new ArrayList<>();
+
+        private ConversorCsv(String cabecalho) {
+            // Remove a marca de ordem de bytes gravada por algumas planilhas
+            String conteudo = cabecalho.startsWith("\uFEFF") ? cabecalho.substring(1) : cabecalho;
+            this.separador = conteudo.indexOf(';') >= 0 ? ';' : ',';
+
+            for (String nome : separarCampos(conteudo, separador)) {
+                BiConsumer<PacienteRequest, String> coluna = COLUNAS_CSV.get(nome.trim());
+                if (coluna == null) {
+                    throw new ValidacaoException("Coluna desconhecida no cabeçalho do CSV: " + nome.trim());
+                }
+                colunas.add(coluna);
+            }
+        }
+
+        @Override
+        public PacienteRequest converter(String linha) {
+            List<String> campos = separarCampos(linha, separador);
+            if (campos.size() != colunas.size()) {
+                throw new ValidacaoException("A linha tem " + campos.size() + " colunas e o cabeçalho tem "
+                        + colunas.size());
+            }
+
+            PacienteRequest request = new PacienteRequest();
+            for (int i = 0; i < campos.size(); i++) {
+                String valor = campos.get(i).trim();
+                colunas.get(i).accept(request, valor.isEmpty() ? null : valor);
+            }
+            return request;
+        }
+
+        private static List<String> separarCampos(String linha, char separador) {
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean entreAspas = false;
+            for (int i = 0; i < linha.length(); i++) {
+                char c = linha.charAt(i);
+                if (entreAspas) {
+                    if (c != '"') {
+                        campo.append(c);
+                    } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        campo.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == separador) {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else {
+                    campo.append(c);
+                }
+            }
+            if (entreAspas) {
+                throw new ValidacaoException("Aspas não fechadas na linha");
+            }
+            campos.add(campo.toString());
+            return campos;
+        }
+    }
+
+    /**
+     * Linha do arquivo em processamento. Preenchida por uma única thread de
+     * validação; lida pela thread da importação depois de {@code invokeAll}.
+     */
+    private static final class LinhaArquivo {
+
+        private final long numero;
+        private final String conteudo;
+        private Paciente paciente;
+        private String erro;
+
+        private LinhaArquivo(long numero, String conteudo) {
+            this.numero = numero;
+            this.conteudo = conteudo;
+        }
+
+        private void rejeitar(String motivo) {
+            this.paciente = null;
+            this.erro = motivo;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.hospital.sistema.service;
 
 import com.hospital.sistema.dto.MedicoResponse;
+import com.hospital.sistema.dto.PaginaCursor;
 import com.hospital.sistema.entity.Medico;
 import com.hospital.sistema.exception.RecursoNaoEncontradoException;
 import com.hospital.sistema.repository.MedicoRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.hospital.sistema.util.AposCommit;
+import com.hospital.sistema.util.CacheDisponibilidadeSemanal;
+import com.hospital.sistema.util.PaginacaoCursor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,14 +21,26 @@ import java.util.stream.Collectors;
 @Service
 public class MedicoService {
 
+    private static final PaginacaoCursor PAGINACAO = new PaginacaoCursor("nome", "id");
+
     private final MedicoRepository medicoRepository;
+    private final CacheDisponibilidadeSemanal cacheDisponibilidadeSemanal;
 
-    public MedicoService(MedicoRepository medicoRepository) {
+    public MedicoService(MedicoRepository medicoRepository,
+                         CacheDisponibilidadeSemanal cacheDisponibilidadeSemanal) {
         this.medicoRepository = medicoRepository;
+        this.cacheDisponibilidadeSemanal = cacheDisponibilidadeSemanal;
     }
 
-    public Page<Medico> listarTodos(Pageable pageable) {
-        return medicoRepository.findAll(pageable);
+    /**
+     * Lista os médicos por cursor, na ordem do campo informado.
+     * O total só é contado quando pedido.
+     */
+    public PaginaCursor<Medico> listar(String cursor, int tamanho, String ordenacao, boolean contarTotal) {
+        Sort sort = PAGINACAO.ordenacao(ordenacao);
+        KeysetScrollPosition posicao = PAGINACAO.posicao(cursor, sort);
+        Window<Medico> janela = medicoRepository.findAllBy(posicao, sort, PaginacaoCursor.limite(tamanho));
+        return PAGINACAO.pagina(janela, posicao, contarTotal ? medicoRepository.count() : null);
     }
 
     public Medico buscarPorId(Long id) {
@@ -31,6 +48,14 @@ public class MedicoService {
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Médico", id));
     }
 
+    /**
+     * Bloqueia a agenda do médico até o fim da transação em andamento.
+     */
+    public void bloquearAgenda(Long id) {
+        medicoRepository.bloquearPorId(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Médico", id));
+    }
+
     public Optional<Medico> buscarPorLogin(String login) {
         return medicoRepository.findByLogin(login);
     }
@@ -41,9 +66,14 @@ public class MedicoService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Salva o médico e, após o commit, recompila o mapa semanal dos horários dele.
+     */
     @Transactional
     public Medico salvar(Medico medico) {
-        return medicoRepository.save(medico);
+        Medico salvo = medicoRepository.save(medico);
+        AposCommit.executar(() -> cacheDisponibilidadeSemanal.atualizarMedico(salvo.getId()));
+        return salvo;
     }
 
     @Transactional
@@ -52,6 +82,7 @@ public class MedicoService {
             throw new RecursoNaoEncontradoException("Médico", id);
         }
         medicoRepository.deleteById(id);
+        AposCommit.executar(() -> cacheDisponibilidadeSemanal.atualizarMedico(id));
     }
 
     private MedicoResponse converterParaResponse(Medico medico) {
@@ -2,25 +2,34 @@ package com.hospital.sistema.service;
 
 import com.hospital.sistema.dto.PacienteRequest;
 import com.hospital.sistema.dto.PacienteResponse;
+import com.hospital.sistema.dto.PaginaCursor;
 import com.hospital.sistema.entity.Documento;
 import com.hospital.sistema.entity.Endereco;
 import com.hospital.sistema.entity.Paciente;
 import com.hospital.sistema.enums.Sexo;
 import com.hospital.sistema.enums.TipoDocumento;
+import com.hospital.sistema.enums.TipoSanguineo;
 import com.hospital.sistema.exception.DocumentoJaCadastradoException;
 import com.hospital.sistema.exception.RecursoNaoEncontradoException;
 import com.hospital.sistema.exception.ValidacaoException;
 import com.hospital.sistema.repository.DocumentoRepository;
 import com.hospital.sistema.repository.PacienteRepository;
+import com.hospital.sistema.util.AposCommit;
+import com.hospital.sistema.util.IndiceNomesPacientes;
+import com.hospital.sistema.util.PaginacaoCursor;
 import com.hospital.sistema.util.ValidadorDocumento;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,17 +37,29 @@ public class PacienteService {
 
     private static final LocalDate DATA_LIMITE_INFERIOR = LocalDate.of(1900, 1, 1);
     private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final PaginacaoCursor PAGINACAO = new PaginacaoCursor("nome", "id");
 
     private final PacienteRepository pacienteRepository;
     private final DocumentoRepository documentoRepository;
+    private final IndiceNomesPacientes indiceNomesPacientes;
 
-    public PacienteService(PacienteRepository pacienteRepository, DocumentoRepository documentoRepository) {
+    public PacienteService(PacienteRepository pacienteRepository,
+                           DocumentoRepository documentoRepository,
+                           IndiceNomesPacientes indiceNomesPacientes) {
         this.pacienteRepository = pacienteRepository;
         this.documentoRepository = documentoRepository;
+        this.indiceNomesPacientes = indiceNomesPacientes;
     }
 
-    public Page<Paciente> listarTodos(Pageable pageable) {
-        return pacienteRepository.findAll(pageable);
+    /**
+     * Lista os pacientes por cursor, na ordem do campo informado.
+     * O total só é contado quando pedido.
+     */
+    public PaginaCursor<Paciente> listar(String cursor, int tamanho, String ordenacao, boolean contarTotal) {
+        Sort sort = PAGINACAO.ordenacao(ordenacao);
+        KeysetScrollPosition posicao = PAGINACAO.posicao(cursor, sort);
+        Window<Paciente> janela = pacienteRepository.findAllBy(posicao, sort, PaginacaoCursor.limite(tamanho));
+        return PAGINACAO.pagina(janela, posicao, contarTotal ? pacienteRepository.count() : null);
     }
 
     public Paciente buscarPorId(Long id) {
@@ -46,8 +67,29 @@ public class PacienteService {
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Paciente", id));
     }
 
+    /**
+     * Bloqueia a agenda do paciente até o fim da transação em andamento.
+     */
+    public void bloquearAgenda(Long id) {
+        pacienteRepository.bloquearPorId(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Paciente", id));
+    }
+
+    /**
+     * Busca pelo índice de nomes e carrega só os pacientes encontrados,
+     * mantendo a ordem de relevância do índice.
+     */
     public List<PacienteResponse> buscarPorNome(String nome) {
-        return pacienteRepository.buscarPorNome(nome).stream()
+        List<Long> ids = indiceNomesPacientes.buscar(nome);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Paciente> pacientes = pacienteRepository.buscarPorIds(ids).stream()
+                .collect(Collectors.toMap(Paciente::getId, Function.identity()));
+        return ids.stream()
+                .map(pacientes::get)
+                .filter(Objects::nonNull)
                 .map(this::converterParaResponse)
                 .collect(Collectors.toList());
     }
@@ -56,15 +98,10 @@ public class PacienteService {
     public Paciente salvar(PacienteRequest request) {
         validarDocumentoNaoCadastrado(request.getNumeroDocumento());
 
-        TipoDocumento tipoDoc = TipoDocumento.valueOf(request.getTipoDocumento());
-        validarFormatoDocumento(tipoDoc, request.getNumeroDocumento());
-
-        LocalDate dataNascimento = parsearData(request.getDataNascimento());
-        validarDataNascimento(dataNascimento);
-        validarTelefone(request.getTelefone());
-
-        Paciente paciente = criarPaciente(request, tipoDoc, dataNascimento);
-        return pacienteRepository.save(paciente);
+        Paciente paciente = montarNovoPaciente(request);
+        Paciente salvo = pacienteRepository.save(paciente);
+        AposCommit.executar(() -> indiceNomesPacientes.indexar(salvo.getId(), salvo.getNome()));
+        return salvo;
     }
 
     @Transactional
@@ -76,7 +113,9 @@ public class PacienteService {
         validarTelefone(request.getTelefone());
 
         atualizarDadosPaciente(paciente, request, dataNascimento);
-        return pacienteRepository.save(paciente);
+        Paciente salvo = pacienteRepository.save(paciente);
+        AposCommit.executar(() -> indiceNomesPacientes.indexar(salvo.getId(), salvo.getNome()));
+        return salvo;
     }
 
     @Transactional
@@ -85,6 +124,22 @@ public class PacienteService {
             throw new RecursoNaoEncontradoException("Paciente", id);
         }
         pacienteRepository.deleteById(id);
+        AposCommit.executar(() -> indiceNomesPacientes.remover(id));
+    }
+
+    /**
+     * Aplica as regras de cadastro, exceto a unicidade do documento, e monta o
+     * paciente com documento e endereço ainda não persistidos.
+     */
+    Paciente montarNovoPaciente(PacienteRequest request) {
+        TipoDocumento tipoDoc = TipoDocumento.valueOf(request.getTipoDocumento());
+        validarFormatoDocumento(tipoDoc, request.getNumeroDocumento());
+
+        LocalDate dataNascimento = parsearData(request.getDataNascimento());
+        validarDataNascimento(dataNascimento);
+        validarTelefone(request.getTelefone());
+
+        return criarPaciente(request, tipoDoc, dataNascimento);
     }
 
     private void validarDocumentoNaoCadastrado(String numeroDocumento) {
@@ -140,6 +195,11 @@ public class PacienteService {
             paciente.setSexo(Sexo.valueOf(request.getSexo()));
         }
 
+        if (request.getTipoSanguineo() != null && !request.getTipoSanguineo().isBlank()) {
+            paciente.setTipoSanguineo(TipoSanguineo.valueOf(request.getTipoSanguineo()));
+        }
+        paciente.setHistoricoMedico(request.getHistoricoMedico());
+
         return paciente;
     }
 
@@ -1,6 +1,7 @@
 package com.hospital.sistema.service;
 
 import com.hospital.sistema.dto.PacienteFilaDTO;
+import com.hospital.sistema.dto.PacienteTriagemResponse;
 import com.hospital.sistema.dto.TriagemRequest;
 import com.hospital.sistema.entity.Consulta;
 import com.hospital.sistema.entity.Enfermeiro;
@@ -8,9 +9,11 @@ import com.hospital.sistema.entity.Paciente;
 import com.hospital.sistema.entity.Triagem;
 import com.hospital.sistema.enums.NivelUrgencia;
 import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.exception.PacienteReservadoException;
 import com.hospital.sistema.exception.RecursoNaoEncontradoException;
 import com.hospital.sistema.repository.EnfermeiroRepository;
 import com.hospital.sistema.repository.TriagemRepository;
+import com.hospital.sistema.util.AposCommit;
 import com.hospital.sistema.util.FilaAtendimentoMedico;
 import com.hospital.sistema.util.FilaTriagem;
 import org.springframework.stereotype.Service;
@@ -18,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class TriagemService {
@@ -43,16 +47,35 @@ public class TriagemService {
         this.filaAtendimentoMedico = filaAtendimentoMedico;
     }
 
-    public List<Paciente> listarFilaTriagem() {
+    public List<PacienteTriagemResponse> listarFilaTriagem() {
         return filaTriagem.listarPacientes();
     }
 
+    public long versaoFilaTriagem() {
+        return filaTriagem.versao();
+    }
+
+    /**
+     * Reserva o próximo paciente da fila de triagem para o enfermeiro.
+     */
+    public Optional<PacienteTriagemResponse> reservarProximoPaciente(Long enfermeiroId) {
+        return filaTriagem.reservarProximo(enfermeiroId).map(PacienteTriagemResponse::new);
+    }
+
+    public boolean liberarReserva(Long pacienteId, Long enfermeiroId) {
+        return filaTriagem.liberar(pacienteId, enfermeiroId);
+    }
+
     public List<Triagem> buscarHistoricoPaciente(Long pacienteId) {
         return triagemRepository.findByPacienteIdOrderByDataHoraDesc(pacienteId);
     }
 
     @Transactional
     public Triagem realizar(TriagemRequest request, Long enfermeiroId) {
+        if (filaTriagem.reservadoPorOutro(request.getPacienteId(), enfermeiroId)) {
+            throw new PacienteReservadoException(request.getPacienteId());
+        }
+
         Paciente paciente = pacienteService.buscarPorId(request.getPacienteId());
         Enfermeiro enfermeiro = buscarEnfermeiro(enfermeiroId);
 
@@ -88,12 +111,21 @@ public class TriagemService {
         return triagem;
     }
 
+    /**
+     * Grava a consulta como aguardando atendimento. As filas em memória só mudam
+     * depois da confirmação da transação, para continuarem iguais ao banco.
+     */
     private void processarPosTriagem(TriagemRequest request, Paciente paciente, Triagem triagem) {
-        filaTriagem.remover(paciente.getId());
+        AposCommit.executar(() -> filaTriagem.remover(paciente.getId()));
+
+        Optional<Consulta> consultaOpt = request.getConsultaId() != null
+                ? Optional.of(consultaService.buscarPorId(request.getConsultaId()))
+                : consultaService.buscarConsultaEmTriagemPorPaciente(paciente.getId());
 
-        if (request.getConsultaId() != null) {
-            Consulta consulta = consultaService.buscarPorId(request.getConsultaId());
+        if (consultaOpt.isPresent()) {
+            Consulta consulta = consultaOpt.get();
             consulta.setStatus(StatusConsulta.AGUARDANDO_ATENDIMENTO);
+            consulta.setDataHoraEntradaFila(LocalDateTime.now());
             triagem.setConsulta(consulta);
             consultaService.salvar(consulta);
 
@@ -105,7 +137,7 @@ public class TriagemService {
                     consulta.getId(),
                     triagem.getNivelUrgencia().name()
             );
-            filaAtendimentoMedico.adicionar(pacienteFila);
+            AposCommit.executar(() -> filaAtendimentoMedico.adicionar(pacienteFila));
         }
     }
 }
@@ -0,0 +1,127 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.FilaVersionadaDTO;
+import com.hospital.sistema.dto.PacienteFilaDTO;
+import com.hospital.sistema.dto.PacienteTriagemResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Atende consultas de long-polling das filas para clientes que não mantêm
+ * conexões SSE.
+ * <p>
+ * Se o cliente está atrás da versão atual, responde de imediato com as
+ * alterações; se já está na versão atual, a requisição fica suspensa até a
+ * próxima alteração da fila ou até o tempo de espera terminar (304).
+ */
+@Component
+public class AguardadorAlteracoesFila {
+
+    private static final String TOPICO_TRIAGEM = "triagem";
+    private static final String TOPICO_MEDICO = "medico:";
+
+    private final FilaTriagem filaTriagem;
+    private final FilaAtendimentoMedico filaAtendimentoMedico;
+    private final long esperaMaximaMs;
+
+    private final ConcurrentMap<String, Set<Runnable>> esperas = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "aguardador-alteracoes-fila");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AguardadorAlteracoesFila(FilaTriagem filaTriagem,
+                                    FilaAtendimentoMedico filaAtendimentoMedico,
+                                    @Value("${hospital.fila.long-poll.espera-maxima-ms:30000}") long esperaMaximaMs) {
+        this.filaTriagem = filaTriagem;
+        this.filaAtendimentoMedico = filaAtendimentoMedico;
+        this.esperaMaximaMs = esperaMaximaMs;
+
+        filaTriagem.registrarOuvinte(evento -> acordar(TOPICO_TRIAGEM));
+        filaAtendimentoMedico.registrarOuvinte(evento -> acordar(TOPICO_MEDICO + evento.getMedicoId()));
+    }
+
+    public DeferredResult<ResponseEntity<FilaVersionadaDTO<PacienteTriagemResponse>>> aguardarFilaTriagem(
+            long versaoCliente, long esperaMs) {
+        return aguardar(TOPICO_TRIAGEM, filaTriagem::versao,
+                () -> filaTriagem.consultarDesde(versaoCliente), versaoCliente, esperaMs);
+    }
+
+    public DeferredResult<ResponseEntity<FilaVersionadaDTO<PacienteFilaDTO>>> aguardarFilaMedico(
+            Long medicoId, long versaoCliente, long esperaMs) {
+        return aguardar(TOPICO_MEDICO + medicoId, () -> filaAtendimentoMedico.versao(medicoId),
+                () -> filaAtendimentoMedico.consultarDesde(medicoId, versaoCliente), versaoCliente, esperaMs);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private <T> DeferredResult<ResponseEntity<FilaVersionadaDTO<T>>> aguardar(String topico,
+                                                                             LongSupplier versaoAtual,
+                                                                             Supplier<FilaVersionadaDTO<T>> consulta,
+                                                                             long versaoCliente,
+                                                                             long esperaMs) {
+        long espera = Math.min(Math.max(esperaMs, 0L), esperaMaximaMs);
+        if (espera == 0L || versaoAtual.getAsLong() != versaoCliente) {
+            DeferredResult<ResponseEntity<FilaVersionadaDTO<T>>> resultado = new DeferredResult<>();
+            resultado.setResult(responder(consulta.get()));
+            return resultado;
+        }
+
+        DeferredResult<ResponseEntity<FilaVersionadaDTO<T>>> resultado =
+                new DeferredResult<>(espera, () -> naoModificado(versaoCliente));
+        Set<Runnable> pendentes = esperas.computeIfAbsent(topico, t -> ConcurrentHashMap.newKeySet());
+        Runnable responder = () -> resultado.setResult(responder(consulta.get()));
+        pendentes.add(responder);
+        resultado.onCompletion(() -> pendentes.remove(responder));
+
+        // A fila pode ter mudado entre a verificação da versão e o registro da espera
+        if (versaoAtual.getAsLong() != versaoCliente && pendentes.remove(responder)) {
+            responder.run();
+        }
+        return resultado;
+    }
+
+    /**
+     * Chamado sob o bloqueio da fila: apenas repassa as respostas para a thread do aguardador.
+     */
+    private void acordar(String topico) {
+        Set<Runnable> pendentes = esperas.get(topico);
+        if (pendentes == null || pendentes.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            for (Runnable responder : pendentes) {
+                if (pendentes.remove(responder)) {
+                    responder.run();
+                }
+            }
+        });
+    }
+
+    private static <T> ResponseEntity<FilaVersionadaDTO<T>> responder(FilaVersionadaDTO<T> fila) {
+        if (!fila.isCompleta() && fila.getAlteracoes().isEmpty()) {
+            return naoModificado(fila.getVersao());
+        }
+        return ResponseEntity.ok().eTag(String.valueOf(fila.getVersao())).body(fila);
+    }
+
+    private static <T> ResponseEntity<T> naoModificado(long versao) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(String.valueOf(versao)).build();
+    }
+}
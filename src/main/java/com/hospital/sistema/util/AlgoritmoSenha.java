@@ -0,0 +1,29 @@
+package com.hospital.sistema.util;
+
+/**
+ * Algoritmo de hash de senhas com hashes autodescritivos: o prefixo identifica
+ * o algoritmo e o restante do hash carrega o sal e os parâmetros de custo.
+ */
+public interface AlgoritmoSenha {
+
+    /**
+     * Prefixo dos hashes gerados por este algoritmo.
+     */
+    String prefixo();
+
+    String gerar(String senha);
+
+    /**
+     * Verifica a senha usando o sal e o custo gravados no próprio hash.
+     */
+    boolean verificar(String senha, String hash);
+
+    /**
+     * Indica se o hash foi gerado com parâmetros diferentes dos atuais.
+     */
+    boolean precisaAtualizar(String hash);
+
+    default boolean reconhece(String hash) {
+        return hash != null && hash.startsWith(prefixo());
+    }
+}
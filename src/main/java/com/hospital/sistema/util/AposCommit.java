@@ -0,0 +1,32 @@
+package com.hospital.sistema.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia ações sobre caches em memória até a confirmação da transação em
+ * andamento, para que não reflitam alterações que ainda podem ser desfeitas.
+ */
+public class AposCommit {
+
+    private AposCommit() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * Executa a ação quando a transação em andamento for confirmada, ou
+     * imediatamente se não houver transação.
+     */
+    public static void executar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
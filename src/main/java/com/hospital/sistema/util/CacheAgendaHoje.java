@@ -0,0 +1,189 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.ConsultaResponse;
+import com.hospital.sistema.entity.Consulta;
+import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.repository.ConsultaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Consultas agendadas para hoje, mantidas em memória para o painel da recepção.
+ * <p>
+ * A agenda é um retrato imutável: a leitura é só a leitura de uma referência.
+ * Ela é carregada do banco no primeiro acesso do dia (e à meia-noite) e depois
+ * corrigida a cada agendamento, cancelamento ou mudança de status feitos nesta
+ * instância, após a confirmação da transação, sem nova consulta ao banco.
+ * <p>
+ * Alterações feitas em outras instâncias não chegam aqui: elas aparecem quando
+ * a validade configurada expira ou quando {@link #invalidar()} é chamado, por
+ * exemplo pela instância que fez a alteração. Com o cache desabilitado, toda
+ * leitura vai ao banco.
+ */
+@Component
+public class CacheAgendaHoje {
+
+    private static final Comparator<ConsultaResponse> ORDEM_HORARIO = Comparator
+            .comparing(ConsultaResponse::getHoraInicio, Comparator.nullsLast(Comparator.<LocalTime>naturalOrder()))
+            .thenComparing(ConsultaResponse::getId);
+
+    private final ConsultaRepository consultaRepository;
+    private final boolean habilitado;
+    private final long validadeMs;
+
+    private final AtomicReference<AgendaHoje> agenda = new AtomicReference<>();
+    private final AtomicLong alteracoes = new AtomicLong();
+
+    public CacheAgendaHoje(ConsultaRepository consultaRepository,
+                           @Value("${hospital.agenda-hoje.cache.habilitado:true}") boolean habilitado,
+                           @Value("${hospital.agenda-hoje.cache.validade-ms:60000}") long validadeMs) {
+        this.consultaRepository = consultaRepository;
+        this.habilitado = habilitado;
+        this.validadeMs = validadeMs;
+    }
+
+    /**
+     * Consultas agendadas para hoje, em ordem de horário. A lista não pode ser alterada.
+     */
+    public List<ConsultaResponse> consultas() {
+        LocalDate hoje = LocalDate.now();
+        if (!habilitado) {
+            return consultaRepository.buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA);
+        }
+        AgendaHoje atual = agenda.get();
+        if (atual != null && atual.valida(hoje, System.currentTimeMillis(), validadeMs)) {
+            return atual.consultas;
+        }
+        return carregar(hoje).consultas;
+    }
+
+    /**
+     * Reflete o estado da consulta na agenda quando a transação em andamento for
+     * confirmada: entra se estiver agendada para o dia da agenda, sai caso contrário.
+     */
+    public void atualizarAposCommit(Consulta consulta) {
+        if (habilitado) {
+            AposCommit.executar(() -> atualizar(consulta));
+        }
+    }
+
+    /**
+     * Retira a consulta da agenda quando a transação em andamento for confirmada.
+     */
+    public void removerAposCommit(Long consultaId) {
+        if (habilitado) {
+            AposCommit.executar(() -> alterar(atual -> atual.sem(consultaId)));
+        }
+    }
+
+    /**
+     * Descarta a agenda; a próxima leitura a carrega do banco.
+     */
+    public void invalidar() {
+        alterar(atual -> null);
+    }
+
+    /**
+     * Monta a agenda do novo dia à meia-noite, para que o primeiro acesso não espere pelo banco.
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void recarregar() {
+        if (habilitado) {
+            carregar(LocalDate.now());
+        }
+    }
+
+    private void atualizar(Consulta consulta) {
+        ConsultaResponse resumo = resumir(consulta);
+        alterar(atual -> {
+            AgendaHoje sem = atual.sem(consulta.getId());
+            boolean pertence = consulta.getStatus() == StatusConsulta.AGENDADA && atual.data.equals(consulta.getData());
+            return pertence ? sem.com(resumo) : sem;
+        });
+    }
+
+    /**
+     * Aplica a alteração ao retrato atual, se houver. As escritas são serializadas
+     * com a publicação das cargas para que nenhuma delas se perca.
+     */
+    private synchronized void alterar(UnaryOperator<AgendaHoje> alteracao) {
+        alteracoes.incrementAndGet();
+        AgendaHoje atual = agenda.get();
+        if (atual != null) {
+            agenda.set(alteracao.apply(atual));
+        }
+    }
+
+    private AgendaHoje carregar(LocalDate hoje) {
+        long versao = alteracoes.get();
+        AgendaHoje carregada = new AgendaHoje(hoje,
+                consultaRepository.buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA),
+                System.currentTimeMillis());
+        synchronized (this) {
+            // Uma alteração confirmada durante a leitura pode não estar no resultado
+            if (alteracoes.get() == versao) {
+                agenda.set(carregada);
+            }
+        }
+        return carregada;
+    }
+
+    private static ConsultaResponse resumir(Consulta consulta) {
+        return new ConsultaResponse(
+                consulta.getId(),
+                consulta.getPaciente() != null ? consulta.getPaciente().getNome() : null,
+                consulta.getMedico() != null ? consulta.getMedico().getNome() : null,
+                consulta.getMedico() != null && consulta.getMedico().getEspecialidade() != null
+                        ? consulta.getMedico().getEspecialidade().getNome() : null,
+                consulta.getTipoConsulta() != null ? consulta.getTipoConsulta().getNome() : null,
+                consulta.getData(),
+                consulta.getHoraInicio(),
+                consulta.getHoraFim(),
+                consulta.getStatus());
+    }
+
+    /**
+     * Consultas de um dia, ordenadas. Cada alteração gera um novo objeto.
+     */
+    private static final class AgendaHoje {
+
+        private final LocalDate data;
+        private final List<ConsultaResponse> consultas;
+        private final long carregadaEmMs;
+
+        AgendaHoje(LocalDate data, List<ConsultaResponse> consultas, long carregadaEmMs) {
+            this.data = data;
+            this.consultas = List.copyOf(consultas);
+            this.carregadaEmMs = carregadaEmMs;
+        }
+
+        boolean valida(LocalDate hoje, long agoraMs, long validadeMs) {
+            return data.equals(hoje) && agoraMs - carregadaEmMs < validadeMs;
+        }
+
+        AgendaHoje com(ConsultaResponse resumo) {
+            List<ConsultaResponse> novas = new ArrayList<>(consultas);
+            novas.add(resumo);
+            novas.sort(ORDEM_HORARIO);
+            return new AgendaHoje(data, novas, carregadaEmMs);
+        }
+
+        AgendaHoje sem(Long consultaId) {
+            if (consultas.stream().noneMatch(c -> c.getId().equals(consultaId))) {
+                return this;
+            }
+            return new AgendaHoje(data, consultas.stream().filter(c -> !c.getId().equals(consultaId)).toList(),
+                    carregadaEmMs);
+        }
+    }
+}
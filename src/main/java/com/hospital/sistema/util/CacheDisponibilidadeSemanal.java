@@ -0,0 +1,167 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.HorarioMedicoDTO;
+import com.hospital.sistema.repository.MedicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapas de disponibilidade semanal de todos os médicos, compilados a partir de
+ * {@code HorarioDisponivel}.
+ * <p>
+ * O conteúdo é um retrato imutável trocado por inteiro a cada alteração: a
+ * leitura é só a leitura de uma referência, sem bloqueio, e as escritas, raras,
+ * copiam os mapas. O retrato é carregado no primeiro acesso, refeito para um
+ * médico quando os horários dele mudam nesta instância e recarregado por inteiro
+ * periodicamente, o que traz as alterações feitas em outras instâncias. Mapas
+ * cujos horários não mudaram mantêm o mesmo objeto após a recompilação.
+ */
+@Component
+public class CacheDisponibilidadeSemanal {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheDisponibilidadeSemanal.class);
+
+    private final MedicoRepository medicoRepository;
+
+    /** Valores de dia da semana inválidos já registrados no log, para não repetir a cada recarga. */
+    private final Set<String> diasInvalidosRegistrados = ConcurrentHashMap.newKeySet();
+
+    private volatile Retrato retrato;
+
+    public CacheDisponibilidadeSemanal(MedicoRepository medicoRepository) {
+        this.medicoRepository = medicoRepository;
+    }
+
+    /**
+     * Mapa semanal do médico; vazio se ele não tiver horários cadastrados.
+     * Enquanto os horários não mudam, o mesmo objeto é retornado.
+     */
+    public MapaDisponibilidadeSemanal mapa(Long medicoId) {
+        return retrato().mapas.getOrDefault(medicoId, MapaDisponibilidadeSemanal.VAZIO);
+    }
+
+    public boolean disponivel(Long medicoId, LocalDateTime momento) {
+        return mapa(medicoId).disponivel(momento);
+    }
+
+    /**
+     * Médicos da especialidade que atendem no momento informado, em ordem de ID.
+     */
+    public List<Long> medicosDisponiveis(Long especialidadeId, LocalDateTime momento) {
+        Retrato atual = retrato();
+        List<Long> disponiveis = new ArrayList<>();
+        for (Long medicoId : atual.medicosPorEspecialidade.getOrDefault(especialidadeId, List.of())) {
+            if (atual.mapas.get(medicoId).disponivel(momento)) {
+                disponiveis.add(medicoId);
+            }
+        }
+        return disponiveis;
+    }
+
+    /**
+     * Recompila o mapa do médico a partir do banco, após alteração dos horários
+     * ou da especialidade, ou o remove se o médico não existir mais.
+     */
+    public synchronized void atualizarMedico(Long medicoId) {
+        Retrato atual = retrato();
+        Map<Long, MapaDisponibilidadeSemanal> mapas = new HashMap<>(atual.mapas);
+        Map<Long, Long> especialidades = new HashMap<>(atual.especialidades);
+        mapas.remove(medicoId);
+        especialidades.remove(medicoId);
+        compilar(medicoRepository.buscarHorariosPorMedicos(List.of(medicoId)), atual.mapas, mapas, especialidades);
+        retrato = new Retrato(mapas, especialidades);
+    }
+
+    /**
+     * Recompila os mapas de todos os médicos.
+     */
+    @Scheduled(fixedDelayString = "${hospital.disponibilidade.semanal.recarga-ms:300000}",
+               initialDelayString = "${hospital.disponibilidade.semanal.recarga-ms:300000}")
+    public synchronized void recarregar() {
+        Map<Long, MapaDisponibilidadeSemanal> anteriores = retrato != null ? retrato.mapas : Map.of();
+        Map<Long, MapaDisponibilidadeSemanal> mapas = new HashMap<>();
+        Map<Long, Long> especialidades = new HashMap<>();
+        compilar(medicoRepository.buscarTodosHorarios(), anteriores, mapas, especialidades);
+        retrato = new Retrato(mapas, especialidades);
+    }
+
+    private Retrato retrato() {
+        Retrato atual = retrato;
+        if (atual == null) {
+            synchronized (this) {
+                if (retrato == null) {
+                    recarregar();
+                }
+                atual = retrato;
+            }
+        }
+        return atual;
+    }
+
+    /**
+     * Compila os mapas dos horários informados, reaproveitando o mapa anterior
+     * do médico quando o conteúdo é o mesmo.
+     */
+    private void compilar(List<HorarioMedicoDTO> horarios, Map<Long, MapaDisponibilidadeSemanal> anteriores,
+                          Map<Long, MapaDisponibilidadeSemanal> mapas, Map<Long, Long> especialidades) {
+        Map<Long, MapaDisponibilidadeSemanal.Construtor> construtores = new LinkedHashMap<>();
+        for (HorarioMedicoDTO horario : horarios) {
+            MapaDisponibilidadeSemanal.Construtor construtor = construtores.computeIfAbsent(
+                    horario.getMedicoId(), id -> new MapaDisponibilidadeSemanal.Construtor());
+            if (horario.getEspecialidadeId() != null) {
+                especialidades.put(horario.getMedicoId(), horario.getEspecialidadeId());
+            }
+            try {
+                construtor.adicionar(GradeHorarios.diaSemana(horario.getDiaSemana()),
+                        horario.getHoraInicio(), horario.getHoraFim());
+            } catch (IllegalArgumentException e) {
+                if (diasInvalidosRegistrados.add(String.valueOf(horario.getDiaSemana()))) {
+                    log.warn("Dia da semana inválido em horário disponível do médico {}: {}",
+                            horario.getMedicoId(), horario.getDiaSemana());
+                }
+            }
+        }
+        construtores.forEach((medicoId, construtor) -> {
+            MapaDisponibilidadeSemanal novo = construtor.construir();
+            MapaDisponibilidadeSemanal anterior = anteriores.get(medicoId);
+            mapas.put(medicoId, novo.equals(anterior) ? anterior : novo);
+        });
+    }
+
+    /**
+     * Mapas por médico e, para as consultas por especialidade, os médicos com
+     * horários agrupados pela especialidade.
+     */
+    private static final class Retrato {
+
+        private final Map<Long, MapaDisponibilidadeSemanal> mapas;
+        private final Map<Long, Long> especialidades;
+        private final Map<Long, List<Long>> medicosPorEspecialidade;
+
+        Retrato(Map<Long, MapaDisponibilidadeSemanal> mapas, Map<Long, Long> especialidades) {
+            this.mapas = Collections.unmodifiableMap(mapas);
+            this.especialidades = Collections.unmodifiableMap(especialidades);
+            Map<Long, List<Long>> porEspecialidade = new HashMap<>();
+            especialidades.entrySet().stream()
+                    .filter(entrada -> mapas.containsKey(entrada.getKey()))
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entrada -> porEspecialidade
+                            .computeIfAbsent(entrada.getValue(), id -> new ArrayList<>())
+                            .add(entrada.getKey()));
+            porEspecialidade.replaceAll((id, medicos) -> List.copyOf(medicos));
+            this.medicosPorEspecialidade = porEspecialidade;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.exception.ServicoSobrecarregadoException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Gera e verifica hashes de senha com o algoritmo e o custo configurados.
+ * <p>
+ * As verificações rodam em um pool dedicado e limitado, de modo que uma rajada
+ * de logins ocupa no máximo esse número de núcleos com o cálculo do hash. Quando
+ * a fila do pool está cheia, o login é recusado em vez de se acumular.
+ * <p>
+ * Hashes legados (SHA-256 sem sal ou texto plano) ainda são aceitos e
+ * {@link #precisaAtualizar(String)} indica quando devem ser regravados. Um valor
+ * cadastrado com a forma de um digest SHA-256 (64 dígitos hexadecimais ou 32
+ * bytes em Base64) só é comparado como hash: enviá-lo como senha não autentica.
+ */
+@Component
+public class CodificadorSenha {
+
+    /**
+     * Formato do valor cadastrado que aceitou a senha.
+     */
+    public enum FormatoSenha {
+        PBKDF2,
+        SHA256_LEGADO,
+        TEXTO_PLANO
+    }
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-fA-F]{64}");
+    private static final Pattern SHA256_BASE64 = Pattern.compile("[A-Za-z0-9+/]{43}=");
+
+    private final AlgoritmoSenha algoritmo;
+    private final long tempoMaximoMs;
+    private final ThreadPoolExecutor executor;
+
+    public CodificadorSenha(@Value("${hospital.senha.pbkdf2.iteracoes:" + Pbkdf2Senha.ITERACOES_PADRAO + "}") int iteracoes,
+                            @Value("${hospital.senha.verificacao.threads:0}") int threads,
+                            @Value("${hospital.senha.verificacao.fila:256}") int tamanhoFila,
+                            @Value("${hospital.senha.verificacao.tempo-maximo-ms:5000}") long tempoMaximoMs) {
+        this.algoritmo = new Pbkdf2Senha(iteracoes);
+        this.tempoMaximoMs = tempoMaximoMs;
+
+        int quantidadeThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(quantidadeThreads, quantidadeThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "verificador-senha-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public String codificar(String senha) {
+        return algoritmo.gerar(senha);
+    }
+
+    /**
+     * Verifica a senha no pool de verificação.
+     *
+     * @throws ServicoSobrecarregadoException se o pool estiver saturado
+     */
+    public boolean verificar(String senhaDigitada, String senhaCadastrada) {
+        return verificarFormato(senhaDigitada, senhaCadastrada).isPresent();
+    }
+
+    /**
+     * Verifica a senha no pool de verificação e informa em que formato estava o
+     * valor cadastrado que a aceitou; vazio se a senha não confere.
+     *
+     * @throws ServicoSobrecarregadoException se o pool estiver saturado
+     */
+    public Optional<FormatoSenha> verificarFormato(String senhaDigitada, String senhaCadastrada) {
+        if (senhaDigitada == null || senhaCadastrada == null) {
+            return Optional.empty();
+        }
+
+        Future<Optional<FormatoSenha>> resultado;
+        try {
+            resultado = executor.submit(() -> verificarHash(senhaDigitada, senhaCadastrada));
+        } catch (RejectedExecutionException e) {
+            throw new ServicoSobrecarregadoException();
+        }
+
+        try {
+            return resultado.get(tempoMaximoMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            throw new ServicoSobrecarregadoException();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServicoSobrecarregadoException();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro ao verificar senha", e.getCause());
+        }
+    }
+
+    /**
+     * Indica se o hash deve ser regravado com o algoritmo e o custo atuais.
+     */
+    public boolean precisaAtualizar(String senhaCadastrada) {
+        return !algoritmo.reconhece(senhaCadastrada) || algoritmo.precisaAtualizar(senhaCadastrada);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private Optional<FormatoSenha> verificarHash(String senhaDigitada, String senhaCadastrada) {
+        if (algoritmo.reconhece(senhaCadastrada)) {
+            return formatoSe(algoritmo.verificar(senhaDigitada, senhaCadastrada), FormatoSenha.PBKDF2);
+        }
+
+        // Formatos legados: um digest SHA-256 nunca é aceito como texto plano,
+        // senão quem conhecesse o hash entraria enviando-o como senha
+        if (SHA256_HEX.matcher(senhaCadastrada).matches()) {
+            return formatoSe(iguais(SenhaUtils.criptografarSha256Hex(senhaDigitada), senhaCadastrada.toLowerCase()),
+                    FormatoSenha.SHA256_LEGADO);
+        }
+        if (SHA256_BASE64.matcher(senhaCadastrada).matches()) {
+            return formatoSe(iguais(SenhaUtils.criptografarSha256(senhaDigitada), senhaCadastrada),
+                    FormatoSenha.SHA256_LEGADO);
+        }
+        return formatoSe(iguais(senhaDigitada, senhaCadastrada), FormatoSenha.TEXTO_PLANO);
+    }
+
+    private static Optional<FormatoSenha> formatoSe(boolean confere, FormatoSenha formato) {
+        return confere ? Optional.of(formato) : Optional.empty();
+    }
+
+    private static boolean iguais(String a, String b) {
+        return MessageDigest.isEqual(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+}
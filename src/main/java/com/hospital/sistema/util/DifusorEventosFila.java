@@ -0,0 +1,255 @@
+package com.hospital.sistema.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.sistema.dto.EventoFilaDTO;
+import com.hospital.sistema.dto.FilaVersionadaDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Difunde alterações das filas de triagem e de atendimento médico para os
+ * painéis conectados via Server-Sent Events.
+ * <p>
+ * Cada evento é colocado na fila de saída de cada assinante do tópico, sem
+ * bloquear e sem serializar: os ouvintes são chamados com os bloqueios das filas
+ * de pacientes. O JSON é gerado uma única vez, pela primeira thread de envio que
+ * precisar dele. Cada assinante é atendido por no máximo uma tarefa de envio por
+ * vez, em um conjunto limitado de threads, de modo que um cliente lento ou
+ * parado segura apenas a própria conexão enquanto houver threads livres. Quando
+ * a fila de saída de um assinante enche, ou não há como agendar o envio, ele é
+ * desconectado; ao reconectar recebe a fila atual.
+ * <p>
+ * O primeiro evento de cada assinatura ({@code SNAPSHOT}) traz a fila completa
+ * e a sua versão; o cliente descarta os eventos seguintes com versão menor ou
+ * igual, que já estão incluídos nela.
+ */
+@Component
+public class DifusorEventosFila {
+
+    private static final String TOPICO_TRIAGEM = "triagem";
+    private static final String TOPICO_MEDICO = "medico:";
+    private static final String EVENTO_SNAPSHOT = "SNAPSHOT";
+
+    private final ObjectMapper objectMapper;
+    private final FilaTriagem filaTriagem;
+    private final FilaAtendimentoMedico filaAtendimentoMedico;
+    private final long timeoutMs;
+    private final int limitePendentes;
+
+    private final ConcurrentMap<String, Set<Assinante>> assinantes = new ConcurrentHashMap<>();
+    private final AtomicInteger contadorThreads = new AtomicInteger();
+
+    /** Envios; threads ociosas encerram sozinhas e a fila de tarefas é limitada. */
+    private final ThreadPoolExecutor executor;
+
+    public DifusorEventosFila(ObjectMapper objectMapper,
+                              FilaTriagem filaTriagem,
+                              FilaAtendimentoMedico filaAtendimentoMedico,
+                              @Value("${hospital.fila.sse.timeout-ms:1800000}") long timeoutMs,
+                              @Value("${hospital.fila.sse.limite-pendentes:256}") int limitePendentes,
+                              @Value("${hospital.fila.sse.threads:16}") int threads,
+                              @Value("${hospital.fila.sse.limite-tarefas:1024}") int limiteTarefas) {
+        this.objectMapper = objectMapper;
+        this.filaTriagem = filaTriagem;
+        this.filaAtendimentoMedico = filaAtendimentoMedico;
+        this.timeoutMs = timeoutMs;
+        this.limitePendentes = limitePendentes;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(limiteTarefas), tarefa -> {
+                    Thread thread = new Thread(tarefa, "difusor-eventos-fila-" + contadorThreads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        filaTriagem.registrarOuvinte(evento -> difundir(TOPICO_TRIAGEM, evento));
+        filaAtendimentoMedico.registrarOuvinte(evento -> difundir(TOPICO_MEDICO + evento.getMedicoId(), evento));
+    }
+
+    /**
+     * Assina a fila de triagem. O primeiro evento enviado contém a fila atual.
+     */
+    public SseEmitter assinarFilaTriagem() {
+        return assinarFilaTriagem(new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter assinarFilaTriagem(SseEmitter emissor) {
+        return assinar(TOPICO_TRIAGEM, filaTriagem::consultarCompleta, emissor);
+    }
+
+    /**
+     * Assina a fila de atendimento de um médico. O primeiro evento enviado contém a fila atual.
+     */
+    public SseEmitter assinarFilaMedico(Long medicoId) {
+        return assinar(TOPICO_MEDICO + medicoId, () -> filaAtendimentoMedico.consultarCompleta(medicoId));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+        assinantes.values().forEach(grupo -> grupo.forEach(Assinante::desconectar));
+        assinantes.clear();
+    }
+
+    private SseEmitter assinar(String topico, Supplier<FilaVersionadaDTO<?>> filaAtual) {
+        return assinar(topico, filaAtual, new SseEmitter(timeoutMs));
+    }
+
+    private SseEmitter assinar(String topico, Supplier<FilaVersionadaDTO<?>> filaAtual, SseEmitter emissor) {
+        Set<Assinante> grupo = assinantes.computeIfAbsent(topico, t -> new CopyOnWriteArraySet<>());
+        Assinante assinante = new Assinante(emissor, grupo);
+
+        emissor.onCompletion(assinante::remover);
+        emissor.onTimeout(assinante::remover);
+        emissor.onError(erro -> assinante.remover());
+
+        // Entra no tópico antes de ler a fila, para não perder eventos entre as duas coisas;
+        // os que já estiverem na fila lida são descartados pelo cliente pela versão
+        grupo.add(assinante);
+        assinante.iniciar(new Evento(EVENTO_SNAPSHOT, filaAtual.get()));
+        return emissor;
+    }
+
+    private void difundir(String topico, EventoFilaDTO evento) {
+        Set<Assinante> grupo = assinantes.get(topico);
+        if (grupo == null || grupo.isEmpty()) {
+            return;
+        }
+
+        Evento pendente = new Evento(evento.getTipo().name(), evento);
+        grupo.forEach(assinante -> assinante.enfileirar(pendente));
+    }
+
+    /**
+     * Evento a enviar, serializado no primeiro envio e reaproveitado pelos demais assinantes.
+     */
+    private final class Evento {
+
+        private final String nome;
+        private final Object dados;
+        private Set<DataWithMediaType> conteudo;
+
+        Evento(String nome, Object dados) {
+            this.nome = nome;
+            this.dados = dados;
+        }
+
+        synchronized Set<DataWithMediaType> conteudo() throws JsonProcessingException {
+            if (conteudo == null) {
+                conteudo = SseEmitter.event()
+                        .name(nome)
+                        .data(objectMapper.writeValueAsString(dados))
+                        .build();
+            }
+            return conteudo;
+        }
+    }
+
+    /**
+     * Conexão de um painel com a sua fila de saída limitada.
+     */
+    private final class Assinante {
+
+        private final SseEmitter emissor;
+        private final Set<Assinante> grupo;
+        private final BlockingDeque<Evento> pendentes = new LinkedBlockingDeque<>(limitePendentes);
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private volatile boolean iniciado;
+        private volatile boolean encerrado;
+
+        Assinante(SseEmitter emissor, Set<Assinante> grupo) {
+            this.emissor = emissor;
+            this.grupo = grupo;
+        }
+
+        /**
+         * Coloca a fila atual à frente dos eventos já recebidos e libera o envio.
+         */
+        void iniciar(Evento snapshot) {
+            if (!pendentes.offerFirst(snapshot)) {
+                desconectar();
+                return;
+            }
+            iniciado = true;
+            agendarEnvio();
+        }
+
+        void enfileirar(Evento evento) {
+            if (encerrado) {
+                return;
+            }
+            if (!pendentes.offerLast(evento)) {
+                // Cliente não acompanha os eventos: desconecta em vez de segurar os demais
+                desconectar();
+                return;
+            }
+            agendarEnvio();
+        }
+
+        void remover() {
+            encerrado = true;
+            grupo.remove(this);
+            pendentes.clear();
+        }
+
+        void desconectar() {
+            remover();
+            try {
+                emissor.complete();
+            } catch (IllegalStateException e) {
+                // Conexão já encerrada
+            }
+        }
+
+        private void agendarEnvio() {
+            if (!iniciado || encerrado || !enviando.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::enviarPendentes);
+            } catch (RejectedExecutionException e) {
+                // Sem threads nem lugar na fila de tarefas: desconecta em vez de atrasar os demais
+                enviando.set(false);
+                desconectar();
+            }
+        }
+
+        private void enviarPendentes() {
+            try {
+                Evento evento;
+                while (!encerrado && (evento = pendentes.poll()) != null) {
+                    emissor.send(evento.conteudo());
+                }
+            } catch (JsonProcessingException e) {
+                desconectar();
+            } catch (IOException | IllegalStateException e) {
+                remover();
+            } finally {
+                enviando.set(false);
+            }
+            // Um evento enfileirado enquanto o envio terminava ficaria parado
+            if (!pendentes.isEmpty()) {
+                agendarEnvio();
+            }
+        }
+    }
+}
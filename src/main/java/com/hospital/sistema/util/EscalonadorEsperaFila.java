@@ -0,0 +1,23 @@
+package com.hospital.sistema.util;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifica periodicamente os tempos máximos de espera da fila de atendimento médico.
+ * Cada execução processa apenas os prazos vencidos desde a anterior.
+ */
+@Component
+public class EscalonadorEsperaFila {
+
+    private final FilaAtendimentoMedico filaAtendimentoMedico;
+
+    public EscalonadorEsperaFila(FilaAtendimentoMedico filaAtendimentoMedico) {
+        this.filaAtendimentoMedico = filaAtendimentoMedico;
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.fila.escalonamento.intervalo-ms:1000}")
+    public void verificarEsperas() {
+        filaAtendimentoMedico.verificarEsperas();
+    }
+}
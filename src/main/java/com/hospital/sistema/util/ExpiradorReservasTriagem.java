@@ -0,0 +1,22 @@
+package com.hospital.sistema.util;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Devolve periodicamente à fila de triagem os pacientes com reserva expirada.
+ */
+@Component
+public class ExpiradorReservasTriagem {
+
+    private final FilaTriagem filaTriagem;
+
+    public ExpiradorReservasTriagem(FilaTriagem filaTriagem) {
+        this.filaTriagem = filaTriagem;
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.fila.triagem.verificacao-reservas-ms:1000}")
+    public void liberarReservasExpiradas() {
+        filaTriagem.liberarReservasExpiradas();
+    }
+}
@@ -1,46 +1,456 @@
 package com.hospital.sistema.util;
 
+import com.hospital.sistema.dto.EventoFilaDTO;
+import com.hospital.sistema.dto.FilaVersionadaDTO;
 import com.hospital.sistema.dto.PacienteFilaDTO;
+import com.hospital.sistema.enums.NivelUrgencia;
+import com.hospital.sistema.enums.TipoEventoFila;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Gerencia a fila de pacientes aguardando atendimento médico.
+ * <p>
+ * A fila é particionada por médico: cada partição tem seu próprio bloqueio,
+ * ordenação por prioridade da urgência e depois por ordem de chegada, e um
+ * contador de tamanho. Médicos consultando a própria fila não disputam
+ * bloqueio entre si. Cada partição mantém sua própria versão, incrementada a
+ * cada alteração.
+ * <p>
+ * O tempo máximo de espera de cada nível de urgência (Protocolo de Manchester)
+ * é acompanhado por uma roda de temporização: quando excedido, o paciente é
+ * marcado como escalado e sobe um nível de prioridade, passando a contar o
+ * tempo máximo do novo nível a partir desse momento, até chegar a emergência.
  */
 @Component
 public class FilaAtendimentoMedico {
 
-    private final List<PacienteFilaDTO> pacientes = new ArrayList<>();
+    private static final int PRIORIDADE_DESCONHECIDA = Integer.MAX_VALUE;
+    private static final int PRIORIDADE_MAXIMA = NivelUrgencia.EMERGENCIA.getPrioridade();
+    private static final int TAMANHO_HISTORICO = 256;
+    private static final int BALDES_TEMPORIZACAO = 512;
+    private static final long DURACAO_TICK_MS = 1_000L;
+
+    private final Clock relogio;
+    private final RodaTemporizacao esperas;
+    private final AtomicLong sequenciaChegada = new AtomicLong();
+    private final ConcurrentMap<Long, FilaMedico> filasPorMedico = new ConcurrentHashMap<>();
+    private final List<OuvinteFila> ouvintes = new CopyOnWriteArrayList<>();
+
+    public FilaAtendimentoMedico() {
+        this(Clock.systemDefaultZone());
+    }
+
+    FilaAtendimentoMedico(Clock relogio) {
+        this.relogio = relogio;
+        this.esperas = new RodaTemporizacao(BALDES_TEMPORIZACAO, DURACAO_TICK_MS, relogio.millis());
+    }
 
     public List<PacienteFilaDTO> listarTodos() {
-        return new ArrayList<>(pacientes);
+        List<PacienteFilaDTO> todos = new ArrayList<>();
+        filasPorMedico.values().forEach(fila -> todos.addAll(fila.listar()));
+        return todos;
     }
 
     /**
-     * Lista pacientes na fila de um médico específico.
+     * Lista pacientes na fila de um médico específico, em ordem de atendimento.
      */
     public List<PacienteFilaDTO> listarPorMedico(Long medicoId) {
-        return pacientes.stream()
-                .filter(p -> p.getMedicoId().equals(medicoId))
-                .collect(Collectors.toList());
+        FilaMedico fila = buscarFila(medicoId);
+        return fila != null ? fila.listar() : new ArrayList<>();
     }
 
     public void adicionar(PacienteFilaDTO paciente) {
-        if (paciente != null) {
-            pacientes.add(paciente);
+        adicionar(paciente, relogio.millis());
+    }
+
+    /**
+     * Adiciona o paciente contando a espera a partir do horário informado,
+     * usado ao reconstruir a fila de pacientes que já aguardavam.
+     */
+    public void adicionar(PacienteFilaDTO paciente, LocalDateTime dataHoraEntrada) {
+        long entradaMillis = dataHoraEntrada != null
+                ? dataHoraEntrada.atZone(relogio.getZone()).toInstant().toEpochMilli()
+                : relogio.millis();
+        adicionar(paciente, entradaMillis);
+    }
+
+    private void adicionar(PacienteFilaDTO paciente, long entradaMillis) {
+        if (paciente == null || paciente.getId() == null || paciente.getMedicoId() == null) {
+            return;
+        }
+
+        NivelUrgencia nivel = converterNivel(paciente.getNivelUrgencia());
+        EntradaFila entrada = new EntradaFila(
+                sequenciaChegada.incrementAndGet(),
+                nivel != null ? nivel.getPrioridade() : PRIORIDADE_DESCONHECIDA,
+                paciente
+        );
+        FilaMedico fila = filasPorMedico.computeIfAbsent(paciente.getMedicoId(), FilaMedico::new);
+        fila.adicionar(entrada, nivel, entradaMillis);
+    }
+
+    /**
+     * Remove o paciente da fila de um médico específico.
+     */
+    public void remover(Long medicoId, Long pacienteId) {
+        FilaMedico fila = buscarFila(medicoId);
+        if (fila != null && pacienteId != null) {
+            fila.remover(pacienteId);
         }
     }
 
+    /**
+     * Remove o paciente da fila de todos os médicos.
+     * Percorre apenas as partições, cada uma com remoção indexada por paciente.
+     */
     public void remover(Long pacienteId) {
-        pacientes.removeIf(p -> p.getId().equals(pacienteId));
+        if (pacienteId == null) {
+            return;
+        }
+        filasPorMedico.values().forEach(fila -> fila.remover(pacienteId));
+    }
+
+    /**
+     * Retira o próximo paciente da fila do médico e o entrega para confirmação.
+     * <p>
+     * A retirada ocorre sob o bloqueio da partição do médico, portanto dois
+     * dispositivos nunca recebem o mesmo paciente e os demais médicos não são
+     * bloqueados. A confirmação roda fora do bloqueio: se recusar o paciente, ele
+     * é descartado e o seguinte é tentado; se lançar exceção, o paciente volta à
+     * sua posição original.
+     */
+    public Optional<PacienteFilaDTO> chamarProximo(Long medicoId, Predicate<PacienteFilaDTO> confirmar) {
+        FilaMedico fila = buscarFila(medicoId);
+        if (fila == null) {
+            return Optional.empty();
+        }
+        return retirarConfirmando(fila, fila::retirarPrimeira, confirmar);
+    }
+
+    /**
+     * Retira um paciente da fila mais longa entre os médicos informados, para um
+     * colega ocioso. A vítima é escolhida pelos contadores de tamanho das
+     * partições, sem percorrer as filas. Da vítima é retirado o paciente que
+     * chegou por último dentro do seu nível de urgência mais alto, preservando a
+     * ordem de urgência e deixando ao médico titular os que esperam há mais tempo.
+     *
+     * @param tamanhoMinimo tamanho mínimo da fila da vítima para permitir a retirada
+     */
+    public Optional<PacienteFilaDTO> roubarDe(Collection<Long> medicoIds, int tamanhoMinimo,
+                                              Predicate<PacienteFilaDTO> confirmar) {
+        FilaMedico vitima = null;
+        int maiorTamanho = Math.max(tamanhoMinimo, 1) - 1;
+        for (Long medicoId : medicoIds) {
+            FilaMedico fila = buscarFila(medicoId);
+            int tamanho = fila != null ? fila.tamanho : 0;
+            if (tamanho > maiorTamanho) {
+                vitima = fila;
+                maiorTamanho = tamanho;
+            }
+        }
+        if (vitima == null) {
+            return Optional.empty();
+        }
+
+        FilaMedico fila = vitima;
+        int minimo = Math.max(tamanhoMinimo, 1);
+        return retirarConfirmando(fila, () -> fila.retirarUltimaDoNivelMaisUrgente(minimo), confirmar);
+    }
+
+    private Optional<PacienteFilaDTO> retirarConfirmando(FilaMedico fila, Supplier<EntradaFila> retirar,
+                                                         Predicate<PacienteFilaDTO> confirmar) {
+        EntradaFila entrada;
+        while ((entrada = retirar.get()) != null) {
+            boolean confirmado;
+            try {
+                confirmado = confirmar.test(entrada.paciente);
+            } catch (RuntimeException e) {
+                fila.restaurar(entrada);
+                throw e;
+            }
+
+            entrada.cancelarPrazo();
+            if (confirmado) {
+                return Optional.of(entrada.paciente);
+            }
+        }
+        return Optional.empty();
     }
 
     public int tamanhoFilaPorMedico(Long medicoId) {
-        return (int) pacientes.stream()
-                .filter(p -> p.getMedicoId().equals(medicoId))
-                .count();
+        FilaMedico fila = buscarFila(medicoId);
+        return fila != null ? fila.tamanho : 0;
+    }
+
+    /**
+     * Versão atual da fila de um médico; zero enquanto o médico nunca teve fila.
+     */
+    public long versao(Long medicoId) {
+        FilaMedico fila = buscarFila(medicoId);
+        return fila != null ? fila.historico.versao() : 0L;
+    }
+
+    /**
+     * Consulta a fila de um médico a partir da versão conhecida pelo cliente:
+     * retorna apenas as alterações posteriores ou, se o histórico não as cobre,
+     * a fila completa.
+     */
+    public FilaVersionadaDTO<PacienteFilaDTO> consultarDesde(Long medicoId, long versaoCliente) {
+        FilaMedico fila = buscarFila(medicoId);
+        if (fila == null) {
+            return versaoCliente == 0L
+                    ? FilaVersionadaDTO.alteracoes(0L, List.of())
+                    : FilaVersionadaDTO.completa(0L, new ArrayList<>());
+        }
+        return fila.consultarDesde(versaoCliente);
+    }
+
+    /**
+     * Fila completa de um médico com a versão correspondente, lidas sob o mesmo bloqueio.
+     */
+    public FilaVersionadaDTO<PacienteFilaDTO> consultarCompleta(Long medicoId) {
+        FilaMedico fila = buscarFila(medicoId);
+        return fila != null ? fila.consultarCompleta() : FilaVersionadaDTO.completa(0L, new ArrayList<>());
+    }
+
+    public void registrarOuvinte(OuvinteFila ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    /**
+     * Escala os pacientes cujo tempo máximo de espera venceu desde a última verificação.
+     * Visita apenas os baldes da roda correspondentes ao tempo decorrido.
+     */
+    public void verificarEsperas() {
+        esperas.avancar(relogio.millis()).forEach(Runnable::run);
+    }
+
+    private FilaMedico buscarFila(Long medicoId) {
+        return medicoId != null ? filasPorMedico.get(medicoId) : null;
+    }
+
+    private static NivelUrgencia nivelDaPrioridade(int prioridade) {
+        for (NivelUrgencia nivel : NivelUrgencia.values()) {
+            if (nivel.getPrioridade() == prioridade) {
+                return nivel;
+            }
+        }
+        return null;
+    }
+
+    private NivelUrgencia converterNivel(String nivelUrgencia) {
+        if (nivelUrgencia == null) {
+            return null;
+        }
+        try {
+            return NivelUrgencia.valueOf(nivelUrgencia);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void notificar(HistoricoFila historico, TipoEventoFila tipo, Long medicoId, EntradaFila entrada) {
+        EventoFilaDTO evento = historico.registrar(versao -> new EventoFilaDTO(versao, tipo, medicoId,
+                entrada.paciente.getId(), entrada.prioridade, entrada.sequencia, entrada.paciente));
+        ouvintes.forEach(ouvinte -> ouvinte.aoAlterar(evento));
+    }
+
+    /**
+     * Entrada da fila com a chave de ordenação já calculada.
+     * A chave é imutável; apenas o prazo de espera agendado muda, sob o bloqueio da partição.
+     */
+    private static final class EntradaFila {
+
+        private static final Comparator<EntradaFila> ORDEM_ATENDIMENTO = Comparator
+                .comparingInt((EntradaFila e) -> e.prioridade)
+                .thenComparingLong(e -> e.sequencia);
+
+        private final long sequencia;
+        private final int prioridade;
+        private final PacienteFilaDTO paciente;
+        private RodaTemporizacao.Temporizador prazoEspera;
+
+        /** O prazo venceu enquanto a entrada estava retirada para confirmação. */
+        private boolean prazoVencidoForaDaFila;
+
+        private EntradaFila(long sequencia, int prioridade, PacienteFilaDTO paciente) {
+            this.sequencia = sequencia;
+            this.prioridade = prioridade;
+            this.paciente = paciente;
+        }
+
+        /**
+         * Cria a entrada escalada: mesma ordem de chegada, um nível de prioridade acima.
+         */
+        private EntradaFila escalar() {
+            PacienteFilaDTO escalado = new PacienteFilaDTO(paciente.getId(), paciente.getNome(),
+                    paciente.getMedicoId(), paciente.getConsultaId(), paciente.getNivelUrgencia());
+            escalado.setEscalado(true);
+            return new EntradaFila(sequencia, Math.max(PRIORIDADE_MAXIMA, prioridade - 1), escalado);
+        }
+
+        private void cancelarPrazo() {
+            if (prazoEspera != null) {
+                prazoEspera.cancelar();
+            }
+        }
+    }
+
+    /**
+     * Partição da fila pertencente a um único médico.
+     */
+    private final class FilaMedico {
+
+        private final Long medicoId;
+        private final NavigableSet<EntradaFila> entradas = new TreeSet<>(EntradaFila.ORDEM_ATENDIMENTO);
+        private final Map<Long, EntradaFila> porPaciente = new HashMap<>();
+        private final HistoricoFila historico = new HistoricoFila(TAMANHO_HISTORICO);
+
+        /** Atualizado sob o bloqueio da partição e lido sem bloqueio. */
+        private volatile int tamanho;
+
+        private FilaMedico(Long medicoId) {
+            this.medicoId = medicoId;
+        }
+
+        synchronized List<PacienteFilaDTO> listar() {
+            List<PacienteFilaDTO> pacientes = new ArrayList<>(entradas.size());
+            entradas.forEach(entrada -> pacientes.add(entrada.paciente));
+            return pacientes;
+        }
+
+        /**
+         * Lê a versão e a fila sob o mesmo bloqueio, garantindo que correspondam.
+         */
+        synchronized FilaVersionadaDTO<PacienteFilaDTO> consultarDesde(long versaoCliente) {
+            return historico.alteracoesDesde(versaoCliente)
+                    .map(alteracoes -> FilaVersionadaDTO.<PacienteFilaDTO>alteracoes(historico.versao(), alteracoes))
+                    .orElseGet(() -> FilaVersionadaDTO.completa(historico.versao(), listar()));
+        }
+
+        synchronized FilaVersionadaDTO<PacienteFilaDTO> consultarCompleta() {
+            return FilaVersionadaDTO.completa(historico.versao(), listar());
+        }
+
+        synchronized void adicionar(EntradaFila entrada, NivelUrgencia nivel, long entradaMillis) {
+            EntradaFila anterior = porPaciente.put(entrada.paciente.getId(), entrada);
+            if (anterior != null) {
+                anterior.cancelarPrazo();
+                entradas.remove(anterior);
+            }
+            entradas.add(entrada);
+            tamanho = porPaciente.size();
+
+            agendarPrazo(entrada, nivel, entradaMillis);
+            notificar(historico, anterior != null ? TipoEventoFila.REORDENADO : TipoEventoFila.ADICIONADO, medicoId, entrada);
+        }
+
+        /**
+         * Agenda a escalada da entrada para quando vencer o tempo máximo do nível,
+         * contado a partir do instante informado. Emergências já ocupam a maior
+         * prioridade e não têm espera a acompanhar.
+         */
+        private void agendarPrazo(EntradaFila entrada, NivelUrgencia nivel, long desdeMillis) {
+            if (nivel != null && !nivel.getTempoMaximoEspera().isZero()) {
+                long prazo = desdeMillis + nivel.getTempoMaximoEspera().toMillis();
+                entrada.prazoEspera = esperas.agendar(prazo, () -> escalar(entrada));
+            }
+        }
+
+        /**
+         * Escala a entrada se ela ainda é a entrada atual do paciente nesta fila e
+         * agenda o prazo do novo nível. Se a entrada está retirada para confirmação,
+         * a escalada fica para quando ela for restaurada.
+         */
+        synchronized void escalar(EntradaFila entrada) {
+            if (porPaciente.get(entrada.paciente.getId()) != entrada) {
+                entrada.prazoVencidoForaDaFila = true;
+                return;
+            }
+
+            EntradaFila escalada = entrada.escalar();
+            entradas.remove(entrada);
+            entradas.add(escalada);
+            porPaciente.put(escalada.paciente.getId(), escalada);
+            agendarPrazo(escalada, nivelDaPrioridade(escalada.prioridade), relogio.millis());
+            notificar(historico, TipoEventoFila.ESCALADO, medicoId, escalada);
+        }
+
+        /**
+         * Retira a entrada de maior prioridade. O prazo de espera só é cancelado
+         * após a confirmação, para que uma entrada restaurada continue acompanhada.
+         */
+        synchronized EntradaFila retirarPrimeira() {
+            EntradaFila entrada = entradas.pollFirst();
+            if (entrada != null) {
+                porPaciente.remove(entrada.paciente.getId());
+                tamanho = porPaciente.size();
+                notificar(historico, TipoEventoFila.REMOVIDO, medicoId, entrada);
+            }
+            return entrada;
+        }
+
+        /**
+         * Devolve uma entrada retirada à sua posição original, a menos que o
+         * paciente já tenha sido adicionado novamente nesse intervalo.
+         */
+        synchronized void restaurar(EntradaFila entrada) {
+            if (porPaciente.putIfAbsent(entrada.paciente.getId(), entrada) != null) {
+                return;
+            }
+            entradas.add(entrada);
+            tamanho = porPaciente.size();
+            notificar(historico, TipoEventoFila.ADICIONADO, medicoId, entrada);
+            if (entrada.prazoVencidoForaDaFila) {
+                entrada.prazoVencidoForaDaFila = false;
+                escalar(entrada);
+            }
+        }
+
+        /**
+         * Retira a entrada que chegou por último dentro do nível de urgência mais alto
+         * presente, se a fila ainda tiver o tamanho mínimo.
+         */
+        synchronized EntradaFila retirarUltimaDoNivelMaisUrgente(int tamanhoMinimo) {
+            if (porPaciente.size() < tamanhoMinimo || entradas.isEmpty()) {
+                return null;
+            }
+
+            EntradaFila limite = new EntradaFila(Long.MAX_VALUE, entradas.first().prioridade, null);
+            EntradaFila entrada = entradas.floor(limite);
+            entradas.remove(entrada);
+            porPaciente.remove(entrada.paciente.getId());
+            tamanho = porPaciente.size();
+            notificar(historico, TipoEventoFila.REMOVIDO, medicoId, entrada);
+            return entrada;
+        }
+
+        synchronized void remover(Long pacienteId) {
+            EntradaFila entrada = porPaciente.remove(pacienteId);
+            if (entrada != null) {
+                entrada.cancelarPrazo();
+                entradas.remove(entrada);
+                tamanho = porPaciente.size();
+                notificar(historico, TipoEventoFila.REMOVIDO, medicoId, entrada);
+            }
+        }
     }
 }
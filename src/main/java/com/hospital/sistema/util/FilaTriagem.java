@@ -1,47 +1,295 @@
 package com.hospital.sistema.util;
 
-import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.dto.EntradaFilaTriagem;
+import com.hospital.sistema.dto.EventoFilaDTO;
+import com.hospital.sistema.dto.FilaVersionadaDTO;
+import com.hospital.sistema.dto.PacienteTriagemResponse;
+import com.hospital.sistema.enums.TipoEventoFila;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Gerencia a fila de pacientes aguardando triagem.
+ * <p>
+ * Os pacientes são ordenados pela ordem de chegada. A fila é segura para acesso
+ * concorrente: o índice por ID garante verificação de presença em O(1) e
+ * inserção/remoção em O(log n) na estrutura ordenada. Cada alteração incrementa
+ * a versão da fila, permitindo aos clientes pedir apenas o que mudou.
+ * <p>
+ * A fila guarda entradas imutáveis e compactas, nunca entidades {@code Paciente}.
+ * <p>
+ * Um enfermeiro pode reservar o próximo paciente: a entrada sai da fila visível,
+ * mas continua indexada, e volta à sua posição original se a reserva expirar ou
+ * for liberada antes da triagem. Todas as transições de um paciente ocorrem sob
+ * o bloqueio da sua chave no índice; as reservas vencidas são encontradas em
+ * ordem de expiração, sem bloqueio global.
  */
 @Component
 public class FilaTriagem {
 
-    private final List<Paciente> pacientes = new ArrayList<>();
+    private static final int TAMANHO_HISTORICO = 512;
+    private static final Duration DURACAO_RESERVA_PADRAO = Duration.ofMinutes(5);
 
-    public List<Paciente> listarPacientes() {
-        return new ArrayList<>(pacientes);
+    private final Clock relogio;
+    private final long duracaoReservaMs;
+
+    private final AtomicLong sequenciaChegada = new AtomicLong();
+
+    /** Pacientes ordenados pela sequência de chegada. */
+    private final ConcurrentNavigableMap<Long, EntradaFilaTriagem> pacientes = new ConcurrentSkipListMap<>();
+
+    /** Índice paciente ID -> sequência de chegada. */
+    private final ConcurrentMap<Long, Long> indice = new ConcurrentHashMap<>();
+
+    /** Reservas ativas por paciente ID. */
+    private final ConcurrentMap<Long, Reserva> reservas = new ConcurrentHashMap<>();
+
+    /** Reservas ativas ordenadas pelo instante de expiração. */
+    private final ConcurrentSkipListSet<Reserva> expiracoes = new ConcurrentSkipListSet<>(Reserva.ORDEM_EXPIRACAO);
+
+    private final HistoricoFila historico = new HistoricoFila(TAMANHO_HISTORICO);
+    private final List<OuvinteFila> ouvintes = new CopyOnWriteArrayList<>();
+
+    public FilaTriagem() {
+        this(Clock.systemDefaultZone(), DURACAO_RESERVA_PADRAO);
+    }
+
+    @Autowired
+    public FilaTriagem(@Value("${hospital.fila.triagem.reserva-ms:300000}") long duracaoReservaMs) {
+        this(Clock.systemDefaultZone(), Duration.ofMillis(duracaoReservaMs));
+    }
+
+    FilaTriagem(Clock relogio, Duration duracaoReserva) {
+        this.relogio = relogio;
+        this.duracaoReservaMs = duracaoReserva.toMillis();
+    }
+
+    /**
+     * Lista os pacientes em ordem de chegada, sem os reservados por enfermeiros.
+     */
+    public List<PacienteTriagemResponse> listarPacientes() {
+        List<PacienteTriagemResponse> resposta = new ArrayList<>();
+        pacientes.values().forEach(entrada -> resposta.add(new PacienteTriagemResponse(entrada)));
+        return resposta;
     }
 
-    public void adicionar(Paciente paciente) {
-        if (paciente != null && !contemPaciente(paciente.getId())) {
-            pacientes.add(paciente);
+    public void adicionar(EntradaFilaTriagem entrada) {
+        if (entrada == null) {
+            return;
         }
+
+        // O bloqueio por chave do ConcurrentHashMap torna a inserção idempotente
+        indice.computeIfAbsent(entrada.getPacienteId(), id -> {
+            long sequencia = sequenciaChegada.incrementAndGet();
+            pacientes.put(sequencia, entrada);
+            notificar(TipoEventoFila.ADICIONADO, entrada, sequencia);
+            return sequencia;
+        });
     }
 
     public void remover(Long pacienteId) {
-        pacientes.removeIf(p -> p.getId().equals(pacienteId));
+        if (pacienteId == null) {
+            return;
+        }
+
+        indice.computeIfPresent(pacienteId, (id, sequencia) -> {
+            EntradaFilaTriagem entrada = pacientes.remove(sequencia);
+            Reserva reserva = reservas.remove(id);
+            if (reserva != null) {
+                expiracoes.remove(reserva);
+                entrada = reserva.entrada;
+            }
+            notificar(TipoEventoFila.REMOVIDO, entrada, sequencia);
+            return null;
+        });
+    }
+
+    /**
+     * Reserva o próximo paciente para o enfermeiro, ocultando-o dos demais até a
+     * triagem, a liberação ou a expiração da reserva.
+     */
+    public Optional<EntradaFilaTriagem> reservarProximo(Long enfermeiroId) {
+        Map.Entry<Long, EntradaFilaTriagem> primeiro;
+        while ((primeiro = pacientes.firstEntry()) != null) {
+            Reserva reserva = new Reserva(primeiro.getKey(), primeiro.getValue(), enfermeiroId,
+                    relogio.millis() + duracaoReservaMs);
+
+            indice.computeIfPresent(reserva.entrada.getPacienteId(), (id, sequencia) -> {
+                // Só um enfermeiro consegue retirar a entrada da fila visível
+                if (sequencia == reserva.sequencia && pacientes.remove(sequencia, reserva.entrada)) {
+                    reservas.put(id, reserva);
+                    expiracoes.add(reserva);
+                    reserva.confirmada = true;
+                    notificar(TipoEventoFila.RESERVADO, reserva.entrada, sequencia);
+                }
+                return sequencia;
+            });
+
+            if (reserva.confirmada) {
+                return Optional.of(reserva.entrada);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Devolve à fila o paciente reservado pelo enfermeiro, na sua posição original.
+     *
+     * @return {@code false} se o paciente não estiver reservado por esse enfermeiro
+     */
+    public boolean liberar(Long pacienteId, Long enfermeiroId) {
+        Reserva reserva = pacienteId != null ? reservas.get(pacienteId) : null;
+        if (reserva == null || !Objects.equals(reserva.enfermeiroId, enfermeiroId)) {
+            return false;
+        }
+        return expiracoes.remove(reserva) && devolver(reserva);
+    }
+
+    /**
+     * Indica se o paciente tem uma reserva ainda válida de outro enfermeiro.
+     */
+    public boolean reservadoPorOutro(Long pacienteId, Long enfermeiroId) {
+        Reserva reserva = pacienteId != null ? reservas.get(pacienteId) : null;
+        return reserva != null
+                && !Objects.equals(reserva.enfermeiroId, enfermeiroId)
+                && reserva.expiraEm > relogio.millis();
     }
 
-    public Optional<Paciente> buscarProximo() {
-        if (pacientes.isEmpty()) {
-            return Optional.empty();
+    /**
+     * Devolve à fila os pacientes cujas reservas expiraram.
+     * Percorre apenas o início da ordem de expiração.
+     *
+     * @return quantidade de reservas liberadas
+     */
+    public int liberarReservasExpiradas() {
+        long agora = relogio.millis();
+        int liberadas = 0;
+        for (Reserva reserva : expiracoes) {
+            if (reserva.expiraEm > agora) {
+                break;
+            }
+            if (expiracoes.remove(reserva) && devolver(reserva)) {
+                liberadas++;
+            }
         }
-        return Optional.of(pacientes.get(0));
+        return liberadas;
+    }
+
+    public int quantidadeReservas() {
+        return reservas.size();
+    }
+
+    private boolean devolver(Reserva reserva) {
+        Long pacienteId = reserva.entrada.getPacienteId();
+        indice.computeIfPresent(pacienteId, (id, sequencia) -> {
+            if (reservas.remove(id, reserva)) {
+                pacientes.put(sequencia, reserva.entrada);
+                reserva.confirmada = false;
+                notificar(TipoEventoFila.LIBERADO, reserva.entrada, sequencia);
+            }
+            return sequencia;
+        });
+        return !reserva.confirmada;
+    }
+
+    public Optional<EntradaFilaTriagem> buscarProximo() {
+        Map.Entry<Long, EntradaFilaTriagem> primeiro = pacientes.firstEntry();
+        return Optional.ofNullable(primeiro).map(Map.Entry::getValue);
     }
 
     public boolean contemPaciente(Long pacienteId) {
-        return pacientes.stream()
-                .anyMatch(p -> p.getId().equals(pacienteId));
+        return pacienteId != null && indice.containsKey(pacienteId);
     }
 
+    /**
+     * Quantidade de pacientes visíveis na fila, sem os reservados por enfermeiros,
+     * como em {@link #listarPacientes()}. Os reservados aparecem em {@link #quantidadeReservas()}.
+     */
     public int tamanhoFila() {
         return pacientes.size();
     }
+
+    public long versao() {
+        return historico.versao();
+    }
+
+    /**
+     * Consulta a fila a partir da versão conhecida pelo cliente: retorna apenas as
+     * alterações posteriores ou, se o histórico não as cobre, a fila completa.
+     * <p>
+     * A versão é lida antes da cópia da fila, portanto a cópia pode já conter
+     * alterações seguintes; reaplicá-las no cliente é inofensivo.
+     */
+    public FilaVersionadaDTO<PacienteTriagemResponse> consultarDesde(long versaoCliente) {
+        long versaoAtual = historico.versao();
+        return historico.alteracoesDesde(versaoCliente)
+                .map(alteracoes -> FilaVersionadaDTO.<PacienteTriagemResponse>alteracoes(
+                        alteracoes.isEmpty() ? versaoCliente : alteracoes.get(alteracoes.size() - 1).getVersao(),
+                        alteracoes))
+                .orElseGet(() -> FilaVersionadaDTO.completa(versaoAtual, listarPacientes()));
+    }
+
+    /**
+     * Fila completa com a versão lida antes da cópia, como em {@link #consultarDesde(long)}.
+     */
+    public FilaVersionadaDTO<PacienteTriagemResponse> consultarCompleta() {
+        long versaoAtual = historico.versao();
+        return FilaVersionadaDTO.completa(versaoAtual, listarPacientes());
+    }
+
+    public void registrarOuvinte(OuvinteFila ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    private void notificar(TipoEventoFila tipo, EntradaFilaTriagem entrada, long sequencia) {
+        if (entrada == null) {
+            return;
+        }
+
+        PacienteTriagemResponse paciente = new PacienteTriagemResponse(entrada);
+        EventoFilaDTO evento = historico.registrar(versao ->
+                new EventoFilaDTO(versao, tipo, null, entrada.getPacienteId(), null, sequencia, paciente));
+        ouvintes.forEach(ouvinte -> ouvinte.aoAlterar(evento));
+    }
+
+    /**
+     * Reserva de um paciente por um enfermeiro. Alterada apenas sob o bloqueio
+     * da chave do paciente no índice.
+     */
+    private static final class Reserva {
+
+        private static final Comparator<Reserva> ORDEM_EXPIRACAO = Comparator
+                .comparingLong((Reserva r) -> r.expiraEm)
+                .thenComparingLong(r -> r.sequencia);
+
+        private final long sequencia;
+        private final EntradaFilaTriagem entrada;
+        private final Long enfermeiroId;
+        private final long expiraEm;
+        private volatile boolean confirmada;
+
+        private Reserva(long sequencia, EntradaFilaTriagem entrada, Long enfermeiroId, long expiraEm) {
+            this.sequencia = sequencia;
+            this.entrada = entrada;
+            this.enfermeiroId = enfermeiroId;
+            this.expiraEm = expiraEm;
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package com.hospital.sistema.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.Locale;
+
+/**
+ * Grade de intervalos de 5 minutos usada nos mapas de bits de disponibilidade.
+ * <p>
+ * O dia tem 288 intervalos; o bit {@code i} representa o horário de
+ * {@code i * 5} a {@code (i + 1) * 5} minutos após a meia-noite.
+ */
+public class GradeHorarios {
+
+    public static final int MINUTOS_POR_INTERVALO = 5;
+    public static final int INTERVALOS_POR_DIA = 24 * 60 / MINUTOS_POR_INTERVALO;
+
+    private static final int SEGUNDOS_POR_INTERVALO = MINUTOS_POR_INTERVALO * 60;
+
+    private GradeHorarios() {
+        // Classe utilitária - não deve ser instanciada
+    }
+
+    /**
+     * Converte o nome do dia da semana em inglês, como gravado em
+     * {@code HorarioDisponivel} e enviado no agendamento, sem diferenciar
+     * maiúsculas de minúsculas.
+     *
+     * @throws IllegalArgumentException se o nome não corresponder a um dia
+     */
+    public static DayOfWeek diaSemana(String nome) {
+        if (nome == null) {
+            throw new IllegalArgumentException("Dia da semana não informado");
+        }
+        return DayOfWeek.valueOf(nome.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Intervalo que contém o horário.
+     */
+    public static int intervaloDe(LocalTime hora) {
+        return hora.toSecondOfDay() / SEGUNDOS_POR_INTERVALO;
+    }
+
+    /**
+     * Primeiro intervalo que começa no horário ou depois dele.
+     */
+    public static int intervaloAPartirDe(LocalTime hora) {
+        return (hora.toSecondOfDay() + SEGUNDOS_POR_INTERVALO - 1) / SEGUNDOS_POR_INTERVALO;
+    }
+
+    /**
+     * Quantidade de intervalos necessária para cobrir a duração.
+     */
+    public static int intervalosParaMinutos(int minutos) {
+        return (minutos + MINUTOS_POR_INTERVALO - 1) / MINUTOS_POR_INTERVALO;
+    }
+
+    /**
+     * Horário de início do intervalo. O fim do último intervalo do dia é
+     * representado por {@link LocalTime#MAX}.
+     */
+    public static LocalTime horarioDe(int intervalo) {
+        return intervalo >= INTERVALOS_POR_DIA
+                ? LocalTime.MAX
+                : LocalTime.MIN.plusMinutes((long) intervalo * MINUTOS_POR_INTERVALO);
+    }
+
+    /**
+     * Desmarca todos os intervalos que {@code [inicio, fim)} toca, mesmo que em parte.
+     */
+    public static void desmarcarOcupado(BitSet dia, LocalTime inicio, LocalTime fim) {
+        int primeiro = intervaloDe(inicio);
+        int ultimo = intervaloAPartirDe(fim);
+        if (primeiro < ultimo) {
+            dia.clear(primeiro, ultimo);
+        }
+    }
+}
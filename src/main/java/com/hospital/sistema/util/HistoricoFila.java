@@ -0,0 +1,81 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.EventoFilaDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+/**
+ * Versão monotônica de uma fila e registro limitado das últimas alterações.
+ * <p>
+ * A versão inicial é o instante de criação em milissegundos, de modo que
+ * versões recebidas antes de um reinício do servidor sejam sempre menores que
+ * as atuais e nunca coincidam com elas.
+ */
+final class HistoricoFila {
+
+    private final int capacidade;
+    private final Deque<EventoFilaDTO> eventos = new ArrayDeque<>();
+
+    /** Atualizada sob o bloqueio do histórico e lida sem bloqueio. */
+    private volatile long versao = System.currentTimeMillis();
+
+    HistoricoFila(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    long versao() {
+        return versao;
+    }
+
+    /**
+     * Atribui a próxima versão à alteração e a guarda no histórico.
+     */
+    synchronized EventoFilaDTO registrar(LongFunction<EventoFilaDTO> criarEvento) {
+        long proxima = versao + 1;
+        EventoFilaDTO evento = criarEvento.apply(proxima);
+        eventos.addLast(evento);
+        if (eventos.size() > capacidade) {
+            eventos.removeFirst();
+        }
+        versao = proxima;
+        return evento;
+    }
+
+    /**
+     * Retorna as alterações posteriores à versão informada, em ordem.
+     * Vazio quando o histórico não cobre o intervalo e o cliente precisa da fila completa.
+     */
+    synchronized Optional<List<EventoFilaDTO>> alteracoesDesde(long desde) {
+        if (desde == versao) {
+            return Optional.of(List.of());
+        }
+        EventoFilaDTO maisAntigo = eventos.peekFirst();
+        if (desde > versao || maisAntigo == null || maisAntigo.getVersao() > desde + 1) {
+            return Optional.empty();
+        }
+
+        List<EventoFilaDTO> alteracoes = new ArrayList<>((int) (versao - desde));
+        Iterator<EventoFilaDTO> recentes = eventos.descendingIterator();
+        while (recentes.hasNext()) {
+            EventoFilaDTO evento = recentes.next();
+            if (evento.getVersao() <= desde) {
+                break;
+            }
+            alteracoes.add(evento);
+        }
+        return Optional.of(reverter(alteracoes));
+    }
+
+    private static List<EventoFilaDTO> reverter(List<EventoFilaDTO> lista) {
+        for (int i = 0, j = lista.size() - 1; i < j; i++, j--) {
+            lista.set(i, lista.set(j, lista.get(i)));
+        }
+        return lista;
+    }
+}
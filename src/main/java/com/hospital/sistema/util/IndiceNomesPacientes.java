@@ -0,0 +1,342 @@
+package com.hospital.sistema.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas sobre os nomes dos pacientes, para a busca por
+ * nome sem varrer a tabela.
+ * <p>
+ * Os nomes são normalizados sem acentos, em minúsculas e com palavras separadas
+ * por um único espaço. Cada trigrama aponta para a lista ordenada dos pacientes
+ * que o contêm. Uma busca percorre apenas a menor lista entre os trigramas do
+ * termo, confirmando cada candidato no nome normalizado, e devolve no máximo
+ * {@code limite} pacientes: primeiro os que começam pelo termo, depois os que
+ * têm uma palavra começando pelo termo e por fim os que o contêm no meio.
+ * <p>
+ * Termos com menos de dois caracteres não são buscados. Termos com dois
+ * caracteres casam apenas com o início das palavras.
+ * <p>
+ * {@link #recarregar(Consumer)} monta um índice novo ao lado do atual e o troca
+ * de uma vez, com as alterações feitas durante a carga reaplicadas; as buscas
+ * continuam respondendo pelo índice anterior até a troca.
+ */
+@Component
+public class IndiceNomesPacientes {
+
+    private static final int TAMANHO_MINIMO_TERMO = 2;
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int limite;
+
+    private final ReadWriteLock bloqueio = new ReentrantReadWriteLock();
+
+    /** Protegido por {@link #bloqueio}. */
+    private Dados dados = new Dados();
+
+    /** Alterações feitas durante uma recarga, para reaplicar no índice novo. Protegido por {@link #bloqueio}. */
+    private List<Consumer<Dados>> alteracoesDuranteRecarga;
+
+    public IndiceNomesPacientes(@Value("${hospital.pacientes.busca.limite:20}") int limite) {
+        this.limite = limite;
+    }
+
+    /**
+     * Indexa ou reindexa o nome do paciente.
+     */
+    public void indexar(Long pacienteId, String nome) {
+        if (pacienteId == null) {
+            return;
+        }
+
+        String texto = " " + normalizar(nome);
+        alterar(alvo -> alvo.indexar(pacienteId, texto));
+    }
+
+    public void remover(Long pacienteId) {
+        if (pacienteId == null) {
+            return;
+        }
+
+        alterar(alvo -> alvo.remover(pacienteId));
+    }
+
+    /**
+     * Substitui o conteúdo do índice pelos pacientes entregues pela carga, que
+     * recebe a função de indexação. Pacientes ausentes da carga saem do índice.
+     */
+    public synchronized void recarregar(Consumer<BiConsumer<Long, String>> carga) {
+        bloqueio.writeLock().lock();
+        try {
+            alteracoesDuranteRecarga = new ArrayList<>();
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+
+        Dados novos = new Dados();
+        try {
+            carga.accept((pacienteId, nome) -> {
+                if (pacienteId != null) {
+                    novos.indexar(pacienteId, " " + normalizar(nome));
+                }
+            });
+        } catch (RuntimeException e) {
+            descartarAlteracoesDuranteRecarga();
+            throw e;
+        }
+
+        bloqueio.writeLock().lock();
+        try {
+            alteracoesDuranteRecarga.forEach(alteracao -> alteracao.accept(novos));
+            alteracoesDuranteRecarga = null;
+            dados = novos;
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca pacientes cujo nome contém o termo, ignorando acentos e maiúsculas.
+     *
+     * @return IDs em ordem de relevância, no máximo {@code limite}
+     */
+    public List<Long> buscar(String termo) {
+        String normalizado = normalizar(termo);
+        if (normalizado.length() < TAMANHO_MINIMO_TERMO) {
+            return List.of();
+        }
+
+        // Com dois caracteres, o espaço inicial forma o trigrama e restringe ao início das palavras
+        String procurado = normalizado.length() == TAMANHO_MINIMO_TERMO ? " " + normalizado : normalizado;
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(Resultado.ORDEM_RELEVANCIA.reversed());
+
+        bloqueio.readLock().lock();
+        try {
+            ListaIds candidatos = dados.menorLista(procurado);
+            if (candidatos == null) {
+                return List.of();
+            }
+
+            for (int i = 0; i < candidatos.tamanho; i++) {
+                long id = candidatos.ids[i];
+                String texto = dados.nomes.get(id);
+                int posicao = texto.indexOf(procurado);
+                if (posicao < 0) {
+                    continue;
+                }
+
+                melhores.add(new Resultado(id, texto, relevancia(texto, procurado, posicao)));
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+
+        List<Resultado> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(Resultado.ORDEM_RELEVANCIA);
+        List<Long> ids = new ArrayList<>(ordenados.size());
+        ordenados.forEach(resultado -> ids.add(resultado.id));
+        return ids;
+    }
+
+    public int tamanho() {
+        bloqueio.readLock().lock();
+        try {
+            return dados.nomes.size();
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove acentos, converte para minúsculas e reduz tudo que não é letra ou
+     * dígito a um único espaço.
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private void alterar(Consumer<Dados> alteracao) {
+        bloqueio.writeLock().lock();
+        try {
+            alteracao.accept(dados);
+            if (alteracoesDuranteRecarga != null) {
+                alteracoesDuranteRecarga.add(alteracao);
+            }
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    private void descartarAlteracoesDuranteRecarga() {
+        bloqueio.writeLock().lock();
+        try {
+            alteracoesDuranteRecarga = null;
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    private static int relevancia(String texto, String procurado, int posicao) {
+        boolean procuraInicioPalavra = procurado.charAt(0) == ' ';
+        if (posicao == (procuraInicioPalavra ? 0 : 1)) {
+            return 0;
+        }
+        if (procuraInicioPalavra || texto.charAt(posicao - 1) == ' ' || texto.contains(" " + procurado)) {
+            return 1;
+        }
+        return 2;
+    }
+
+    /**
+     * Trigramas distintos do texto, cada um com os três caracteres num {@code long}.
+     */
+    private static long[] trigramasDe(String texto) {
+        if (texto.length() < 3) {
+            return new long[0];
+        }
+
+        long[] resultado = new long[texto.length() - 2];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = ((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2);
+        }
+        Arrays.sort(resultado);
+
+        int distintos = 0;
+        for (int i = 0; i < resultado.length; i++) {
+            if (i == 0 || resultado[i] != resultado[i - 1]) {
+                resultado[distintos++] = resultado[i];
+            }
+        }
+        return Arrays.copyOf(resultado, distintos);
+    }
+
+    /**
+     * Nomes e trigramas de uma geração do índice.
+     */
+    private static final class Dados {
+
+        /** Nome normalizado, precedido de espaço, por paciente ID. */
+        private final Map<Long, String> nomes = new HashMap<>();
+
+        /** Pacientes por trigrama do nome normalizado. */
+        private final Map<Long, ListaIds> trigramas = new HashMap<>();
+
+        void indexar(Long pacienteId, String texto) {
+            String anterior = nomes.put(pacienteId, texto);
+            if (anterior != null) {
+                if (anterior.equals(texto)) {
+                    return;
+                }
+                removerTrigramas(pacienteId, anterior);
+            }
+            for (long trigrama : trigramasDe(texto)) {
+                trigramas.computeIfAbsent(trigrama, t -> new ListaIds()).adicionar(pacienteId);
+            }
+        }
+
+        void remover(Long pacienteId) {
+            String anterior = nomes.remove(pacienteId);
+            if (anterior != null) {
+                removerTrigramas(pacienteId, anterior);
+            }
+        }
+
+        ListaIds menorLista(String procurado) {
+            ListaIds menor = null;
+            for (long trigrama : trigramasDe(procurado)) {
+                ListaIds lista = trigramas.get(trigrama);
+                if (lista == null) {
+                    return null;
+                }
+                if (menor == null || lista.tamanho < menor.tamanho) {
+                    menor = lista;
+                }
+            }
+            return menor;
+        }
+
+        private void removerTrigramas(Long pacienteId, String texto) {
+            for (long trigrama : trigramasDe(texto)) {
+                ListaIds lista = trigramas.get(trigrama);
+                if (lista != null && lista.remover(pacienteId) && lista.tamanho == 0) {
+                    trigramas.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lista ordenada de IDs em um vetor de {@code long}, sem objetos por elemento.
+     * Como os IDs crescem, a inserção costuma ser no fim.
+     */
+    private static final class ListaIds {
+
+        private long[] ids = new long[4];
+        private int tamanho;
+
+        void adicionar(long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao >= 0) {
+                return;
+            }
+            posicao = -posicao - 1;
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho + (tamanho >> 1) + 1);
+            }
+            System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+            ids[posicao] = id;
+            tamanho++;
+        }
+
+        boolean remover(long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao < 0) {
+                return false;
+            }
+            System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+            tamanho--;
+            return true;
+        }
+    }
+
+    private static final class Resultado {
+
+        private static final Comparator<Resultado> ORDEM_RELEVANCIA = Comparator
+                .comparingInt((Resultado r) -> r.relevancia)
+                .thenComparing(r -> r.texto)
+                .thenComparingLong(r -> r.id);
+
+        private final long id;
+        private final String texto;
+        private final int relevancia;
+
+        private Resultado(long id, String texto, int relevancia) {
+            this.id = id;
+            this.texto = texto;
+            this.relevancia = relevancia;
+        }
+    }
+}
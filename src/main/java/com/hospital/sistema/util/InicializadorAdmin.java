@@ -12,9 +12,11 @@ import org.springframework.stereotype.Component;
 public class InicializadorAdmin implements CommandLineRunner {
 
     private final AdminRepository adminRepository;
+    private final CodificadorSenha codificadorSenha;
 
-    public InicializadorAdmin(AdminRepository adminRepository) {
+    public InicializadorAdmin(AdminRepository adminRepository, CodificadorSenha codificadorSenha) {
         this.adminRepository = adminRepository;
+        this.codificadorSenha = codificadorSenha;
     }
 
     @Override
@@ -27,7 +29,7 @@ public class InicializadorAdmin implements CommandLineRunner {
             Admin admin = new Admin();
             admin.setNome("Administrador");
             admin.setLogin("admin");
-            admin.setSenha(SenhaUtils.criptografar("admin123"));
+            admin.setSenha(codificadorSenha.codificar("admin123"));
 
             adminRepository.save(admin);
             System.out.println("Conta de administrador padrão criada: admin/admin123");
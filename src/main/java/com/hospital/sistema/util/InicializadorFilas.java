@@ -0,0 +1,86 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.ConsultaFilaDTO;
+import com.hospital.sistema.dto.EntradaFilaTriagem;
+import com.hospital.sistema.dto.PacienteFilaDTO;
+import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.repository.ConsultaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Reconstrói as filas de triagem e de atendimento médico a partir das
+ * consultas abertas no banco de dados, para que um reinício não esvazie
+ * as salas de espera.
+ * <p>
+ * A reconstrução ocorre na criação do componente, antes de o servidor web
+ * começar a aceitar requisições, para que nenhum encaminhamento, triagem ou
+ * chamada de paciente aconteça com as filas ainda vazias.
+ */
+@Component
+public class InicializadorFilas {
+
+    private final ConsultaRepository consultaRepository;
+    private final FilaTriagem filaTriagem;
+    private final FilaAtendimentoMedico filaAtendimentoMedico;
+
+    public InicializadorFilas(ConsultaRepository consultaRepository,
+                              FilaTriagem filaTriagem,
+                              FilaAtendimentoMedico filaAtendimentoMedico) {
+        this.consultaRepository = consultaRepository;
+        this.filaTriagem = filaTriagem;
+        this.filaAtendimentoMedico = filaAtendimentoMedico;
+    }
+
+    /**
+     * Carrega todas as consultas em fila com uma única consulta ao banco
+     * e as reinsere respeitando a ordem de entrada original.
+     */
+    @PostConstruct
+    public void reconstruirFilas() {
+        List<ConsultaFilaDTO> consultas = consultaRepository.buscarConsultasEmFila(
+                EnumSet.of(StatusConsulta.EM_TRIAGEM, StatusConsulta.AGUARDANDO_ATENDIMENTO));
+
+        int triagem = 0;
+        int atendimento = 0;
+
+        for (ConsultaFilaDTO consulta : consultas) {
+            if (consulta.getStatus() == StatusConsulta.EM_TRIAGEM) {
+                filaTriagem.adicionar(criarEntradaTriagem(consulta));
+                triagem++;
+            } else if (consulta.getMedicoId() != null) {
+                filaAtendimentoMedico.adicionar(criarPacienteFila(consulta), consulta.getDataHoraEntradaFila());
+                atendimento++;
+            }
+        }
+
+        if (!consultas.isEmpty()) {
+            System.out.println("Filas reconstruídas: " + triagem + " em triagem, "
+                    + atendimento + " aguardando atendimento");
+        }
+    }
+
+    private EntradaFilaTriagem criarEntradaTriagem(ConsultaFilaDTO consulta) {
+        return new EntradaFilaTriagem(
+                consulta.getPacienteId(),
+                consulta.getPacienteNome(),
+                consulta.getConsultaId(),
+                consulta.getDataHoraEntradaFila(),
+                consulta.getNumeroDocumento()
+        );
+    }
+
+    private PacienteFilaDTO criarPacienteFila(ConsultaFilaDTO consulta) {
+        String nivelUrgencia = consulta.getNivelUrgencia() != null ? consulta.getNivelUrgencia().name() : null;
+        return new PacienteFilaDTO(
+                consulta.getPacienteId(),
+                consulta.getPacienteNome(),
+                consulta.getMedicoId(),
+                consulta.getConsultaId(),
+                nivelUrgencia
+        );
+    }
+}
@@ -0,0 +1,103 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.PacienteNomeDTO;
+import com.hospital.sistema.repository.PacienteRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Carrega o índice de nomes de pacientes a partir do banco na inicialização,
+ * em lotes por ID, sem carregar as entidades. A carga ocorre na criação do
+ * componente, antes de o servidor web aceitar requisições, para que a busca por
+ * nome não responda vazio logo após o início.
+ * <p>
+ * O índice existe só na memória de cada instância. A atualização periódica lê
+ * apenas os pacientes gravados desde a anterior, com uma margem para relógios
+ * diferentes entre as instâncias e transações confirmadas com atraso, e traz os
+ * cadastros e alterações feitos em outras instâncias. Exclusões feitas em outras
+ * instâncias só saem do índice na recarga completa, menos frequente; até lá a
+ * busca descarta os IDs que não existem mais.
+ * <p>
+ * O índice ocupa cerca de 400 bytes por paciente (nomes de quatro palavras),
+ * perto de 400 MB para um milhão de pacientes; durante a recarga completa as
+ * duas gerações coexistem.
+ */
+@Component
+public class InicializadorIndicePacientes {
+
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final Duration MARGEM_ATUALIZACAO = Duration.ofMinutes(2);
+
+    private final PacienteRepository pacienteRepository;
+    private final IndiceNomesPacientes indiceNomesPacientes;
+
+    /** Início da última leitura do banco; as gravações a partir dele ainda não foram lidas. */
+    private volatile LocalDateTime ultimaLeitura;
+
+    public InicializadorIndicePacientes(PacienteRepository pacienteRepository,
+                                        IndiceNomesPacientes indiceNomesPacientes) {
+        this.pacienteRepository = pacienteRepository;
+        this.indiceNomesPacientes = indiceNomesPacientes;
+    }
+
+    @PostConstruct
+    public void carregarNaInicializacao() {
+        carregarIndice();
+        if (indiceNomesPacientes.tamanho() > 0) {
+            System.out.println("Índice de nomes carregado: " + indiceNomesPacientes.tamanho() + " pacientes");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.pacientes.busca.atualizacao-ms:60000}",
+            initialDelayString = "${hospital.pacientes.busca.atualizacao-ms:60000}")
+    public void atualizar() {
+        if (ultimaLeitura == null) {
+            carregarIndice();
+            return;
+        }
+
+        LocalDateTime inicio = LocalDateTime.now();
+        LocalDateTime desde = ultimaLeitura.minus(MARGEM_ATUALIZACAO);
+        lerNomes((ultimoId, pagina) -> pacienteRepository.buscarNomesAlteradosDesde(desde, ultimoId, pagina),
+                indiceNomesPacientes::indexar);
+        ultimaLeitura = inicio;
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.pacientes.busca.recarga-ms:21600000}",
+            initialDelayString = "${hospital.pacientes.busca.recarga-ms:21600000}")
+    public void recarregar() {
+        carregarIndice();
+    }
+
+    public void carregarIndice() {
+        LocalDateTime inicio = LocalDateTime.now();
+        indiceNomesPacientes.recarregar(indexar -> lerNomes(pacienteRepository::buscarNomesAPartirDe, indexar));
+        ultimaLeitura = inicio;
+    }
+
+    private void lerNomes(ConsultaLote consulta, BiConsumer<Long, String> indexar) {
+        long ultimoId = 0;
+        List<PacienteNomeDTO> lote;
+        do {
+            lote = consulta.buscar(ultimoId, PageRequest.of(0, TAMANHO_LOTE));
+            for (PacienteNomeDTO paciente : lote) {
+                indexar.accept(paciente.getId(), paciente.getNome());
+                ultimoId = paciente.getId();
+            }
+        } while (lote.size() == TAMANHO_LOTE);
+    }
+
+    @FunctionalInterface
+    private interface ConsultaLote {
+
+        List<PacienteNomeDTO> buscar(Long ultimoId, Pageable pagina);
+    }
+}
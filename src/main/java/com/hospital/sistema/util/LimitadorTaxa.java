@@ -0,0 +1,164 @@
+package com.hospital.sistema.util;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limitador de taxa por chave com baldes de fichas (token bucket).
+ * <p>
+ * As chaves são distribuídas em listras, cada uma com seu próprio bloqueio e
+ * um mapa em ordem de acesso. Cada listra guarda no máximo uma quantidade fixa
+ * de baldes, então a memória fica limitada mesmo com milhões de chaves
+ * distintas. Só são descartados baldes ociosos, que já teriam sido
+ * reabastecidos por completo, de modo que o descarte não altera o resultado.
+ * <p>
+ * Com a listra cheia de baldes em uso, uma chave nova não toma o lugar de um
+ * balde ainda sendo esvaziado, o que devolveria fichas a uma chave já limitada.
+ * Ela também não é limitada: a tentativa é permitida sem guardar estado, para
+ * que muitas chaves distintas ao mesmo tempo não bloqueiem os usuários que
+ * ainda não tinham balde.
+ */
+final class LimitadorTaxa {
+
+    private final Listra[] listras;
+    private final int capacidade;
+    private final long intervaloReposicaoMs;
+    private final long tempoOciosoMs;
+    private final Clock relogio;
+
+    LimitadorTaxa(int quantidadeListras, int baldesPorListra, int capacidade,
+                  long intervaloReposicaoMs, Clock relogio) {
+        if (Integer.bitCount(quantidadeListras) != 1) {
+            throw new IllegalArgumentException("A quantidade de listras deve ser potência de dois");
+        }
+        this.capacidade = capacidade;
+        this.intervaloReposicaoMs = intervaloReposicaoMs;
+        this.tempoOciosoMs = capacidade * intervaloReposicaoMs;
+        this.relogio = relogio;
+        this.listras = new Listra[quantidadeListras];
+        for (int i = 0; i < quantidadeListras; i++) {
+            listras[i] = new Listra(baldesPorListra);
+        }
+    }
+
+    /**
+     * Consome uma ficha do balde da chave.
+     *
+     * @return zero se a tentativa foi permitida; caso contrário, os milissegundos
+     *         até a próxima ficha
+     */
+    long tentar(String chave) {
+        Listra listra = listraDe(chave);
+        long agora = relogio.millis();
+        synchronized (listra) {
+            Balde balde = listra.baldes.get(chave);
+            if (balde == null) {
+                balde = listra.criarBalde(chave, agora);
+                if (balde == null) {
+                    return 0;
+                }
+            }
+            return balde.consumir(agora, capacidade, intervaloReposicaoMs);
+        }
+    }
+
+    /**
+     * Descarta os baldes sem uso há tempo suficiente para estarem cheios.
+     *
+     * @return quantidade de baldes descartados
+     */
+    int removerOciosos() {
+        long agora = relogio.millis();
+        int removidos = 0;
+        for (Listra listra : listras) {
+            synchronized (listra) {
+                // Ordem de acesso: os primeiros são os usados há mais tempo
+                Iterator<Balde> iterador = listra.baldes.values().iterator();
+                while (iterador.hasNext()) {
+                    if (agora - iterador.next().ultimoAcesso < tempoOciosoMs) {
+                        break;
+                    }
+                    iterador.remove();
+                    removidos++;
+                }
+            }
+        }
+        return removidos;
+    }
+
+    int quantidadeBaldes() {
+        int total = 0;
+        for (Listra listra : listras) {
+            synchronized (listra) {
+                total += listra.baldes.size();
+            }
+        }
+        return total;
+    }
+
+    private Listra listraDe(String chave) {
+        int hash = chave.hashCode();
+        return listras[(hash ^ (hash >>> 16)) & (listras.length - 1)];
+    }
+
+    private final class Listra {
+
+        private final Map<String, Balde> baldes = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maximoBaldes;
+
+        private Listra(int maximoBaldes) {
+            this.maximoBaldes = maximoBaldes;
+        }
+
+        /**
+         * Guarda um balde novo para a chave, descartando o usado há mais tempo se
+         * estiver ocioso. Sem espaço, devolve {@code null}. Chamado com o bloqueio
+         * da listra.
+         */
+        private Balde criarBalde(String chave, long agora) {
+            if (baldes.size() >= maximoBaldes) {
+                // Ordem de acesso: se o primeiro não está ocioso, nenhum outro está
+                Iterator<Balde> iterador = baldes.values().iterator();
+                if (agora - iterador.next().ultimoAcesso < tempoOciosoMs) {
+                    return null;
+                }
+                iterador.remove();
+            }
+            Balde balde = new Balde(capacidade, agora);
+            baldes.put(chave, balde);
+            return balde;
+        }
+    }
+
+    /**
+     * Fichas disponíveis de uma chave. Protegido pelo bloqueio da listra.
+     */
+    private static final class Balde {
+
+        private double fichas;
+        private long ultimaReposicao;
+        private long ultimoAcesso;
+
+        private Balde(int capacidade, long agora) {
+            this.fichas = capacidade;
+            this.ultimaReposicao = agora;
+            this.ultimoAcesso = agora;
+        }
+
+        private long consumir(long agora, int capacidade, long intervaloReposicaoMs) {
+            if (agora > ultimaReposicao) {
+                fichas = Math.min(capacidade, fichas + (double) (agora - ultimaReposicao) / intervaloReposicaoMs);
+                ultimaReposicao = agora;
+            }
+            ultimoAcesso = agora;
+
+            if (fichas >= 1) {
+                fichas -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - fichas) * intervaloReposicaoMs);
+        }
+    }
+}
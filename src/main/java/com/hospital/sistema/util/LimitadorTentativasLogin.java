@@ -0,0 +1,64 @@
+package com.hospital.sistema.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Locale;
+
+/**
+ * Limita as tentativas de login por login e por endereço IP do cliente, antes
+ * de qualquer consulta ao banco ou cálculo de hash.
+ * <p>
+ * O limite por IP é folgado por padrão (rajada de 100, depois 1 por segundo):
+ * uma ala inteira atrás de um único endereço NAT faz login de uma vez na troca
+ * de turno. O limite por login continua segurando a adivinhação de senhas.
+ */
+@Component
+public class LimitadorTentativasLogin {
+
+    private static final int LISTRAS = 64;
+
+    private final LimitadorTaxa porLogin;
+    private final LimitadorTaxa porIp;
+
+    @Autowired
+    public LimitadorTentativasLogin(
+            @Value("${hospital.login.limite.por-login.capacidade:5}") int capacidadePorLogin,
+            @Value("${hospital.login.limite.por-login.reposicao-ms:60000}") long reposicaoPorLoginMs,
+            @Value("${hospital.login.limite.por-ip.capacidade:100}") int capacidadePorIp,
+            @Value("${hospital.login.limite.por-ip.reposicao-ms:1000}") long reposicaoPorIpMs,
+            @Value("${hospital.login.limite.baldes-por-listra:4096}") int baldesPorListra) {
+        this(capacidadePorLogin, reposicaoPorLoginMs, capacidadePorIp, reposicaoPorIpMs, baldesPorListra,
+                Clock.systemUTC());
+    }
+
+    LimitadorTentativasLogin(int capacidadePorLogin, long reposicaoPorLoginMs,
+                             int capacidadePorIp, long reposicaoPorIpMs,
+                             int baldesPorListra, Clock relogio) {
+        this.porLogin = new LimitadorTaxa(LISTRAS, baldesPorListra, capacidadePorLogin, reposicaoPorLoginMs, relogio);
+        this.porIp = new LimitadorTaxa(LISTRAS, baldesPorListra, capacidadePorIp, reposicaoPorIpMs, relogio);
+    }
+
+    /**
+     * Registra uma tentativa de login.
+     *
+     * @return zero se a tentativa é permitida; caso contrário, os milissegundos
+     *         até uma nova tentativa ser aceita
+     */
+    public long registrarTentativa(String login, String ip) {
+        long esperaIp = porIp.tentar(ip != null ? ip : "");
+        if (esperaIp > 0) {
+            return esperaIp;
+        }
+        return porLogin.tentar(login != null ? login.toLowerCase(Locale.ROOT) : "");
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.login.limite.limpeza-ms:60000}")
+    public void removerOciosos() {
+        porLogin.removerOciosos();
+        porIp.removerOciosos();
+    }
+}
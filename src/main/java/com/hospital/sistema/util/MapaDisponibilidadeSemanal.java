@@ -0,0 +1,117 @@
+package com.hospital.sistema.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Janelas de atendimento semanais de um médico compiladas em um mapa de bits
+ * de 7 × 288 intervalos de 5 minutos, de segunda a domingo, em 32 palavras de
+ * 64 bits.
+ * <p>
+ * Perguntar se o médico atende em um momento é o teste de um bit; verificar um
+ * período inteiro compara no máximo algumas palavras com uma máscara. O mapa é
+ * imutável e pode ser lido por várias threads sem sincronização.
+ */
+public final class MapaDisponibilidadeSemanal {
+
+    public static final MapaDisponibilidadeSemanal VAZIO = new Construtor().construir();
+
+    private static final int INTERVALOS_POR_SEMANA = 7 * GradeHorarios.INTERVALOS_POR_DIA;
+
+    private final long[] bits;
+
+    private MapaDisponibilidadeSemanal(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Indica se o médico atende no intervalo de 5 minutos que contém o momento.
+     */
+    public boolean disponivel(LocalDateTime momento) {
+        int intervalo = inicioDoDia(momento.getDayOfWeek()) + GradeHorarios.intervaloDe(momento.toLocalTime());
+        return (bits[intervalo >>> 6] & (1L << intervalo)) != 0;
+    }
+
+    /**
+     * Indica se o médico atende durante todo o período {@code [inicio, fim)} do dia.
+     */
+    public boolean disponivelEntre(DayOfWeek dia, LocalTime inicio, LocalTime fim) {
+        int primeiro = inicioDoDia(dia) + GradeHorarios.intervaloDe(inicio);
+        int ultimo = inicioDoDia(dia) + GradeHorarios.intervaloAPartirDe(fim);
+        if (primeiro >= ultimo) {
+            return false;
+        }
+        for (int palavra = primeiro >>> 6; palavra <= (ultimo - 1) >>> 6; palavra++) {
+            long mascara = -1L;
+            if (palavra == primeiro >>> 6) {
+                mascara &= -1L << primeiro;
+            }
+            if (palavra == (ultimo - 1) >>> 6) {
+                mascara &= -1L >>> (63 - ((ultimo - 1) & 63));
+            }
+            if ((bits[palavra] & mascara) != mascara) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cópia dos intervalos de atendimento do dia, com o bit 0 à meia-noite.
+     */
+    public BitSet dia(DayOfWeek dia) {
+        int inicio = inicioDoDia(dia);
+        return BitSet.valueOf(bits).get(inicio, inicio + GradeHorarios.INTERVALOS_POR_DIA);
+    }
+
+    public boolean vazio() {
+        return Arrays.stream(bits).allMatch(palavra -> palavra == 0);
+    }
+
+    /**
+     * Dois mapas são iguais quando têm os mesmos intervalos de atendimento.
+     */
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        return outro instanceof MapaDisponibilidadeSemanal mapa && Arrays.equals(bits, mapa.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    private static int inicioDoDia(DayOfWeek dia) {
+        return (dia.getValue() - 1) * GradeHorarios.INTERVALOS_POR_DIA;
+    }
+
+    /**
+     * Acumula as janelas de atendimento antes de compilar o mapa.
+     */
+    public static class Construtor {
+
+        private final BitSet semana = new BitSet(INTERVALOS_POR_SEMANA);
+
+        /**
+         * Marca os intervalos inteiramente contidos na janela {@code [inicio, fim)} do dia.
+         */
+        public Construtor adicionar(DayOfWeek dia, LocalTime inicio, LocalTime fim) {
+            int primeiro = GradeHorarios.intervaloAPartirDe(inicio);
+            int ultimo = GradeHorarios.intervaloDe(fim);
+            if (primeiro < ultimo) {
+                semana.set(inicioDoDia(dia) + primeiro, inicioDoDia(dia) + ultimo);
+            }
+            return this;
+        }
+
+        public MapaDisponibilidadeSemanal construir() {
+            return new MapaDisponibilidadeSemanal(Arrays.copyOf(semana.toLongArray(), (INTERVALOS_POR_SEMANA + 63) / 64));
+        }
+    }
+}
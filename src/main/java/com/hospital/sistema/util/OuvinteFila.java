@@ -0,0 +1,14 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.EventoFilaDTO;
+
+/**
+ * Recebe notificações de alterações em uma fila.
+ * As notificações são entregues enquanto a fila mantém o bloqueio da entrada
+ * alterada, portanto a implementação não deve bloquear.
+ */
+@FunctionalInterface
+public interface OuvinteFila {
+
+    void aoAlterar(EventoFilaDTO evento);
+}
@@ -0,0 +1,146 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.PaginaCursor;
+import com.hospital.sistema.exception.ValidacaoException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Paginação por cursor (keyset) de uma listagem.
+ * <p>
+ * Cada página é lida a partir dos valores de (campo de ordenação, id) do último
+ * item visto, usando o índice em vez de OFFSET, e sem {@code COUNT(*)}. Os
+ * campos de ordenação aceitos são restritos a colunas indexadas e não nulas.
+ * <p>
+ * O cursor enviado ao cliente codifica o sentido e esses valores em Base64; não
+ * é assinado, pois alterá-lo apenas muda a posição da leitura.
+ */
+public final class PaginacaoCursor {
+
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final String CAMPO_ID = "id";
+    private static final String SENTIDO = "_s";
+    private static final String PARA_FRENTE = "f";
+    private static final String PARA_TRAS = "t";
+
+    private final Set<String> camposPermitidos;
+
+    public PaginacaoCursor(String... camposPermitidos) {
+        this.camposPermitidos = Set.of(camposPermitidos);
+    }
+
+    /**
+     * Ordena pelo campo informado e desempata pelo ID, que torna a chave única.
+     */
+    public Sort ordenacao(String campo) {
+        if (!camposPermitidos.contains(campo)) {
+            throw new ValidacaoException("Ordenação não permitida: " + campo);
+        }
+        return CAMPO_ID.equals(campo) ? Sort.by(CAMPO_ID) : Sort.by(campo).and(Sort.by(CAMPO_ID));
+    }
+
+    public static Limit limite(int tamanho) {
+        return Limit.of(Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO)));
+    }
+
+    /**
+     * Converte o cursor recebido do cliente na posição de leitura.
+     * Sem cursor, lê a primeira página.
+     */
+    public KeysetScrollPosition posicao(String cursor, Sort ordenacao) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> chaves = new LinkedHashMap<>();
+        String sentido = null;
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String par : conteudo.split("&")) {
+                int separador = par.indexOf('=');
+                String nome = URLDecoder.decode(par.substring(0, separador), StandardCharsets.UTF_8);
+                String valor = URLDecoder.decode(par.substring(separador + 1), StandardCharsets.UTF_8);
+                if (SENTIDO.equals(nome)) {
+                    sentido = valor;
+                } else {
+                    chaves.put(nome, decodificarValor(valor));
+                }
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidacaoException("Cursor de paginação inválido");
+        }
+
+        // O cursor precisa ter exatamente as chaves da ordenação pedida
+        Set<String> esperadas = new HashSet<>();
+        ordenacao.forEach(ordem -> esperadas.add(ordem.getProperty()));
+        if (!chaves.keySet().equals(esperadas) || sentido == null) {
+            throw new ValidacaoException("Cursor de paginação inválido");
+        }
+
+        return PARA_TRAS.equals(sentido) ? ScrollPosition.backward(chaves) : ScrollPosition.forward(chaves);
+    }
+
+    /**
+     * Monta a página com os cursores para a página seguinte e a anterior.
+     */
+    public <T> PaginaCursor<T> pagina(Window<T> janela, KeysetScrollPosition posicao, Long total) {
+        if (janela.isEmpty()) {
+            return new PaginaCursor<>(janela.getContent(), null, null, total);
+        }
+
+        boolean paraTras = posicao.scrollsBackward();
+        // Em uma leitura para trás, "hasNext" indica que há itens antes desta página
+        boolean haMaisAdiante = paraTras || janela.hasNext();
+        boolean haMaisAtras = paraTras ? janela.hasNext() : !posicao.isInitial();
+
+        String proximo = haMaisAdiante ? codificar(janela.positionAt(janela.size() - 1), PARA_FRENTE) : null;
+        String anterior = haMaisAtras ? codificar(janela.positionAt(0), PARA_TRAS) : null;
+        return new PaginaCursor<>(janela.getContent(), proximo, anterior, total);
+    }
+
+    private static String codificar(ScrollPosition posicao, String sentido) {
+        StringJoiner conteudo = new StringJoiner("&");
+        conteudo.add(SENTIDO + "=" + sentido);
+        ((KeysetScrollPosition) posicao).getKeys().forEach((nome, valor) ->
+                conteudo.add(URLEncoder.encode(nome, StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(codificarValor(valor), StandardCharsets.UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String codificarValor(Object valor) {
+        if (valor instanceof Long || valor instanceof Integer) {
+            return "L:" + valor;
+        }
+        if (valor instanceof LocalDate) {
+            return "D:" + valor;
+        }
+        return "S:" + valor;
+    }
+
+    private static Object decodificarValor(String valor) {
+        String conteudo = valor.substring(2);
+        return switch (valor.substring(0, 2)) {
+            case "L:" -> Long.valueOf(conteudo);
+            case "D:" -> LocalDate.parse(conteudo);
+            case "S:" -> conteudo;
+            default -> throw new IllegalArgumentException("Tipo de valor desconhecido");
+        };
+    }
+}
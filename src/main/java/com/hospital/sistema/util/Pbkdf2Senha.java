@@ -0,0 +1,99 @@
+package com.hospital.sistema.util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2 com HMAC-SHA256, disponível no próprio JDK.
+ * <p>
+ * Formato do hash: {@code $pbkdf2-sha256$<iterações>$<sal>$<hash>}, com sal e
+ * hash em Base64. O custo é ajustado pela quantidade de iterações.
+ */
+public final class Pbkdf2Senha implements AlgoritmoSenha {
+
+    public static final int ITERACOES_PADRAO = 210_000;
+
+    private static final String PREFIXO = "$pbkdf2-sha256$";
+    private static final String ALGORITMO = "PBKDF2WithHmacSHA256";
+    private static final int TAMANHO_SAL = 16;
+    private static final int TAMANHO_HASH_BITS = 256;
+
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+    private static final Base64.Encoder CODIFICADOR = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getDecoder();
+
+    private final int iteracoes;
+
+    public Pbkdf2Senha(int iteracoes) {
+        if (iteracoes < 1) {
+            throw new IllegalArgumentException("A quantidade de iterações deve ser positiva");
+        }
+        this.iteracoes = iteracoes;
+    }
+
+    public int getIteracoes() {
+        return iteracoes;
+    }
+
+    @Override
+    public String prefixo() {
+        return PREFIXO;
+    }
+
+    @Override
+    public String gerar(String senha) {
+        byte[] sal = new byte[TAMANHO_SAL];
+        ALEATORIO.nextBytes(sal);
+        byte[] hash = derivar(senha, sal, iteracoes);
+        return PREFIXO + iteracoes + '$' + CODIFICADOR.encodeToString(sal) + '$' + CODIFICADOR.encodeToString(hash);
+    }
+
+    @Override
+    public boolean verificar(String senha, String hash) {
+        String[] partes = separar(hash);
+        if (partes == null) {
+            return false;
+        }
+
+        try {
+            int iteracoesHash = Integer.parseInt(partes[0]);
+            byte[] sal = DECODIFICADOR.decode(partes[1]);
+            byte[] esperado = DECODIFICADOR.decode(partes[2]);
+            return MessageDigest.isEqual(derivar(senha, sal, iteracoesHash), esperado);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean precisaAtualizar(String hash) {
+        String[] partes = separar(hash);
+        return partes == null || !partes[0].equals(String.valueOf(iteracoes));
+    }
+
+    /**
+     * Separa iterações, sal e hash; retorna null se o formato for inválido.
+     */
+    private String[] separar(String hash) {
+        if (!reconhece(hash)) {
+            return null;
+        }
+        String[] partes = hash.substring(PREFIXO.length()).split("\\$");
+        return partes.length == 3 ? partes : null;
+    }
+
+    private static byte[] derivar(String senha, byte[] sal, int iteracoes) {
+        PBEKeySpec especificacao = new PBEKeySpec(senha.toCharArray(), sal, iteracoes, TAMANHO_HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITMO).generateSecret(especificacao).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Erro ao criptografar senha", e);
+        } finally {
+            especificacao.clearPassword();
+        }
+    }
+}
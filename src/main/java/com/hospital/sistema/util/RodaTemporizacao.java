@@ -0,0 +1,108 @@
+package com.hospital.sistema.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Roda de temporização (hashed timer wheel) para prazos com resolução de um tick.
+ * <p>
+ * Cada prazo cai no balde do seu tick módulo a quantidade de baldes. Avançar a
+ * roda visita apenas os baldes dos ticks decorridos, portanto o custo por tick
+ * é proporcional ao conteúdo de um balde e não à quantidade total de prazos.
+ * Prazos cancelados são descartados quando o seu balde é visitado.
+ */
+final class RodaTemporizacao {
+
+    private final long duracaoTickMs;
+    private final List<Deque<Temporizador>> baldes;
+
+    /** Último tick processado. Protegido pelo bloqueio da roda. */
+    private long ultimoTick;
+    private int pendentes;
+
+    RodaTemporizacao(int quantidadeBaldes, long duracaoTickMs, long inicioMillis) {
+        this.duracaoTickMs = duracaoTickMs;
+        this.baldes = new ArrayList<>(quantidadeBaldes);
+        for (int i = 0; i < quantidadeBaldes; i++) {
+            baldes.add(new ArrayDeque<>());
+        }
+        this.ultimoTick = inicioMillis / duracaoTickMs;
+    }
+
+    /**
+     * Agenda a ação para o primeiro tick não anterior ao prazo.
+     * Prazos já vencidos disparam no próximo avanço.
+     */
+    synchronized Temporizador agendar(long prazoMillis, Runnable acao) {
+        long tick = Math.max(Math.floorDiv(prazoMillis + duracaoTickMs - 1, duracaoTickMs), ultimoTick + 1);
+        Temporizador temporizador = new Temporizador(tick, acao);
+        baldes.get(indiceBalde(tick)).addLast(temporizador);
+        pendentes++;
+        return temporizador;
+    }
+
+    /**
+     * Avança a roda até o instante informado e retorna as ações vencidas, que
+     * devem ser executadas pelo chamador fora do bloqueio da roda.
+     */
+    List<Runnable> avancar(long agoraMillis) {
+        List<Runnable> vencidas = new ArrayList<>();
+        synchronized (this) {
+            long alvo = agoraMillis / duracaoTickMs;
+            if (alvo <= ultimoTick) {
+                return vencidas;
+            }
+
+            // Após uma pausa longa basta uma volta: cada balde é comparado com o tick alvo
+            long ticks = Math.min(alvo - ultimoTick, baldes.size());
+            for (long tick = ultimoTick + 1; tick <= ultimoTick + ticks; tick++) {
+                Deque<Temporizador> balde = baldes.get(indiceBalde(tick));
+                for (int i = balde.size(); i > 0; i--) {
+                    Temporizador temporizador = balde.pollFirst();
+                    if (temporizador.cancelado) {
+                        pendentes--;
+                    } else if (temporizador.tick <= alvo) {
+                        pendentes--;
+                        vencidas.add(temporizador.acao);
+                    } else {
+                        balde.addLast(temporizador);
+                    }
+                }
+            }
+            ultimoTick = alvo;
+        }
+        return vencidas;
+    }
+
+    /**
+     * Prazos ainda guardados na roda, incluindo cancelados não descartados.
+     */
+    synchronized int pendentes() {
+        return pendentes;
+    }
+
+    private int indiceBalde(long tick) {
+        return (int) Math.floorMod(tick, (long) baldes.size());
+    }
+
+    /**
+     * Prazo agendado na roda.
+     */
+    static final class Temporizador {
+
+        private final long tick;
+        private final Runnable acao;
+        private volatile boolean cancelado;
+
+        private Temporizador(long tick, Runnable acao) {
+            this.tick = tick;
+            this.acao = acao;
+        }
+
+        void cancelar() {
+            cancelado = true;
+        }
+    }
+}
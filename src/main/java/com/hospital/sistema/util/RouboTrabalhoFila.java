@@ -0,0 +1,51 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.PacienteFilaDTO;
+import com.hospital.sistema.repository.MedicoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Permite que um médico com a fila vazia atenda pacientes do colega mais
+ * sobrecarregado da mesma especialidade.
+ * <p>
+ * Desabilitado por padrão; ativado com {@code hospital.fila.roubo-trabalho.habilitado=true}.
+ */
+@Component
+public class RouboTrabalhoFila {
+
+    private final FilaAtendimentoMedico filaAtendimentoMedico;
+    private final MedicoRepository medicoRepository;
+    private final boolean habilitado;
+    private final int tamanhoMinimo;
+
+    public RouboTrabalhoFila(FilaAtendimentoMedico filaAtendimentoMedico,
+                             MedicoRepository medicoRepository,
+                             @Value("${hospital.fila.roubo-trabalho.habilitado:false}") boolean habilitado,
+                             @Value("${hospital.fila.roubo-trabalho.tamanho-minimo:2}") int tamanhoMinimo) {
+        this.filaAtendimentoMedico = filaAtendimentoMedico;
+        this.medicoRepository = medicoRepository;
+        this.habilitado = habilitado;
+        this.tamanhoMinimo = tamanhoMinimo;
+    }
+
+    /**
+     * Retira um paciente de um colega da mesma especialidade para o médico informado.
+     * Só considera colegas com pelo menos {@code tamanhoMinimo} pacientes aguardando.
+     */
+    public Optional<PacienteFilaDTO> roubarPara(Long medicoId, Predicate<PacienteFilaDTO> confirmar) {
+        if (!habilitado || medicoId == null) {
+            return Optional.empty();
+        }
+
+        List<Long> colegas = medicoRepository.buscarIdsColegasDeEspecialidade(medicoId);
+        if (colegas.isEmpty()) {
+            return Optional.empty();
+        }
+        return filaAtendimentoMedico.roubarDe(colegas, tamanhoMinimo, confirmar);
+    }
+}
@@ -3,9 +3,12 @@ package com.hospital.sistema.util;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.HexFormat;
 
 /**
- * Utilitário para criptografia e verificação de senhas.
+ * Hash SHA-256 sem sal das versões anteriores do sistema, nos formatos em que
+ * ainda pode estar gravado. Novas senhas e a verificação no login ficam a cargo
+ * de {@link CodificadorSenha}, com o custo configurado.
  */
 public class SenhaUtils {
 
@@ -14,9 +17,9 @@ public class SenhaUtils {
     }
 
     /**
-     * Criptografa uma senha usando SHA-256.
+     * Hash SHA-256 sem sal usado pelas versões anteriores do sistema.
      */
-    public static String criptografar(String senha) {
+    static String criptografarSha256(String senha) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(senha.getBytes());
@@ -27,10 +30,9 @@ public class SenhaUtils {
     }
 
     /**
-     * Verifica se a senha informada corresponde à senha criptografada.
+     * O mesmo hash SHA-256 sem sal, em hexadecimal minúsculo.
      */
-    public static boolean verificar(String senhaDigitada, String senhaCriptografada) {
-        String senhaDigitadaCriptografada = criptografar(senhaDigitada);
-        return senhaDigitadaCriptografada.equals(senhaCriptografada);
+    static String criptografarSha256Hex(String senha) {
+        return HexFormat.of().formatHex(Base64.getDecoder().decode(criptografarSha256(senha)));
     }
 }
@@ -0,0 +1,93 @@
+package com.hospital.sistema.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acesso às sequências que geram os IDs das entidades.
+ * <p>
+ * Cada entidade tem uma sequência que avança em blocos ({@code allocationSize});
+ * com o otimizador {@code pooled-lo}, o valor lido da sequência é o primeiro ID
+ * do bloco. Assim o Hibernate agrupa os INSERTs em lotes JDBC, o que não é
+ * possível com colunas IDENTITY, e a gravação direta por JDBC pode reservar
+ * blocos da mesma sequência sem colidir com ele.
+ * <p>
+ * Na inicialização, as sequências que estão atrás do maior ID da tabela (bases
+ * criadas quando os IDs eram IDENTITY) são reiniciadas logo após esse ID. Esse
+ * ajuste deve ocorrer com uma única instância da aplicação no ar.
+ */
+@Component
+public class SequenciasIds {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenciasIds(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reinicia as sequências que ficaram atrás dos IDs já gravados.
+     */
+    @PostConstruct
+    public void ajustarAosDados() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator gerador
+                    && persister instanceof AbstractEntityPersister entidade) {
+                String tabela = entidade.getIdentifierTableName();
+                String colunaId = entidade.getIdentifierColumnNames()[0];
+                Long maiorId = jdbcTemplate.queryForObject("SELECT MAX(" + colunaId + ") FROM " + tabela, Long.class);
+                if (maiorId == null) {
+                    return;
+                }
+
+                String sequencia = gerador.getDatabaseStructure().getPhysicalName().render();
+                if (proximoValor(sequencia) <= maiorId) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + sequencia + " RESTART WITH " + (maiorId + 1));
+                    System.out.println("Sequência " + sequencia + " reiniciada após o ID " + maiorId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reserva IDs para gravar {@code quantidade} registros da entidade fora do
+     * Hibernate, lendo a sequência uma vez por bloco.
+     *
+     * @return IDs reservados, em ordem crescente
+     */
+    public long[] reservar(Class<?> entidade, int quantidade) {
+        EntityPersister persister = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(entidade);
+        if (!(persister.getGenerator() instanceof SequenceStyleGenerator gerador)
+                || !(gerador.getOptimizer() instanceof PooledLoOptimizer)) {
+            throw new IllegalStateException("Os IDs de " + entidade.getSimpleName()
+                    + " não vêm de uma sequência com o otimizador pooled-lo");
+        }
+
+        String sequencia = gerador.getDatabaseStructure().getPhysicalName().render();
+        int tamanhoBloco = gerador.getOptimizer().getIncrementSize();
+        long[] ids = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            ids[i] = i % tamanhoBloco == 0 ? proximoValor(sequencia) : ids[i - 1] + 1;
+        }
+        return ids;
+    }
+
+    private long proximoValor(String sequencia) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        Long valor = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequencia),
+                Long.class);
+        return valor != null ? valor : 0L;
+    }
+}
@@ -0,0 +1,108 @@
+package com.hospital.sistema.benchmark;
+
+import com.hospital.sistema.dto.EntradaFilaTriagem;
+import com.hospital.sistema.entity.Documento;
+import com.hospital.sistema.entity.Endereco;
+import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.enums.Sexo;
+import com.hospital.sistema.enums.TipoDocumento;
+import com.hospital.sistema.enums.TipoSanguineo;
+import com.hospital.sistema.util.FilaTriagem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o heap ocupado por 10 mil pacientes na fila de triagem guardando
+ * entidades {@code Paciente} completas e guardando entradas compactas.
+ * <p>
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de memória da FilaTriagem")
+class FilaTriagemMemoriaBenchmark {
+
+    private static final int PACIENTES = 10_000;
+    private static final int RODADAS = 5;
+
+    @Test
+    @DisplayName("Entradas compactas devem ocupar menos heap que entidades por 10 mil pacientes")
+    void compararHeapPorDezMilPacientes() {
+        long comEntidades = medirMenorHeap(this::filaComEntidades);
+        long comEntradas = medirMenorHeap(this::filaComEntradas);
+
+        System.out.printf("Heap por %,d pacientes na fila de triagem:%n", PACIENTES);
+        System.out.printf("  entidades Paciente:  %,12d bytes (%,d bytes/paciente)%n",
+                comEntidades, comEntidades / PACIENTES);
+        System.out.printf("  EntradaFilaTriagem:  %,12d bytes (%,d bytes/paciente)%n",
+                comEntradas, comEntradas / PACIENTES);
+
+        assertThat(comEntradas).isLessThan(comEntidades);
+    }
+
+    /**
+     * Estrutura equivalente à fila antiga: entidades completas indexadas pela ordem de chegada.
+     */
+    private Object filaComEntidades() {
+        ConcurrentNavigableMap<Long, Paciente> fila = new ConcurrentSkipListMap<>();
+        for (long id = 1; id <= PACIENTES; id++) {
+            fila.put(id, criarPaciente(id));
+        }
+        return fila;
+    }
+
+    private Object filaComEntradas() {
+        FilaTriagem fila = new FilaTriagem();
+        LocalDateTime agora = LocalDateTime.now();
+        for (long id = 1; id <= PACIENTES; id++) {
+            Paciente paciente = criarPaciente(id);
+            fila.adicionar(new EntradaFilaTriagem(id, paciente.getNome(), id,
+                    agora.plusSeconds(id), paciente.getDocumento().getNumero()));
+        }
+        return fila;
+    }
+
+    private Paciente criarPaciente(long id) {
+        Paciente paciente = new Paciente();
+        paciente.setId(id);
+        paciente.setNome("Paciente de Teste Número " + id);
+        paciente.setDocumento(new Documento(TipoDocumento.PASSAPORTE, "PASS" + (1_000_000 + id)));
+        paciente.setTelefone("(11) 9" + (10_000_000 + id));
+        paciente.setEmail("paciente" + id + "@email.com");
+        paciente.setEndereco(new Endereco("Rua das Flores, " + id + " - Centro - São Paulo/SP"));
+        paciente.setSexo(id % 2 == 0 ? Sexo.FEMININO : Sexo.MASCULINO);
+        paciente.setDataNascimento(LocalDate.of(1950, 1, 1).plusDays(id));
+        paciente.setTipoSanguineo(TipoSanguineo.O_POSITIVO);
+        paciente.setHistoricoMedico("Hipertensão controlada, alergia a dipirona. Paciente " + id
+                + " em acompanhamento ambulatorial.");
+        return paciente;
+    }
+
+    private long medirMenorHeap(Supplier<Object> criarFila) {
+        long menor = Long.MAX_VALUE;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            long antes = heapUsado();
+            Object fila = criarFila.get();
+            long depois = heapUsado();
+            menor = Math.min(menor, depois - antes);
+            assertThat(fila).isNotNull();
+        }
+        return menor;
+    }
+
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,177 @@
+package com.hospital.sistema.benchmark;
+
+import com.hospital.sistema.entity.Admin;
+import com.hospital.sistema.entity.Consulta;
+import com.hospital.sistema.entity.CredencialUsuario;
+import com.hospital.sistema.entity.Documento;
+import com.hospital.sistema.entity.Endereco;
+import com.hospital.sistema.entity.Enfermeiro;
+import com.hospital.sistema.entity.Especialidade;
+import com.hospital.sistema.entity.HorarioDisponivel;
+import com.hospital.sistema.entity.ItemPrescricao;
+import com.hospital.sistema.entity.Medico;
+import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.entity.Recepcionista;
+import com.hospital.sistema.entity.TipoConsulta;
+import com.hospital.sistema.entity.Triagem;
+import com.hospital.sistema.enums.StatusConsulta;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a gravação de 100 mil consultas com duas prescrições cada usando os
+ * IDs por sequência (com INSERTs em lote) e o mapeamento anterior com IDENTITY,
+ * aplicado às consultas e prescrições por {@code consultas-identity-orm.xml}.
+ * <p>
+ * Além do tempo, o contador {@code comandosPreparados} mostra quantos comandos
+ * JDBC foram preparados. O banco é o H2 em memória, sem latência de rede; num
+ * PostgreSQL remoto a diferença de tempo acompanha a de comandos.
+ * <p>
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de inserção de consultas com prescrições")
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class InsercaoConsultasBenchmark {
+
+    private static final int CONSULTAS = 100_000;
+    private static final int TAMANHO_LOTE = 50;
+
+    @State(Scope.Benchmark)
+    public static class Banco {
+
+        @Param({"SEQUENCE", "IDENTITY"})
+        public String geracaoIds;
+
+        private SessionFactory sessionFactory;
+        private Paciente paciente;
+        private Medico medico;
+        private TipoConsulta tipoConsulta;
+
+        @Setup(Level.Iteration)
+        public void criar() {
+            Configuration configuracao = new Configuration()
+                    .setProperty("hibernate.connection.url", "jdbc:h2:mem:insercao-consultas;DB_CLOSE_DELAY=-1")
+                    .setProperty("hibernate.connection.username", "sa")
+                    .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                    .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                    .setProperty("hibernate.jdbc.batch_size", String.valueOf(TAMANHO_LOTE))
+                    .setProperty("hibernate.order_inserts", "true")
+                    .setProperty("hibernate.order_updates", "true")
+                    .setProperty("hibernate.generate_statistics", "true")
+                    .setProperty("jakarta.persistence.validation.mode", "none");
+            for (Class<?> entidade : new Class<?>[]{Admin.class, Consulta.class, CredencialUsuario.class,
+                    Documento.class, Endereco.class, Enfermeiro.class, Especialidade.class,
+                    HorarioDisponivel.class, ItemPrescricao.class, Medico.class, Paciente.class,
+                    Recepcionista.class, TipoConsulta.class, Triagem.class}) {
+                configuracao.addAnnotatedClass(entidade);
+            }
+            if ("IDENTITY".equals(geracaoIds)) {
+                configuracao.addResource("benchmark/consultas-identity-orm.xml");
+            }
+            sessionFactory = configuracao.buildSessionFactory();
+
+            sessionFactory.inTransaction(sessao -> {
+                paciente = new Paciente();
+                paciente.setNome("Paciente Benchmark");
+                sessao.persist(paciente);
+
+                medico = new Medico();
+                medico.setNome("Médico Benchmark");
+                medico.setLogin("medico.benchmark");
+                medico.setSenha("senha");
+                sessao.persist(medico);
+
+                tipoConsulta = new TipoConsulta("Rotina", null);
+                sessao.persist(tipoConsulta);
+            });
+        }
+
+        @TearDown(Level.Iteration)
+        public void fechar() {
+            sessionFactory.close();
+        }
+    }
+
+    /**
+     * Comandos JDBC preparados durante a gravação.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Comandos {
+
+        public long comandosPreparados;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            comandosPreparados = 0;
+        }
+    }
+
+    @Benchmark
+    public void inserir(Banco banco, Comandos comandos) {
+        banco.sessionFactory.getStatistics().clear();
+
+        try (Session sessao = banco.sessionFactory.openSession()) {
+            sessao.beginTransaction();
+            for (int i = 0; i < CONSULTAS; i++) {
+                Consulta consulta = new Consulta();
+                consulta.setData(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+                consulta.setHoraInicio(LocalTime.of(8, 0));
+                consulta.setHoraFim(LocalTime.of(8, 30));
+                consulta.setStatus(StatusConsulta.REALIZADA);
+                consulta.setPaciente(banco.paciente);
+                consulta.setMedico(banco.medico);
+                consulta.setTipoConsulta(banco.tipoConsulta);
+                consulta.getPrescricoes().add(new ItemPrescricao("Dipirona", "500mg", "8/8h", null));
+                consulta.getPrescricoes().add(new ItemPrescricao("Amoxicilina", "875mg", "12/12h", null));
+                sessao.persist(consulta);
+
+                if ((i + 1) % TAMANHO_LOTE == 0) {
+                    sessao.flush();
+                    sessao.clear();
+                }
+            }
+            sessao.getTransaction().commit();
+        }
+
+        comandos.comandosPreparados += banco.sessionFactory.getStatistics().getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Tempo e comandos para gravar 100 mil consultas com prescrições")
+    void executar() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(InsercaoConsultasBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.hospital.sistema.benchmark;
+
+import com.hospital.sistema.util.Pbkdf2Senha;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede quantos logins por segundo um núcleo verifica em cada custo do PBKDF2,
+ * comparado ao SHA-256 legado. Cada benchmark roda em uma única thread, então
+ * o resultado em ops/s equivale a logins por segundo por núcleo.
+ * <p>
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de verificação de senha no login")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+public class SenhaLoginBenchmark {
+
+    private static final String SENHA = "Senha!Forte#2024";
+
+    @State(Scope.Benchmark)
+    public static class EstadoPbkdf2 {
+
+        @Param({"10000", "100000", "210000", "600000"})
+        private int iteracoes;
+
+        private Pbkdf2Senha pbkdf2;
+        private String hash;
+
+        @Setup
+        public void preparar() {
+            pbkdf2 = new Pbkdf2Senha(iteracoes);
+            hash = pbkdf2.gerar(SENHA);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class EstadoLegado {
+
+        private final byte[] hash = Base64.getDecoder().decode("UJahaSZ6x2GckUtMH8m9C4Aq3cmm+YXtUZdNz0wUgRY=");
+    }
+
+    @Benchmark
+    public boolean pbkdf2(EstadoPbkdf2 estado) {
+        return estado.pbkdf2.verificar(SENHA, estado.hash);
+    }
+
+    @Benchmark
+    public boolean sha256Legado(EstadoLegado estado) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(SENHA.getBytes(StandardCharsets.UTF_8));
+        return MessageDigest.isEqual(digest, estado.hash);
+    }
+
+    @Test
+    @DisplayName("Logins por segundo por núcleo em cada custo do PBKDF2")
+    void executar() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SenhaLoginBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,74 @@
+package com.hospital.sistema.benchmark;
+
+import com.hospital.sistema.config.SessaoUsuario;
+import com.hospital.sistema.config.TokenSessao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo, em cada requisição, de restaurar o usuário logado a partir do
+ * token assinado no modo de sessão {@code token}.
+ * <p>
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de verificação do token de sessão")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+public class TokenSessaoBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Estado {
+
+        private TokenSessao tokenSessao;
+        private String token;
+
+        @Setup
+        public void preparar() {
+            tokenSessao = new TokenSessao("2024:ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=", "2024",
+                    28_800_000L, true);
+
+            SessaoUsuario usuario = new SessaoUsuario();
+            usuario.setIdUsuario(42L);
+            usuario.setTipoUsuario("ENFERMEIRO");
+            usuario.setNomeUsuario("Carlos Souza");
+            token = tokenSessao.emitir(usuario);
+        }
+    }
+
+    @Benchmark
+    public SessaoUsuario verificar(Estado estado) {
+        SessaoUsuario sessao = new SessaoUsuario();
+        estado.tokenSessao.preencher(estado.token, sessao);
+        return sessao;
+    }
+
+    @Test
+    @DisplayName("Custo por requisição da verificação do token")
+    void executar() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TokenSessaoBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,136 @@
+package com.hospital.sistema.config;
+
+import com.hospital.sistema.enums.TipoUsuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para InterceptorAutorizacao.
+ */
+@DisplayName("InterceptorAutorizacao")
+class InterceptorAutorizacaoTest {
+
+    private SessaoUsuario sessaoUsuario;
+    private InterceptorAutorizacao interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        sessaoUsuario = new SessaoUsuario();
+        interceptor = new InterceptorAutorizacao(sessaoUsuario);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Deve permitir usuário do tipo exigido pela classe")
+    void devePermitirTipoExigido() throws Exception {
+        // Arrange
+        logar(TipoUsuario.ADMIN);
+
+        // Act & Assert
+        assertThat(interceptor.preHandle(request, response, handler("api"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve responder 401 em API para usuário de outro tipo")
+    void deveResponder401ParaOutroTipo() throws Exception {
+        // Arrange
+        logar(TipoUsuario.MEDICO);
+
+        // Act
+        boolean permitido = interceptor.preHandle(request, response, handler("api"));
+
+        // Assert
+        assertThat(permitido).isFalse();
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    @DisplayName("Deve redirecionar página quando não logado")
+    void deveRedirecionarPagina() throws Exception {
+        // Act
+        boolean permitido = interceptor.preHandle(request, response, handler("pagina"));
+
+        // Assert
+        assertThat(permitido).isFalse();
+        assertThat(response.getRedirectedUrl()).isEqualTo("/");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a regra do método no lugar da regra da classe")
+    void deveAplicarRegraDoMetodo() throws Exception {
+        // Arrange
+        logar(TipoUsuario.ENFERMEIRO);
+
+        // Act & Assert
+        assertThat(interceptor.preHandle(request, response, handler("qualquerUsuario"))).isTrue();
+        assertThat(interceptor.preHandle(request, response, handler("recepcao"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve exigir login mesmo sem tipos")
+    void deveExigirLoginSemTipos() throws Exception {
+        // Act
+        boolean permitido = interceptor.preHandle(request, response, handler("qualquerUsuario"));
+
+        // Assert
+        assertThat(permitido).isFalse();
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    @DisplayName("Deve liberar handlers sem anotação")
+    void deveLiberarSemAnotacao() throws Exception {
+        // Act & Assert
+        assertThat(interceptor.preHandle(request, response, new HandlerMethod(new ControllerLivre(), "pagina")))
+                .isTrue();
+    }
+
+    private void logar(TipoUsuario tipo) {
+        sessaoUsuario.setNomeUsuario("Usuário");
+        sessaoUsuario.setIdUsuario(1L);
+        sessaoUsuario.setTipoUsuario(tipo.getTipo());
+    }
+
+    private static HandlerMethod handler(String metodo) throws NoSuchMethodException {
+        return new HandlerMethod(new ControllerAdmin(), metodo);
+    }
+
+    @RequerUsuario(TipoUsuario.ADMIN)
+    static class ControllerAdmin {
+
+        public String pagina() {
+            return "admin/home";
+        }
+
+        public ResponseEntity<Void> api() {
+            return ResponseEntity.ok().build();
+        }
+
+        @RequerUsuario
+        public ResponseEntity<Void> qualquerUsuario() {
+            return ResponseEntity.ok().build();
+        }
+
+        @RequerUsuario({TipoUsuario.ADMIN, TipoUsuario.RECEPCIONISTA})
+        public ResponseEntity<Void> recepcao() {
+            return ResponseEntity.ok().build();
+        }
+    }
+
+    static class ControllerLivre {
+
+        public String pagina() {
+            return "login";
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.hospital.sistema.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para TokenSessao.
+ */
+@DisplayName("TokenSessao")
+class TokenSessaoTest {
+
+    private static final String CHAVE_ANTIGA = "2023:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+    private static final String CHAVE_NOVA = "2024:ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=";
+    private static final long VALIDADE_MS = 60_000L;
+
+    private final Clock relogio = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneOffset.UTC);
+
+    private TokenSessao tokenSessao;
+    private SessaoUsuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        tokenSessao = new TokenSessao(CHAVE_ANTIGA + "," + CHAVE_NOVA, "2024", VALIDADE_MS, true, relogio);
+
+        usuario = new SessaoUsuario();
+        usuario.setIdUsuario(7L);
+        usuario.setTipoUsuario("MEDICO");
+        usuario.setNomeUsuario("Dra. Ana | Cardiologia");
+    }
+
+    @Nested
+    @DisplayName("Verificação")
+    class VerificacaoTests {
+
+        @Test
+        @DisplayName("Deve restaurar o usuário a partir do token emitido")
+        void deveRestaurarUsuario() {
+            // Arrange
+            String token = tokenSessao.emitir(usuario);
+            SessaoUsuario sessao = new SessaoUsuario();
+
+            // Act
+            boolean valido = tokenSessao.preencher(token, sessao);
+
+            // Assert
+            assertThat(valido).isTrue();
+            assertThat(sessao.getIdUsuario()).isEqualTo(7L);
+            assertThat(sessao.isTipoUsuario("MEDICO")).isTrue();
+            assertThat(sessao.getNomeUsuario()).isEqualTo("Dra. Ana | Cardiologia");
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar token com dados alterados")
+        void deveRejeitarTokenAlterado() {
+            // Arrange
+            String token = tokenSessao.emitir(usuario);
+            String[] partes = token.split("\\.");
+            usuario.setTipoUsuario("ADMIN");
+            String outrosDados = tokenSessao.emitir(usuario).split("\\.")[1];
+            String adulterado = partes[0] + "." + outrosDados + "." + partes[2];
+            SessaoUsuario sessao = new SessaoUsuario();
+
+            // Act & Assert
+            assertThat(tokenSessao.preencher(adulterado, sessao)).isFalse();
+            assertThat(sessao.isLogado()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar token malformado")
+        void deveRejeitarTokenMalformado() {
+            // Act & Assert
+            assertThat(tokenSessao.preencher(null, new SessaoUsuario())).isFalse();
+            assertThat(tokenSessao.preencher("", new SessaoUsuario())).isFalse();
+            assertThat(tokenSessao.preencher("2024.semassinatura", new SessaoUsuario())).isFalse();
+            assertThat(tokenSessao.preencher("2024.@@.@@", new SessaoUsuario())).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar token expirado")
+        void deveRejeitarTokenExpirado() {
+            // Arrange
+            String token = tokenSessao.emitir(usuario);
+            TokenSessao depoisDaValidade = new TokenSessao(CHAVE_ANTIGA + "," + CHAVE_NOVA, "2024", VALIDADE_MS,
+                    true, Clock.offset(relogio, Duration.ofMillis(VALIDADE_MS)));
+
+            // Act & Assert
+            assertThat(depoisDaValidade.preencher(token, new SessaoUsuario())).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rotação de chaves")
+    class RotacaoTests {
+
+        @Test
+        @DisplayName("Deve aceitar token de chave antiga enquanto ela estiver configurada")
+        void deveAceitarChaveAntigaConfigurada() {
+            // Arrange
+            TokenSessao antes = new TokenSessao(CHAVE_ANTIGA, "2023", VALIDADE_MS, true, relogio);
+            String token = antes.emitir(usuario);
+
+            // Act & Assert
+            assertThat(token).startsWith("2023.");
+            assertThat(tokenSessao.emitir(usuario)).startsWith("2024.");
+            assertThat(tokenSessao.preencher(token, new SessaoUsuario())).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar token de chave removida")
+        void deveRejeitarChaveRemovida() {
+            // Arrange
+            String token = new TokenSessao(CHAVE_ANTIGA, "2023", VALIDADE_MS, true, relogio).emitir(usuario);
+            TokenSessao depois = new TokenSessao(CHAVE_NOVA, "2024", VALIDADE_MS, true, relogio);
+
+            // Act & Assert
+            assertThat(depois.preencher(token, new SessaoUsuario())).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve exigir que a chave ativa esteja configurada")
+        void deveExigirChaveAtivaConfigurada() {
+            // Act & Assert
+            assertThatThrownBy(() -> new TokenSessao(CHAVE_ANTIGA, "2024", VALIDADE_MS, true, relogio))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> new TokenSessao("curta:YWJj", "curta", VALIDADE_MS, true, relogio))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve criar cookie HttpOnly com a validade do token")
+    void deveCriarCookie() {
+        // Act
+        String cookie = tokenSessao.criarCookie(usuario).toString();
+
+        // Assert
+        assertThat(cookie)
+                .startsWith(TokenSessao.NOME_COOKIE + "=")
+                .contains("Max-Age=60", "HttpOnly", "Secure", "SameSite=Lax");
+    }
+}
@@ -5,6 +5,9 @@ import com.hospital.sistema.config.SessaoUsuario;
 import com.hospital.sistema.dto.ConsultaRequest;
 import com.hospital.sistema.dto.ConsultaResponse;
 import com.hospital.sistema.entity.Consulta;
+import com.hospital.sistema.enums.TipoUsuario;
+import com.hospital.sistema.exception.ConflitoAgendamentoException;
+import com.hospital.sistema.exception.ValidacaoException;
 import com.hospital.sistema.service.ConsultaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,9 +23,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -107,7 +112,7 @@ class ConsultaControllerTest {
         void deveAgendarConsultaComSucesso() throws Exception {
             // Arrange
             when(sessaoUsuario.isLogado()).thenReturn(true);
-            when(consultaService.agendar(any(ConsultaRequest.class))).thenReturn(Optional.of(consulta));
+            when(consultaService.agendar(any(ConsultaRequest.class))).thenReturn(consulta);
 
             ConsultaRequest request = new ConsultaRequest();
             request.setPacienteId(1L);
@@ -127,11 +132,12 @@ class ConsultaControllerTest {
         }
 
         @Test
-        @DisplayName("Deve retornar erro quando agendamento falha")
-        void deveRetornarErroQuandoAgendamentoFalha() throws Exception {
+        @DisplayName("Deve retornar 409 com o motivo quando o horário conflita")
+        void deveRetornar409QuandoHorarioConflita() throws Exception {
             // Arrange
             when(sessaoUsuario.isLogado()).thenReturn(true);
-            when(consultaService.agendar(any(ConsultaRequest.class))).thenReturn(Optional.empty());
+            when(consultaService.agendar(any(ConsultaRequest.class))).thenThrow(new ConflitoAgendamentoException(
+                    "O médico já tem consulta das 09:00 às 09:30 em 2026-10-19", 7L));
 
             ConsultaRequest request = new ConsultaRequest();
             request.setPacienteId(1L);
@@ -145,8 +151,9 @@ class ConsultaControllerTest {
             mockMvc.perform(post("/consultas/agendar")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(request)))
-                    .andExpect(status().isBadRequest())
-                    .andExpect(jsonPath("$.erro").exists());
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.mensagem").value("O médico já tem consulta das 09:00 às 09:30 em 2026-10-19"))
+                    .andExpect(jsonPath("$.consultaConflitanteId").value(7));
         }
 
         @Test
@@ -171,6 +178,69 @@ class ConsultaControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /consultas/hoje/invalidar")
+    class InvalidarConsultasDeHojeTests {
+
+        @Test
+        @DisplayName("Deve descartar a agenda de hoje quando admin")
+        void deveDescartarAgendaQuandoAdmin() throws Exception {
+            // Arrange
+            when(sessaoUsuario.isLogado()).thenReturn(true);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.ADMIN);
+
+            // Act & Assert
+            mockMvc.perform(post("/consultas/hoje/invalidar"))
+                    .andExpect(status().isOk());
+            verify(consultaService).invalidarAgendaDeHoje();
+        }
+
+        @Test
+        @DisplayName("Deve retornar 401 para quem não é admin")
+        void deveRetornar401QuandoNaoAdmin() throws Exception {
+            // Arrange
+            when(sessaoUsuario.isLogado()).thenReturn(true);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.RECEPCIONISTA);
+
+            // Act & Assert
+            mockMvc.perform(post("/consultas/hoje/invalidar"))
+                    .andExpect(status().isUnauthorized());
+            verify(consultaService, never()).invalidarAgendaDeHoje();
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /consultas/{id}/cancelar")
+    class CancelarConsultaTests {
+
+        @Test
+        @DisplayName("Deve cancelar consulta")
+        void deveCancelarConsulta() throws Exception {
+            // Arrange
+            when(sessaoUsuario.isLogado()).thenReturn(true);
+
+            // Act & Assert
+            mockMvc.perform(post("/consultas/1/cancelar"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.mensagem").value("Consulta cancelada"));
+            verify(consultaService).cancelar(1L);
+        }
+
+        @Test
+        @DisplayName("Deve retornar 400 quando a consulta não está agendada")
+        void deveRetornar400QuandoNaoAgendada() throws Exception {
+            // Arrange
+            when(sessaoUsuario.isLogado()).thenReturn(true);
+            doThrow(new ValidacaoException("Apenas consultas agendadas podem ser canceladas"))
+                    .when(consultaService).cancelar(1L);
+
+            // Act & Assert
+            mockMvc.perform(post("/consultas/1/cancelar"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.mensagem").value("Apenas consultas agendadas podem ser canceladas"));
+        }
+    }
+
     @Nested
     @DisplayName("POST /consultas/{id}/encaminhar-triagem")
     class EncaminharParaTriagemTests {
@@ -0,0 +1,101 @@
+package com.hospital.sistema.controller;
+
+import com.hospital.sistema.config.SessaoUsuario;
+import com.hospital.sistema.dto.DisponibilidadeMedicoDTO;
+import com.hospital.sistema.dto.HorarioLivreDTO;
+import com.hospital.sistema.enums.TipoUsuario;
+import com.hospital.sistema.service.DisponibilidadeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do DisponibilidadeController usando @WebMvcTest.
+ */
+@WebMvcTest(DisponibilidadeController.class)
+@DisplayName("DisponibilidadeController")
+class DisponibilidadeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DisponibilidadeService disponibilidadeService;
+
+    @MockBean
+    private SessaoUsuario sessaoUsuario;
+
+    @BeforeEach
+    void setUp() {
+        when(sessaoUsuario.isLogado()).thenReturn(true);
+        when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.RECEPCIONISTA);
+    }
+
+    @Nested
+    @DisplayName("GET /medicos/{id}/disponibilidade")
+    class BuscarDisponibilidadeTests {
+
+        @Test
+        @DisplayName("Deve retornar os horários livres do período pedido")
+        void deveRetornarHorariosLivres() throws Exception {
+            // Arrange
+            LocalDate data = LocalDate.of(2030, 1, 7);
+            when(disponibilidadeService.buscarPorMedico(3L, data, data, 20))
+                    .thenReturn(new DisponibilidadeMedicoDTO(3L, List.of(
+                            new HorarioLivreDTO(data, LocalTime.of(8, 0), LocalTime.of(8, 20)))));
+
+            // Act & Assert
+            mockMvc.perform(get("/medicos/3/disponibilidade")
+                            .param("de", "2030-01-07")
+                            .param("ate", "2030-01-07")
+                            .param("duracao", "20"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.medicoId").value(3))
+                    .andExpect(jsonPath("$.horarios[0].data").value("2030-01-07"))
+                    .andExpect(jsonPath("$.horarios[0].horaInicio").value("08:00:00"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 401 quando não logado")
+        void deveRetornar401QuandoNaoLogado() throws Exception {
+            // Arrange
+            when(sessaoUsuario.isLogado()).thenReturn(false);
+
+            // Act & Assert
+            mockMvc.perform(get("/medicos/3/disponibilidade"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /medicos/disponibilidade")
+    class BuscarDisponibilidadePorEspecialidadeTests {
+
+        @Test
+        @DisplayName("Deve consultar a especialidade nas próximas quatro semanas por padrão")
+        void deveConsultarEspecialidadeNasProximasQuatroSemanas() throws Exception {
+            // Arrange
+            LocalDate hoje = LocalDate.now();
+            when(disponibilidadeService.buscarPorEspecialidade(2L, hoje, hoje.plusDays(27), 30))
+                    .thenReturn(List.of(new DisponibilidadeMedicoDTO(3L, List.of())));
+
+            // Act & Assert
+            mockMvc.perform(get("/medicos/disponibilidade").param("especialidadeId", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].medicoId").value(3));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.hospital.sistema.dto.LoginRequest;
 import com.hospital.sistema.enums.TipoUsuario;
 import com.hospital.sistema.exception.CredenciaisInvalidasException;
 import com.hospital.sistema.service.AutenticacaoService;
+import com.hospital.sistema.util.LimitadorTentativasLogin;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -39,6 +43,9 @@ class LoginControllerTest {
     @MockBean
     private SessaoUsuario sessaoUsuario;
 
+    @MockBean
+    private LimitadorTentativasLogin limitadorTentativasLogin;
+
     @Nested
     @DisplayName("GET /")
     class ExibirPaginaLoginTests {
@@ -116,6 +123,25 @@ class LoginControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.tipoUsuario").value(TipoUsuario.MEDICO.getTipo()));
         }
+
+        @Test
+        @DisplayName("Deve retornar 429 sem autenticar quando o limite de tentativas foi excedido")
+        void deveRetornar429QuandoLimiteExcedido() throws Exception {
+            // Arrange
+            LoginRequest loginRequest = new LoginRequest();
+            loginRequest.setUsername("admin");
+            loginRequest.setPassword("tentativa");
+
+            when(limitadorTentativasLogin.registrarTentativa("admin", "127.0.0.1")).thenReturn(12_500L);
+
+            // Act & Assert
+            mockMvc.perform(post("/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(loginRequest)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "13"));
+            verify(autenticacaoService, never()).autenticar(any(), any());
+        }
     }
 
     @Nested
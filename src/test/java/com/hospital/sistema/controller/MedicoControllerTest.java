@@ -0,0 +1,162 @@
+package com.hospital.sistema.controller;
+
+import com.hospital.sistema.config.SessaoUsuario;
+import com.hospital.sistema.dto.PacienteFilaDTO;
+import com.hospital.sistema.enums.TipoUsuario;
+import com.hospital.sistema.service.ConsultaService;
+import com.hospital.sistema.service.DisponibilidadeService;
+import com.hospital.sistema.service.MedicoService;
+import com.hospital.sistema.util.AguardadorAlteracoesFila;
+import com.hospital.sistema.util.DifusorEventosFila;
+import com.hospital.sistema.util.FilaAtendimentoMedico;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes do MedicoController usando @WebMvcTest.
+ */
+@WebMvcTest(MedicoController.class)
+@DisplayName("MedicoController")
+class MedicoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MedicoService medicoService;
+
+    @MockBean
+    private ConsultaService consultaService;
+
+    @MockBean
+    private SessaoUsuario sessaoUsuario;
+
+    @MockBean
+    private FilaAtendimentoMedico filaAtendimentoMedico;
+
+    @MockBean
+    private DifusorEventosFila difusorEventosFila;
+
+    @MockBean
+    private AguardadorAlteracoesFila aguardadorAlteracoesFila;
+
+    @MockBean
+    private DisponibilidadeService disponibilidadeService;
+
+    @BeforeEach
+    void setUp() {
+        when(sessaoUsuario.isLogado()).thenReturn(true);
+        when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.MEDICO);
+        when(sessaoUsuario.getIdUsuario()).thenReturn(1L);
+        when(filaAtendimentoMedico.versao(1L)).thenReturn(42L);
+    }
+
+    @Nested
+    @DisplayName("GET /medico/fila")
+    class ListarFilaTests {
+
+        @Test
+        @DisplayName("Deve retornar a fila com ETag da versão atual")
+        void deveRetornarFilaComETag() throws Exception {
+            // Arrange
+            when(filaAtendimentoMedico.listarPorMedico(1L))
+                    .thenReturn(List.of(new PacienteFilaDTO(1L, "Ana", 1L, 10L, "URGENTE")));
+
+            // Act & Assert
+            mockMvc.perform(get("/medico/fila"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"42\""))
+                    .andExpect(jsonPath("$[0].nome").value("Ana"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 304 sem copiar a fila quando a versão não mudou")
+        void deveRetornarNaoModificado() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get("/medico/fila").header(HttpHeaders.IF_NONE_MATCH, "\"42\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            verify(filaAtendimentoMedico, never()).listarPorMedico(any());
+        }
+
+        @Test
+        @DisplayName("Deve retornar 401 quando não é médico")
+        void deveRetornar401QuandoNaoMedico() throws Exception {
+            // Arrange
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.ENFERMEIRO);
+
+            // Act & Assert
+            mockMvc.perform(get("/medico/fila"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /medico/fila/proximo")
+    class ChamarProximoTests {
+
+        @Test
+        @DisplayName("Deve retornar o paciente chamado")
+        void deveRetornarPacienteChamado() throws Exception {
+            // Arrange
+            when(consultaService.chamarProximoPaciente(1L))
+                    .thenReturn(Optional.of(new PacienteFilaDTO(2L, "Bruno", 1L, 20L, "EMERGENCIA")));
+
+            // Act & Assert
+            mockMvc.perform(post("/medico/fila/proximo"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nome").value("Bruno"))
+                    .andExpect(jsonPath("$.consultaId").value(20));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 204 quando a fila está vazia")
+        void deveRetornar204QuandoFilaVazia() throws Exception {
+            // Arrange
+            when(consultaService.chamarProximoPaciente(1L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            mockMvc.perform(post("/medico/fila/proximo"))
+                    .andExpect(status().isNoContent());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /medico/disponiveis")
+    class MedicosEmAtendimentoTests {
+
+        @Test
+        @DisplayName("Deve listar os médicos da especialidade em horário de atendimento")
+        void deveListarMedicosEmAtendimento() throws Exception {
+            // Arrange
+            when(disponibilidadeService.buscarMedicosEmAtendimento(eq(2L), any(LocalDateTime.class)))
+                    .thenReturn(List.of(3L, 5L));
+
+            // Act & Assert
+            mockMvc.perform(get("/medico/disponiveis").param("especialidadeId", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[1]").value(5));
+        }
+    }
+}
@@ -4,10 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hospital.sistema.config.SessaoUsuario;
 import com.hospital.sistema.dto.PacienteRequest;
 import com.hospital.sistema.dto.PacienteResponse;
+import com.hospital.sistema.dto.PaginaCursor;
 import com.hospital.sistema.entity.Documento;
 import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.enums.FormatoArquivo;
 import com.hospital.sistema.enums.TipoDocumento;
 import com.hospital.sistema.enums.TipoUsuario;
+import com.hospital.sistema.service.ExportacaoPacientesService;
+import com.hospital.sistema.service.ImportacaoPacientesService;
 import com.hospital.sistema.service.PacienteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,18 +20,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,6 +53,12 @@ class PacienteControllerTest {
     @MockBean
     private PacienteService pacienteService;
 
+    @MockBean
+    private ImportacaoPacientesService importacaoPacientesService;
+
+    @MockBean
+    private ExportacaoPacientesService exportacaoPacientesService;
+
     @MockBean
     private SessaoUsuario sessaoUsuario;
 
@@ -82,14 +93,13 @@ class PacienteControllerTest {
         void deveListarPacientesQuandoAdmin() throws Exception {
             // Arrange
             when(sessaoUsuario.isLogado()).thenReturn(true);
-            when(sessaoUsuario.isTipoUsuario(TipoUsuario.ADMIN.getTipo())).thenReturn(true);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.ADMIN);
 
-            Page<Paciente> page = new PageImpl<>(Arrays.asList(paciente));
-            when(pacienteService.listarTodos(any(Pageable.class))).thenReturn(page);
+            PaginaCursor<Paciente> pagina = new PaginaCursor<>(Arrays.asList(paciente), null, null, null);
+            when(pacienteService.listar(null, 10, "nome", false)).thenReturn(pagina);
 
             // Act & Assert
             mockMvc.perform(get("/admin/pacientes")
-                            .param("page", "0")
                             .param("size", "10"))
                     .andExpect(status().isOk())
                     .andExpect(view().name("admin/pacientes/pacientes"))
@@ -101,7 +111,7 @@ class PacienteControllerTest {
         void deveRedirecionarQuandoNaoAdmin() throws Exception {
             // Arrange
             when(sessaoUsuario.isLogado()).thenReturn(true);
-            when(sessaoUsuario.isTipoUsuario(TipoUsuario.ADMIN.getTipo())).thenReturn(false);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.RECEPCIONISTA);
 
             // Act & Assert
             mockMvc.perform(get("/admin/pacientes"))
@@ -119,7 +129,7 @@ class PacienteControllerTest {
         void deveSalvarPacienteQuandoAutorizado() throws Exception {
             // Arrange
             when(sessaoUsuario.isLogado()).thenReturn(true);
-            when(sessaoUsuario.isTipoUsuario(TipoUsuario.ADMIN.getTipo())).thenReturn(true);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.ADMIN);
             when(pacienteService.salvar(any(PacienteRequest.class))).thenReturn(paciente);
 
             // Act & Assert
@@ -197,6 +207,50 @@ class PacienteControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /admin/pacientes/export")
+    class ExportarPacientesTests {
+
+        @Test
+        @DisplayName("Deve transmitir a exportação no formato pedido")
+        void deveTransmitirExportacaoNoFormatoPedido() throws Exception {
+            // Arrange
+            when(sessaoUsuario.isLogado()).thenReturn(true);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.ADMIN);
+            when(exportacaoPacientesService.exportar(any(OutputStream.class), eq(FormatoArquivo.NDJSON)))
+                    .thenAnswer(invocacao -> {
+                        invocacao.getArgument(0, OutputStream.class)
+                                .write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                        return 1L;
+                    });
+
+            // Act
+            MvcResult resultado = mockMvc.perform(get("/admin/pacientes/export").param("formato", "NDJSON"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Assert
+            mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"pacientes.ndjson\""))
+                    .andExpect(content().string("{\"id\":1}\n"));
+        }
+
+        @Test
+        @DisplayName("Deve retornar 401 quando não é admin")
+        void deveRetornar401QuandoNaoAdmin() throws Exception {
+            // Arrange
+            when(sessaoUsuario.isLogado()).thenReturn(true);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.RECEPCIONISTA);
+
+            // Act & Assert
+            mockMvc.perform(get("/admin/pacientes/export"))
+                    .andExpect(status().isUnauthorized());
+            verifyNoInteractions(exportacaoPacientesService);
+        }
+    }
+
     @Nested
     @DisplayName("PUT /admin/pacientes/{id}/atualizar")
     class AtualizarPacienteTests {
@@ -206,7 +260,7 @@ class PacienteControllerTest {
         void deveAtualizarPacienteQuandoAdmin() throws Exception {
             // Arrange
             when(sessaoUsuario.isLogado()).thenReturn(true);
-            when(sessaoUsuario.isTipoUsuario(TipoUsuario.ADMIN.getTipo())).thenReturn(true);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.ADMIN);
             when(pacienteService.atualizar(anyLong(), any(PacienteRequest.class))).thenReturn(paciente);
 
             // Act & Assert
@@ -222,7 +276,7 @@ class PacienteControllerTest {
         void deveRetornar401QuandoNaoAdmin() throws Exception {
             // Arrange
             when(sessaoUsuario.isLogado()).thenReturn(true);
-            when(sessaoUsuario.isTipoUsuario(TipoUsuario.ADMIN.getTipo())).thenReturn(false);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.RECEPCIONISTA);
 
             // Act & Assert
             mockMvc.perform(put("/admin/pacientes/1/atualizar")
@@ -241,7 +295,7 @@ class PacienteControllerTest {
         void deveExcluirPacienteQuandoAdmin() throws Exception {
             // Arrange
             when(sessaoUsuario.isLogado()).thenReturn(true);
-            when(sessaoUsuario.isTipoUsuario(TipoUsuario.ADMIN.getTipo())).thenReturn(true);
+            when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.ADMIN);
             doNothing().when(pacienteService).deletar(1L);
 
             // Act & Assert
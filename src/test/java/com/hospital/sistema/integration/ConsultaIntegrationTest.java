@@ -24,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -71,7 +72,7 @@ class ConsultaIntegrationTest {
     void setUp() {
         // Configurar mock da sessão como admin
         when(sessaoUsuario.isLogado()).thenReturn(true);
-        when(sessaoUsuario.isTipoUsuario(TipoUsuario.ADMIN.getTipo())).thenReturn(true);
+        when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.ADMIN);
         when(sessaoUsuario.getNomeUsuario()).thenReturn("Admin");
         when(sessaoUsuario.getIdUsuario()).thenReturn(1L);
 
@@ -125,6 +126,43 @@ class ConsultaIntegrationTest {
                     .andExpect(jsonPath("$.mensagem").value("Consulta agendada com sucesso"))
                     .andExpect(jsonPath("$.consultaId").exists());
         }
+
+        @Test
+        @DisplayName("Deve recusar com 409 um segundo agendamento sobreposto")
+        void deveRecusarAgendamentoSobreposto() throws Exception {
+            // Arrange
+            ConsultaRequest primeira = new ConsultaRequest();
+            primeira.setPacienteId(paciente.getId());
+            primeira.setMedicoId(medico.getId());
+            primeira.setTipoConsultaId(tipoConsulta.getId());
+            primeira.setDiaSemana("MONDAY");
+            primeira.setHoraInicio("09:00");
+            primeira.setHoraFim("09:30");
+            mockMvc.perform(post("/consultas/agendar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(primeira)))
+                    .andExpect(status().isOk());
+
+            Paciente outroPaciente = new Paciente();
+            outroPaciente.setNome("Outro Paciente");
+            outroPaciente.setDataNascimento(LocalDate.of(1985, 3, 3));
+            outroPaciente = pacienteRepository.save(outroPaciente);
+
+            ConsultaRequest sobreposta = new ConsultaRequest();
+            sobreposta.setPacienteId(outroPaciente.getId());
+            sobreposta.setMedicoId(medico.getId());
+            sobreposta.setTipoConsultaId(tipoConsulta.getId());
+            sobreposta.setDiaSemana("MONDAY");
+            sobreposta.setHoraInicio("09:15");
+            sobreposta.setHoraFim("09:45");
+
+            // Act & Assert
+            mockMvc.perform(post("/consultas/agendar")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(sobreposta)))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.mensagem").value(startsWith("O médico já tem consulta das 09:00 às 09:30")));
+        }
     }
 
     @Nested
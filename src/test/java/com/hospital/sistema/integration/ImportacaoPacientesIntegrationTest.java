@@ -0,0 +1,188 @@
+package com.hospital.sistema.integration;
+
+import com.hospital.sistema.config.SessaoUsuario;
+import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.enums.TipoSanguineo;
+import com.hospital.sistema.enums.TipoUsuario;
+import com.hospital.sistema.repository.DocumentoRepository;
+import com.hospital.sistema.repository.PacienteRepository;
+import com.hospital.sistema.util.IndiceNomesPacientes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração da importação em massa de pacientes.
+ * O lote pequeno faz o arquivo ser gravado em vários lotes.
+ */
+@SpringBootTest(properties = "hospital.pacientes.importacao.lote=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Integração - Importação de pacientes")
+class ImportacaoPacientesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private DocumentoRepository documentoRepository;
+
+    @Autowired
+    private IndiceNomesPacientes indiceNomesPacientes;
+
+    @MockBean
+    private SessaoUsuario sessaoUsuario;
+
+    @BeforeEach
+    void setUp() {
+        when(sessaoUsuario.isLogado()).thenReturn(true);
+        when(sessaoUsuario.getTipo()).thenReturn(TipoUsuario.ADMIN);
+    }
+
+    @Nested
+    @DisplayName("CSV")
+    class CsvTests {
+
+        @Test
+        @DisplayName("Deve importar as linhas válidas e relatar as rejeitadas")
+        void deveImportarLinhasValidasERelatarRejeitadas() throws Exception {
+            // Arrange
+            String csv = String.join("\n",
+                    "nome;tipoDocumento;numeroDocumento;telefone;dataNascimento;endereco;sexo",
+                    "Ana Importada;BILHETE_IDENTIDADE;100000001AA001;912345678;1985-03-10;\"Rua A; 1\";FEMININO",
+                    "Bruno Importado;BILHETE_IDENTIDADE;100000002AA002;;1990-07-22;Rua B;MASCULINO",
+                    "",
+                    "Carla Repetida;BILHETE_IDENTIDADE;100000001AA001;912345678;1985-03-10;Rua C;",
+                    "Duarte Invalido;BILHETE_IDENTIDADE;123;912345678;1985-03-10;Rua D;",
+                    "Eva Futura;BILHETE_IDENTIDADE;100000005AA005;912345678;2999-01-01;Rua E;");
+
+            // Act
+            String resposta = mockMvc.perform(post("/admin/pacientes/importar")
+                            .contentType("text/csv")
+                            .content(csv.getBytes(StandardCharsets.UTF_8)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.linhas").value(5))
+                    .andExpect(jsonPath("$.importados").value(2))
+                    .andExpect(jsonPath("$.rejeitados").value(3))
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            Paciente ana = pacienteRepository.findAll().stream()
+                    .filter(p -> "Ana Importada".equals(p.getNome()))
+                    .findFirst().orElseThrow();
+            assertThat(ana.getDocumento().getNumero()).isEqualTo("100000001AA001");
+            assertThat(ana.getEndereco().getDescricao()).isEqualTo("Rua A; 1");
+            assertThat(indiceNomesPacientes.buscar("bruno importado")).hasSize(1);
+            assertThat(documentoRepository.existsByNumero("100000005AA005")).isFalse();
+
+            String importacaoId = resposta.replaceAll(".*\"importacaoId\":\"([^\"]+)\".*", "$1");
+            mockMvc.perform(get("/admin/pacientes/importacoes/" + importacaoId + "/erros"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("5;O documento 100000001AA001 já está cadastrado no sistema")))
+                    .andExpect(content().string(containsString("6;Formato do documento inválido")))
+                    .andExpect(content().string(containsString("7;A data de nascimento não pode ser hoje ou no futuro")));
+        }
+
+        @Test
+        @DisplayName("Deve importar campos entre aspas com quebra de linha, como os exportados")
+        void deveImportarCamposComQuebraDeLinha() throws Exception {
+            // Arrange
+            String csv = String.join("\n",
+                    "id,nome,tipoDocumento,numeroDocumento,telefone,endereco,email,sexo,dataNascimento,tipoSanguineo,historicoMedico",
+                    "7,Fabio Exportado,BILHETE_IDENTIDADE,100000006AA006,912345678,Rua F,,MASCULINO,1980-01-15,O_NEGATIVO,\"Asma",
+                    "Alergia a \"\"penicilina\"\", 2019\"",
+                    "8,Gil Invalido,BILHETE_IDENTIDADE,123,912345678,Rua G,,,1980-01-15,,");
+
+            // Act
+            String resposta = mockMvc.perform(post("/admin/pacientes/importar")
+                            .contentType("text/csv")
+                            .content(csv.getBytes(StandardCharsets.UTF_8)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.linhas").value(2))
+                    .andExpect(jsonPath("$.importados").value(1))
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            Paciente fabio = pacienteRepository.findAll().stream()
+                    .filter(p -> "Fabio Exportado".equals(p.getNome()))
+                    .findFirst().orElseThrow();
+            assertThat(fabio.getTipoSanguineo()).isEqualTo(TipoSanguineo.O_NEGATIVO);
+            assertThat(fabio.getHistoricoMedico()).isEqualTo("Asma\nAlergia a \"penicilina\", 2019");
+
+            String importacaoId = resposta.replaceAll(".*\"importacaoId\":\"([^\"]+)\".*", "$1");
+            mockMvc.perform(get("/admin/pacientes/importacoes/" + importacaoId + "/erros"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("4;Formato do documento inválido")));
+        }
+
+        @Test
+        @DisplayName("Deve recusar cabeçalho com coluna desconhecida")
+        void deveRecusarColunaDesconhecida() throws Exception {
+            mockMvc.perform(post("/admin/pacientes/importar")
+                            .contentType("text/csv")
+                            .content("nome,cpf\nAna,123"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("NDJSON")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("Deve rejeitar documento já cadastrado")
+        void deveRejeitarDocumentoJaCadastrado() throws Exception {
+            // Arrange
+            String linha = "{\"nome\":\"Fábio Json\",\"tipoDocumento\":\"BILHETE_IDENTIDADE\","
+                    + "\"numeroDocumento\":\"200000001AA001\",\"dataNascimento\":\"1970-01-31\"}";
+            mockMvc.perform(post("/admin/pacientes/importar")
+                            .contentType("application/x-ndjson")
+                            .content(linha))
+                    .andExpect(jsonPath("$.importados").value(1));
+
+            // Act & Assert
+            mockMvc.perform(post("/admin/pacientes/importar")
+                            .contentType("application/x-ndjson")
+                            .content(linha + "\n{\"nome\":"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.importados").value(0))
+                    .andExpect(jsonPath("$.rejeitados").value(2));
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve ter relatório quando todas as linhas são importadas")
+    void naoDeveTerRelatorioSemRejeicoes() throws Exception {
+        String resposta = mockMvc.perform(post("/admin/pacientes/importar")
+                        .contentType("application/x-ndjson")
+                        .content("{\"nome\":\"Gil Json\",\"tipoDocumento\":\"BILHETE_IDENTIDADE\","
+                                + "\"numeroDocumento\":\"300000001AA001\",\"dataNascimento\":\"1960-12-01\"}"))
+                .andExpect(jsonPath("$.rejeitados").value(0))
+                .andReturn().getResponse().getContentAsString();
+
+        String importacaoId = resposta.replaceAll(".*\"importacaoId\":\"([^\"]+)\".*", "$1");
+        mockMvc.perform(get("/admin/pacientes/importacoes/" + importacaoId + "/erros"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,331 @@
+package com.hospital.sistema.repository;
+
+import com.hospital.sistema.dto.ConsultaFilaDTO;
+import com.hospital.sistema.dto.ConsultaResponse;
+import com.hospital.sistema.dto.IntervaloConsultaDTO;
+import com.hospital.sistema.entity.*;
+import com.hospital.sistema.enums.NivelUrgencia;
+import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.enums.TipoDocumento;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração para ConsultaRepository usando @DataJpaTest.
+ * Utiliza banco H2 em memória.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("ConsultaRepository")
+class ConsultaRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    private Medico medico;
+    private TipoConsulta tipoConsulta;
+    private int sequenciaDocumento;
+
+    @BeforeEach
+    void setUp() {
+        Especialidade especialidade = new Especialidade();
+        especialidade.setNome("Clínica Geral");
+        entityManager.persist(especialidade);
+
+        medico = new Medico();
+        medico.setNome("Dr. Carlos");
+        medico.setLogin("carlos");
+        medico.setSenha("senha");
+        medico.setEspecialidade(especialidade);
+        entityManager.persist(medico);
+
+        tipoConsulta = new TipoConsulta();
+        tipoConsulta.setNome("Consulta Rotina");
+        entityManager.persist(tipoConsulta);
+    }
+
+    private Consulta criarConsulta(String nomePaciente, StatusConsulta status, LocalDateTime entradaFila) {
+        Paciente paciente = new Paciente();
+        paciente.setNome(nomePaciente);
+        paciente.setDocumento(new Documento(TipoDocumento.PASSAPORTE, "PASS" + (++sequenciaDocumento)));
+        entityManager.persist(paciente);
+
+        Consulta consulta = new Consulta();
+        consulta.setPaciente(paciente);
+        consulta.setMedico(medico);
+        consulta.setTipoConsulta(tipoConsulta);
+        consulta.setData(LocalDate.now());
+        consulta.setHoraInicio(LocalTime.of(9, 0));
+        consulta.setHoraFim(LocalTime.of(9, 30));
+        consulta.setStatus(status);
+        consulta.setDataHoraEntradaFila(entradaFila);
+        return entityManager.persist(consulta);
+    }
+
+    private void criarTriagem(Consulta consulta, NivelUrgencia nivelUrgencia, LocalDateTime dataHora) {
+        Triagem triagem = new Triagem();
+        triagem.setPaciente(consulta.getPaciente());
+        triagem.setConsulta(consulta);
+        triagem.setNivelUrgencia(nivelUrgencia);
+        triagem.setDataHora(dataHora);
+        entityManager.persist(triagem);
+    }
+
+    @Nested
+    @DisplayName("Buscar consultas em fila")
+    class BuscarConsultasEmFilaTests {
+
+        @Test
+        @DisplayName("Deve retornar consultas abertas em ordem de entrada com a urgência da última triagem")
+        void deveRetornarConsultasEmFila() {
+            // Arrange
+            LocalDateTime agora = LocalDateTime.now();
+            Consulta aguardando = criarConsulta("Ana", StatusConsulta.AGUARDANDO_ATENDIMENTO, agora.minusMinutes(10));
+            criarTriagem(aguardando, NivelUrgencia.NAO_URGENTE, agora.minusMinutes(30));
+            criarTriagem(aguardando, NivelUrgencia.MUITO_URGENTE, agora.minusMinutes(10));
+            criarConsulta("Bruno", StatusConsulta.EM_TRIAGEM, agora.minusMinutes(20));
+            criarConsulta("Carla", StatusConsulta.AGENDADA, null);
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act
+            List<ConsultaFilaDTO> resultado = consultaRepository.buscarConsultasEmFila(
+                    EnumSet.of(StatusConsulta.EM_TRIAGEM, StatusConsulta.AGUARDANDO_ATENDIMENTO));
+
+            // Assert
+            assertThat(resultado).extracting(ConsultaFilaDTO::getPacienteNome)
+                    .containsExactly("Bruno", "Ana");
+            assertThat(resultado.get(0).getNivelUrgencia()).isNull();
+            assertThat(resultado.get(1).getNivelUrgencia()).isEqualTo(NivelUrgencia.MUITO_URGENTE);
+            assertThat(resultado.get(1).getMedicoId()).isEqualTo(medico.getId());
+            assertThat(resultado.get(1).getNumeroDocumento()).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Buscar resumo por data e status")
+    class BuscarResumoPorDataEStatusTests {
+
+        /**
+         * Cada consulta com paciente, médico, especialidade e tipo próprios, para
+         * que uma busca por linha de qualquer associação apareça na contagem.
+         */
+        private void criarConsultasDeHoje(int quantidade) {
+            for (int i = 0; i < quantidade; i++) {
+                Especialidade especialidade = new Especialidade();
+                especialidade.setNome("Especialidade " + i);
+                entityManager.persist(especialidade);
+
+                Medico outroMedico = new Medico();
+                outroMedico.setNome("Médico " + i);
+                outroMedico.setLogin("medico" + i);
+                outroMedico.setSenha("senha");
+                outroMedico.setEspecialidade(especialidade);
+                entityManager.persist(outroMedico);
+
+                TipoConsulta outroTipo = new TipoConsulta();
+                outroTipo.setNome("Tipo " + i);
+                entityManager.persist(outroTipo);
+
+                Consulta consulta = criarConsulta("Paciente " + i, StatusConsulta.AGENDADA, null);
+                consulta.setMedico(outroMedico);
+                consulta.setTipoConsulta(outroTipo);
+                consulta.setHoraInicio(LocalTime.of(8, 0).plusMinutes(i));
+            }
+            criarConsulta("Cancelado", StatusConsulta.CANCELADA, null);
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {1, 10, 50})
+        @DisplayName("Deve montar as respostas em um único comando SQL")
+        void deveMontarRespostasEmUmUnicoComando(int quantidade) {
+            // Arrange
+            criarConsultasDeHoje(quantidade);
+            Statistics estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                    .unwrap(SessionFactory.class).getStatistics();
+            estatisticas.clear();
+            estatisticas.setStatisticsEnabled(true);
+
+            // Act
+            List<ConsultaResponse> resultado;
+            try {
+                resultado = consultaRepository.buscarResumoPorDataEStatus(LocalDate.now(), StatusConsulta.AGENDADA);
+            } finally {
+                estatisticas.setStatisticsEnabled(false);
+            }
+
+            // Assert
+            assertThat(resultado).hasSize(quantidade);
+            assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(estatisticas.getEntityLoadCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve preencher os nomes das associações e a descrição do status em ordem de horário")
+        void devePreencherCamposEmOrdemDeHorario() {
+            // Arrange
+            criarConsultasDeHoje(2);
+
+            // Act
+            List<ConsultaResponse> resultado =
+                    consultaRepository.buscarResumoPorDataEStatus(LocalDate.now(), StatusConsulta.AGENDADA);
+
+            // Assert
+            ConsultaResponse primeira = resultado.get(0);
+            assertThat(primeira.getPaciente()).isEqualTo("Paciente 0");
+            assertThat(primeira.getMedico()).isEqualTo("Médico 0");
+            assertThat(primeira.getEspecialidade()).isEqualTo("Especialidade 0");
+            assertThat(primeira.getTipoConsulta()).isEqualTo("Tipo 0");
+            assertThat(primeira.getStatus()).isEqualTo(StatusConsulta.AGENDADA.getDescricao());
+            assertThat(resultado.get(1).getHoraInicio()).isEqualTo(LocalTime.of(8, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Buscar sobreposições")
+    class BuscarSobreposicoesTests {
+
+        private Consulta criarConsultaNoHorario(StatusConsulta status, LocalTime inicio, LocalTime fim) {
+            Consulta consulta = criarConsulta("Paciente " + inicio, status, null);
+            consulta.setHoraInicio(inicio);
+            consulta.setHoraFim(fim);
+            return consulta;
+        }
+
+        @Test
+        @DisplayName("Deve retornar apenas consultas que ocupam parte do intervalo")
+        void deveRetornarApenasSobreposicoes() {
+            // Arrange
+            criarConsultaNoHorario(StatusConsulta.AGENDADA, LocalTime.of(8, 30), LocalTime.of(9, 0));
+            Consulta sobreposta = criarConsultaNoHorario(StatusConsulta.AGENDADA, LocalTime.of(9, 15), LocalTime.of(9, 45));
+            criarConsultaNoHorario(StatusConsulta.AGENDADA, LocalTime.of(10, 0), LocalTime.of(10, 30));
+            criarConsultaNoHorario(StatusConsulta.CANCELADA, LocalTime.of(9, 0), LocalTime.of(10, 0));
+            criarConsultaNoHorario(StatusConsulta.AGENDADA, LocalTime.of(9, 20), LocalTime.of(9, 20));
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act
+            List<IntervaloConsultaDTO> resultado = consultaRepository.buscarSobreposicoes(
+                    medico.getId(), -1L, LocalDate.now(), LocalTime.of(9, 0), LocalTime.of(10, 0),
+                    EnumSet.of(StatusConsulta.CANCELADA, StatusConsulta.NAO_COMPARECEU));
+
+            // Assert
+            assertThat(resultado).extracting(IntervaloConsultaDTO::getConsultaId)
+                    .containsExactly(sobreposta.getId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Atualizar status condicionalmente")
+    class AtualizarStatusTests {
+
+        @Test
+        @DisplayName("Deve alterar o status apenas quando a consulta está no status esperado")
+        void deveAlterarApenasNoStatusEsperado() {
+            // Arrange
+            Consulta consulta = criarConsulta("Ana", StatusConsulta.AGUARDANDO_ATENDIMENTO, LocalDateTime.now());
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act
+            int primeira = consultaRepository.atualizarStatus(consulta.getId(),
+                    StatusConsulta.AGUARDANDO_ATENDIMENTO, StatusConsulta.EM_ATENDIMENTO);
+            int segunda = consultaRepository.atualizarStatus(consulta.getId(),
+                    StatusConsulta.AGUARDANDO_ATENDIMENTO, StatusConsulta.EM_ATENDIMENTO);
+            entityManager.clear();
+
+            // Assert
+            assertThat(primeira).isEqualTo(1);
+            assertThat(segunda).isZero();
+            assertThat(consultaRepository.findById(consulta.getId()))
+                    .map(Consulta::getStatus)
+                    .contains(StatusConsulta.EM_ATENDIMENTO);
+        }
+    }
+
+    @Nested
+    @DisplayName("Encaminhar para triagem")
+    class EncaminharParaTriagemTests {
+
+        @Test
+        @DisplayName("Deve encaminhar apenas consulta agendada")
+        void deveEncaminharApenasConsultaAgendada() {
+            // Arrange
+            Consulta agendada = criarConsulta("Ana", StatusConsulta.AGENDADA, null);
+            Consulta emAtendimento = criarConsulta("Bruno", StatusConsulta.EM_ATENDIMENTO, null);
+            entityManager.flush();
+            entityManager.clear();
+            LocalDateTime entrada = LocalDateTime.of(2024, 5, 10, 8, 15);
+
+            // Act
+            int encaminhadas = consultaRepository.encaminharParaTriagem(agendada.getId(), entrada);
+            int recusadas = consultaRepository.encaminharParaTriagem(emAtendimento.getId(), entrada);
+            entityManager.clear();
+
+            // Assert
+            assertThat(encaminhadas).isEqualTo(1);
+            assertThat(recusadas).isZero();
+            Consulta atualizada = consultaRepository.findById(agendada.getId()).orElseThrow();
+            assertThat(atualizada.getStatus()).isEqualTo(StatusConsulta.EM_TRIAGEM);
+            assertThat(atualizada.getDataHoraEntradaFila()).isEqualTo(entrada);
+            assertThat(consultaRepository.findById(emAtendimento.getId()))
+                    .map(Consulta::getStatus)
+                    .contains(StatusConsulta.EM_ATENDIMENTO);
+        }
+    }
+
+    @Nested
+    @DisplayName("Assumir atendimento")
+    class AssumirAtendimentoTests {
+
+        @Test
+        @DisplayName("Deve transferir a consulta aguardando para o médico que a assumiu")
+        void deveTransferirConsultaAguardando() {
+            // Arrange
+            Medico colega = new Medico();
+            colega.setNome("Dra. Paula");
+            colega.setLogin("paula");
+            colega.setSenha("senha");
+            colega.setEspecialidade(medico.getEspecialidade());
+            entityManager.persist(colega);
+            Consulta consulta = criarConsulta("Ana", StatusConsulta.AGUARDANDO_ATENDIMENTO, LocalDateTime.now());
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act
+            int primeira = consultaRepository.assumirAtendimento(consulta.getId(), colega.getId());
+            int segunda = consultaRepository.assumirAtendimento(consulta.getId(), medico.getId());
+            entityManager.clear();
+
+            // Assert
+            assertThat(primeira).isEqualTo(1);
+            assertThat(segunda).isZero();
+            Consulta atualizada = consultaRepository.findById(consulta.getId()).orElseThrow();
+            assertThat(atualizada.getStatus()).isEqualTo(StatusConsulta.EM_ATENDIMENTO);
+            assertThat(atualizada.getMedico().getId()).isEqualTo(colega.getId());
+        }
+    }
+}
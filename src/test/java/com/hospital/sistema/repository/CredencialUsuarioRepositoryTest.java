@@ -0,0 +1,93 @@
+package com.hospital.sistema.repository;
+
+import com.hospital.sistema.entity.Admin;
+import com.hospital.sistema.entity.CredencialUsuario;
+import com.hospital.sistema.entity.Enfermeiro;
+import com.hospital.sistema.entity.Medico;
+import com.hospital.sistema.entity.Recepcionista;
+import com.hospital.sistema.enums.TipoUsuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Testes de integração para CredencialUsuarioRepository usando @DataJpaTest.
+ * Utiliza banco H2 em memória.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("CredencialUsuarioRepository")
+class CredencialUsuarioRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CredencialUsuarioRepository credencialUsuarioRepository;
+
+    @Test
+    @DisplayName("Deve resolver o login de qualquer tipo de usuário")
+    void deveResolverLoginDeQualquerTipo() {
+        // Arrange
+        entityManager.persist(new Admin("Administrador", "admin", "senhaAdmin"));
+        Recepcionista recepcionista = new Recepcionista();
+        recepcionista.setNome("Maria");
+        recepcionista.setLogin("maria");
+        recepcionista.setSenha("senhaMaria");
+        entityManager.persist(recepcionista);
+
+        // Act
+        List<CredencialUsuario> credenciais = credencialUsuarioRepository.findByLoginOrderByPrioridade("maria");
+
+        // Assert
+        assertThat(credenciais)
+                .extracting(CredencialUsuario::getTipo, CredencialUsuario::getUsuarioId,
+                        CredencialUsuario::getNome, CredencialUsuario::getSenha)
+                .containsExactly(tuple(TipoUsuario.RECEPCIONISTA, recepcionista.getId(), "Maria", "senhaMaria"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar login repetido na ordem de verificação")
+    void deveRetornarLoginRepetidoNaOrdemDeVerificacao() {
+        // Arrange
+        Enfermeiro enfermeiro = new Enfermeiro();
+        enfermeiro.setNome("Enf. José");
+        enfermeiro.setLogin("jose");
+        enfermeiro.setSenha("senha");
+        entityManager.persist(enfermeiro);
+        Medico medico = new Medico();
+        medico.setNome("Dr. José");
+        medico.setLogin("jose");
+        medico.setSenha("senha");
+        entityManager.persist(medico);
+
+        // Act
+        List<CredencialUsuario> credenciais = credencialUsuarioRepository.findByLoginOrderByPrioridade("jose");
+
+        // Assert
+        assertThat(credenciais).extracting(CredencialUsuario::getTipo)
+                .containsExactly(TipoUsuario.MEDICO, TipoUsuario.ENFERMEIRO);
+    }
+
+    @Test
+    @DisplayName("Deve refletir a alteração de senha ainda não sincronizada")
+    void deveRefletirAlteracaoDeSenha() {
+        // Arrange
+        Admin admin = entityManager.persistFlushFind(new Admin("Administrador", "admin", "senhaAntiga"));
+        admin.setSenha("senhaNova");
+
+        // Act
+        List<CredencialUsuario> credenciais = credencialUsuarioRepository.findByLoginOrderByPrioridade("admin");
+
+        // Assert
+        assertThat(credenciais).extracting(CredencialUsuario::getSenha).containsExactly("senhaNova");
+    }
+}
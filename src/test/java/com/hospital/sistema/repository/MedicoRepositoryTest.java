@@ -0,0 +1,89 @@
+package com.hospital.sistema.repository;
+
+import com.hospital.sistema.dto.HorarioMedicoDTO;
+import com.hospital.sistema.entity.Especialidade;
+import com.hospital.sistema.entity.HorarioDisponivel;
+import com.hospital.sistema.entity.Medico;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração para MedicoRepository usando @DataJpaTest.
+ * Utiliza banco H2 em memória.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("MedicoRepository")
+class MedicoRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    private Especialidade criarEspecialidade(String nome) {
+        Especialidade especialidade = new Especialidade();
+        especialidade.setNome(nome);
+        return entityManager.persist(especialidade);
+    }
+
+    private Medico criarMedico(String login, Especialidade especialidade) {
+        Medico medico = new Medico();
+        medico.setNome("Dr. " + login);
+        medico.setLogin(login);
+        medico.setSenha("senha");
+        medico.setEspecialidade(especialidade);
+        return entityManager.persist(medico);
+    }
+
+    @Test
+    @DisplayName("Deve buscar apenas os colegas da mesma especialidade")
+    void deveBuscarColegasDaMesmaEspecialidade() {
+        // Arrange
+        Especialidade clinica = criarEspecialidade("Clínica Geral");
+        Especialidade pediatria = criarEspecialidade("Pediatria");
+        Medico carlos = criarMedico("carlos", clinica);
+        Medico paula = criarMedico("paula", clinica);
+        criarMedico("rita", pediatria);
+        entityManager.flush();
+
+        // Act
+        List<Long> colegas = medicoRepository.buscarIdsColegasDeEspecialidade(carlos.getId());
+
+        // Assert
+        assertThat(colegas).containsExactly(paula.getId());
+    }
+
+    @Test
+    @DisplayName("Deve buscar as janelas de atendimento apenas dos médicos informados")
+    void deveBuscarHorariosDosMedicosInformados() {
+        // Arrange
+        Especialidade clinica = criarEspecialidade("Clínica Geral");
+        Medico carlos = criarMedico("carlos", clinica);
+        Medico paula = criarMedico("paula", clinica);
+        carlos.getHorariosDisponiveis().add(new HorarioDisponivel("MONDAY", LocalTime.of(8, 0), LocalTime.of(12, 0)));
+        paula.getHorariosDisponiveis().add(new HorarioDisponivel("TUESDAY", LocalTime.of(14, 0), LocalTime.of(18, 0)));
+        entityManager.flush();
+
+        // Act
+        List<HorarioMedicoDTO> horarios = medicoRepository.buscarHorariosPorMedicos(List.of(carlos.getId()));
+
+        // Assert
+        assertThat(horarios).singleElement().satisfies(horario -> {
+            assertThat(horario.getMedicoId()).isEqualTo(carlos.getId());
+            assertThat(horario.getEspecialidadeId()).isEqualTo(clinica.getId());
+            assertThat(horario.getDiaSemana()).isEqualTo("MONDAY");
+            assertThat(horario.getHoraFim()).isEqualTo(LocalTime.of(12, 0));
+        });
+    }
+}
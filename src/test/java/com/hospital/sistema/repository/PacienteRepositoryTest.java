@@ -1,8 +1,11 @@
 package com.hospital.sistema.repository;
 
+import com.hospital.sistema.dto.PacienteNomeDTO;
+import com.hospital.sistema.dto.PaginaCursor;
 import com.hospital.sistema.entity.Documento;
 import com.hospital.sistema.entity.Paciente;
 import com.hospital.sistema.enums.TipoDocumento;
+import com.hospital.sistema.util.PaginacaoCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,12 +13,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -88,73 +96,150 @@ class PacienteRepositoryTest {
     }
 
     @Nested
-    @DisplayName("buscarPorNome")
-    class BuscarPorNomeTests {
+    @DisplayName("findAllBy com cursor")
+    class FindAllByCursorTests {
+
+        private final PaginacaoCursor paginacao = new PaginacaoCursor("nome", "id");
+        private final Sort ordenacao = paginacao.ordenacao("nome");
+
+        @BeforeEach
+        void persistirPacientes() {
+            String[] nomes = {"Eva", "Ana", "Carla", "Bruno", "Davi"};
+            for (int i = 0; i < nomes.length; i++) {
+                Paciente paciente = new Paciente();
+                paciente.setNome(nomes[i]);
+                paciente.setDocumento(new Documento(TipoDocumento.PASSAPORTE, "N0000000" + i));
+                paciente.setDataNascimento(LocalDate.of(1990, 1, 1));
+                entityManager.persist(paciente);
+            }
+            entityManager.flush();
+        }
+
+        @Test
+        @DisplayName("Deve percorrer as páginas para frente e voltar pelo cursor anterior")
+        void devePercorrerPaginas() {
+            // Act
+            PaginaCursor<Paciente> primeira = ler(null);
+            PaginaCursor<Paciente> segunda = ler(primeira.getProximoCursor());
+            PaginaCursor<Paciente> terceira = ler(segunda.getProximoCursor());
+            PaginaCursor<Paciente> voltaSegunda = ler(terceira.getCursorAnterior());
+            PaginaCursor<Paciente> voltaPrimeira = ler(voltaSegunda.getCursorAnterior());
+
+            // Assert
+            assertThat(nomes(primeira)).containsExactly("Ana", "Bruno");
+            assertThat(primeira.isPrimeira()).isTrue();
+            assertThat(nomes(segunda)).containsExactly("Carla", "Davi");
+            assertThat(nomes(terceira)).containsExactly("Eva");
+            assertThat(terceira.isUltima()).isTrue();
+            assertThat(nomes(voltaSegunda)).containsExactly("Carla", "Davi");
+            assertThat(nomes(voltaPrimeira)).containsExactly("Ana", "Bruno");
+            assertThat(voltaPrimeira.isPrimeira()).isTrue();
+            assertThat(voltaPrimeira.getProximoCursor()).isEqualTo(primeira.getProximoCursor());
+        }
+
+        private PaginaCursor<Paciente> ler(String cursor) {
+            KeysetScrollPosition posicao = paginacao.posicao(cursor, ordenacao);
+            return paginacao.pagina(pacienteRepository.findAllBy(posicao, ordenacao, Limit.of(2)), posicao, null);
+        }
+
+        private List<String> nomes(PaginaCursor<Paciente> pagina) {
+            return pagina.getItens().stream().map(Paciente::getNome).toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("buscarPorIds")
+    class BuscarPorIdsTests {
 
         @Test
-        @DisplayName("Deve encontrar pacientes pelo nome parcial")
-        void deveEncontrarPacientesPeloNomeParcial() {
+        @DisplayName("Deve carregar apenas os pacientes informados com o documento")
+        void deveCarregarPacientesInformados() {
             // Arrange
             entityManager.persist(paciente1);
             entityManager.persist(paciente2);
             entityManager.flush();
+            entityManager.clear();
 
             // Act
-            List<Paciente> resultado = pacienteRepository.buscarPorNome("João");
+            List<Paciente> resultado = pacienteRepository.buscarPorIds(List.of(paciente2.getId()));
 
             // Assert
             assertThat(resultado).hasSize(1);
-            assertThat(resultado.get(0).getNome()).isEqualTo("João Silva");
+            assertThat(resultado.get(0).getNome()).isEqualTo("Maria Santos");
+            assertThat(resultado.get(0).getDocumento().getNumero()).isEqualTo("987654321CD456");
         }
+    }
+
+    @Nested
+    @DisplayName("transmitirTodos")
+    class TransmitirTodosTests {
 
         @Test
-        @DisplayName("Deve buscar ignorando case")
-        void deveBuscarIgnorandoCase() {
+        @DisplayName("Deve percorrer todos os pacientes em ordem de ID com o documento")
+        void devePercorrerPacientesEmOrdemDeId() {
             // Arrange
+            entityManager.persist(paciente2);
             entityManager.persist(paciente1);
             entityManager.flush();
+            entityManager.clear();
 
             // Act
-            List<Paciente> resultadoMinusculo = pacienteRepository.buscarPorNome("joão");
-            List<Paciente> resultadoMaiusculo = pacienteRepository.buscarPorNome("JOÃO");
+            List<String> documentos;
+            try (Stream<Paciente> pacientes = pacienteRepository.transmitirTodos()) {
+                documentos = pacientes.map(p -> p.getDocumento().getNumero()).toList();
+            }
 
             // Assert
-            assertThat(resultadoMinusculo).hasSize(1);
-            assertThat(resultadoMaiusculo).hasSize(1);
+            assertThat(documentos).containsExactly("987654321CD456", "123456789AB123");
         }
+    }
+
+    @Nested
+    @DisplayName("buscarNomesAPartirDe")
+    class BuscarNomesAPartirDeTests {
 
         @Test
-        @DisplayName("Deve encontrar vários pacientes com nome similar")
-        void deveEncontrarVariosPacientesComNomeSimilar() {
+        @DisplayName("Deve ler os nomes em lotes ordenados por ID")
+        void deveLerNomesEmLotes() {
             // Arrange
-            Paciente paciente3 = new Paciente();
-            paciente3.setNome("João Pedro");
-            paciente3.setDocumento(new Documento(TipoDocumento.PASSAPORTE, "N12345678"));
-            paciente3.setDataNascimento(LocalDate.of(1995, 1, 1));
-
             entityManager.persist(paciente1);
-            entityManager.persist(paciente3);
+            entityManager.persist(paciente2);
             entityManager.flush();
 
             // Act
-            List<Paciente> resultado = pacienteRepository.buscarPorNome("João");
+            List<PacienteNomeDTO> primeiroLote = pacienteRepository.buscarNomesAPartirDe(0L, PageRequest.of(0, 1));
+            List<PacienteNomeDTO> segundoLote = pacienteRepository.buscarNomesAPartirDe(
+                    primeiroLote.get(0).getId(), PageRequest.of(0, 1));
 
             // Assert
-            assertThat(resultado).hasSize(2);
+            assertThat(primeiroLote).extracting(PacienteNomeDTO::getNome).containsExactly("João Silva");
+            assertThat(segundoLote).extracting(PacienteNomeDTO::getNome).containsExactly("Maria Santos");
         }
+    }
+
+    @Nested
+    @DisplayName("buscarNomesAlteradosDesde")
+    class BuscarNomesAlteradosDesdeTests {
 
         @Test
-        @DisplayName("Deve retornar lista vazia quando não encontra")
-        void deveRetornarListaVaziaQuandoNaoEncontra() {
+        @DisplayName("Deve ler apenas os nomes gravados a partir do instante informado")
+        void deveLerApenasNomesAlterados() {
             // Arrange
+            LocalDateTime antes = LocalDateTime.now().minusMinutes(1);
             entityManager.persist(paciente1);
+            entityManager.persist(paciente2);
             entityManager.flush();
 
             // Act
-            List<Paciente> resultado = pacienteRepository.buscarPorNome("XYZ");
+            List<PacienteNomeDTO> alterados = pacienteRepository.buscarNomesAlteradosDesde(
+                    antes, 0L, PageRequest.of(0, 10));
+            List<PacienteNomeDTO> futuros = pacienteRepository.buscarNomesAlteradosDesde(
+                    LocalDateTime.now().plusMinutes(1), 0L, PageRequest.of(0, 10));
 
             // Assert
-            assertThat(resultado).isEmpty();
+            assertThat(paciente1.getDataHoraAlteracao()).isAfterOrEqualTo(antes);
+            assertThat(alterados).extracting(PacienteNomeDTO::getNome).containsExactly("João Silva", "Maria Santos");
+            assertThat(futuros).isEmpty();
         }
     }
 
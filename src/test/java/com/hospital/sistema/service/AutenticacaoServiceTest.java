@@ -1,26 +1,24 @@
 package com.hospital.sistema.service;
 
 import com.hospital.sistema.config.SessaoUsuario;
-import com.hospital.sistema.entity.Admin;
-import com.hospital.sistema.entity.Enfermeiro;
-import com.hospital.sistema.entity.Medico;
-import com.hospital.sistema.entity.Recepcionista;
+import com.hospital.sistema.entity.CredencialUsuario;
 import com.hospital.sistema.enums.TipoUsuario;
 import com.hospital.sistema.exception.CredenciaisInvalidasException;
 import com.hospital.sistema.repository.*;
-import com.hospital.sistema.util.SenhaUtils;
-import org.junit.jupiter.api.BeforeEach;
+import com.hospital.sistema.util.CodificadorSenha;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -33,6 +31,12 @@ class AutenticacaoServiceTest {
     @Mock
     private SessaoUsuario sessaoUsuario;
 
+    @Mock
+    private CredencialUsuarioRepository credencialUsuarioRepository;
+
+    @Spy
+    private CodificadorSenha codificadorSenha = new CodificadorSenha(1_000, 1, 16, 5_000L);
+
     @Mock
     private AdminRepository adminRepository;
 
@@ -56,13 +60,10 @@ class AutenticacaoServiceTest {
         @DisplayName("Deve autenticar admin com credenciais válidas")
         void deveAutenticarAdminComCredenciaisValidas() {
             // Arrange
-            Admin admin = new Admin();
-            admin.setId(1L);
-            admin.setNome("Administrador");
-            admin.setLogin("admin");
-            admin.setSenha(SenhaUtils.criptografar("admin123"));
+            CredencialUsuario admin = new CredencialUsuario(TipoUsuario.ADMIN, 1L, "Administrador",
+                    "admin", codificadorSenha.codificar("admin123"));
 
-            when(adminRepository.findByLogin("admin")).thenReturn(Optional.of(admin));
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("admin")).thenReturn(List.of(admin));
 
             // Act
             String resultado = autenticacaoService.autenticar("admin", "admin123");
@@ -77,19 +78,69 @@ class AutenticacaoServiceTest {
         @DisplayName("Deve autenticar admin com senha em texto plano")
         void deveAutenticarAdminComSenhaTextoPlano() {
             // Arrange
-            Admin admin = new Admin();
-            admin.setId(1L);
-            admin.setNome("Administrador");
-            admin.setLogin("admin");
-            admin.setSenha("admin123"); // Senha não criptografada
+            CredencialUsuario admin = new CredencialUsuario(TipoUsuario.ADMIN, 1L, "Administrador",
+                    "admin", "admin123");
 
-            when(adminRepository.findByLogin("admin")).thenReturn(Optional.of(admin));
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("admin")).thenReturn(List.of(admin));
 
             // Act
             String resultado = autenticacaoService.autenticar("admin", "admin123");
 
             // Assert
             assertThat(resultado).isEqualTo(TipoUsuario.ADMIN.getTipo());
+            verify(adminRepository).atualizarSenha(eq(1L), startsWith("$pbkdf2-sha256$1000$"));
+        }
+
+        @Test
+        @DisplayName("Deve regravar hash SHA-256 legado após login bem-sucedido")
+        void deveRegravarHashLegado() {
+            // Arrange
+            String hashLegado = "JAvlGPq9JyTdtvBO6x2llnRI1+gxwIyPqCKAn3THIKk=";
+            CredencialUsuario enfermeiro = new CredencialUsuario(TipoUsuario.ENFERMEIRO, 3L, "Enf. Ana",
+                    "ana", hashLegado);
+
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("ana")).thenReturn(List.of(enfermeiro));
+
+            // Act
+            autenticacaoService.autenticar("ana", "admin123");
+
+            // Assert
+            verify(enfermeiroRepository).atualizarSenha(eq(3L), argThat(hash -> codificadorSenha.verificar("admin123", hash)));
+        }
+
+        @Test
+        @DisplayName("Deve recusar o hash SHA-256 cadastrado enviado como senha, sem regravá-lo")
+        void deveRecusarHashEnviadoComoSenha() {
+            // Arrange
+            String hashLegado = "240be518fabd2724ddb6f04eeb1da5967448d7e831c08c8fa822809f74c720a9";
+            CredencialUsuario admin = new CredencialUsuario(TipoUsuario.ADMIN, 1L, "Administrador",
+                    "admin", hashLegado);
+
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("admin")).thenReturn(List.of(admin));
+
+            // Act & Assert
+            assertThatThrownBy(() -> autenticacaoService.autenticar("admin", hashLegado))
+                    .isInstanceOf(CredenciaisInvalidasException.class);
+            verify(adminRepository, never()).atualizarSenha(anyLong(), anyString());
+
+            autenticacaoService.autenticar("admin", "admin123");
+            verify(adminRepository).atualizarSenha(eq(1L), argThat(hash -> codificadorSenha.verificar("admin123", hash)));
+        }
+
+        @Test
+        @DisplayName("Não deve regravar hash já no formato atual")
+        void naoDeveRegravarHashAtual() {
+            // Arrange
+            CredencialUsuario admin = new CredencialUsuario(TipoUsuario.ADMIN, 1L, "Administrador",
+                    "admin", codificadorSenha.codificar("admin123"));
+
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("admin")).thenReturn(List.of(admin));
+
+            // Act
+            autenticacaoService.autenticar("admin", "admin123");
+
+            // Assert
+            verify(adminRepository, never()).atualizarSenha(any(), any());
         }
     }
 
@@ -101,14 +152,10 @@ class AutenticacaoServiceTest {
         @DisplayName("Deve autenticar médico com credenciais válidas")
         void deveAutenticarMedicoComCredenciaisValidas() {
             // Arrange
-            Medico medico = new Medico();
-            medico.setId(1L);
-            medico.setNome("Dr. Carlos");
-            medico.setLogin("carlos");
-            medico.setSenha(SenhaUtils.criptografar("medico123"));
+            CredencialUsuario medico = new CredencialUsuario(TipoUsuario.MEDICO, 1L, "Dr. Carlos",
+                    "carlos", codificadorSenha.codificar("medico123"));
 
-            when(adminRepository.findByLogin("carlos")).thenReturn(Optional.empty());
-            when(medicoRepository.findByLogin("carlos")).thenReturn(Optional.of(medico));
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("carlos")).thenReturn(List.of(medico));
 
             // Act
             String resultado = autenticacaoService.autenticar("carlos", "medico123");
@@ -126,15 +173,10 @@ class AutenticacaoServiceTest {
         @DisplayName("Deve autenticar enfermeiro com credenciais válidas")
         void deveAutenticarEnfermeiroComCredenciaisValidas() {
             // Arrange
-            Enfermeiro enfermeiro = new Enfermeiro();
-            enfermeiro.setId(1L);
-            enfermeiro.setNome("Enf. Ana");
-            enfermeiro.setLogin("ana");
-            enfermeiro.setSenha(SenhaUtils.criptografar("enf123"));
+            CredencialUsuario enfermeiro = new CredencialUsuario(TipoUsuario.ENFERMEIRO, 1L, "Enf. Ana",
+                    "ana", codificadorSenha.codificar("enf123"));
 
-            when(adminRepository.findByLogin("ana")).thenReturn(Optional.empty());
-            when(medicoRepository.findByLogin("ana")).thenReturn(Optional.empty());
-            when(enfermeiroRepository.findByLogin("ana")).thenReturn(Optional.of(enfermeiro));
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("ana")).thenReturn(List.of(enfermeiro));
 
             // Act
             String resultado = autenticacaoService.autenticar("ana", "enf123");
@@ -152,16 +194,11 @@ class AutenticacaoServiceTest {
         @DisplayName("Deve autenticar recepcionista com credenciais válidas")
         void deveAutenticarRecepcionistaComCredenciaisValidas() {
             // Arrange
-            Recepcionista recepcionista = new Recepcionista();
-            recepcionista.setId(1L);
-            recepcionista.setNome("Maria");
-            recepcionista.setLogin("maria");
-            recepcionista.setSenha(SenhaUtils.criptografar("recep123"));
+            CredencialUsuario recepcionista = new CredencialUsuario(TipoUsuario.RECEPCIONISTA, 1L, "Maria",
+                    "maria", codificadorSenha.codificar("recep123"));
 
-            when(adminRepository.findByLogin("maria")).thenReturn(Optional.empty());
-            when(medicoRepository.findByLogin("maria")).thenReturn(Optional.empty());
-            when(enfermeiroRepository.findByLogin("maria")).thenReturn(Optional.empty());
-            when(recepcionistaRepository.findByLogin("maria")).thenReturn(Optional.of(recepcionista));
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("maria"))
+                    .thenReturn(List.of(recepcionista));
 
             // Act
             String resultado = autenticacaoService.autenticar("maria", "recep123");
@@ -171,6 +208,31 @@ class AutenticacaoServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Login repetido em mais de um tipo")
+    class LoginRepetidoTests {
+
+        @Test
+        @DisplayName("Deve autenticar o tipo cuja senha confere")
+        void deveAutenticarTipoCujaSenhaConfere() {
+            // Arrange
+            CredencialUsuario admin = new CredencialUsuario(TipoUsuario.ADMIN, 1L, "Admin",
+                    "jose", codificadorSenha.codificar("outraSenha"));
+            CredencialUsuario enfermeiro = new CredencialUsuario(TipoUsuario.ENFERMEIRO, 7L, "Enf. José",
+                    "jose", codificadorSenha.codificar("enf123"));
+
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("jose"))
+                    .thenReturn(List.of(admin, enfermeiro));
+
+            // Act
+            String resultado = autenticacaoService.autenticar("jose", "enf123");
+
+            // Assert
+            assertThat(resultado).isEqualTo(TipoUsuario.ENFERMEIRO.getTipo());
+            verify(sessaoUsuario).setIdUsuario(7L);
+        }
+    }
+
     @Nested
     @DisplayName("Credenciais inválidas")
     class CredenciaisInvalidasTests {
@@ -179,10 +241,7 @@ class AutenticacaoServiceTest {
         @DisplayName("Deve lançar exceção quando login não existe")
         void deveLancarExcecaoQuandoLoginNaoExiste() {
             // Arrange
-            when(adminRepository.findByLogin("inexistente")).thenReturn(Optional.empty());
-            when(medicoRepository.findByLogin("inexistente")).thenReturn(Optional.empty());
-            when(enfermeiroRepository.findByLogin("inexistente")).thenReturn(Optional.empty());
-            when(recepcionistaRepository.findByLogin("inexistente")).thenReturn(Optional.empty());
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("inexistente")).thenReturn(List.of());
 
             // Act & Assert
             assertThatThrownBy(() -> autenticacaoService.autenticar("inexistente", "senha"))
@@ -193,20 +252,15 @@ class AutenticacaoServiceTest {
         @DisplayName("Deve lançar exceção quando senha está incorreta")
         void deveLancarExcecaoQuandoSenhaIncorreta() {
             // Arrange
-            Admin admin = new Admin();
-            admin.setId(1L);
-            admin.setNome("Admin");
-            admin.setLogin("admin");
-            admin.setSenha(SenhaUtils.criptografar("senhaCorreta"));
+            CredencialUsuario admin = new CredencialUsuario(TipoUsuario.ADMIN, 1L, "Admin",
+                    "admin", codificadorSenha.codificar("senhaCorreta"));
 
-            when(adminRepository.findByLogin("admin")).thenReturn(Optional.of(admin));
-            when(medicoRepository.findByLogin("admin")).thenReturn(Optional.empty());
-            when(enfermeiroRepository.findByLogin("admin")).thenReturn(Optional.empty());
-            when(recepcionistaRepository.findByLogin("admin")).thenReturn(Optional.empty());
+            when(credencialUsuarioRepository.findByLoginOrderByPrioridade("admin")).thenReturn(List.of(admin));
 
             // Act & Assert
             assertThatThrownBy(() -> autenticacaoService.autenticar("admin", "senhaErrada"))
                     .isInstanceOf(CredenciaisInvalidasException.class);
+            verifyNoInteractions(sessaoUsuario);
         }
     }
 }
@@ -2,26 +2,37 @@ package com.hospital.sistema.service;
 
 import com.hospital.sistema.dto.ConsultaRequest;
 import com.hospital.sistema.dto.ConsultaResponse;
+import com.hospital.sistema.dto.IntervaloConsultaDTO;
+import com.hospital.sistema.dto.PacienteFilaDTO;
 import com.hospital.sistema.entity.*;
 import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.exception.ConflitoAgendamentoException;
 import com.hospital.sistema.exception.RecursoNaoEncontradoException;
+import com.hospital.sistema.exception.ValidacaoException;
 import com.hospital.sistema.repository.ConsultaRepository;
 import com.hospital.sistema.repository.TipoConsultaRepository;
+import com.hospital.sistema.util.CacheAgendaHoje;
+import com.hospital.sistema.util.FilaAtendimentoMedico;
 import com.hospital.sistema.util.FilaTriagem;
+import com.hospital.sistema.util.RouboTrabalhoFila;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -50,6 +61,18 @@ class ConsultaServiceTest {
     @Mock
     private FilaTriagem filaTriagem;
 
+    @Spy
+    private FilaAtendimentoMedico filaAtendimentoMedico = new FilaAtendimentoMedico();
+
+    @Mock
+    private RouboTrabalhoFila rouboTrabalhoFila;
+
+    @Mock
+    private DisponibilidadeService disponibilidadeService;
+
+    @Mock
+    private CacheAgendaHoje cacheAgendaHoje;
+
     @InjectMocks
     private ConsultaService consultaService;
 
@@ -124,11 +147,12 @@ class ConsultaServiceTest {
     class BuscarConsultasDeHojeTests {
 
         @Test
-        @DisplayName("Deve retornar consultas agendadas para hoje")
+        @DisplayName("Deve retornar a agenda de hoje em memória")
         void deveRetornarConsultasDeHoje() {
             // Arrange
-            when(consultaRepository.buscarPorDataEStatus(any(LocalDate.class), eq(StatusConsulta.AGENDADA)))
-                    .thenReturn(Arrays.asList(consulta));
+            ConsultaResponse resumo = new ConsultaResponse(1L, "João Silva", "Dr. Carlos", "Cardiologia",
+                    "Rotina", LocalDate.now(), LocalTime.of(9, 0), LocalTime.of(9, 30), StatusConsulta.AGENDADA);
+            when(cacheAgendaHoje.consultas()).thenReturn(List.of(resumo));
 
             // Act
             List<ConsultaResponse> resultado = consultaService.buscarConsultasDeHoje();
@@ -136,14 +160,14 @@ class ConsultaServiceTest {
             // Assert
             assertThat(resultado).hasSize(1);
             assertThat(resultado.get(0).getPaciente()).isEqualTo("João Silva");
+            verifyNoInteractions(consultaRepository);
         }
 
         @Test
         @DisplayName("Deve retornar lista vazia quando não há consultas")
         void deveRetornarListaVaziaQuandoNaoHaConsultas() {
             // Arrange
-            when(consultaRepository.buscarPorDataEStatus(any(LocalDate.class), eq(StatusConsulta.AGENDADA)))
-                    .thenReturn(List.of());
+            when(cacheAgendaHoje.consultas()).thenReturn(List.of());
 
             // Act
             List<ConsultaResponse> resultado = consultaService.buscarConsultasDeHoje();
@@ -176,51 +200,135 @@ class ConsultaServiceTest {
     @DisplayName("Agendar consulta")
     class AgendarTests {
 
-        @Test
-        @DisplayName("Deve agendar consulta com sucesso")
-        void deveAgendarConsultaComSucesso() {
-            // Arrange
+        private ConsultaRequest criarRequest(String horaInicio, String horaFim) {
             ConsultaRequest request = new ConsultaRequest();
             request.setPacienteId(1L);
             request.setMedicoId(1L);
             request.setTipoConsultaId(1L);
             request.setDiaSemana("MONDAY");
-            request.setHoraInicio("09:00");
-            request.setHoraFim("09:30");
+            request.setHoraInicio(horaInicio);
+            request.setHoraFim(horaFim);
+            return request;
+        }
 
+        @Test
+        @DisplayName("Deve agendar consulta com sucesso")
+        void deveAgendarConsultaComSucesso() {
+            // Arrange
+            ConsultaRequest request = criarRequest("09:00", "09:30");
+
+            when(consultaRepository.buscarSobreposicoes(eq(1L), eq(1L), any(LocalDate.class),
+                    eq(LocalTime.of(9, 0)), eq(LocalTime.of(9, 30)), any()))
+                    .thenReturn(List.of());
             when(medicoService.buscarPorId(1L)).thenReturn(medico);
             when(pacienteService.buscarPorId(1L)).thenReturn(paciente);
             when(tipoConsultaRepository.findById(1L)).thenReturn(Optional.of(tipoConsulta));
             when(consultaRepository.save(any(Consulta.class))).thenReturn(consulta);
 
             // Act
-            Optional<Consulta> resultado = consultaService.agendar(request);
+            Consulta resultado = consultaService.agendar(request);
 
             // Assert
-            assertThat(resultado).isPresent();
+            assertThat(resultado).isSameAs(consulta);
+            verify(medicoService).bloquearAgenda(1L);
+            verify(pacienteService).bloquearAgenda(1L);
             verify(consultaRepository).save(any(Consulta.class));
+            verify(disponibilidadeService).invalidarAposCommit(1L);
+            verify(cacheAgendaHoje).atualizarAposCommit(consulta);
         }
 
         @Test
-        @DisplayName("Deve retornar empty quando ocorre erro")
-        void deveRetornarEmptyQuandoOcorreErro() {
+        @DisplayName("Deve recusar horário sobreposto a outra consulta do médico")
+        void deveRecusarConflitoComMedico() {
             // Arrange
-            ConsultaRequest request = new ConsultaRequest();
+            ConsultaRequest request = criarRequest("09:00", "09:30");
+            when(consultaRepository.buscarSobreposicoes(eq(1L), eq(1L), any(LocalDate.class), any(), any(), any()))
+                    .thenReturn(List.of(new IntervaloConsultaDTO(5L, 1L, 2L, null,
+                            LocalTime.of(9, 15), LocalTime.of(9, 45))));
+
+            // Act & Assert
+            assertThatThrownBy(() -> consultaService.agendar(request))
+                    .isInstanceOf(ConflitoAgendamentoException.class)
+                    .hasMessageStartingWith("O médico já tem consulta das 09:15 às 09:45")
+                    .extracting("consultaConflitanteId").isEqualTo(5L);
+            verify(consultaRepository, never()).save(any(Consulta.class));
+        }
+
+        @Test
+        @DisplayName("Deve recusar horário sobreposto a outra consulta do paciente")
+        void deveRecusarConflitoComPaciente() {
+            // Arrange
+            ConsultaRequest request = criarRequest("09:00", "09:30");
+            when(consultaRepository.buscarSobreposicoes(eq(1L), eq(1L), any(LocalDate.class), any(), any(), any()))
+                    .thenReturn(List.of(new IntervaloConsultaDTO(6L, 2L, 1L, null,
+                            LocalTime.of(8, 0), LocalTime.of(9, 1))));
+
+            // Act & Assert
+            assertThatThrownBy(() -> consultaService.agendar(request))
+                    .isInstanceOf(ConflitoAgendamentoException.class)
+                    .hasMessageStartingWith("O paciente já tem consulta das 08:00 às 09:01");
+        }
+
+        @Test
+        @DisplayName("Deve recusar hora de fim anterior à de início")
+        void deveRecusarHoraFimAnteriorAoInicio() {
+            // Arrange
+            ConsultaRequest request = criarRequest("10:00", "09:30");
+
+            // Act & Assert
+            assertThatThrownBy(() -> consultaService.agendar(request))
+                    .isInstanceOf(ValidacaoException.class);
+            verifyNoInteractions(medicoService);
+        }
+
+        @Test
+        @DisplayName("Deve propagar paciente não encontrado")
+        void devePropagarPacienteNaoEncontrado() {
+            // Arrange
+            ConsultaRequest request = criarRequest("09:00", "09:30");
             request.setPacienteId(999L);
-            request.setMedicoId(1L);
-            request.setTipoConsultaId(1L);
-            request.setDiaSemana("MONDAY");
-            request.setHoraInicio("09:00");
-            request.setHoraFim("09:30");
+            doThrow(new RecursoNaoEncontradoException("Paciente", 999L))
+                    .when(pacienteService).bloquearAgenda(999L);
 
-            when(medicoService.buscarPorId(1L)).thenReturn(medico);
-            when(pacienteService.buscarPorId(999L)).thenThrow(new RecursoNaoEncontradoException("Paciente", 999L));
+            // Act & Assert
+            assertThatThrownBy(() -> consultaService.agendar(request))
+                    .isInstanceOf(RecursoNaoEncontradoException.class);
+            verify(consultaRepository, never()).save(any(Consulta.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancelar consulta")
+    class CancelarTests {
+
+        @Test
+        @DisplayName("Deve cancelar consulta agendada e liberar a agenda do médico")
+        void deveCancelarConsultaAgendada() {
+            // Arrange
+            when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+            when(consultaRepository.atualizarStatus(1L, StatusConsulta.AGENDADA, StatusConsulta.CANCELADA))
+                    .thenReturn(1);
 
             // Act
-            Optional<Consulta> resultado = consultaService.agendar(request);
+            consultaService.cancelar(1L);
 
             // Assert
-            assertThat(resultado).isEmpty();
+            verify(disponibilidadeService).invalidarAposCommit(1L);
+            verify(cacheAgendaHoje).removerAposCommit(1L);
+        }
+
+        @Test
+        @DisplayName("Deve recusar consulta que já saiu do status agendada")
+        void deveRecusarConsultaNaoAgendada() {
+            // Arrange
+            when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+            when(consultaRepository.atualizarStatus(1L, StatusConsulta.AGENDADA, StatusConsulta.CANCELADA))
+                    .thenReturn(0);
+
+            // Act & Assert
+            assertThatThrownBy(() -> consultaService.cancelar(1L))
+                    .isInstanceOf(ValidacaoException.class);
+            verifyNoInteractions(disponibilidadeService, cacheAgendaHoje);
         }
     }
 
@@ -233,13 +341,34 @@ class ConsultaServiceTest {
         void deveEncaminharParaTriagemComSucesso() {
             // Arrange
             when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+            when(consultaRepository.encaminharParaTriagem(eq(1L), any(LocalDateTime.class))).thenReturn(1);
 
             // Act
             boolean resultado = consultaService.encaminharParaTriagem(1L);
 
             // Assert
+            ArgumentCaptor<LocalDateTime> dataHoraEntrada = ArgumentCaptor.forClass(LocalDateTime.class);
             assertThat(resultado).isTrue();
-            verify(filaTriagem).adicionar(paciente);
+            verify(consultaRepository).encaminharParaTriagem(eq(1L), dataHoraEntrada.capture());
+            verify(consultaRepository, never()).save(any());
+            verify(cacheAgendaHoje).removerAposCommit(1L);
+            verify(filaTriagem).adicionar(argThat(entrada -> entrada.getPacienteId() == 1L
+                    && entrada.getConsultaId().equals(1L)
+                    && entrada.getDataHoraEntrada().equals(dataHoraEntrada.getValue())));
+        }
+
+        @Test
+        @DisplayName("Deve recusar consulta que não está mais agendada sem alterar a fila")
+        void deveRecusarConsultaNaoAgendada() {
+            // Arrange
+            consulta.setStatus(StatusConsulta.EM_ATENDIMENTO);
+            when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+            when(consultaRepository.encaminharParaTriagem(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+            // Act & Assert
+            assertThatThrownBy(() -> consultaService.encaminharParaTriagem(1L))
+                    .isInstanceOf(ValidacaoException.class);
+            verifyNoInteractions(filaTriagem, cacheAgendaHoje);
         }
 
         @Test
@@ -289,4 +418,92 @@ class ConsultaServiceTest {
             assertThat(resultado).isEmpty();
         }
     }
+
+    @Nested
+    @DisplayName("Chamar próximo paciente")
+    class ChamarProximoPacienteTests {
+
+        @Test
+        @DisplayName("Deve iniciar o atendimento do paciente de maior prioridade")
+        void deveIniciarAtendimentoDoProximo() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(new PacienteFilaDTO(1L, "João", 1L, 10L, "NAO_URGENTE"));
+            filaAtendimentoMedico.adicionar(new PacienteFilaDTO(2L, "Maria", 1L, 20L, "URGENTE"));
+            when(consultaRepository.atualizarStatus(20L,
+                    StatusConsulta.AGUARDANDO_ATENDIMENTO, StatusConsulta.EM_ATENDIMENTO)).thenReturn(1);
+
+            // Act
+            Optional<PacienteFilaDTO> resultado = consultaService.chamarProximoPaciente(1L);
+
+            // Assert
+            assertThat(resultado).map(PacienteFilaDTO::getNome).contains("Maria");
+            assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                    .extracting(PacienteFilaDTO::getNome)
+                    .containsExactly("João");
+        }
+
+        @Test
+        @DisplayName("Deve descartar paciente cuja consulta não está mais aguardando")
+        void deveDescartarConsultaAlterada() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(new PacienteFilaDTO(1L, "João", 1L, 10L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(new PacienteFilaDTO(2L, "Maria", 1L, 20L, "URGENTE"));
+            when(consultaRepository.atualizarStatus(eq(10L), any(), any())).thenReturn(0);
+            when(consultaRepository.atualizarStatus(eq(20L), any(), any())).thenReturn(1);
+
+            // Act
+            Optional<PacienteFilaDTO> resultado = consultaService.chamarProximoPaciente(1L);
+
+            // Assert
+            assertThat(resultado).map(PacienteFilaDTO::getNome).contains("Maria");
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(1L)).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve devolver o paciente à fila quando a atualização falha")
+        void deveDevolverPacienteQuandoAtualizacaoFalha() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(new PacienteFilaDTO(1L, "João", 1L, 10L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(new PacienteFilaDTO(2L, "Maria", 1L, 20L, "URGENTE"));
+            when(consultaRepository.atualizarStatus(eq(10L), any(), any()))
+                    .thenThrow(new IllegalStateException("Banco indisponível"));
+
+            // Act & Assert
+            assertThatThrownBy(() -> consultaService.chamarProximoPaciente(1L))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                    .extracting(PacienteFilaDTO::getNome)
+                    .containsExactly("João", "Maria");
+        }
+
+        @Test
+        @DisplayName("Deve retornar empty quando a fila do médico está vazia")
+        void deveRetornarEmptyQuandoFilaVazia() {
+            // Act
+            Optional<PacienteFilaDTO> resultado = consultaService.chamarProximoPaciente(1L);
+
+            // Assert
+            assertThat(resultado).isEmpty();
+            verify(consultaRepository, never()).atualizarStatus(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve assumir paciente de colega quando a fila do médico está vazia")
+        void deveAssumirPacienteDeColegaQuandoFilaVazia() {
+            // Arrange
+            PacienteFilaDTO pacienteColega = new PacienteFilaDTO(3L, "Carla", 2L, 30L, "URGENTE");
+            when(rouboTrabalhoFila.roubarPara(eq(1L), any())).thenAnswer(invocacao -> {
+                Predicate<PacienteFilaDTO> confirmar = invocacao.getArgument(1);
+                return confirmar.test(pacienteColega) ? Optional.of(pacienteColega) : Optional.empty();
+            });
+            when(consultaRepository.assumirAtendimento(30L, 1L)).thenReturn(1);
+
+            // Act
+            Optional<PacienteFilaDTO> resultado = consultaService.chamarProximoPaciente(1L);
+
+            // Assert
+            assertThat(resultado).map(PacienteFilaDTO::getNome).contains("Carla");
+            verify(consultaRepository).assumirAtendimento(30L, 1L);
+        }
+    }
 }
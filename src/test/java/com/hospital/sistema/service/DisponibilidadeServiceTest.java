@@ -0,0 +1,212 @@
+package com.hospital.sistema.service;
+
+import com.hospital.sistema.dto.DisponibilidadeMedicoDTO;
+import com.hospital.sistema.dto.HorarioLivreDTO;
+import com.hospital.sistema.dto.HorarioMedicoDTO;
+import com.hospital.sistema.dto.IntervaloConsultaDTO;
+import com.hospital.sistema.exception.RecursoNaoEncontradoException;
+import com.hospital.sistema.exception.ValidacaoException;
+import com.hospital.sistema.repository.ConsultaRepository;
+import com.hospital.sistema.repository.MedicoRepository;
+import com.hospital.sistema.util.CacheDisponibilidadeSemanal;
+import com.hospital.sistema.util.MapaDisponibilidadeSemanal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para DisponibilidadeService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DisponibilidadeService")
+class DisponibilidadeServiceTest {
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    @Mock
+    private ConsultaRepository consultaRepository;
+
+    private CacheDisponibilidadeSemanal cacheDisponibilidadeSemanal;
+
+    private DisponibilidadeService disponibilidadeService;
+
+    private LocalDate segunda;
+
+    @BeforeEach
+    void setUp() {
+        cacheDisponibilidadeSemanal = new CacheDisponibilidadeSemanal(medicoRepository);
+        disponibilidadeService = new DisponibilidadeService(medicoRepository, consultaRepository,
+                cacheDisponibilidadeSemanal, 60, 60_000L);
+        segunda = LocalDate.now().plusDays(2).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    }
+
+    private void configurarAgenda() {
+        when(medicoRepository.existsById(1L)).thenReturn(true);
+        when(medicoRepository.buscarTodosHorarios()).thenReturn(List.of(
+                new HorarioMedicoDTO(1L, 2L, "MONDAY", LocalTime.of(8, 0), LocalTime.of(10, 0)),
+                new HorarioMedicoDTO(1L, 2L, "monday", LocalTime.of(14, 2), LocalTime.of(14, 40))));
+        when(consultaRepository.buscarIntervalosOcupadosPorMedicos(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(new IntervaloConsultaDTO(9L, 1L, 5L, segunda,
+                        LocalTime.of(8, 30), LocalTime.of(8, 57))));
+    }
+
+    private static List<LocalTime> inicios(DisponibilidadeMedicoDTO disponibilidade) {
+        return disponibilidade.getHorarios().stream().map(HorarioLivreDTO::getHoraInicio).toList();
+    }
+
+    @Nested
+    @DisplayName("buscarPorMedico")
+    class BuscarPorMedicoTests {
+
+        @Test
+        @DisplayName("Deve descontar as consultas das janelas de atendimento")
+        void deveDescontarConsultasDasJanelas() {
+            // Arrange
+            configurarAgenda();
+
+            // Act
+            DisponibilidadeMedicoDTO disponibilidade =
+                    disponibilidadeService.buscarPorMedico(1L, segunda, segunda.plusDays(6), 30);
+
+            // Assert: 08:30-08:57 ocupa até 09:00; a janela das 14:02 começa às 14:05
+            assertThat(inicios(disponibilidade)).containsExactly(
+                    LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(14, 5));
+            assertThat(disponibilidade.getHorarios().get(3).getHoraFim()).isEqualTo(LocalTime.of(14, 35));
+            assertThat(disponibilidade.getHorarios()).allMatch(h -> h.getData().equals(segunda));
+        }
+
+        @Test
+        @DisplayName("Deve arredondar a duração para a grade de 5 minutos")
+        void deveArredondarDuracao() {
+            // Arrange
+            configurarAgenda();
+
+            // Act
+            DisponibilidadeMedicoDTO disponibilidade = disponibilidadeService.buscarPorMedico(1L, segunda, segunda, 42);
+
+            // Assert
+            assertThat(inicios(disponibilidade)).containsExactly(LocalTime.of(9, 0));
+            assertThat(disponibilidade.getHorarios().get(0).getHoraFim()).isEqualTo(LocalTime.of(9, 45));
+        }
+
+        @Test
+        @DisplayName("Deve reutilizar a agenda em cache até ser invalidada")
+        void deveReutilizarAgendaAteInvalidar() {
+            // Arrange
+            configurarAgenda();
+            disponibilidadeService.buscarPorMedico(1L, segunda, segunda, 30);
+
+            // Act
+            disponibilidadeService.buscarPorMedico(1L, segunda.plusDays(7), segunda.plusDays(7), 30);
+            disponibilidadeService.invalidar(1L);
+            disponibilidadeService.buscarPorMedico(1L, segunda, segunda, 30);
+
+            // Assert
+            verify(medicoRepository, times(1)).buscarTodosHorarios();
+            verify(consultaRepository, times(2))
+                    .buscarIntervalosOcupadosPorMedicos(anyCollection(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve manter a agenda após recarga periódica sem mudança nos horários")
+        void deveManterAgendaAposRecargaSemMudanca() {
+            // Arrange
+            configurarAgenda();
+            disponibilidadeService.buscarPorMedico(1L, segunda, segunda, 30);
+            MapaDisponibilidadeSemanal anterior = cacheDisponibilidadeSemanal.mapa(1L);
+
+            // Act
+            cacheDisponibilidadeSemanal.recarregar();
+            disponibilidadeService.buscarPorMedico(1L, segunda, segunda, 30);
+
+            // Assert
+            assertThat(cacheDisponibilidadeSemanal.mapa(1L)).isSameAs(anterior);
+            verify(medicoRepository, times(2)).buscarTodosHorarios();
+            verify(consultaRepository, times(1))
+                    .buscarIntervalosOcupadosPorMedicos(anyCollection(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve remontar a agenda quando os horários do médico mudam")
+        void deveRemontarAgendaQuandoHorariosMudam() {
+            // Arrange
+            configurarAgenda();
+            disponibilidadeService.buscarPorMedico(1L, segunda, segunda, 30);
+            when(medicoRepository.buscarHorariosPorMedicos(List.of(1L))).thenReturn(List.of(
+                    new HorarioMedicoDTO(1L, 2L, "MONDAY", LocalTime.of(18, 0), LocalTime.of(18, 30))));
+
+            // Act
+            cacheDisponibilidadeSemanal.atualizarMedico(1L);
+            DisponibilidadeMedicoDTO disponibilidade = disponibilidadeService.buscarPorMedico(1L, segunda, segunda, 30);
+
+            // Assert
+            assertThat(inicios(disponibilidade)).containsExactly(LocalTime.of(18, 0));
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando o médico não existe")
+        void deveLancarExcecaoQuandoMedicoNaoExiste() {
+            // Arrange
+            when(medicoRepository.existsById(99L)).thenReturn(false);
+
+            // Act & Assert
+            assertThatThrownBy(() -> disponibilidadeService.buscarPorMedico(99L, segunda, segunda, 30))
+                    .isInstanceOf(RecursoNaoEncontradoException.class);
+        }
+
+        @Test
+        @DisplayName("Deve recusar período além do horizonte")
+        void deveRecusarPeriodoAlemDoHorizonte() {
+            // Arrange
+            when(medicoRepository.existsById(1L)).thenReturn(true);
+
+            // Act & Assert
+            assertThatThrownBy(() -> disponibilidadeService.buscarPorMedico(1L, segunda, segunda.plusDays(60), 30))
+                    .isInstanceOf(ValidacaoException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("buscarPorEspecialidade")
+    class BuscarPorEspecialidadeTests {
+
+        @Test
+        @DisplayName("Deve montar as agendas de todos os médicos com uma única consulta de horários ocupados")
+        void deveMontarAgendasEmLote() {
+            // Arrange
+            when(medicoRepository.buscarIdsPorEspecialidade(2L)).thenReturn(List.of(1L, 3L));
+            when(medicoRepository.buscarTodosHorarios()).thenReturn(List.of(
+                    new HorarioMedicoDTO(1L, 2L, "MONDAY", LocalTime.of(8, 0), LocalTime.of(9, 0)),
+                    new HorarioMedicoDTO(3L, 2L, "TUESDAY", LocalTime.of(8, 0), LocalTime.of(8, 30))));
+
+            // Act
+            List<DisponibilidadeMedicoDTO> disponibilidades =
+                    disponibilidadeService.buscarPorEspecialidade(2L, segunda, segunda.plusDays(1), 30);
+
+            // Assert
+            assertThat(disponibilidades).extracting(DisponibilidadeMedicoDTO::getMedicoId).containsExactly(1L, 3L);
+            assertThat(disponibilidades.get(0).getHorarios()).hasSize(2);
+            assertThat(disponibilidades.get(1).getHorarios()).singleElement()
+                    .extracting(HorarioLivreDTO::getData).isEqualTo(segunda.plusDays(1));
+            verify(consultaRepository, times(1))
+                    .buscarIntervalosOcupadosPorMedicos(anyCollection(), any(), any(), any());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.hospital.sistema.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.sistema.entity.Documento;
+import com.hospital.sistema.entity.Endereco;
+import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.enums.FormatoArquivo;
+import com.hospital.sistema.enums.Sexo;
+import com.hospital.sistema.enums.TipoDocumento;
+import com.hospital.sistema.repository.PacienteRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ExportacaoPacientesService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportacaoPacientesService")
+class ExportacaoPacientesServiceTest {
+
+    @Mock
+    private PacienteRepository pacienteRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ExportacaoPacientesService exportacaoPacientesService;
+
+    private Paciente paciente;
+
+    @BeforeEach
+    void setUp() {
+        exportacaoPacientesService = new ExportacaoPacientesService(pacienteRepository, entityManager,
+                new ObjectMapper());
+
+        paciente = new Paciente();
+        paciente.setId(7L);
+        paciente.setNome("Silva, João");
+        paciente.setDocumento(new Documento(TipoDocumento.BILHETE_IDENTIDADE, "123456789AB123"));
+        paciente.setEndereco(new Endereco("Rua \"Nova\", 5"));
+        paciente.setTelefone("912345678");
+        paciente.setSexo(Sexo.MASCULINO);
+        paciente.setDataNascimento(LocalDate.of(1990, 5, 15));
+    }
+
+    @Nested
+    @DisplayName("exportar")
+    class ExportarTests {
+
+        @Test
+        @DisplayName("Deve escrever CSV com cabeçalho e aspas quando necessário")
+        void deveEscreverCsv() throws Exception {
+            // Arrange
+            when(pacienteRepository.transmitirTodos()).thenReturn(Stream.of(paciente));
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+            // Act
+            long exportados = exportacaoPacientesService.exportar(saida, FormatoArquivo.CSV);
+
+            // Assert
+            assertThat(exportados).isEqualTo(1);
+            assertThat(saida.toString(StandardCharsets.UTF_8)).isEqualTo(
+                    "id,nome,tipoDocumento,numeroDocumento,telefone,endereco,email,sexo,dataNascimento,"
+                            + "tipoSanguineo,historicoMedico\n"
+                            + "7,\"Silva, João\",BILHETE_IDENTIDADE,123456789AB123,912345678,"
+                            + "\"Rua \"\"Nova\"\", 5\",,MASCULINO,1990-05-15,,\n");
+        }
+
+        @Test
+        @DisplayName("Deve escrever um objeto JSON por linha")
+        void deveEscreverNdjson() throws Exception {
+            // Arrange
+            when(pacienteRepository.transmitirTodos()).thenReturn(Stream.of(paciente));
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+            // Act
+            exportacaoPacientesService.exportar(saida, FormatoArquivo.NDJSON);
+
+            // Assert
+            String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+            assertThat(linhas).hasSize(1);
+            assertThat(linhas[0])
+                    .startsWith("{\"id\":7,\"nome\":\"Silva, João\"")
+                    .contains("\"email\":null")
+                    .endsWith("\"historicoMedico\":null}");
+        }
+
+        @Test
+        @DisplayName("Deve limpar o contexto de persistência a cada bloco")
+        void deveLimparContextoACadaBloco() throws Exception {
+            // Arrange
+            when(pacienteRepository.transmitirTodos()).thenReturn(LongStream.rangeClosed(1, 1001).mapToObj(id -> {
+                Paciente p = new Paciente();
+                p.setId(id);
+                p.setNome("Paciente " + id);
+                return p;
+            }));
+
+            // Act
+            long exportados = exportacaoPacientesService.exportar(new ByteArrayOutputStream(), FormatoArquivo.CSV);
+
+            // Assert
+            assertThat(exportados).isEqualTo(1001);
+            verify(entityManager, times(2)).clear();
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.hospital.sistema.service;
 
 import com.hospital.sistema.dto.MedicoResponse;
+import com.hospital.sistema.dto.PaginaCursor;
 import com.hospital.sistema.entity.Especialidade;
 import com.hospital.sistema.entity.Medico;
 import com.hospital.sistema.exception.RecursoNaoEncontradoException;
 import com.hospital.sistema.repository.MedicoRepository;
+import com.hospital.sistema.util.CacheDisponibilidadeSemanal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,13 +15,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -36,6 +37,9 @@ class MedicoServiceTest {
     @Mock
     private MedicoRepository medicoRepository;
 
+    @Mock
+    private CacheDisponibilidadeSemanal cacheDisponibilidadeSemanal;
+
     @InjectMocks
     private MedicoService medicoService;
 
@@ -64,16 +68,18 @@ class MedicoServiceTest {
         @DisplayName("Deve retornar página de médicos")
         void deveRetornarPaginaDeMedicos() {
             // Arrange
-            Pageable pageable = PageRequest.of(0, 10);
-            Page<Medico> page = new PageImpl<>(Arrays.asList(medico));
-            when(medicoRepository.findAll(pageable)).thenReturn(page);
+            Window<Medico> janela = Window.from(List.of(medico),
+                    i -> ScrollPosition.forward(Map.of("nome", "Dr. Carlos Santos", "id", 1L)), true);
+            when(medicoRepository.findAllBy(any(), any(), any())).thenReturn(janela);
 
             // Act
-            Page<Medico> resultado = medicoService.listarTodos(pageable);
+            PaginaCursor<Medico> resultado = medicoService.listar(null, 10, "nome", false);
 
             // Assert
-            assertThat(resultado.getContent()).hasSize(1);
-            assertThat(resultado.getContent().get(0).getNome()).isEqualTo("Dr. Carlos Santos");
+            assertThat(resultado.getItens()).hasSize(1);
+            assertThat(resultado.getItens().get(0).getNome()).isEqualTo("Dr. Carlos Santos");
+            assertThat(resultado.getProximoCursor()).isNotNull();
+            assertThat(resultado.isPrimeira()).isTrue();
         }
     }
 
@@ -175,6 +181,7 @@ class MedicoServiceTest {
             // Assert
             assertThat(resultado).isNotNull();
             verify(medicoRepository).save(medico);
+            verify(cacheDisponibilidadeSemanal).atualizarMedico(1L);
         }
     }
 
@@ -194,6 +201,7 @@ class MedicoServiceTest {
 
             // Assert
             verify(medicoRepository).deleteById(1L);
+            verify(cacheDisponibilidadeSemanal).atualizarMedico(1L);
         }
 
         @Test
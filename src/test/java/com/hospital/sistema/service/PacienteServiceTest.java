@@ -2,6 +2,7 @@ package com.hospital.sistema.service;
 
 import com.hospital.sistema.dto.PacienteRequest;
 import com.hospital.sistema.dto.PacienteResponse;
+import com.hospital.sistema.dto.PaginaCursor;
 import com.hospital.sistema.entity.Documento;
 import com.hospital.sistema.entity.Endereco;
 import com.hospital.sistema.entity.Paciente;
@@ -11,6 +12,7 @@ import com.hospital.sistema.exception.RecursoNaoEncontradoException;
 import com.hospital.sistema.exception.ValidacaoException;
 import com.hospital.sistema.repository.DocumentoRepository;
 import com.hospital.sistema.repository.PacienteRepository;
+import com.hospital.sistema.util.IndiceNomesPacientes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,14 +21,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -47,6 +48,9 @@ class PacienteServiceTest {
     @Mock
     private DocumentoRepository documentoRepository;
 
+    @Mock
+    private IndiceNomesPacientes indiceNomesPacientes;
+
     @InjectMocks
     private PacienteService pacienteService;
 
@@ -79,21 +83,45 @@ class PacienteServiceTest {
     class ListarTodosTests {
 
         @Test
-        @DisplayName("Deve retornar página de pacientes")
+        @DisplayName("Deve retornar página de pacientes sem contar o total")
         void deveRetornarPaginaDePacientes() {
             // Arrange
-            Pageable pageable = PageRequest.of(0, 10);
-            List<Paciente> pacientes = Arrays.asList(paciente);
-            Page<Paciente> page = new PageImpl<>(pacientes, pageable, 1);
-            when(pacienteRepository.findAll(pageable)).thenReturn(page);
+            Window<Paciente> janela = Window.from(List.of(paciente),
+                    i -> ScrollPosition.forward(Map.of("nome", "João Silva", "id", 1L)), false);
+            when(pacienteRepository.findAllBy(any(), any(), any())).thenReturn(janela);
+
+            // Act
+            PaginaCursor<Paciente> resultado = pacienteService.listar(null, 10, "nome", false);
+
+            // Assert
+            assertThat(resultado.getItens()).hasSize(1);
+            assertThat(resultado.getItens().get(0).getNome()).isEqualTo("João Silva");
+            assertThat(resultado.getTotal()).isNull();
+            assertThat(resultado.isUltima()).isTrue();
+            verify(pacienteRepository, never()).count();
+        }
+
+        @Test
+        @DisplayName("Deve contar o total apenas quando pedido")
+        void deveContarTotalQuandoPedido() {
+            // Arrange
+            when(pacienteRepository.findAllBy(any(), any(), any())).thenReturn(Window.from(List.of(), i -> null));
+            when(pacienteRepository.count()).thenReturn(42L);
 
             // Act
-            Page<Paciente> resultado = pacienteService.listarTodos(pageable);
+            PaginaCursor<Paciente> resultado = pacienteService.listar(null, 10, "nome", true);
 
             // Assert
-            assertThat(resultado.getContent()).hasSize(1);
-            assertThat(resultado.getContent().get(0).getNome()).isEqualTo("João Silva");
-            verify(pacienteRepository).findAll(pageable);
+            assertThat(resultado.getTotal()).isEqualTo(42L);
+        }
+
+        @Test
+        @DisplayName("Deve recusar ordenação por campo não permitido")
+        void deveRecusarOrdenacaoNaoPermitida() {
+            // Act & Assert
+            assertThatThrownBy(() -> pacienteService.listar(null, 10, "historicoMedico", false))
+                    .isInstanceOf(ValidacaoException.class);
+            verify(pacienteRepository, never()).findAllBy(any(), any(), any());
         }
     }
 
@@ -136,7 +164,8 @@ class PacienteServiceTest {
         @DisplayName("Deve retornar lista de pacientes pelo nome")
         void deveRetornarListaPorNome() {
             // Arrange
-            when(pacienteRepository.buscarPorNome("João")).thenReturn(Arrays.asList(paciente));
+            when(indiceNomesPacientes.buscar("João")).thenReturn(List.of(1L));
+            when(pacienteRepository.buscarPorIds(List.of(1L))).thenReturn(Arrays.asList(paciente));
 
             // Act
             List<PacienteResponse> resultado = pacienteService.buscarPorNome("João");
@@ -146,17 +175,35 @@ class PacienteServiceTest {
             assertThat(resultado.get(0).getNome()).isEqualTo("João Silva");
         }
 
+        @Test
+        @DisplayName("Deve manter a ordem de relevância do índice")
+        void deveManterOrdemDoIndice() {
+            // Arrange
+            Paciente outro = new Paciente();
+            outro.setId(2L);
+            outro.setNome("Ana João");
+            when(indiceNomesPacientes.buscar("joão")).thenReturn(List.of(1L, 2L));
+            when(pacienteRepository.buscarPorIds(List.of(1L, 2L))).thenReturn(Arrays.asList(outro, paciente));
+
+            // Act
+            List<PacienteResponse> resultado = pacienteService.buscarPorNome("joão");
+
+            // Assert
+            assertThat(resultado).extracting(PacienteResponse::getNome).containsExactly("João Silva", "Ana João");
+        }
+
         @Test
         @DisplayName("Deve retornar lista vazia quando não encontra pacientes")
         void deveRetornarListaVaziaQuandoNaoEncontra() {
             // Arrange
-            when(pacienteRepository.buscarPorNome("XYZ")).thenReturn(List.of());
+            when(indiceNomesPacientes.buscar("XYZ")).thenReturn(List.of());
 
             // Act
             List<PacienteResponse> resultado = pacienteService.buscarPorNome("XYZ");
 
             // Assert
             assertThat(resultado).isEmpty();
+            verify(pacienteRepository, never()).buscarPorIds(any());
         }
     }
 
@@ -177,6 +224,7 @@ class PacienteServiceTest {
             // Assert
             assertThat(resultado).isNotNull();
             verify(pacienteRepository).save(any(Paciente.class));
+            verify(indiceNomesPacientes).indexar(1L, "João Silva");
         }
 
         @Test
@@ -277,6 +325,7 @@ class PacienteServiceTest {
 
             // Assert
             verify(pacienteRepository).deleteById(1L);
+            verify(indiceNomesPacientes).remover(1L);
         }
 
         @Test
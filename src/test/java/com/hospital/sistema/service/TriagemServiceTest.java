@@ -1,9 +1,12 @@
 package com.hospital.sistema.service;
 
+import com.hospital.sistema.dto.EntradaFilaTriagem;
+import com.hospital.sistema.dto.PacienteTriagemResponse;
 import com.hospital.sistema.dto.TriagemRequest;
 import com.hospital.sistema.entity.*;
 import com.hospital.sistema.enums.NivelUrgencia;
 import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.exception.PacienteReservadoException;
 import com.hospital.sistema.exception.RecursoNaoEncontradoException;
 import com.hospital.sistema.repository.EnfermeiroRepository;
 import com.hospital.sistema.repository.TriagemRepository;
@@ -18,6 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -107,10 +111,12 @@ class TriagemServiceTest {
         @DisplayName("Deve retornar lista de pacientes na fila")
         void deveRetornarListaDePacientes() {
             // Arrange
-            when(filaTriagem.listarPacientes()).thenReturn(Arrays.asList(paciente));
+            PacienteTriagemResponse pacienteFila = new PacienteTriagemResponse(
+                    new EntradaFilaTriagem(1L, "João Silva", 1L, LocalDateTime.now(), null));
+            when(filaTriagem.listarPacientes()).thenReturn(Arrays.asList(pacienteFila));
 
             // Act
-            List<Paciente> resultado = triagemService.listarFilaTriagem();
+            List<PacienteTriagemResponse> resultado = triagemService.listarFilaTriagem();
 
             // Assert
             assertThat(resultado).hasSize(1);
@@ -179,6 +185,27 @@ class TriagemServiceTest {
             verify(filaAtendimentoMedico).adicionar(any());
         }
 
+        @Test
+        @DisplayName("Deve vincular consulta em triagem do paciente quando consulta não é informada")
+        void deveVincularConsultaEmTriagemDoPaciente() {
+            // Arrange
+            consulta.setStatus(StatusConsulta.EM_TRIAGEM);
+
+            when(pacienteService.buscarPorId(1L)).thenReturn(paciente);
+            when(enfermeiroRepository.findById(1L)).thenReturn(Optional.of(enfermeiro));
+            when(triagemRepository.save(any(Triagem.class))).thenReturn(triagem);
+            when(consultaService.buscarConsultaEmTriagemPorPaciente(1L)).thenReturn(Optional.of(consulta));
+
+            // Act
+            triagemService.realizar(triagemRequest, 1L);
+
+            // Assert
+            assertThat(consulta.getStatus()).isEqualTo(StatusConsulta.AGUARDANDO_ATENDIMENTO);
+            assertThat(consulta.getDataHoraEntradaFila()).isNotNull();
+            verify(consultaService).salvar(consulta);
+            verify(filaAtendimentoMedico).adicionar(any());
+        }
+
         @Test
         @DisplayName("Deve lançar exceção quando enfermeiro não existe")
         void deveLancarExcecaoQuandoEnfermeiroNaoExiste() {
@@ -203,5 +230,47 @@ class TriagemServiceTest {
             assertThatThrownBy(() -> triagemService.realizar(triagemRequest, 1L))
                     .isInstanceOf(RecursoNaoEncontradoException.class);
         }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando paciente está reservado por outro enfermeiro")
+        void deveLancarExcecaoQuandoPacienteReservadoPorOutro() {
+            // Arrange
+            when(filaTriagem.reservadoPorOutro(1L, 1L)).thenReturn(true);
+
+            // Act & Assert
+            assertThatThrownBy(() -> triagemService.realizar(triagemRequest, 1L))
+                    .isInstanceOf(PacienteReservadoException.class);
+            verify(triagemRepository, never()).save(any());
+            verify(filaTriagem, never()).remover(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reservar próximo paciente")
+    class ReservarProximoPacienteTests {
+
+        @Test
+        @DisplayName("Deve retornar o paciente reservado para o enfermeiro")
+        void deveRetornarPacienteReservado() {
+            // Arrange
+            when(filaTriagem.reservarProximo(1L)).thenReturn(Optional.of(
+                    new EntradaFilaTriagem(1L, "João Silva", 1L, LocalDateTime.now(), "DOC1")));
+
+            // Act
+            Optional<PacienteTriagemResponse> resultado = triagemService.reservarProximoPaciente(1L);
+
+            // Assert
+            assertThat(resultado).map(PacienteTriagemResponse::getNome).contains("João Silva");
+        }
+
+        @Test
+        @DisplayName("Deve retornar empty quando não há pacientes disponíveis")
+        void deveRetornarEmptyQuandoFilaVazia() {
+            // Arrange
+            when(filaTriagem.reservarProximo(1L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThat(triagemService.reservarProximoPaciente(1L)).isEmpty();
+        }
     }
 }
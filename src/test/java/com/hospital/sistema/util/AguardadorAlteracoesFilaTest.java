@@ -0,0 +1,102 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.FilaVersionadaDTO;
+import com.hospital.sistema.dto.PacienteFilaDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para AguardadorAlteracoesFila.
+ */
+@DisplayName("AguardadorAlteracoesFila")
+class AguardadorAlteracoesFilaTest {
+
+    private FilaAtendimentoMedico filaAtendimentoMedico;
+    private AguardadorAlteracoesFila aguardador;
+
+    @BeforeEach
+    void setUp() {
+        filaAtendimentoMedico = new FilaAtendimentoMedico();
+        aguardador = new AguardadorAlteracoesFila(new FilaTriagem(), filaAtendimentoMedico, 30_000L);
+        filaAtendimentoMedico.adicionar(new PacienteFilaDTO(1L, "Ana", 1L, 10L, "URGENTE"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        aguardador.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve responder imediatamente quando o cliente está atrás da versão atual")
+    void deveResponderImediatamente() {
+        // Act
+        DeferredResult<ResponseEntity<FilaVersionadaDTO<PacienteFilaDTO>>> resultado =
+                aguardador.aguardarFilaMedico(1L, 0L, 10_000L);
+
+        // Assert
+        ResponseEntity<?> resposta = (ResponseEntity<?>) resultado.getResult();
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resposta.getHeaders().getETag())
+                .isEqualTo("\"" + filaAtendimentoMedico.versao(1L) + "\"");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem espera quando a fila não mudou")
+    void deveResponderNaoModificado() {
+        // Act
+        DeferredResult<ResponseEntity<FilaVersionadaDTO<PacienteFilaDTO>>> resultado =
+                aguardador.aguardarFilaMedico(1L, filaAtendimentoMedico.versao(1L), 0L);
+
+        // Assert
+        ResponseEntity<?> resposta = (ResponseEntity<?>) resultado.getResult();
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(resposta.getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a próxima alteração e responder apenas com ela")
+    void deveAguardarProximaAlteracao() throws InterruptedException {
+        // Arrange
+        long versaoCliente = filaAtendimentoMedico.versao(1L);
+        DeferredResult<ResponseEntity<FilaVersionadaDTO<PacienteFilaDTO>>> resultado =
+                aguardador.aguardarFilaMedico(1L, versaoCliente, 10_000L);
+        assertThat(resultado.hasResult()).isFalse();
+
+        // Act
+        filaAtendimentoMedico.adicionar(new PacienteFilaDTO(2L, "Bruno", 1L, 20L, "EMERGENCIA"));
+
+        // Assert
+        for (int i = 0; i < 200 && !resultado.hasResult(); i++) {
+            Thread.sleep(10);
+        }
+        @SuppressWarnings("unchecked")
+        ResponseEntity<FilaVersionadaDTO<PacienteFilaDTO>> resposta =
+                (ResponseEntity<FilaVersionadaDTO<PacienteFilaDTO>>) resultado.getResult();
+        assertThat(resposta).isNotNull();
+        assertThat(resposta.getBody().isCompleta()).isFalse();
+        assertThat(resposta.getBody().getAlteracoes()).hasSize(1);
+        assertThat(resposta.getBody().getVersao()).isEqualTo(versaoCliente + 1);
+    }
+
+    @Test
+    @DisplayName("Não deve acordar clientes aguardando a fila de outro médico")
+    void naoDeveAcordarOutroMedico() throws InterruptedException {
+        // Arrange
+        DeferredResult<ResponseEntity<FilaVersionadaDTO<PacienteFilaDTO>>> resultado =
+                aguardador.aguardarFilaMedico(1L, filaAtendimentoMedico.versao(1L), 10_000L);
+
+        // Act
+        filaAtendimentoMedico.adicionar(new PacienteFilaDTO(3L, "Carla", 2L, 30L, "URGENTE"));
+        Thread.sleep(100);
+
+        // Assert
+        assertThat(resultado.hasResult()).isFalse();
+    }
+}
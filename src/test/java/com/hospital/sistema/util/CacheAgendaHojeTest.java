@@ -0,0 +1,194 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.ConsultaResponse;
+import com.hospital.sistema.entity.Consulta;
+import com.hospital.sistema.entity.Especialidade;
+import com.hospital.sistema.entity.Medico;
+import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.entity.TipoConsulta;
+import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.repository.ConsultaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para CacheAgendaHoje.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheAgendaHoje")
+class CacheAgendaHojeTest {
+
+    @Mock
+    private ConsultaRepository consultaRepository;
+
+    private final LocalDate hoje = LocalDate.now();
+
+    private CacheAgendaHoje criarCache(boolean habilitado, long validadeMs) {
+        return new CacheAgendaHoje(consultaRepository, habilitado, validadeMs);
+    }
+
+    private ConsultaResponse resumo(Long id, LocalTime horaInicio) {
+        return new ConsultaResponse(id, "Paciente " + id, "Dr. Carlos", "Clínica Geral", "Rotina",
+                hoje, horaInicio, horaInicio.plusMinutes(30), StatusConsulta.AGENDADA);
+    }
+
+    private Consulta consulta(Long id, LocalDate data, LocalTime horaInicio, StatusConsulta status) {
+        Especialidade especialidade = new Especialidade();
+        especialidade.setNome("Clínica Geral");
+        Medico medico = new Medico();
+        medico.setNome("Dr. Carlos");
+        medico.setEspecialidade(especialidade);
+        Paciente paciente = new Paciente();
+        paciente.setNome("Paciente " + id);
+        TipoConsulta tipoConsulta = new TipoConsulta();
+        tipoConsulta.setNome("Rotina");
+
+        Consulta consulta = new Consulta();
+        consulta.setId(id);
+        consulta.setPaciente(paciente);
+        consulta.setMedico(medico);
+        consulta.setTipoConsulta(tipoConsulta);
+        consulta.setData(data);
+        consulta.setHoraInicio(horaInicio);
+        consulta.setHoraFim(horaInicio.plusMinutes(30));
+        consulta.setStatus(status);
+        return consulta;
+    }
+
+    private static List<Long> ids(List<ConsultaResponse> consultas) {
+        return consultas.stream().map(ConsultaResponse::getId).toList();
+    }
+
+    @Nested
+    @DisplayName("consultas")
+    class ConsultasTests {
+
+        @Test
+        @DisplayName("Deve carregar a agenda uma vez e reutilizar o mesmo retrato")
+        void deveCarregarUmaVez() {
+            // Arrange
+            CacheAgendaHoje cache = criarCache(true, 60_000L);
+            when(consultaRepository.buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA))
+                    .thenReturn(List.of(resumo(1L, LocalTime.of(9, 0))));
+
+            // Act
+            List<ConsultaResponse> primeira = cache.consultas();
+            List<ConsultaResponse> segunda = cache.consultas();
+
+            // Assert
+            assertThat(segunda).isSameAs(primeira);
+            assertThatThrownBy(() -> segunda.add(resumo(2L, LocalTime.of(10, 0))))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            verify(consultaRepository, times(1)).buscarResumoPorDataEStatus(any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve recarregar após a validade ou a invalidação")
+        void deveRecarregarAposValidadeOuInvalidacao() {
+            // Arrange
+            CacheAgendaHoje expirado = criarCache(true, 0L);
+            CacheAgendaHoje invalidado = criarCache(true, 60_000L);
+            when(consultaRepository.buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA)).thenReturn(List.of());
+
+            // Act
+            expirado.consultas();
+            expirado.consultas();
+            invalidado.consultas();
+            invalidado.invalidar();
+            invalidado.consultas();
+
+            // Assert
+            verify(consultaRepository, times(4)).buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA);
+        }
+
+        @Test
+        @DisplayName("Deve ir sempre ao banco quando desabilitado")
+        void deveIrAoBancoQuandoDesabilitado() {
+            // Arrange
+            CacheAgendaHoje cache = criarCache(false, 60_000L);
+            when(consultaRepository.buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA))
+                    .thenReturn(List.of(resumo(1L, LocalTime.of(9, 0))));
+
+            // Act
+            cache.consultas();
+            cache.atualizarAposCommit(consulta(2L, hoje, LocalTime.of(8, 0), StatusConsulta.AGENDADA));
+            List<ConsultaResponse> consultas = cache.consultas();
+
+            // Assert
+            assertThat(ids(consultas)).containsExactly(1L);
+            verify(consultaRepository, times(2)).buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA);
+        }
+    }
+
+    @Nested
+    @DisplayName("Atualização incremental")
+    class AtualizacaoTests {
+
+        @Test
+        @DisplayName("Deve incluir consulta agendada para hoje em ordem de horário sem consultar o banco")
+        void deveIncluirConsultaAgendada() {
+            // Arrange
+            CacheAgendaHoje cache = criarCache(true, 60_000L);
+            when(consultaRepository.buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA))
+                    .thenReturn(List.of(resumo(1L, LocalTime.of(9, 0)), resumo(2L, LocalTime.of(11, 0))));
+            cache.consultas();
+
+            // Act
+            cache.atualizarAposCommit(consulta(3L, hoje, LocalTime.of(10, 0), StatusConsulta.AGENDADA));
+            cache.atualizarAposCommit(consulta(4L, hoje.plusDays(1), LocalTime.of(8, 0), StatusConsulta.AGENDADA));
+            List<ConsultaResponse> consultas = cache.consultas();
+
+            // Assert
+            assertThat(ids(consultas)).containsExactly(1L, 3L, 2L);
+            assertThat(consultas.get(1).getEspecialidade()).isEqualTo("Clínica Geral");
+            assertThat(consultas.get(1).getStatus()).isEqualTo(StatusConsulta.AGENDADA.getDescricao());
+            verify(consultaRepository, times(1)).buscarResumoPorDataEStatus(any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve retirar consulta cancelada ou que mudou de status")
+        void deveRetirarConsultaQueSaiuDeAgendada() {
+            // Arrange
+            CacheAgendaHoje cache = criarCache(true, 60_000L);
+            when(consultaRepository.buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA)).thenReturn(List.of(
+                    resumo(1L, LocalTime.of(9, 0)), resumo(2L, LocalTime.of(10, 0)), resumo(3L, LocalTime.of(11, 0))));
+            cache.consultas();
+
+            // Act
+            cache.removerAposCommit(1L);
+            cache.atualizarAposCommit(consulta(3L, hoje, LocalTime.of(11, 0), StatusConsulta.EM_TRIAGEM));
+
+            // Assert
+            assertThat(ids(cache.consultas())).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Deve ignorar alterações antes da primeira carga")
+        void deveIgnorarAlteracoesSemAgenda() {
+            // Arrange
+            CacheAgendaHoje cache = criarCache(true, 60_000L);
+            cache.atualizarAposCommit(consulta(1L, hoje, LocalTime.of(9, 0), StatusConsulta.AGENDADA));
+            when(consultaRepository.buscarResumoPorDataEStatus(hoje, StatusConsulta.AGENDADA))
+                    .thenReturn(List.of(resumo(1L, LocalTime.of(9, 0))));
+
+            // Act
+            List<ConsultaResponse> consultas = cache.consultas();
+
+            // Assert
+            assertThat(ids(consultas)).containsExactly(1L);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.exception.ServicoSobrecarregadoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para CodificadorSenha.
+ */
+@DisplayName("CodificadorSenha")
+class CodificadorSenhaTest {
+
+    private CodificadorSenha codificador = new CodificadorSenha(1_000, 2, 16, 5_000L);
+
+    @AfterEach
+    void tearDown() {
+        codificador.encerrar();
+    }
+
+    @Nested
+    @DisplayName("Verificação")
+    class VerificacaoTests {
+
+        @Test
+        @DisplayName("Deve verificar hash PBKDF2 autodescritivo")
+        void deveVerificarHashPbkdf2() {
+            // Arrange
+            String hash = codificador.codificar("senha123");
+
+            // Act & Assert
+            assertThat(hash).startsWith("$pbkdf2-sha256$1000$");
+            assertThat(codificador.verificar("senha123", hash)).isTrue();
+            assertThat(codificador.verificar("senha124", hash)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve verificar hash gerado com outro custo")
+        void deveVerificarHashComOutroCusto() {
+            // Arrange
+            String hash = new Pbkdf2Senha(2_000).gerar("senha123");
+
+            // Act & Assert
+            assertThat(codificador.verificar("senha123", hash)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve aceitar SHA-256 legado e texto plano")
+        void deveAceitarFormatosLegados() {
+            // Act & Assert
+            assertThat(codificador.verificar("senha123", SenhaUtils.criptografarSha256("senha123"))).isTrue();
+            assertThat(codificador.verificar("senha123", "senha123")).isTrue();
+            assertThat(codificador.verificar("senha123", "outra")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve recusar o próprio digest SHA-256 enviado como senha")
+        void deveRecusarDigestEnviadoComoSenha() {
+            // Arrange
+            String base64 = SenhaUtils.criptografarSha256("senha123");
+            String hex = SenhaUtils.criptografarSha256Hex("senha123");
+
+            // Act & Assert
+            assertThat(codificador.verificar(base64, base64)).isFalse();
+            assertThat(codificador.verificar(hex, hex)).isFalse();
+            assertThat(codificador.verificar("senha123", hex)).isTrue();
+            assertThat(codificador.verificar("senha123", hex.toUpperCase())).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve informar o formato que aceitou a senha")
+        void deveInformarFormato() {
+            // Act & Assert
+            assertThat(codificador.verificarFormato("senha123", codificador.codificar("senha123")))
+                    .contains(CodificadorSenha.FormatoSenha.PBKDF2);
+            assertThat(codificador.verificarFormato("senha123", SenhaUtils.criptografarSha256Hex("senha123")))
+                    .contains(CodificadorSenha.FormatoSenha.SHA256_LEGADO);
+            assertThat(codificador.verificarFormato("senha123", "senha123"))
+                    .contains(CodificadorSenha.FormatoSenha.TEXTO_PLANO);
+            assertThat(codificador.verificarFormato("outra", "senha123")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar hash PBKDF2 malformado")
+        void deveRejeitarHashMalformado() {
+            // Act & Assert
+            assertThat(codificador.verificar("senha123", "$pbkdf2-sha256$1000$???")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Atualização de hash")
+    class PrecisaAtualizarTests {
+
+        @Test
+        @DisplayName("Deve pedir atualização de hashes legados e de custo diferente")
+        void devePedirAtualizacao() {
+            // Act & Assert
+            assertThat(codificador.precisaAtualizar("senha123")).isTrue();
+            assertThat(codificador.precisaAtualizar(SenhaUtils.criptografarSha256("senha123"))).isTrue();
+            assertThat(codificador.precisaAtualizar(new Pbkdf2Senha(2_000).gerar("senha123"))).isTrue();
+            assertThat(codificador.precisaAtualizar(codificador.codificar("senha123"))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Pool de verificação")
+    class PoolTests {
+
+        @Test
+        @DisplayName("Deve recusar verificações quando o pool está saturado")
+        void deveRecusarQuandoSaturado() throws Exception {
+            // Arrange - uma thread, fila de uma posição e custo alto
+            codificador.encerrar();
+            codificador = new CodificadorSenha(2_000_000, 1, 1, 60_000L);
+            String hash = codificador.codificar("senha");
+            ExecutorService clientes = Executors.newFixedThreadPool(2);
+            List<CompletableFuture<Boolean>> ocupando = new ArrayList<>();
+
+            try {
+                // Act - ocupa a thread e a posição da fila
+                for (int i = 0; i < 2; i++) {
+                    ocupando.add(CompletableFuture.supplyAsync(() -> codificador.verificar("senha", hash), clientes));
+                    TimeUnit.MILLISECONDS.sleep(200);
+                }
+
+                // Assert
+                assertThatThrownBy(() -> codificador.verificar("senha", hash))
+                        .isInstanceOf(ServicoSobrecarregadoException.class);
+            } finally {
+                codificador.encerrar();
+                clientes.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.hospital.sistema.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.sistema.dto.EntradaFilaTriagem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para DifusorEventosFila.
+ */
+@DisplayName("DifusorEventosFila")
+class DifusorEventosFilaTest {
+
+    private static final Pattern NOME_EVENTO = Pattern.compile("event:(\\w+)");
+    private static final Pattern VERSAO = Pattern.compile("\"versao\":(\\d+)");
+
+    private FilaTriagem filaTriagem;
+    private DifusorEventosFila difusor;
+    private final List<CountDownLatch> liberacoes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        filaTriagem = new FilaTriagem();
+        difusor = new DifusorEventosFila(new ObjectMapper().findAndRegisterModules(), filaTriagem,
+                new FilaAtendimentoMedico(), 60_000L, 2, 4, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberacoes.forEach(CountDownLatch::countDown);
+        difusor.encerrar();
+    }
+
+    private void adicionarPaciente(long id) {
+        filaTriagem.adicionar(new EntradaFilaTriagem(id, "Paciente " + id, id * 10, LocalDateTime.now(), "DOC" + id));
+    }
+
+    private EmissorDeTeste emissorBloqueado() {
+        CountDownLatch liberacao = new CountDownLatch(1);
+        liberacoes.add(liberacao);
+        return new EmissorDeTeste(liberacao);
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("tempo de espera esgotado").isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+
+    private static String nome(String evento) {
+        Matcher matcher = NOME_EVENTO.matcher(evento);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static long versao(String evento) {
+        Matcher matcher = VERSAO.matcher(evento);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    @Test
+    @DisplayName("Deve enviar a fila atual com a versão antes das alterações seguintes")
+    void deveEnviarSnapshotAntesDasAlteracoes() throws Exception {
+        // Arrange
+        adicionarPaciente(1L);
+        adicionarPaciente(2L);
+        long versaoInicial = filaTriagem.versao();
+        EmissorDeTeste emissor = emissorBloqueado();
+
+        // Act - a alteração chega enquanto o envio da fila atual está parado
+        difusor.assinarFilaTriagem(emissor);
+        assertThat(emissor.bloqueado.await(5, TimeUnit.SECONDS)).isTrue();
+        adicionarPaciente(3L);
+        emissor.liberacao.countDown();
+        aguardar(() -> emissor.eventos.size() == 2);
+
+        // Assert
+        assertThat(emissor.eventos).extracting(DifusorEventosFilaTest::nome).containsExactly("SNAPSHOT", "ADICIONADO");
+        assertThat(versao(emissor.eventos.get(0))).isEqualTo(versaoInicial);
+        assertThat(emissor.eventos.get(0)).contains("Paciente 2").doesNotContain("Paciente 3");
+        assertThat(versao(emissor.eventos.get(1))).isGreaterThan(versaoInicial);
+    }
+
+    @Test
+    @DisplayName("Deve desconectar o assinante cuja fila de saída enche")
+    void deveDesconectarAssinanteQuandoFilaEnche() throws Exception {
+        // Arrange
+        EmissorDeTeste lento = emissorBloqueado();
+        difusor.assinarFilaTriagem(lento);
+        assertThat(lento.bloqueado.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act - limite de duas alterações pendentes
+        adicionarPaciente(1L);
+        adicionarPaciente(2L);
+        boolean conectadoNoLimite = !lento.concluido;
+        adicionarPaciente(3L);
+
+        // Assert
+        assertThat(conectadoNoLimite).isTrue();
+        assertThat(lento.concluido).isTrue();
+    }
+
+    @Test
+    @DisplayName("Não deve atrasar os demais assinantes por causa de um cliente parado")
+    void naoDeveAtrasarDemaisAssinantes() throws Exception {
+        // Arrange
+        EmissorDeTeste parado = emissorBloqueado();
+        EmissorDeTeste rapido = new EmissorDeTeste(null);
+        difusor.assinarFilaTriagem(parado);
+        difusor.assinarFilaTriagem(rapido);
+        assertThat(parado.bloqueado.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        adicionarPaciente(1L);
+        adicionarPaciente(2L);
+
+        // Assert
+        aguardar(() -> rapido.eventos.size() == 3);
+        assertThat(rapido.eventos).extracting(DifusorEventosFilaTest::nome)
+                .containsExactly("SNAPSHOT", "ADICIONADO", "ADICIONADO");
+        assertThat(parado.eventos).isEmpty();
+        assertThat(parado.concluido).isFalse();
+    }
+
+    /**
+     * Emissor que guarda o texto dos eventos e, opcionalmente, para no primeiro
+     * envio até ser liberado, como um cliente que não lê a conexão.
+     */
+    private static final class EmissorDeTeste extends SseEmitter {
+
+        private final List<String> eventos = new CopyOnWriteArrayList<>();
+        private final CountDownLatch liberacao;
+        private final CountDownLatch bloqueado = new CountDownLatch(1);
+        private volatile boolean concluido;
+
+        EmissorDeTeste(CountDownLatch liberacao) {
+            this.liberacao = liberacao;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> itens) throws IOException {
+            if (liberacao != null) {
+                bloqueado.countDown();
+                try {
+                    liberacao.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder texto = new StringBuilder();
+            itens.forEach(item -> texto.append(item.getData()));
+            eventos.add(texto.toString());
+        }
+
+        @Override
+        public void complete() {
+            concluido = true;
+            super.complete();
+        }
+    }
+}
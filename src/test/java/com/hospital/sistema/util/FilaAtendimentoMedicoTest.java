@@ -0,0 +1,525 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.EventoFilaDTO;
+import com.hospital.sistema.dto.FilaVersionadaDTO;
+import com.hospital.sistema.dto.PacienteFilaDTO;
+import com.hospital.sistema.enums.NivelUrgencia;
+import com.hospital.sistema.enums.TipoEventoFila;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Testes unitários para FilaAtendimentoMedico.
+ */
+@DisplayName("FilaAtendimentoMedico")
+class FilaAtendimentoMedicoTest {
+
+    private FilaAtendimentoMedico filaAtendimentoMedico;
+
+    @BeforeEach
+    void setUp() {
+        filaAtendimentoMedico = new FilaAtendimentoMedico();
+    }
+
+    private PacienteFilaDTO criarPaciente(Long id, String nome, Long medicoId, String nivelUrgencia) {
+        return new PacienteFilaDTO(id, nome, medicoId, id * 10, nivelUrgencia);
+    }
+
+    @Nested
+    @DisplayName("Adicionar paciente")
+    class AdicionarTests {
+
+        @Test
+        @DisplayName("Deve separar pacientes por médico")
+        void deveSepararPacientesPorMedico() {
+            // Act
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(2L, "Bruno", 2L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(3L, "Carla", 1L, "URGENTE"));
+
+            // Assert
+            assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                    .extracting(PacienteFilaDTO::getNome)
+                    .containsExactly("Ana", "Carla");
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(1L)).isEqualTo(2);
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(2L)).isEqualTo(1);
+            assertThat(filaAtendimentoMedico.listarTodos()).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("Deve ordenar por urgência e depois por chegada")
+        void deveOrdenarPorUrgenciaEChegada() {
+            // Act
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Não urgente", 1L, "NAO_URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(2L, "Urgente 1", 1L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(3L, "Emergência", 1L, "EMERGENCIA"));
+            filaAtendimentoMedico.adicionar(criarPaciente(4L, "Urgente 2", 1L, "URGENTE"));
+
+            // Assert
+            assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                    .extracting(PacienteFilaDTO::getNome)
+                    .containsExactly("Emergência", "Urgente 1", "Urgente 2", "Não urgente");
+        }
+
+        @Test
+        @DisplayName("Não deve duplicar paciente na fila do mesmo médico")
+        void naoDeveDuplicarPaciente() {
+            // Act
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "NAO_URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "EMERGENCIA"));
+
+            // Assert
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(1L)).isEqualTo(1);
+            assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                    .extracting(PacienteFilaDTO::getNivelUrgencia)
+                    .containsExactly("EMERGENCIA");
+        }
+
+        @Test
+        @DisplayName("Não deve adicionar paciente nulo ou sem médico")
+        void naoDeveAdicionarPacienteInvalido() {
+            // Act
+            filaAtendimentoMedico.adicionar(null);
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", null, "URGENTE"));
+
+            // Assert
+            assertThat(filaAtendimentoMedico.listarTodos()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Remover paciente")
+    class RemoverTests {
+
+        @Test
+        @DisplayName("Deve remover paciente apenas da fila do médico informado")
+        void deveRemoverDaFilaDoMedico() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 2L, "URGENTE"));
+
+            // Act
+            filaAtendimentoMedico.remover(1L, 1L);
+
+            // Assert
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(1L)).isZero();
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(2L)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve remover paciente de todas as filas")
+        void deveRemoverDeTodasAsFilas() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 2L, "URGENTE"));
+
+            // Act
+            filaAtendimentoMedico.remover(1L);
+
+            // Assert
+            assertThat(filaAtendimentoMedico.listarTodos()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve retornar tamanho zero para médico sem fila")
+        void deveRetornarTamanhoZeroParaMedicoSemFila() {
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(999L)).isZero();
+            assertThat(filaAtendimentoMedico.listarPorMedico(999L)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Chamar próximo paciente")
+    class ChamarProximoTests {
+
+        @Test
+        @DisplayName("Nunca deve entregar o mesmo paciente a dois dispositivos do mesmo médico")
+        void naoDeveEntregarPacienteDuasVezes() throws Exception {
+            // Arrange
+            int pacientes = 5_000;
+            int dispositivos = 8;
+            for (long id = 1; id <= pacientes; id++) {
+                filaAtendimentoMedico.adicionar(criarPaciente(id, "P" + id, 1L, "URGENTE"));
+            }
+            Set<Long> chamados = ConcurrentHashMap.newKeySet();
+            List<Long> duplicados = new CopyOnWriteArrayList<>();
+            ExecutorService executor = Executors.newFixedThreadPool(dispositivos);
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<?>> futuros = new ArrayList<>();
+
+            // Act
+            try {
+                for (int i = 0; i < dispositivos; i++) {
+                    futuros.add(executor.submit(() -> {
+                        largada.await();
+                        Optional<PacienteFilaDTO> proximo;
+                        while ((proximo = filaAtendimentoMedico.chamarProximo(1L, p -> true)).isPresent()) {
+                            if (!chamados.add(proximo.get().getId())) {
+                                duplicados.add(proximo.get().getId());
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                largada.countDown();
+                for (Future<?> futuro : futuros) {
+                    futuro.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // Assert
+            assertThat(duplicados).isEmpty();
+            assertThat(chamados).hasSize(pacientes);
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(1L)).isZero();
+        }
+
+        @Test
+        @DisplayName("Não deve afetar a fila de outro médico")
+        void naoDeveAfetarOutroMedico() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(2L, "Bruno", 2L, "EMERGENCIA"));
+
+            // Act
+            Optional<PacienteFilaDTO> proximo = filaAtendimentoMedico.chamarProximo(1L, p -> true);
+
+            // Assert
+            assertThat(proximo).map(PacienteFilaDTO::getNome).contains("Ana");
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(2L)).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Roubo de trabalho")
+    class RoubarDeTests {
+
+        @Test
+        @DisplayName("Deve retirar da fila mais longa o último paciente do nível mais urgente")
+        void deveRetirarDaFilaMaisLonga() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 2L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(2L, "Bruno", 2L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(3L, "Carla", 3L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(4L, "Davi", 3L, "MUITO_URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(5L, "Elisa", 3L, "MUITO_URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(6L, "Fábio", 3L, "POUCO_URGENTE"));
+
+            // Act
+            Optional<PacienteFilaDTO> roubado = filaAtendimentoMedico.roubarDe(List.of(2L, 3L), 2, p -> true);
+
+            // Assert
+            assertThat(roubado).map(PacienteFilaDTO::getNome).contains("Elisa");
+            assertThat(filaAtendimentoMedico.listarPorMedico(3L))
+                    .extracting(PacienteFilaDTO::getNome)
+                    .containsExactly("Davi", "Carla", "Fábio");
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(2L)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Não deve retirar de filas abaixo do tamanho mínimo")
+        void naoDeveRetirarAbaixoDoMinimo() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 2L, "URGENTE"));
+
+            // Act
+            Optional<PacienteFilaDTO> roubado = filaAtendimentoMedico.roubarDe(List.of(2L, 3L), 2, p -> true);
+
+            // Assert
+            assertThat(roubado).isEmpty();
+            assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(2L)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve devolver o paciente à fila do colega quando a confirmação falha")
+        void deveDevolverPacienteQuandoConfirmacaoFalha() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 2L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(2L, "Bruno", 2L, "URGENTE"));
+
+            // Act & Assert
+            assertThatThrownBy(() -> filaAtendimentoMedico.roubarDe(List.of(2L), 2, p -> {
+                throw new IllegalStateException("Banco indisponível");
+            })).isInstanceOf(IllegalStateException.class);
+            assertThat(filaAtendimentoMedico.listarPorMedico(2L))
+                    .extracting(PacienteFilaDTO::getNome)
+                    .containsExactly("Ana", "Bruno");
+        }
+    }
+
+    @Nested
+    @DisplayName("Notificação de alterações")
+    class NotificacaoTests {
+
+        @Test
+        @DisplayName("Deve notificar inclusão, reordenação e remoção com a chave de ordenação")
+        void deveNotificarAlteracoes() {
+            // Arrange
+            List<EventoFilaDTO> eventos = new ArrayList<>();
+            filaAtendimentoMedico.registrarOuvinte(eventos::add);
+
+            // Act
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "NAO_URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "EMERGENCIA"));
+            filaAtendimentoMedico.remover(1L, 1L);
+
+            // Assert
+            assertThat(eventos).extracting(EventoFilaDTO::getTipo).containsExactly(
+                    TipoEventoFila.ADICIONADO, TipoEventoFila.REORDENADO, TipoEventoFila.REMOVIDO);
+            assertThat(eventos).extracting(EventoFilaDTO::getMedicoId).containsOnly(1L);
+            assertThat(eventos.get(1).getPrioridade()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Versionamento")
+    class VersionamentoTests {
+
+        @Test
+        @DisplayName("Deve versionar cada médico de forma independente")
+        void deveVersionarPorMedico() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "URGENTE"));
+            long versaoMedico1 = filaAtendimentoMedico.versao(1L);
+
+            // Act
+            filaAtendimentoMedico.adicionar(criarPaciente(2L, "Bruno", 2L, "URGENTE"));
+
+            // Assert
+            assertThat(filaAtendimentoMedico.versao(1L)).isEqualTo(versaoMedico1);
+            assertThat(filaAtendimentoMedico.versao(999L)).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve retornar apenas as alterações posteriores à versão do cliente")
+        void deveRetornarAlteracoes() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "URGENTE"));
+            long versaoCliente = filaAtendimentoMedico.versao(1L);
+            filaAtendimentoMedico.adicionar(criarPaciente(2L, "Bruno", 1L, "EMERGENCIA"));
+
+            // Act
+            FilaVersionadaDTO<PacienteFilaDTO> resultado = filaAtendimentoMedico.consultarDesde(1L, versaoCliente);
+
+            // Assert
+            assertThat(resultado.isCompleta()).isFalse();
+            assertThat(resultado.getVersao()).isEqualTo(versaoCliente + 1);
+            assertThat(resultado.getAlteracoes())
+                    .extracting(EventoFilaDTO::getPacienteId)
+                    .containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Deve retornar a fila completa para versão desconhecida")
+        void deveRetornarFilaCompleta() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Ana", 1L, "URGENTE"));
+
+            // Act
+            FilaVersionadaDTO<PacienteFilaDTO> resultado = filaAtendimentoMedico.consultarDesde(1L, 0L);
+
+            // Assert
+            assertThat(resultado.isCompleta()).isTrue();
+            assertThat(resultado.getVersao()).isEqualTo(filaAtendimentoMedico.versao(1L));
+            assertThat(resultado.getPacientes()).extracting(PacienteFilaDTO::getNome).containsExactly("Ana");
+        }
+    }
+
+    @Nested
+    @DisplayName("Escalonamento por tempo de espera")
+    class EscalonamentoTests {
+
+        private RelogioAjustavel relogio;
+
+        @BeforeEach
+        void setUp() {
+            relogio = new RelogioAjustavel();
+            filaAtendimentoMedico = new FilaAtendimentoMedico(relogio);
+        }
+
+        @Test
+        @DisplayName("Deve escalar paciente que excedeu o tempo máximo do seu nível")
+        void deveEscalarPacienteAtrasado() {
+            // Arrange
+            List<EventoFilaDTO> eventos = new ArrayList<>();
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Urgente", 1L, "URGENTE"));
+            relogio.avancar(Duration.ofMinutes(5));
+            filaAtendimentoMedico.adicionar(criarPaciente(2L, "Muito urgente", 1L, "MUITO_URGENTE"));
+            filaAtendimentoMedico.registrarOuvinte(eventos::add);
+
+            // Act - 60 minutos de espera para o urgente, 55 para o muito urgente
+            relogio.avancar(Duration.ofMinutes(55));
+            filaAtendimentoMedico.verificarEsperas();
+
+            // Assert - ambos escalados; o urgente sobe para o nível do muito urgente e chegou antes
+            assertThat(eventos).extracting(EventoFilaDTO::getTipo)
+                    .containsOnly(TipoEventoFila.ESCALADO);
+            assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                    .extracting(PacienteFilaDTO::getNome, PacienteFilaDTO::isEscalado)
+                    .containsExactly(tuple("Muito urgente", true), tuple("Urgente", true));
+        }
+
+        @Test
+        @DisplayName("Deve continuar escalando enquanto o paciente espera, até emergência")
+        void deveEscalarNivelPorNivel() {
+            // Arrange
+            List<EventoFilaDTO> eventos = new ArrayList<>();
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Urgente", 1L, "URGENTE"));
+            filaAtendimentoMedico.registrarOuvinte(eventos::add);
+
+            // Act - 60 minutos no nível urgente e depois 10 no muito urgente
+            relogio.avancar(Duration.ofMinutes(60));
+            filaAtendimentoMedico.verificarEsperas();
+            relogio.avancar(Duration.ofMinutes(10));
+            filaAtendimentoMedico.verificarEsperas();
+            relogio.avancar(Duration.ofHours(4));
+            filaAtendimentoMedico.verificarEsperas();
+
+            // Assert
+            assertThat(eventos).extracting(EventoFilaDTO::getTipo, EventoFilaDTO::getPrioridade)
+                    .containsExactly(
+                            tuple(TipoEventoFila.ESCALADO, NivelUrgencia.MUITO_URGENTE.getPrioridade()),
+                            tuple(TipoEventoFila.ESCALADO, NivelUrgencia.EMERGENCIA.getPrioridade()));
+        }
+
+        @Test
+        @DisplayName("Deve escalar ao restaurar paciente cujo prazo venceu durante a confirmação")
+        void deveEscalarAoRestaurarComPrazoVencido() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Urgente", 1L, "URGENTE"));
+
+            // Act - o prazo vence enquanto o paciente está retirado; a confirmação falha
+            assertThatThrownBy(() -> filaAtendimentoMedico.chamarProximo(1L, paciente -> {
+                relogio.avancar(Duration.ofMinutes(60));
+                filaAtendimentoMedico.verificarEsperas();
+                throw new IllegalStateException("falha na confirmação");
+            })).isInstanceOf(IllegalStateException.class);
+
+            // Assert
+            assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                    .extracting(PacienteFilaDTO::getNome, PacienteFilaDTO::isEscalado)
+                    .containsExactly(tuple("Urgente", true));
+        }
+
+        @Test
+        @DisplayName("Não deve escalar antes do tempo máximo nem emergências")
+        void naoDeveEscalarAntesDoTempo() {
+            // Arrange
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Urgente", 1L, "URGENTE"));
+            filaAtendimentoMedico.adicionar(criarPaciente(2L, "Emergência", 1L, "EMERGENCIA"));
+
+            // Act
+            relogio.avancar(Duration.ofMinutes(59));
+            filaAtendimentoMedico.verificarEsperas();
+
+            // Assert
+            assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                    .extracting(PacienteFilaDTO::isEscalado)
+                    .containsOnly(false);
+        }
+
+        @Test
+        @DisplayName("Não deve escalar paciente que já saiu da fila")
+        void naoDeveEscalarPacienteRemovido() {
+            // Arrange
+            List<EventoFilaDTO> eventos = new ArrayList<>();
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Urgente", 1L, "URGENTE"));
+            filaAtendimentoMedico.remover(1L, 1L);
+            filaAtendimentoMedico.registrarOuvinte(eventos::add);
+
+            // Act
+            relogio.avancar(Duration.ofHours(2));
+            filaAtendimentoMedico.verificarEsperas();
+
+            // Assert
+            assertThat(eventos).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve contar a espera a partir da entrada original ao reconstruir a fila")
+        void deveContarEsperaDaEntradaOriginal() {
+            // Arrange
+            LocalDateTime entrada = LocalDateTime.now(relogio).minusMinutes(15);
+
+            // Act
+            filaAtendimentoMedico.adicionar(criarPaciente(1L, "Muito urgente", 1L, "MUITO_URGENTE"), entrada);
+            relogio.avancar(Duration.ofSeconds(1));
+            filaAtendimentoMedico.verificarEsperas();
+
+            // Assert
+            assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                    .extracting(PacienteFilaDTO::isEscalado)
+                    .containsExactly(true);
+        }
+    }
+
+    @Nested
+    @DisplayName("Acesso concorrente")
+    class ConcorrenciaTests {
+
+        @Test
+        @DisplayName("Deve manter tamanhos corretos com médicos operando em paralelo")
+        void deveManterTamanhosCorretos() throws Exception {
+            // Arrange
+            int medicos = 8;
+            int pacientesPorMedico = 2_000;
+            ExecutorService executor = Executors.newFixedThreadPool(medicos);
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<?>> futuros = new ArrayList<>();
+
+            // Act - cada médico recebe pacientes e atende metade deles
+            try {
+                for (long medicoId = 1; medicoId <= medicos; medicoId++) {
+                    long medico = medicoId;
+                    futuros.add(executor.submit(() -> {
+                        largada.await();
+                        for (long i = 1; i <= pacientesPorMedico; i++) {
+                            long pacienteId = medico * 100_000 + i;
+                            filaAtendimentoMedico.adicionar(criarPaciente(pacienteId, "P" + pacienteId, medico, "URGENTE"));
+                            if (i % 2 == 0) {
+                                filaAtendimentoMedico.remover(medico, pacienteId);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                largada.countDown();
+                for (Future<?> futuro : futuros) {
+                    futuro.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // Assert
+            for (long medicoId = 1; medicoId <= medicos; medicoId++) {
+                assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(medicoId)).isEqualTo(pacientesPorMedico / 2);
+                assertThat(filaAtendimentoMedico.listarPorMedico(medicoId))
+                        .hasSize(pacientesPorMedico / 2)
+                        .extracting(PacienteFilaDTO::getId)
+                        .doesNotHaveDuplicates();
+            }
+        }
+    }
+}
@@ -1,14 +1,31 @@
 package com.hospital.sistema.util;
 
-import com.hospital.sistema.entity.Paciente;
+import com.hospital.sistema.dto.EntradaFilaTriagem;
+import com.hospital.sistema.dto.EventoFilaDTO;
+import com.hospital.sistema.dto.FilaVersionadaDTO;
+import com.hospital.sistema.dto.PacienteTriagemResponse;
+import com.hospital.sistema.enums.TipoEventoFila;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 /**
  * Testes unitários para FilaTriagem.
@@ -23,11 +40,8 @@ class FilaTriagemTest {
         filaTriagem = new FilaTriagem();
     }
 
-    private Paciente criarPaciente(Long id, String nome) {
-        Paciente paciente = new Paciente();
-        paciente.setId(id);
-        paciente.setNome(nome);
-        return paciente;
+    private EntradaFilaTriagem criarPaciente(Long id, String nome) {
+        return new EntradaFilaTriagem(id, nome, id * 10, LocalDateTime.now(), "DOC" + id);
     }
 
     @Nested
@@ -38,7 +52,7 @@ class FilaTriagemTest {
         @DisplayName("Deve adicionar paciente na fila")
         void deveAdicionarPaciente() {
             // Arrange
-            Paciente paciente = criarPaciente(1L, "João Silva");
+            EntradaFilaTriagem paciente = criarPaciente(1L, "João Silva");
 
             // Act
             filaTriagem.adicionar(paciente);
@@ -62,7 +76,7 @@ class FilaTriagemTest {
         @DisplayName("Não deve adicionar paciente duplicado")
         void naoDeveAdicionarPacienteDuplicado() {
             // Arrange
-            Paciente paciente = criarPaciente(1L, "João Silva");
+            EntradaFilaTriagem paciente = criarPaciente(1L, "João Silva");
 
             // Act
             filaTriagem.adicionar(paciente);
@@ -76,9 +90,9 @@ class FilaTriagemTest {
         @DisplayName("Deve manter ordem de inserção")
         void deveManterOrdemDeInsercao() {
             // Arrange
-            Paciente paciente1 = criarPaciente(1L, "Primeiro");
-            Paciente paciente2 = criarPaciente(2L, "Segundo");
-            Paciente paciente3 = criarPaciente(3L, "Terceiro");
+            EntradaFilaTriagem paciente1 = criarPaciente(1L, "Primeiro");
+            EntradaFilaTriagem paciente2 = criarPaciente(2L, "Segundo");
+            EntradaFilaTriagem paciente3 = criarPaciente(3L, "Terceiro");
 
             // Act
             filaTriagem.adicionar(paciente1);
@@ -87,7 +101,7 @@ class FilaTriagemTest {
 
             // Assert
             assertThat(filaTriagem.listarPacientes())
-                    .extracting(Paciente::getNome)
+                    .extracting(PacienteTriagemResponse::getNome)
                     .containsExactly("Primeiro", "Segundo", "Terceiro");
         }
     }
@@ -100,7 +114,7 @@ class FilaTriagemTest {
         @DisplayName("Deve remover paciente da fila")
         void deveRemoverPaciente() {
             // Arrange
-            Paciente paciente = criarPaciente(1L, "João Silva");
+            EntradaFilaTriagem paciente = criarPaciente(1L, "João Silva");
             filaTriagem.adicionar(paciente);
 
             // Act
@@ -115,7 +129,7 @@ class FilaTriagemTest {
         @DisplayName("Deve ignorar remoção de paciente inexistente")
         void deveIgnorarRemocaoDeInexistente() {
             // Arrange
-            Paciente paciente = criarPaciente(1L, "João Silva");
+            EntradaFilaTriagem paciente = criarPaciente(1L, "João Silva");
             filaTriagem.adicionar(paciente);
 
             // Act
@@ -134,13 +148,13 @@ class FilaTriagemTest {
         @DisplayName("Deve retornar primeiro paciente da fila")
         void deveRetornarPrimeiroPaciente() {
             // Arrange
-            Paciente paciente1 = criarPaciente(1L, "Primeiro");
-            Paciente paciente2 = criarPaciente(2L, "Segundo");
+            EntradaFilaTriagem paciente1 = criarPaciente(1L, "Primeiro");
+            EntradaFilaTriagem paciente2 = criarPaciente(2L, "Segundo");
             filaTriagem.adicionar(paciente1);
             filaTriagem.adicionar(paciente2);
 
             // Act
-            Optional<Paciente> proximo = filaTriagem.buscarProximo();
+            Optional<EntradaFilaTriagem> proximo = filaTriagem.buscarProximo();
 
             // Assert
             assertThat(proximo).isPresent();
@@ -151,7 +165,7 @@ class FilaTriagemTest {
         @DisplayName("Deve retornar empty quando fila está vazia")
         void deveRetornarEmptyQuandoFilaVazia() {
             // Act
-            Optional<Paciente> proximo = filaTriagem.buscarProximo();
+            Optional<EntradaFilaTriagem> proximo = filaTriagem.buscarProximo();
 
             // Assert
             assertThat(proximo).isEmpty();
@@ -166,7 +180,7 @@ class FilaTriagemTest {
         @DisplayName("Deve retornar cópia da lista")
         void deveRetornarCopiaDaLista() {
             // Arrange
-            Paciente paciente = criarPaciente(1L, "João");
+            EntradaFilaTriagem paciente = criarPaciente(1L, "João");
             filaTriagem.adicionar(paciente);
 
             // Act
@@ -192,7 +206,7 @@ class FilaTriagemTest {
         @DisplayName("Deve retornar true quando paciente existe")
         void deveRetornarTrueQuandoExiste() {
             // Arrange
-            Paciente paciente = criarPaciente(1L, "João");
+            EntradaFilaTriagem paciente = criarPaciente(1L, "João");
             filaTriagem.adicionar(paciente);
 
             // Assert
@@ -205,4 +219,313 @@ class FilaTriagemTest {
             assertThat(filaTriagem.contemPaciente(999L)).isFalse();
         }
     }
+
+    @Nested
+    @DisplayName("Notificação de alterações")
+    class NotificacaoTests {
+
+        @Test
+        @DisplayName("Deve notificar inclusão e remoção apenas quando a fila muda")
+        void deveNotificarAlteracoes() {
+            // Arrange
+            List<EventoFilaDTO> eventos = new ArrayList<>();
+            filaTriagem.registrarOuvinte(eventos::add);
+            EntradaFilaTriagem paciente = criarPaciente(1L, "João");
+
+            // Act
+            filaTriagem.adicionar(paciente);
+            filaTriagem.adicionar(paciente);
+            filaTriagem.remover(1L);
+            filaTriagem.remover(1L);
+
+            // Assert
+            assertThat(eventos).extracting(EventoFilaDTO::getTipo)
+                    .containsExactly(TipoEventoFila.ADICIONADO, TipoEventoFila.REMOVIDO);
+            assertThat(eventos).extracting(EventoFilaDTO::getPacienteId).containsOnly(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Versionamento")
+    class VersionamentoTests {
+
+        @Test
+        @DisplayName("Deve incrementar a versão apenas quando a fila muda")
+        void deveIncrementarVersao() {
+            // Arrange
+            long versaoInicial = filaTriagem.versao();
+            EntradaFilaTriagem paciente = criarPaciente(1L, "João");
+
+            // Act
+            filaTriagem.adicionar(paciente);
+            filaTriagem.adicionar(paciente);
+            filaTriagem.remover(2L);
+
+            // Assert
+            assertThat(filaTriagem.versao()).isEqualTo(versaoInicial + 1);
+        }
+
+        @Test
+        @DisplayName("Deve retornar apenas as alterações posteriores à versão do cliente")
+        void deveRetornarAlteracoes() {
+            // Arrange
+            filaTriagem.adicionar(criarPaciente(1L, "João"));
+            long versaoCliente = filaTriagem.versao();
+            filaTriagem.adicionar(criarPaciente(2L, "Maria"));
+            filaTriagem.remover(1L);
+
+            // Act
+            FilaVersionadaDTO<PacienteTriagemResponse> resultado = filaTriagem.consultarDesde(versaoCliente);
+
+            // Assert
+            assertThat(resultado.isCompleta()).isFalse();
+            assertThat(resultado.getVersao()).isEqualTo(filaTriagem.versao());
+            assertThat(resultado.getAlteracoes())
+                    .extracting(EventoFilaDTO::getTipo, EventoFilaDTO::getPacienteId)
+                    .containsExactly(
+                            tuple(TipoEventoFila.ADICIONADO, 2L),
+                            tuple(TipoEventoFila.REMOVIDO, 1L));
+        }
+
+        @Test
+        @DisplayName("Deve retornar lista vazia de alterações quando o cliente está atualizado")
+        void deveRetornarSemAlteracoes() {
+            // Arrange
+            filaTriagem.adicionar(criarPaciente(1L, "João"));
+
+            // Act
+            FilaVersionadaDTO<PacienteTriagemResponse> resultado = filaTriagem.consultarDesde(filaTriagem.versao());
+
+            // Assert
+            assertThat(resultado.isCompleta()).isFalse();
+            assertThat(resultado.getAlteracoes()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve retornar a fila completa quando o histórico não cobre a versão do cliente")
+        void deveRetornarFilaCompleta() {
+            // Arrange
+            long versaoCliente = filaTriagem.versao();
+            for (long id = 1; id <= 600; id++) {
+                filaTriagem.adicionar(criarPaciente(id, "P" + id));
+            }
+
+            // Act
+            FilaVersionadaDTO<PacienteTriagemResponse> antiga = filaTriagem.consultarDesde(versaoCliente);
+            FilaVersionadaDTO<PacienteTriagemResponse> futura = filaTriagem.consultarDesde(filaTriagem.versao() + 1);
+
+            // Assert
+            assertThat(antiga.isCompleta()).isTrue();
+            assertThat(antiga.getPacientes()).hasSize(600);
+            assertThat(futura.isCompleta()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Reserva por enfermeiro")
+    class ReservaTests {
+
+        private RelogioAjustavel relogio;
+
+        @BeforeEach
+        void setUp() {
+            relogio = new RelogioAjustavel();
+            filaTriagem = new FilaTriagem(relogio, Duration.ofMinutes(5));
+            filaTriagem.adicionar(criarPaciente(1L, "Ana"));
+            filaTriagem.adicionar(criarPaciente(2L, "Bruno"));
+        }
+
+        @Test
+        @DisplayName("Deve ocultar o paciente reservado dos demais enfermeiros")
+        void deveOcultarPacienteReservado() {
+            // Act
+            Optional<EntradaFilaTriagem> primeiro = filaTriagem.reservarProximo(10L);
+            Optional<EntradaFilaTriagem> segundo = filaTriagem.reservarProximo(20L);
+
+            // Assert
+            assertThat(primeiro).map(EntradaFilaTriagem::getNome).contains("Ana");
+            assertThat(segundo).map(EntradaFilaTriagem::getNome).contains("Bruno");
+            assertThat(filaTriagem.listarPacientes()).isEmpty();
+            assertThat(filaTriagem.tamanhoFila()).isZero();
+            assertThat(filaTriagem.quantidadeReservas()).isEqualTo(2);
+            assertThat(filaTriagem.reservarProximo(30L)).isEmpty();
+            assertThat(filaTriagem.contemPaciente(1L)).isTrue();
+            assertThat(filaTriagem.reservadoPorOutro(1L, 20L)).isTrue();
+            assertThat(filaTriagem.reservadoPorOutro(1L, 10L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve devolver o paciente à posição original quando a reserva expira")
+        void deveDevolverPacienteQuandoReservaExpira() {
+            // Arrange
+            filaTriagem.reservarProximo(10L);
+            relogio.avancar(Duration.ofMinutes(4));
+            assertThat(filaTriagem.liberarReservasExpiradas()).isZero();
+
+            // Act
+            relogio.avancar(Duration.ofMinutes(1));
+            int liberadas = filaTriagem.liberarReservasExpiradas();
+
+            // Assert
+            assertThat(liberadas).isEqualTo(1);
+            assertThat(filaTriagem.quantidadeReservas()).isZero();
+            assertThat(filaTriagem.listarPacientes())
+                    .extracting(PacienteTriagemResponse::getNome)
+                    .containsExactly("Ana", "Bruno");
+        }
+
+        @Test
+        @DisplayName("Deve liberar apenas a reserva do próprio enfermeiro")
+        void deveLiberarApenasReservaPropria() {
+            // Arrange
+            filaTriagem.reservarProximo(10L);
+
+            // Act
+            boolean liberadaPorOutro = filaTriagem.liberar(1L, 20L);
+            boolean liberadaPeloDono = filaTriagem.liberar(1L, 10L);
+
+            // Assert
+            assertThat(liberadaPorOutro).isFalse();
+            assertThat(liberadaPeloDono).isTrue();
+            assertThat(filaTriagem.buscarProximo()).map(EntradaFilaTriagem::getNome).contains("Ana");
+        }
+
+        @Test
+        @DisplayName("Deve encerrar a reserva quando a triagem remove o paciente")
+        void deveEncerrarReservaAoRemover() {
+            // Arrange
+            List<EventoFilaDTO> eventos = new ArrayList<>();
+            filaTriagem.reservarProximo(10L);
+            filaTriagem.registrarOuvinte(eventos::add);
+
+            // Act
+            filaTriagem.remover(1L);
+            relogio.avancar(Duration.ofMinutes(10));
+
+            // Assert
+            assertThat(filaTriagem.liberarReservasExpiradas()).isZero();
+            assertThat(filaTriagem.contemPaciente(1L)).isFalse();
+            assertThat(filaTriagem.quantidadeReservas()).isZero();
+            assertThat(eventos).extracting(EventoFilaDTO::getTipo, EventoFilaDTO::getPacienteId)
+                    .containsExactly(tuple(TipoEventoFila.REMOVIDO, 1L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Acesso concorrente")
+    class ConcorrenciaTests {
+
+        private static final int THREADS = 8;
+        private static final int PACIENTES_POR_THREAD = 2_000;
+
+        @Test
+        @DisplayName("Não deve perder nem duplicar pacientes sob inserções concorrentes")
+        void naoDevePerderNemDuplicarPacientes() throws Exception {
+            // Arrange - cada thread insere seu bloco e também o bloco da thread vizinha
+            int totalPacientes = THREADS * PACIENTES_POR_THREAD;
+
+            // Act
+            executarEmParalelo(indiceThread -> {
+                for (int i = 0; i < PACIENTES_POR_THREAD; i++) {
+                    long proprio = (long) indiceThread * PACIENTES_POR_THREAD + i + 1;
+                    long vizinho = (long) ((indiceThread + 1) % THREADS) * PACIENTES_POR_THREAD + i + 1;
+                    filaTriagem.adicionar(criarPaciente(proprio, "Paciente " + proprio));
+                    filaTriagem.adicionar(criarPaciente(vizinho, "Paciente " + vizinho));
+                }
+            });
+
+            // Assert
+            List<PacienteTriagemResponse> pacientes = filaTriagem.listarPacientes();
+            assertThat(filaTriagem.tamanhoFila()).isEqualTo(totalPacientes);
+            assertThat(pacientes).hasSize(totalPacientes);
+            assertThat(pacientes).extracting(PacienteTriagemResponse::getId).doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("Deve manter fila consistente com inserções e remoções concorrentes")
+        void deveManterFilaConsistenteComRemocoesConcorrentes() throws Exception {
+            // Arrange
+            int totalPacientes = THREADS * PACIENTES_POR_THREAD;
+
+            // Act - threads pares encaminham pacientes, threads ímpares concluem triagens
+            executarEmParalelo(indiceThread -> {
+                int bloco = indiceThread / 2;
+                for (int i = 0; i < PACIENTES_POR_THREAD * 2; i++) {
+                    long id = (long) bloco * PACIENTES_POR_THREAD * 2 + i + 1;
+                    if (indiceThread % 2 == 0) {
+                        filaTriagem.adicionar(criarPaciente(id, "Paciente " + id));
+                    } else if (id % 2 == 0) {
+                        filaTriagem.remover(id);
+                    }
+                }
+            });
+
+            // Remove os pares que possam ter sido adicionados depois da tentativa de remoção
+            for (long id = 2; id <= totalPacientes; id += 2) {
+                filaTriagem.remover(id);
+            }
+
+            // Assert - sobram exatamente os ímpares, cada um uma única vez
+            List<PacienteTriagemResponse> pacientes = filaTriagem.listarPacientes();
+            assertThat(filaTriagem.tamanhoFila()).isEqualTo(totalPacientes / 2);
+            assertThat(pacientes).hasSize(totalPacientes / 2);
+            assertThat(pacientes).extracting(PacienteTriagemResponse::getId)
+                    .doesNotHaveDuplicates()
+                    .allMatch(id -> id % 2 == 1);
+        }
+
+        @Test
+        @DisplayName("Nunca deve reservar o mesmo paciente para dois enfermeiros")
+        void naoDeveReservarPacienteDuasVezes() throws Exception {
+            // Arrange
+            int totalPacientes = THREADS * PACIENTES_POR_THREAD;
+            for (long id = 1; id <= totalPacientes; id++) {
+                filaTriagem.adicionar(criarPaciente(id, "Paciente " + id));
+            }
+            Set<Long> reservados = ConcurrentHashMap.newKeySet();
+            List<Long> duplicados = new CopyOnWriteArrayList<>();
+
+            // Act
+            executarEmParalelo(indiceThread -> {
+                Optional<EntradaFilaTriagem> proximo;
+                while ((proximo = filaTriagem.reservarProximo((long) indiceThread)).isPresent()) {
+                    if (!reservados.add(proximo.get().getPacienteId())) {
+                        duplicados.add(proximo.get().getPacienteId());
+                    }
+                }
+            });
+
+            // Assert
+            assertThat(duplicados).isEmpty();
+            assertThat(reservados).hasSize(totalPacientes);
+            assertThat(filaTriagem.quantidadeReservas()).isEqualTo(totalPacientes);
+        }
+
+        private void executarEmParalelo(TarefaThread tarefa) throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch largada = new CountDownLatch(1);
+            try {
+                List<Future<?>> futuros = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    int indiceThread = t;
+                    futuros.add(executor.submit(() -> {
+                        largada.await();
+                        tarefa.executar(indiceThread);
+                        return null;
+                    }));
+                }
+                largada.countDown();
+                for (Future<?> futuro : futuros) {
+                    futuro.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TarefaThread {
+        void executar(int indiceThread);
+    }
 }
@@ -0,0 +1,165 @@
+package com.hospital.sistema.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para IndiceNomesPacientes.
+ */
+@DisplayName("IndiceNomesPacientes")
+class IndiceNomesPacientesTest {
+
+    private IndiceNomesPacientes indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceNomesPacientes(20);
+        indice.indexar(1L, "Ana Conceição");
+        indice.indexar(2L, "João Silva");
+        indice.indexar(3L, "Maria João Santos");
+        indice.indexar(4L, "Sebastião Joãozinho");
+    }
+
+    @Nested
+    @DisplayName("Busca")
+    class BuscaTests {
+
+        @Test
+        @DisplayName("Deve ignorar acentos e maiúsculas no termo e no nome")
+        void deveIgnorarAcentosEMaiusculas() {
+            // Act & Assert
+            assertThat(indice.buscar("CONCEICAO")).containsExactly(1L);
+            assertThat(indice.buscar("conceição")).containsExactly(1L);
+            assertThat(indice.buscar("sebastiao")).containsExactly(4L);
+        }
+
+        @Test
+        @DisplayName("Deve ordenar prefixo do nome, início de palavra e meio do nome")
+        void deveOrdenarPorRelevancia() {
+            // Act
+            List<Long> resultado = indice.buscar("joao");
+
+            // Assert
+            assertThat(resultado).containsExactly(2L, 3L, 4L);
+        }
+
+        @Test
+        @DisplayName("Deve encontrar termo no meio de uma palavra")
+        void deveEncontrarNoMeioDaPalavra() {
+            // Act & Assert
+            assertThat(indice.buscar("ilv")).containsExactly(2L);
+            assertThat(indice.buscar("ozinho")).containsExactly(4L);
+        }
+
+        @Test
+        @DisplayName("Deve buscar termo com várias palavras")
+        void deveBuscarVariasPalavras() {
+            // Act & Assert
+            assertThat(indice.buscar("joão  sil")).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Deve casar termos de dois caracteres apenas no início das palavras")
+        void deveCasarTermoCurtoNoInicioDasPalavras() {
+            // Act & Assert
+            assertThat(indice.buscar("sa")).containsExactly(3L);
+            assertThat(indice.buscar("a")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve limitar a quantidade de resultados mantendo os mais relevantes")
+        void deveLimitarResultados() {
+            // Arrange
+            IndiceNomesPacientes limitado = new IndiceNomesPacientes(2);
+            for (long id = 1; id <= 100; id++) {
+                limitado.indexar(id, "Paciente Silva " + id);
+            }
+            limitado.indexar(200L, "Silva Neto");
+
+            // Act
+            List<Long> resultado = limitado.buscar("silva");
+
+            // Assert
+            assertThat(resultado).containsExactly(200L, 1L);
+        }
+
+        @Test
+        @DisplayName("Deve retornar vazio quando não encontra")
+        void deveRetornarVazio() {
+            // Act & Assert
+            assertThat(indice.buscar("xyz")).isEmpty();
+            assertThat(indice.buscar(null)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Atualização")
+    class AtualizacaoTests {
+
+        @Test
+        @DisplayName("Deve reindexar o paciente quando o nome muda")
+        void deveReindexarQuandoNomeMuda() {
+            // Act
+            indice.indexar(2L, "João Pereira");
+
+            // Assert
+            assertThat(indice.buscar("silva")).isEmpty();
+            assertThat(indice.buscar("pereira")).containsExactly(2L);
+            assertThat(indice.tamanho()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Deve deixar de encontrar paciente removido")
+        void deveRemoverPaciente() {
+            // Act
+            indice.remover(2L);
+
+            // Assert
+            assertThat(indice.buscar("joao")).containsExactly(3L, 4L);
+            assertThat(indice.tamanho()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Recarga")
+    class RecargaTests {
+
+        @Test
+        @DisplayName("Deve substituir o conteúdo pelos pacientes da carga")
+        void deveSubstituirConteudo() {
+            // Act
+            indice.recarregar(indexar -> {
+                indexar.accept(2L, "João Pereira");
+                indexar.accept(9L, "Carla Dias");
+            });
+
+            // Assert
+            assertThat(indice.buscar("joao")).containsExactly(2L);
+            assertThat(indice.buscar("carla")).containsExactly(9L);
+            assertThat(indice.tamanho()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Deve manter as alterações feitas durante a carga")
+        void deveManterAlteracoesDuranteCarga() {
+            // Act
+            indice.recarregar(indexar -> {
+                indexar.accept(2L, "João Silva");
+                indexar.accept(3L, "João Santos");
+                indice.indexar(10L, "Bruno Costa");
+                indice.remover(3L);
+            });
+
+            // Assert
+            assertThat(indice.buscar("bruno")).containsExactly(10L);
+            assertThat(indice.buscar("joao")).containsExactly(2L);
+            assertThat(indice.tamanho()).isEqualTo(2);
+        }
+    }
+}
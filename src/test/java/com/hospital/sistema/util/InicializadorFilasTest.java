@@ -0,0 +1,87 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.ConsultaFilaDTO;
+import com.hospital.sistema.dto.PacienteFilaDTO;
+import com.hospital.sistema.dto.PacienteTriagemResponse;
+import com.hospital.sistema.enums.NivelUrgencia;
+import com.hospital.sistema.enums.StatusConsulta;
+import com.hospital.sistema.enums.TipoDocumento;
+import com.hospital.sistema.repository.ConsultaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para InicializadorFilas.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InicializadorFilas")
+class InicializadorFilasTest {
+
+    @Mock
+    private ConsultaRepository consultaRepository;
+
+    private FilaTriagem filaTriagem;
+    private FilaAtendimentoMedico filaAtendimentoMedico;
+    private InicializadorFilas inicializadorFilas;
+
+    @BeforeEach
+    void setUp() {
+        filaTriagem = new FilaTriagem();
+        filaAtendimentoMedico = new FilaAtendimentoMedico();
+        inicializadorFilas = new InicializadorFilas(consultaRepository, filaTriagem, filaAtendimentoMedico);
+    }
+
+    private ConsultaFilaDTO criarConsulta(Long id, StatusConsulta status, String nome, NivelUrgencia nivelUrgencia) {
+        return new ConsultaFilaDTO(id, status, LocalDateTime.now(), id, nome,
+                TipoDocumento.PASSAPORTE, "PASS" + id, 1L, nivelUrgencia);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir as filas a partir das consultas abertas")
+    void deveReconstruirFilas() {
+        // Arrange
+        when(consultaRepository.buscarConsultasEmFila(anyCollection())).thenReturn(List.of(
+                criarConsulta(1L, StatusConsulta.EM_TRIAGEM, "Ana", null),
+                criarConsulta(2L, StatusConsulta.AGUARDANDO_ATENDIMENTO, "Bruno", NivelUrgencia.POUCO_URGENTE),
+                criarConsulta(3L, StatusConsulta.EM_TRIAGEM, "Carla", null),
+                criarConsulta(4L, StatusConsulta.AGUARDANDO_ATENDIMENTO, "Diego", NivelUrgencia.EMERGENCIA)
+        ));
+
+        // Act
+        inicializadorFilas.reconstruirFilas();
+
+        // Assert
+        assertThat(filaTriagem.listarPacientes())
+                .extracting(PacienteTriagemResponse::getNome, PacienteTriagemResponse::getConsultaId)
+                .containsExactly(tuple("Ana", 1L), tuple("Carla", 3L));
+        assertThat(filaAtendimentoMedico.listarPorMedico(1L))
+                .extracting(PacienteFilaDTO::getNome)
+                .containsExactly("Diego", "Bruno");
+    }
+
+    @Test
+    @DisplayName("Deve manter filas vazias quando não há consultas abertas")
+    void deveManterFilasVazias() {
+        // Arrange
+        when(consultaRepository.buscarConsultasEmFila(anyCollection())).thenReturn(List.of());
+
+        // Act
+        inicializadorFilas.reconstruirFilas();
+
+        // Assert
+        assertThat(filaTriagem.tamanhoFila()).isZero();
+        assertThat(filaAtendimentoMedico.listarTodos()).isEmpty();
+    }
+}
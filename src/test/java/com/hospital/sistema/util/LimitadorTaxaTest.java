@@ -0,0 +1,144 @@
+package com.hospital.sistema.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para LimitadorTaxa.
+ */
+@DisplayName("LimitadorTaxa")
+class LimitadorTaxaTest {
+
+    private static final long REPOSICAO_MS = 10_000L;
+
+    private RelogioAjustavel relogio;
+    private LimitadorTaxa limitador;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioAjustavel();
+        limitador = new LimitadorTaxa(4, 100, 3, REPOSICAO_MS, relogio);
+    }
+
+    @Test
+    @DisplayName("Deve permitir rajada até a capacidade e recusar a seguinte")
+    void devePermitirRajadaAteCapacidade() {
+        // Act & Assert
+        assertThat(limitador.tentar("admin")).isZero();
+        assertThat(limitador.tentar("admin")).isZero();
+        assertThat(limitador.tentar("admin")).isZero();
+        assertThat(limitador.tentar("admin")).isEqualTo(REPOSICAO_MS);
+        assertThat(limitador.tentar("outro")).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve repor fichas com o passar do tempo")
+    void deveReporFichas() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limitador.tentar("admin");
+        }
+
+        // Act
+        relogio.avancar(Duration.ofMillis(REPOSICAO_MS / 2));
+        long esperaParcial = limitador.tentar("admin");
+        relogio.avancar(Duration.ofMillis(REPOSICAO_MS / 2));
+        long esperaCompleta = limitador.tentar("admin");
+
+        // Assert
+        assertThat(esperaParcial).isEqualTo(REPOSICAO_MS / 2);
+        assertThat(esperaCompleta).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de baldes guardados")
+    void deveLimitarQuantidadeDeBaldes() {
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            limitador.tentar("login" + i);
+        }
+
+        // Assert - 4 listras com no máximo 100 baldes cada
+        assertThat(limitador.quantidadeBaldes()).isLessThanOrEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("Deve descartar apenas baldes ociosos")
+    void deveDescartarBaldesOciosos() {
+        // Arrange
+        limitador.tentar("antigo");
+        relogio.avancar(Duration.ofMillis(3 * REPOSICAO_MS));
+        limitador.tentar("recente");
+
+        // Act
+        int removidos = limitador.removerOciosos();
+
+        // Assert
+        assertThat(removidos).isEqualTo(1);
+        assertThat(limitador.quantidadeBaldes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve devolver fichas a uma chave limitada quando a listra enche")
+    void naoDeveDescartarBaldeEmUsoQuandoListraEnche() {
+        // Arrange - uma listra com espaço para dois baldes
+        LimitadorTaxa pequeno = new LimitadorTaxa(1, 2, 3, REPOSICAO_MS, relogio);
+        for (int i = 0; i < 3; i++) {
+            pequeno.tentar("admin");
+        }
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            pequeno.tentar("login" + i);
+        }
+        long esperaAdmin = pequeno.tentar("admin");
+
+        // Assert
+        assertThat(esperaAdmin).isEqualTo(REPOSICAO_MS);
+        assertThat(pequeno.quantidadeBaldes()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve permitir sem guardar estado as chaves que não cabem na listra cheia")
+    void devePermitirChavesQueNaoCabemNaListraCheia() {
+        // Arrange - listra com um único balde, ocupado por uma chave já limitada
+        LimitadorTaxa pequeno = new LimitadorTaxa(1, 1, 3, REPOSICAO_MS, relogio);
+        for (int i = 0; i < 3; i++) {
+            pequeno.tentar("admin");
+        }
+
+        // Act & Assert - muitas chaves novas não se bloqueiam entre si
+        for (int i = 0; i < 100; i++) {
+            assertThat(pequeno.tentar("login" + i)).isZero();
+        }
+        assertThat(pequeno.tentar("login0")).isZero();
+        assertThat(pequeno.tentar("admin")).isEqualTo(REPOSICAO_MS);
+        assertThat(pequeno.quantidadeBaldes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve dar lugar a uma chave nova descartando balde ocioso")
+    void deveSubstituirBaldeOcioso() {
+        // Arrange
+        LimitadorTaxa pequeno = new LimitadorTaxa(1, 1, 3, REPOSICAO_MS, relogio);
+        for (int i = 0; i < 3; i++) {
+            pequeno.tentar("antigo");
+        }
+        relogio.avancar(Duration.ofMillis(3 * REPOSICAO_MS));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            pequeno.tentar("novo");
+        }
+        long esperaNovo = pequeno.tentar("novo");
+
+        // Assert - "novo" tem balde próprio, então a quarta tentativa é recusada
+        assertThat(esperaNovo).isEqualTo(REPOSICAO_MS);
+        assertThat(pequeno.quantidadeBaldes()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.hospital.sistema.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para MapaDisponibilidadeSemanal.
+ */
+@DisplayName("MapaDisponibilidadeSemanal")
+class MapaDisponibilidadeSemanalTest {
+
+    private static final LocalDate TERCA = LocalDate.of(2025, 3, 4);
+
+    private final MapaDisponibilidadeSemanal mapa = new MapaDisponibilidadeSemanal.Construtor()
+            .adicionar(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(12, 0))
+            .adicionar(DayOfWeek.TUESDAY, LocalTime.of(2, 0), LocalTime.of(7, 0))
+            .adicionar(DayOfWeek.SUNDAY, LocalTime.of(22, 2), LocalTime.of(23, 59))
+            .construir();
+
+    @Nested
+    @DisplayName("disponivel")
+    class DisponivelTests {
+
+        @Test
+        @DisplayName("Deve considerar o intervalo que contém o momento")
+        void deveConsiderarIntervaloDoMomento() {
+            // Arrange
+            LocalDate segunda = TERCA.minusDays(1);
+
+            // Act & Assert
+            assertThat(mapa.disponivel(segunda.atTime(8, 0))).isTrue();
+            assertThat(mapa.disponivel(segunda.atTime(11, 59))).isTrue();
+            assertThat(mapa.disponivel(segunda.atTime(12, 0))).isFalse();
+            assertThat(mapa.disponivel(TERCA.atTime(8, 0))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve marcar só os intervalos inteiramente dentro da janela")
+        void deveMarcarSoIntervalosInteiros() {
+            // Arrange
+            LocalDateTime domingo = TERCA.plusDays(5).atStartOfDay();
+
+            // Act & Assert
+            assertThat(mapa.disponivel(domingo.withHour(22).withMinute(3))).isFalse();
+            assertThat(mapa.disponivel(domingo.withHour(22).withMinute(5))).isTrue();
+            assertThat(mapa.disponivel(domingo.withHour(23).withMinute(55))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("disponivelEntre")
+    class DisponivelEntreTests {
+
+        @Test
+        @DisplayName("Deve verificar períodos que atravessam palavras do mapa")
+        void deveVerificarPeriodosEntrePalavras() {
+            // Terça começa no intervalo 288; o intervalo 320, às 02:40, abre a 6ª palavra
+
+            // Act & Assert
+            assertThat(mapa.disponivelEntre(DayOfWeek.TUESDAY, LocalTime.of(2, 0), LocalTime.of(7, 0))).isTrue();
+            assertThat(mapa.disponivelEntre(DayOfWeek.TUESDAY, LocalTime.of(2, 30), LocalTime.of(3, 0))).isTrue();
+            assertThat(mapa.disponivelEntre(DayOfWeek.TUESDAY, LocalTime.of(1, 55), LocalTime.of(3, 0))).isFalse();
+            assertThat(mapa.disponivelEntre(DayOfWeek.TUESDAY, LocalTime.of(2, 30), LocalTime.of(7, 5))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve recusar período vazio")
+        void deveRecusarPeriodoVazio() {
+            // Act & Assert
+            assertThat(mapa.disponivelEntre(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 0))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("dia")
+    class DiaTests {
+
+        @Test
+        @DisplayName("Deve retornar os intervalos do dia a partir da meia-noite")
+        void deveRetornarIntervalosDoDia() {
+            // Act
+            BitSet terca = mapa.dia(DayOfWeek.TUESDAY);
+
+            // Assert
+            assertThat(terca.nextSetBit(0)).isEqualTo(GradeHorarios.intervaloDe(LocalTime.of(2, 0)));
+            assertThat(terca.cardinality()).isEqualTo(60);
+        }
+
+        @Test
+        @DisplayName("Deve retornar cópia que não altera o mapa")
+        void deveRetornarCopia() {
+            // Act
+            mapa.dia(DayOfWeek.MONDAY).clear();
+
+            // Assert
+            assertThat(mapa.dia(DayOfWeek.MONDAY).cardinality()).isEqualTo(48);
+            assertThat(MapaDisponibilidadeSemanal.VAZIO.vazio()).isTrue();
+            assertThat(mapa.vazio()).isFalse();
+        }
+    }
+}
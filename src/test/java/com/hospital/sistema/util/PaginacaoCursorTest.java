@@ -0,0 +1,82 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.PaginaCursor;
+import com.hospital.sistema.exception.ValidacaoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para PaginacaoCursor.
+ */
+@DisplayName("PaginacaoCursor")
+class PaginacaoCursorTest {
+
+    private final PaginacaoCursor paginacao = new PaginacaoCursor("nome", "id");
+    private final Sort ordenacao = paginacao.ordenacao("nome");
+
+    @Test
+    @DisplayName("Deve desempatar a ordenação pelo ID")
+    void deveDesempatarPeloId() {
+        // Assert
+        assertThat(ordenacao).containsExactly(Sort.Order.asc("nome"), Sort.Order.asc("id"));
+        assertThat(paginacao.ordenacao("id")).containsExactly(Sort.Order.asc("id"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar campo de ordenação fora da lista permitida")
+    void deveRecusarCampoNaoPermitido() {
+        // Act & Assert
+        assertThatThrownBy(() -> paginacao.ordenacao("email"))
+                .isInstanceOf(ValidacaoException.class);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir a posição a partir do cursor da página")
+    void deveReconstruirPosicao() {
+        // Arrange
+        Window<String> janela = Window.from(List.of("Ana & Cia", "João=Silva"),
+                i -> ScrollPosition.forward(Map.of("nome", i == 0 ? "Ana & Cia" : "João=Silva", "id", 10L + i)), true);
+
+        // Act
+        PaginaCursor<String> pagina = paginacao.pagina(janela, ScrollPosition.keyset(), null);
+        KeysetScrollPosition proxima = paginacao.posicao(pagina.getProximoCursor(), ordenacao);
+
+        // Assert
+        assertThat(pagina.isPrimeira()).isTrue();
+        assertThat(proxima.scrollsForward()).isTrue();
+        assertThat(proxima.getKeys()).containsExactlyInAnyOrderEntriesOf(Map.of("nome", "João=Silva", "id", 11L));
+    }
+
+    @Test
+    @DisplayName("Deve ler a primeira página sem cursor")
+    void deveLerPrimeiraPaginaSemCursor() {
+        // Act & Assert
+        assertThat(paginacao.posicao(null, ordenacao).isInitial()).isTrue();
+        assertThat(paginacao.posicao("", ordenacao).isInitial()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve recusar cursor inválido ou de outra ordenação")
+    void deveRecusarCursorInvalido() {
+        // Arrange
+        Window<String> janela = Window.from(List.of("Ana"),
+                i -> ScrollPosition.forward(Map.of("nome", "Ana", "id", 1L)), true);
+        String cursor = paginacao.pagina(janela, ScrollPosition.keyset(), null).getProximoCursor();
+
+        // Act & Assert
+        assertThatThrownBy(() -> paginacao.posicao("@@nao-e-cursor", ordenacao))
+                .isInstanceOf(ValidacaoException.class);
+        assertThatThrownBy(() -> paginacao.posicao(cursor, paginacao.ordenacao("id")))
+                .isInstanceOf(ValidacaoException.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.hospital.sistema.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Relógio controlado pelos testes das filas.
+ */
+final class RelogioAjustavel extends Clock {
+
+    private Instant agora = Instant.parse("2024-01-01T10:00:00Z");
+
+    void avancar(Duration duracao) {
+        agora = agora.plus(duracao);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return agora;
+    }
+}
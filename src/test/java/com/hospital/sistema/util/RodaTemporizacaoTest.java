@@ -0,0 +1,121 @@
+package com.hospital.sistema.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para RodaTemporizacao.
+ */
+@DisplayName("RodaTemporizacao")
+class RodaTemporizacaoTest {
+
+    private static final long TICK_MS = 1_000L;
+
+    private RodaTemporizacao roda;
+    private List<String> disparos;
+
+    @BeforeEach
+    void setUp() {
+        roda = new RodaTemporizacao(8, TICK_MS, 0L);
+        disparos = new ArrayList<>();
+    }
+
+    private void agendar(String nome, long prazoMillis) {
+        roda.agendar(prazoMillis, () -> disparos.add(nome));
+    }
+
+    private void avancar(long agoraMillis) {
+        roda.avancar(agoraMillis).forEach(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Não deve disparar antes do prazo")
+    void naoDeveDispararAntesDoPrazo() {
+        // Arrange
+        agendar("A", 2_500L);
+
+        // Act
+        avancar(2_000L);
+
+        // Assert
+        assertThat(disparos).isEmpty();
+
+        // Act
+        avancar(3_000L);
+
+        // Assert
+        assertThat(disparos).containsExactly("A");
+    }
+
+    @Test
+    @DisplayName("Deve disparar prazos que dão mais de uma volta na roda")
+    void deveDispararPrazosComVariasVoltas() {
+        // Arrange - 8 baldes: os prazos caem no mesmo balde em voltas diferentes
+        agendar("volta 1", 3_000L);
+        agendar("volta 3", 19_000L);
+
+        // Act & Assert
+        avancar(3_000L);
+        assertThat(disparos).containsExactly("volta 1");
+
+        avancar(18_000L);
+        assertThat(disparos).containsExactly("volta 1");
+
+        avancar(19_000L);
+        assertThat(disparos).containsExactly("volta 1", "volta 3");
+        assertThat(roda.pendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve disparar tudo o que venceu após uma pausa maior que a roda")
+    void deveDispararAposPausaLonga() {
+        // Arrange
+        for (long segundo = 1; segundo <= 30; segundo++) {
+            agendar("P" + segundo, segundo * TICK_MS);
+        }
+        agendar("futuro", 60_000L);
+
+        // Act
+        avancar(45_000L);
+
+        // Assert
+        assertThat(disparos).hasSize(30).doesNotContain("futuro");
+        assertThat(roda.pendentes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve disparar prazo cancelado e deve descartá-lo")
+    void naoDeveDispararCancelado() {
+        // Arrange
+        RodaTemporizacao.Temporizador temporizador = roda.agendar(1_000L, () -> disparos.add("cancelado"));
+        agendar("mantido", 1_000L);
+
+        // Act
+        temporizador.cancelar();
+        avancar(1_000L);
+
+        // Assert
+        assertThat(disparos).containsExactly("mantido");
+        assertThat(roda.pendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve disparar no próximo avanço um prazo já vencido")
+    void deveDispararPrazoVencido() {
+        // Arrange
+        avancar(10_000L);
+        agendar("atrasado", 5_000L);
+
+        // Act
+        avancar(11_000L);
+
+        // Assert
+        assertThat(disparos).containsExactly("atrasado");
+    }
+}
@@ -0,0 +1,83 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.dto.PacienteFilaDTO;
+import com.hospital.sistema.repository.MedicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para RouboTrabalhoFila.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RouboTrabalhoFila")
+class RouboTrabalhoFilaTest {
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    private FilaAtendimentoMedico filaAtendimentoMedico;
+
+    @BeforeEach
+    void setUp() {
+        filaAtendimentoMedico = new FilaAtendimentoMedico();
+        filaAtendimentoMedico.adicionar(new PacienteFilaDTO(1L, "Ana", 2L, 10L, "URGENTE"));
+        filaAtendimentoMedico.adicionar(new PacienteFilaDTO(2L, "Bruno", 2L, 20L, "URGENTE"));
+    }
+
+    @Test
+    @DisplayName("Deve assumir paciente de colega da mesma especialidade")
+    void deveAssumirPacienteDeColega() {
+        // Arrange
+        RouboTrabalhoFila roubo = new RouboTrabalhoFila(filaAtendimentoMedico, medicoRepository, true, 2);
+        when(medicoRepository.buscarIdsColegasDeEspecialidade(1L)).thenReturn(List.of(2L));
+
+        // Act
+        Optional<PacienteFilaDTO> resultado = roubo.roubarPara(1L, p -> true);
+
+        // Assert
+        assertThat(resultado).map(PacienteFilaDTO::getNome).contains("Bruno");
+        assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(2L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar colegas quando desabilitado")
+    void naoDeveRoubarQuandoDesabilitado() {
+        // Arrange
+        RouboTrabalhoFila roubo = new RouboTrabalhoFila(filaAtendimentoMedico, medicoRepository, false, 2);
+
+        // Act
+        Optional<PacienteFilaDTO> resultado = roubo.roubarPara(1L, p -> true);
+
+        // Assert
+        assertThat(resultado).isEmpty();
+        verify(medicoRepository, never()).buscarIdsColegasDeEspecialidade(any());
+        assertThat(filaAtendimentoMedico.tamanhoFilaPorMedico(2L)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve retornar empty quando não há colegas da especialidade")
+    void deveRetornarEmptySemColegas() {
+        // Arrange
+        RouboTrabalhoFila roubo = new RouboTrabalhoFila(filaAtendimentoMedico, medicoRepository, true, 2);
+        when(medicoRepository.buscarIdsColegasDeEspecialidade(1L)).thenReturn(List.of());
+
+        // Act
+        Optional<PacienteFilaDTO> resultado = roubo.roubarPara(1L, p -> true);
+
+        // Assert
+        assertThat(resultado).isEmpty();
+    }
+}
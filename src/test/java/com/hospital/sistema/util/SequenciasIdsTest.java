@@ -0,0 +1,87 @@
+package com.hospital.sistema.util;
+
+import com.hospital.sistema.entity.CredencialUsuario;
+import com.hospital.sistema.entity.Especialidade;
+import com.hospital.sistema.entity.TipoConsulta;
+import com.hospital.sistema.repository.EspecialidadeRepository;
+import com.hospital.sistema.repository.TipoConsultaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes de SequenciasIds com banco H2 em memória.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(SequenciasIds.class)
+@DisplayName("SequenciasIds")
+class SequenciasIdsTest {
+
+    @Autowired
+    private SequenciasIds sequenciasIds;
+
+    @Autowired
+    private EspecialidadeRepository especialidadeRepository;
+
+    @Autowired
+    private TipoConsultaRepository tipoConsultaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Nested
+    @DisplayName("ajustarAosDados")
+    class AjustarAosDadosTests {
+
+        @Test
+        @DisplayName("Deve avançar a sequência para depois dos IDs gravados sem ela")
+        void deveAvancarSequenciaAposIdsExistentes() {
+            // Arrange: linha gravada quando os IDs ainda eram IDENTITY
+            jdbcTemplate.update("INSERT INTO tipos_consulta (id, nome) VALUES (?, ?)", 500L, "Rotina");
+
+            // Act
+            sequenciasIds.ajustarAosDados();
+            TipoConsulta novo = tipoConsultaRepository.saveAndFlush(new TipoConsulta("Retorno", null));
+
+            // Assert
+            assertThat(novo.getId()).isGreaterThan(500L);
+        }
+    }
+
+    @Nested
+    @DisplayName("reservar")
+    class ReservarTests {
+
+        @Test
+        @DisplayName("Deve reservar IDs consecutivos por bloco sem colidir com o Hibernate")
+        void deveReservarIdsSemColidirComHibernate() {
+            // Arrange
+            Especialidade antes = especialidadeRepository.saveAndFlush(new Especialidade("Ortopedia", null));
+
+            // Act
+            long[] ids = sequenciasIds.reservar(Especialidade.class, 60);
+            Especialidade depois = especialidadeRepository.saveAndFlush(new Especialidade("Neurologia", null));
+
+            // Assert
+            assertThat(ids).hasSize(60).doesNotHaveDuplicates().doesNotContain(antes.getId(), depois.getId());
+            assertThat(ids[1]).isEqualTo(ids[0] + 1);
+            assertThat(ids[50]).isGreaterThan(ids[49]);
+        }
+
+        @Test
+        @DisplayName("Deve recusar entidade sem ID por sequência")
+        void deveRecusarEntidadeSemSequencia() {
+            assertThatThrownBy(() -> sequenciasIds.reservar(CredencialUsuario.class, 1))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}